@@ -2,6 +2,7 @@ plugins {
     java
     id("org.springframework.boot") version "4.0.2"
     id("io.spring.dependency-management") version "1.1.7"
+    id("me.champeau.jmh") version "0.7.3"
 }
 
 group = "com.ilungi"
@@ -18,6 +19,19 @@ repositories {
     mavenCentral()
 }
 
+// Teste de carga (src/loadTest/java): roda a aplicação inteira, fora do "test"
+sourceSets {
+    create("loadTest") {
+        compileClasspath += sourceSets.main.get().output
+        runtimeClasspath += sourceSets.main.get().output
+    }
+}
+
+configurations {
+    named("loadTestImplementation") { extendsFrom(configurations.implementation.get()) }
+    named("loadTestRuntimeOnly") { extendsFrom(configurations.runtimeOnly.get()) }
+}
+
 dependencies {
     // Spring Boot Starters
     implementation("org.springframework.boot:spring-boot-starter-web")
@@ -32,7 +46,11 @@ dependencies {
     
     // Banco de Dados
     runtimeOnly("com.h2database:h2")
-    runtimeOnly("org.postgresql:postgresql")
+    implementation("org.postgresql:postgresql") // CopyManager (importação em massa)
+    
+    // Migrações de esquema (src/main/resources/db/migration)
+    implementation("org.springframework.boot:spring-boot-starter-flyway")
+    implementation("org.flywaydb:flyway-database-postgresql")
     
     // JWT
     implementation("io.jsonwebtoken:jjwt-api:0.11.5")
@@ -42,15 +60,32 @@ dependencies {
     // Swagger/OpenAPI
     implementation("org.springdoc:springdoc-openapi-starter-webmvc-ui:2.3.0")
     
+    // CBOR (Accept: application/cbor) ao lado do JSON
+    implementation("tools.jackson.dataformat:jackson-dataformat-cbor")
+    
+    // GraphQL (POST /graphql): leituras com DataLoader
+    implementation("org.springframework.boot:spring-boot-starter-graphql")
+    
     // Actuator (para health checks no Docker/Render)
     implementation("org.springframework.boot:spring-boot-starter-actuator")
     
+    // Métricas: scrape do Prometheus, estatísticas do Hibernate e SQL por endpoint
+    runtimeOnly("io.micrometer:micrometer-registry-prometheus")
+    implementation("org.hibernate.orm:hibernate-micrometer")
+    implementation("net.ttddyy:datasource-proxy:1.10")
+    
     // Testes
     testImplementation("org.springframework.boot:spring-boot-starter-test")
     testImplementation("org.springframework.boot:spring-boot-starter-data-jpa-test")
     testImplementation("org.springframework.boot:spring-boot-starter-security-test")
     testImplementation("org.springframework.boot:spring-boot-starter-webmvc-test")
+    testImplementation("org.springframework.graphql:spring-graphql-test")
     testRuntimeOnly("org.junit.platform:junit-platform-launcher")
+    
+    // Teste de carga: PostgreSQL embarcado, SMTP local e histogramas de latência
+    "loadTestImplementation"("io.zonky.test:embedded-postgres:2.1.0")
+    "loadTestImplementation"("com.icegreen:greenmail:2.1.3")
+    "loadTestImplementation"("org.hdrhistogram:HdrHistogram:2.2.2")
 }
 
 // ========== CONFIGURAÇÕES DO JAR ==========
@@ -89,6 +124,47 @@ tasks.withType<JavaCompile> {
     options.encoding = "UTF-8"
 }
 
+// ========== BENCHMARKS (JMH) ==========
+// Fontes em src/jmh/java. "./gradlew jmh" grava build/results/jmh/results.json;
+// "./gradlew jmhArchive" copia para benchmarks/results/<commit>.json, para comparar entre commits.
+// Filtrar: ./gradlew jmh -PjmhIncludes=JwtTokenProvider
+// Profilers: ./gradlew jmh -PjmhProfilers=gc (alocação por operação, gc.alloc.rate.norm)
+jmh {
+    jmhVersion = "1.37"
+    includes = listOf(providers.gradleProperty("jmhIncludes").getOrElse(".*"))
+    profilers = providers.gradleProperty("jmhProfilers").map { it.split(",") }.getOrElse(emptyList())
+    warmupIterations = 3
+    iterations = 5
+    fork = 1
+    resultFormat = "JSON"
+    resultsFile = layout.buildDirectory.file("results/jmh/results.json")
+}
+
+tasks.register<Copy>("jmhArchive") {
+    dependsOn("jmh")
+    val commit = providers.exec { commandLine("git", "rev-parse", "--short", "HEAD") }
+        .standardOutput.asText.map { it.trim() }
+    from(layout.buildDirectory.file("results/jmh/results.json"))
+    into(layout.projectDirectory.dir("benchmarks/results"))
+    rename { "${commit.get()}.json" }
+}
+
+// ========== TESTE DE CARGA ==========
+// ./gradlew loadTest -Ploadtest.users=10000 -Ploadtest.tasks=1000000 -Ploadtest.emails=5000000
+// Outros: loadtest.concurrency, loadtest.warmup-seconds, loadtest.duration-seconds,
+// loadtest.tomcat-threads, loadtest.hikari-pool-size, loadtest.thread-modes (platform,virtual
+// compara os dois modos sobre o mesmo banco). Relatório em build/reports/loadtest.
+// Sem rede: banco e SMTP rodam no processo (basta o cache de dependências do Gradle).
+tasks.register<JavaExec>("loadTest") {
+    group = "verification"
+    description = "Teste de carga com PostgreSQL embarcado e SMTP local"
+    classpath = sourceSets["loadTest"].runtimeClasspath
+    mainClass = "com.ilungi.gestora.loadtest.LoadTestRunner"
+    systemProperties(project.properties.filterKeys { it.startsWith("loadtest.") })
+    systemProperty("loadtest.output", layout.buildDirectory.dir("reports/loadtest").get().asFile.path)
+    maxHeapSize = "3g"
+}
+
 // ========== TAREFAS DOCKER PERSONALIZADAS ==========
 tasks.register<Exec>("buildDockerImage") {
     dependsOn(tasks.bootJar)
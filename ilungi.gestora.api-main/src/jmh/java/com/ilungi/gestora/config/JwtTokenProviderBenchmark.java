@@ -0,0 +1,52 @@
+package com.ilungi.gestora.config;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+// Caminho de toda requisição autenticada: o JwtAuthenticationFilter valida e extrai as claims
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class JwtTokenProviderBenchmark {
+
+	private JwtTokenProvider jwtTokenProvider;
+	private String token;
+
+	@Setup
+	public void setup() {
+		jwtTokenProvider = new JwtTokenProvider(new JwtProperties());
+		token = jwtTokenProvider.generateToken("usuario@gestora.com", 42L, "USER");
+	}
+
+	@Benchmark
+	public String generateToken() {
+		return jwtTokenProvider.generateToken("usuario@gestora.com", 42L, "USER");
+	}
+
+	@Benchmark
+	public boolean validateToken() {
+		return jwtTokenProvider.validateToken(token);
+	}
+
+	@Benchmark
+	public String getEmailFromToken() {
+		return jwtTokenProvider.getEmailFromToken(token);
+	}
+
+	@Benchmark
+	public Long getUserIdFromToken() {
+		return jwtTokenProvider.getUserIdFromToken(token);
+	}
+
+	@Benchmark
+	public String getRoleFromToken() {
+		return jwtTokenProvider.getRoleFromToken(token);
+	}
+}
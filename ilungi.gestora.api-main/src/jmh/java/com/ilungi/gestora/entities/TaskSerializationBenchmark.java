@@ -0,0 +1,88 @@
+package com.ilungi.gestora.entities;
+
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import com.ilungi.gestora.config.EntityJsonModule;
+
+import tools.jackson.databind.json.JsonMapper;
+
+// Serialização das listas de tasks como em GET /tasks/my-tasks (TaskService usa writeValueAsBytes).
+// serializers=reflection é o BeanSerializer do Jackson; module, o EntityJsonModule da aplicação.
+// Alocação por operação: ./gradlew jmh -PjmhIncludes=TaskSerialization -PjmhProfilers=gc
+//
+// Medido (JDK 21.0.1, 1 CPU, 3x5s de aquecimento + 5x5s, -prof gc), writeValueAsBytes:
+//   size   reflection                  module
+//     10   64 us/op,   44.057 B/op     44 us/op,   41.185 B/op
+//    100   492 us/op,  429.487 B/op    452 us/op,  400.510 B/op
+//   1000   5994 us/op, 4.512.409 B/op  5041 us/op, 4.223.407 B/op
+// A alocação cai 6-7% (gc.alloc.rate.norm é estável); com um só núcleo o erro do tempo
+// (±15-60%) é maior que a diferença, então o ganho de vazão não está demonstrado.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class TaskSerializationBenchmark {
+
+	@Param({ "10", "100", "1000" })
+	private int size;
+
+	@Param({ "reflection", "module" })
+	private String serializers;
+
+	private JsonMapper jsonMapper;
+	private List<Task> tasks;
+
+	@Setup
+	public void setup() {
+		jsonMapper = serializers.equals("module")
+			? JsonMapper.builder().addModule(new EntityJsonModule()).build()
+			: JsonMapper.builder().build();
+
+		User admin = new User("Administrador", "admin@gestora.com", "hash", "923000000", Role.ADMIN);
+		admin.setId(1L);
+		List<User> users = new ArrayList<>();
+		for (int i = 0; i < 20; i++) {
+			User user = new User("Usuario " + i, "usuario" + i + "@gestora.com", "hash", "92300" + (1000 + i), Role.USER);
+			user.setId(i + 2L);
+			users.add(user);
+		}
+
+		TaskStatus[] statuses = TaskStatus.values();
+		tasks = new ArrayList<>(size);
+		for (int i = 0; i < size; i++) {
+			Task task = new Task();
+			task.setId((long) i + 1);
+			task.setTitle("Tarefa " + i);
+			task.setDescription("Acompanhar o relatório mensal do setor " + (i % 12));
+			task.setCreateAt(new Date());
+			task.setEndDate(new Date(System.currentTimeMillis() + 86_400_000L * (1 + i % 30)));
+			task.setDaysToFinish(1 + i % 30);
+			task.setStatus(statuses[i % statuses.length]);
+			task.setCreatedBy(admin);
+			task.getResponsibles().add(users.get(i % users.size()));
+			task.getResponsibles().add(users.get((i + 7) % users.size()));
+			tasks.add(task);
+		}
+	}
+
+	@Benchmark
+	public byte[] writeValueAsBytes() {
+		return jsonMapper.writeValueAsBytes(tasks);
+	}
+
+	@Benchmark
+	public String writeValueAsString() {
+		return jsonMapper.writeValueAsString(tasks);
+	}
+}
@@ -0,0 +1,79 @@
+package com.ilungi.gestora.repositories;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import com.ilungi.gestora.config.EntityJsonModule;
+import com.ilungi.gestora.entities.Role;
+
+import tools.jackson.databind.json.JsonMapper;
+
+// GET /admin/users: um HashMap por usuário (forma anterior) contra UserListing escrito pelo
+// EntityJsonModule. Os mapas são montados dentro do benchmark, como eram a cada requisição.
+// Alocação por operação: ./gradlew jmh -PjmhIncludes=UserListing -PjmhProfilers=gc
+//
+// Medido (JDK 21.0.1, 1 CPU, 3x5s de aquecimento + 5x5s, -prof gc):
+//   size   maps                           listing
+//     50   20.433 ops/s,    59.220 B/op   23.545 ops/s,    37.380 B/op
+//   1000      695 ops/s, 1.178.070 B/op    1.063 ops/s,   742.026 B/op
+// UserListing aloca 37% menos por operação. A vazão sobe 15% (50) e 53% (1000), mas com
+// erro de ±35-65% nesta máquina: só a alocação é uma diferença firme.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class UserListingSerializationBenchmark {
+
+	@Param({ "50", "1000" })
+	private int size;
+
+	private final JsonMapper reflectionMapper = JsonMapper.builder().build();
+	private final JsonMapper moduleMapper = JsonMapper.builder().addModule(new EntityJsonModule()).build();
+	private List<UserListing> users;
+
+	@Setup
+	public void setup() {
+		users = new ArrayList<>(size);
+		LocalDateTime now = LocalDateTime.now();
+		for (int i = 0; i < size; i++) {
+			users.add(new UserListing((long) i + 1, "Usuario " + i, "usuario" + i + "@gestora.com",
+				"92300" + (1000 + i), i % 25 == 0 ? Role.ADMIN : Role.USER, now.minusDays(i), now, i % 40, i % 3));
+		}
+	}
+
+	@Benchmark
+	public byte[] maps() {
+		List<Map<String, Object>> rows = new ArrayList<>(users.size());
+		for (UserListing user : users) {
+			Map<String, Object> row = new HashMap<>();
+			row.put("id", user.id());
+			row.put("name", user.name());
+			row.put("email", user.email());
+			row.put("phone", user.phone());
+			row.put("role", user.role().name());
+			row.put("createdAt", user.createdAt());
+			row.put("updatedAt", user.updatedAt());
+			row.put("taskCount", user.taskCount());
+			row.put("createdTaskCount", user.createdTaskCount());
+			rows.add(row);
+		}
+		return reflectionMapper.writeValueAsBytes(rows);
+	}
+
+	@Benchmark
+	public byte[] listing() {
+		return moduleMapper.writeValueAsBytes(users);
+	}
+}
@@ -0,0 +1,38 @@
+package com.ilungi.gestora.servicies;
+
+import java.util.Date;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+
+import com.ilungi.gestora.entities.TaskStatus;
+
+// Montagem dos corpos de e-mail (String.format + SimpleDateFormat), sem o envio SMTP
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class EmailBodyBenchmark {
+
+	private final Date dataTermino = new Date();
+
+	@Benchmark
+	public String notificacaoTarefa() {
+		return EmailService.corpoNotificacaoTarefa("Maria Silva", "Revisar contrato",
+			"Conferir cláusulas do contrato com o fornecedor", dataTermino, TaskStatus.PENDING);
+	}
+
+	@Benchmark
+	public String boasVindas() {
+		return EmailService.corpoBoasVindas("Maria Silva", "maria@gestora.com", "Ab3dE9fG");
+	}
+
+	@Benchmark
+	public String recuperacaoSenha() {
+		return EmailService.corpoRecuperacaoSenha("c0ffee-token-123");
+	}
+}
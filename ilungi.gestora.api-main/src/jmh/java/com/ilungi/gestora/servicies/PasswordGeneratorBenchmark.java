@@ -0,0 +1,39 @@
+package com.ilungi.gestora.servicies;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class PasswordGeneratorBenchmark {
+
+	@Param({ "8", "12", "32" })
+	private int length;
+
+	private final PasswordGeneratorService passwordGenerator = new PasswordGeneratorService();
+	private String password;
+
+	@Setup
+	public void setup() {
+		password = passwordGenerator.generatePassword(length, true, true, true, true);
+	}
+
+	@Benchmark
+	public String generatePassword() {
+		return passwordGenerator.generatePassword(length, true, true, true, true);
+	}
+
+	@Benchmark
+	public String evaluatePasswordStrength() {
+		return passwordGenerator.evaluatePasswordStrength(password);
+	}
+}
@@ -0,0 +1,126 @@
+package com.ilungi.gestora.servicies;
+
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import com.ilungi.gestora.config.EntityJsonModule;
+import com.ilungi.gestora.entities.Role;
+import com.ilungi.gestora.entities.Task;
+import com.ilungi.gestora.entities.TaskStatus;
+import com.ilungi.gestora.entities.User;
+
+import tools.jackson.databind.ObjectMapper;
+import tools.jackson.databind.json.JsonMapper;
+import tools.jackson.dataformat.cbor.CBORMapper;
+
+// Tamanho e custo das listas de tasks em cada combinação de ?fields= e formato (Accept).
+// O tamanho da resposta sai como métrica secundária "bytes" em results.json
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class PayloadSizeBenchmark {
+
+	// full: entidades como em GET /tasks; list: ?fields=title,status,endDate (tela de lista do app)
+	@Param({ "full", "list" })
+	private String fields;
+
+	@Param({ "json", "cbor" })
+	private String format;
+
+	@Param({ "100", "1000" })
+	private int size;
+
+	private ObjectMapper mapper;
+	private Object payload;
+
+	@State(Scope.Thread)
+	@AuxCounters(AuxCounters.Type.EVENTS)
+	public static class PayloadSize {
+
+		// Atribuído (não somado) a cada operação: o valor da iteração é o tamanho da resposta
+		public long bytes;
+
+		@Setup(Level.Iteration)
+		public void reset() {
+			bytes = 0;
+		}
+	}
+
+	@Setup
+	public void setup() {
+		// Mesmos serializadores da aplicação nos dois formatos
+		mapper = format.equals("cbor")
+			? CBORMapper.builder().addModule(new EntityJsonModule()).build()
+			: JsonMapper.builder().addModule(new EntityJsonModule()).build();
+
+		User admin = new User("Administrador", "admin@gestora.com", "hash", "923000000", Role.ADMIN);
+		admin.setId(1L);
+		List<User> users = new ArrayList<>();
+		for (int i = 0; i < 20; i++) {
+			User user = new User("Usuario " + i, "usuario" + i + "@gestora.com", "hash", "92300" + (1000 + i), Role.USER);
+			user.setId(i + 2L);
+			users.add(user);
+		}
+
+		TaskStatus[] statuses = TaskStatus.values();
+		List<Task> tasks = new ArrayList<>(size);
+		for (int i = 0; i < size; i++) {
+			Task task = new Task();
+			task.setId((long) i + 1);
+			task.setTitle("Tarefa " + i);
+			task.setDescription("Acompanhar o relatório mensal do setor " + (i % 12));
+			task.setCreateAt(new Date());
+			task.setEndDate(new Date(System.currentTimeMillis() + 86_400_000L * (1 + i % 30)));
+			task.setDaysToFinish(1 + i % 30);
+			task.setStatus(statuses[i % statuses.length]);
+			task.setCreatedBy(admin);
+			task.getResponsibles().add(users.get(i % users.size()));
+			task.getResponsibles().add(users.get((i + 7) % users.size()));
+			tasks.add(task);
+		}
+
+		if (fields.equals("full")) {
+			payload = tasks;
+		} else {
+			// Mesma forma das linhas do SparseReadService (LinkedHashMap na ordem de FieldSelection)
+			FieldSelection selection = FieldSelection.parse("title,status,endDate", FieldSelection.TASK_FIELDS);
+			List<Map<String, Object>> rows = new ArrayList<>(size);
+			for (Task task : tasks) {
+				Map<String, Object> row = new LinkedHashMap<>();
+				for (String field : selection.fields()) {
+					row.put(field, switch (field) {
+						case "id" -> task.getId();
+						case "title" -> task.getTitle();
+						case "status" -> task.getStatus();
+						case "endDate" -> task.getEndDate();
+						default -> throw new IllegalStateException(field);
+					});
+				}
+				rows.add(row);
+			}
+			payload = rows;
+		}
+	}
+
+	@Benchmark
+	public byte[] serialize(PayloadSize payloadSize) {
+		byte[] bytes = mapper.writeValueAsBytes(payload);
+		payloadSize.bytes = bytes.length;
+		return bytes;
+	}
+}
@@ -0,0 +1,203 @@
+package com.ilungi.gestora.loadtest;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.LocalDateTime;
+
+import javax.sql.DataSource;
+
+import org.postgresql.PGConnection;
+import org.postgresql.copy.CopyManager;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+/**
+ * Popula o banco com volumes de produção via COPY (mesma API do ImportService), em blocos
+ * de CHUNK_ROWS linhas para não montar o arquivo inteiro em memória.
+ *
+ * As linhas são determinísticas: o usuário comum r é responsável pelas tarefas
+ * t ≡ r (mod usuários comuns), o que permite ao workload saber quais tarefas cada
+ * usuário pode alterar sem consultar o banco.
+ */
+final class DataGenerator {
+
+	private static final Logger logger = LoggerFactory.getLogger(DataGenerator.class);
+
+	static final String PASSWORD = "LoadTest@123";
+
+	private static final int CHUNK_ROWS = 50_000;
+	private static final String[] STATUSES = { "PENDING", "TODO", "HOLD", "DOING", "DONE" };
+	private static final String[] WORDS = { "relatorio", "reuniao", "orcamento", "contrato", "auditoria",
+		"cliente", "fornecedor", "inventario", "treinamento", "campanha", "pagamento", "entrega" };
+	private static final String[] EMAIL_TYPES = { "boas_vindas_inicial", "notificacao_tarefa",
+		"recuperacao_senha", "notificacao_admin" };
+
+	private final DataSource dataSource;
+	private final LoadTestConfig config;
+
+	DataGenerator(DataSource dataSource, LoadTestConfig config) {
+		this.dataSource = dataSource;
+		this.config = config;
+	}
+
+	SeededData generate() throws SQLException, IOException {
+		// Um único hash: gerar 10k hashes BCrypt levaria minutos e não muda o teste
+		String passwordHash = new BCryptPasswordEncoder().encode(PASSWORD);
+		LocalDateTime now = LocalDateTime.now().withNano(0);
+
+		try (Connection connection = dataSource.getConnection()) {
+			CopyManager copy = connection.unwrap(PGConnection.class).getCopyAPI();
+			long started = System.nanoTime();
+
+			copyUsers(copy, passwordHash, now);
+			JdbcTemplate jdbc = new JdbcTemplate(dataSource);
+			long firstUserId = jdbc.queryForObject("SELECT MIN(id) FROM users", Long.class);
+			logger.info("{} usuários gerados", config.users());
+
+			copyTasks(copy, firstUserId, now);
+			long firstTaskId = jdbc.queryForObject("SELECT MIN(id) FROM tb_tasks", Long.class);
+			logger.info("{} tarefas geradas", config.tasks());
+
+			copyResponsibles(copy, firstUserId, firstTaskId);
+			logger.info("Responsáveis gerados");
+
+			copyEmails(copy, now);
+			logger.info("{} e-mails gerados", config.emails());
+
+			try (Statement statement = connection.createStatement()) {
+				statement.execute("ANALYZE");
+			}
+			logger.info("Carga concluída em {} s", (System.nanoTime() - started) / 1_000_000_000);
+
+			return new SeededData(config, firstUserId, firstTaskId);
+		}
+	}
+
+	private void copyUsers(CopyManager copy, String passwordHash, LocalDateTime now) throws SQLException, IOException {
+		String sql = "COPY users (name, email, password, phone, role, created_at, updated_at, version) FROM STDIN WITH (FORMAT csv)";
+		StringBuilder rows = new StringBuilder();
+		for (int i = 0; i < config.users(); i++) {
+			boolean admin = i < config.admins();
+			String created = now.minusMinutes(config.users() - i).toString();
+			rows.append(admin ? "Administrador " : "Usuario ").append(i).append(',')
+				.append(SeededData.email(i)).append(',')
+				.append(passwordHash).append(',')
+				.append("9230").append(10_000 + i).append(',')
+				.append(admin ? "ADMIN" : "USER").append(',')
+				.append(created).append(',').append(created).append(",0\n");
+			rows = flushIfFull(copy, sql, rows, i + 1);
+		}
+		flush(copy, sql, rows);
+	}
+
+	private void copyTasks(CopyManager copy, long firstUserId, LocalDateTime now) throws SQLException, IOException {
+		String sql = "COPY tb_tasks (title, description, create_at, end_date, days_to_finish, status, created_by_id, version) "
+			+ "FROM STDIN WITH (FORMAT csv)";
+		StringBuilder rows = new StringBuilder();
+		for (int t = 0; t < config.tasks(); t++) {
+			String word = WORDS[t % WORDS.length];
+			int days = 1 + t % 30;
+			LocalDateTime created = now.minusMinutes(config.tasks() - t);
+			rows.append("Tarefa ").append(t).append(" de ").append(word).append(',')
+				.append("Acompanhar ").append(word).append(" e ").append(WORDS[(t * 7) % WORDS.length])
+				.append(" do setor ").append(t % 40).append(',')
+				.append(created).append(',').append(created.plusDays(days)).append(',')
+				.append(days).append(',')
+				.append(STATUSES[t % STATUSES.length]).append(',')
+				.append(firstUserId + t % config.admins()).append(",0\n");
+			rows = flushIfFull(copy, sql, rows, t + 1);
+		}
+		flush(copy, sql, rows);
+	}
+
+	private void copyResponsibles(CopyManager copy, long firstUserId, long firstTaskId) throws SQLException, IOException {
+		String sql = "COPY task_responsibles (task_id, user_id) FROM STDIN WITH (FORMAT csv)";
+		int regular = config.regularUsers();
+		StringBuilder rows = new StringBuilder();
+		for (int t = 0; t < config.tasks(); t++) {
+			long taskId = firstTaskId + t;
+			int primary = t % regular;
+			int secondary = (int) ((t * 7L + 3) % regular);
+			rows.append(taskId).append(',').append(firstUserId + config.admins() + primary).append('\n');
+			if (secondary != primary) {
+				rows.append(taskId).append(',').append(firstUserId + config.admins() + secondary).append('\n');
+			}
+			rows = flushIfFull(copy, sql, rows, t + 1);
+		}
+		flush(copy, sql, rows);
+	}
+
+	private void copyEmails(CopyManager copy, LocalDateTime now) throws SQLException, IOException {
+		String sql = "COPY emais (destinatario, assunto, corpo, status, data_envio, erro, tipo) FROM STDIN WITH (FORMAT csv)";
+		StringBuilder rows = new StringBuilder();
+		for (int i = 0; i < config.emails(); i++) {
+			// ~90% enviados, o resto dividido entre pendentes e erro
+			int bucket = i % 20;
+			String status = bucket < 18 ? "ENVIADO" : bucket == 18 ? "PENDENTE" : "ERRO";
+			rows.append(SeededData.email(i % config.users())).append(',')
+				.append("Assunto ").append(i).append(',')
+				.append("\"Olá,\nMensagem gerada para o teste de carga ").append(i).append(".\"").append(',')
+				.append(status).append(',')
+				.append(now.minusSeconds(i * 6L)).append(',')
+				.append("ERRO".equals(status) ? "Timeout SMTP" : "").append(',')
+				.append(EMAIL_TYPES[i % EMAIL_TYPES.length]).append('\n');
+			rows = flushIfFull(copy, sql, rows, i + 1);
+		}
+		flush(copy, sql, rows);
+	}
+
+	private static StringBuilder flushIfFull(CopyManager copy, String sql, StringBuilder rows, int written)
+			throws SQLException, IOException {
+		if (written % CHUNK_ROWS != 0) {
+			return rows;
+		}
+		flush(copy, sql, rows);
+		return new StringBuilder(rows.capacity());
+	}
+
+	private static void flush(CopyManager copy, String sql, StringBuilder rows) throws SQLException, IOException {
+		if (!rows.isEmpty()) {
+			copy.copyIn(sql, new StringReader(rows.toString()));
+		}
+	}
+
+	/**
+	 * Ids e e-mails do que foi gerado; ids são contíguos porque o banco começa vazio.
+	 */
+	record SeededData(LoadTestConfig config, long firstUserId, long firstTaskId) {
+
+		static String email(int userIndex) {
+			return "user" + userIndex + "@loadtest.local";
+		}
+
+		boolean isAdmin(int userIndex) {
+			return userIndex < config.admins();
+		}
+
+		long userId(int userIndex) {
+			return firstUserId + userIndex;
+		}
+
+		// Índice (entre todos os usuários) do k-ésimo usuário comum
+		int regularUserIndex(int k) {
+			return config.admins() + Math.floorMod(k, config.regularUsers());
+		}
+
+		// Tarefas em que o usuário comum é o responsável principal: t ≡ r (mod comuns)
+		int tasksOf(int userIndex) {
+			int r = userIndex - config.admins();
+			int regular = config.regularUsers();
+			return r < config.tasks() ? (config.tasks() - 1 - r) / regular + 1 : 0;
+		}
+
+		long taskOf(int userIndex, int k) {
+			int r = userIndex - config.admins();
+			return firstTaskId + r + (long) k * config.regularUsers();
+		}
+	}
+}
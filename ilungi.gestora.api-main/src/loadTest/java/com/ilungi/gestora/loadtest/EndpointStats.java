@@ -0,0 +1,50 @@
+package com.ilungi.gestora.loadtest;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.Recorder;
+
+/**
+ * Latências por endpoint (HdrHistogram, em microssegundos) e contagem de erros.
+ * O Recorder aceita gravações concorrentes sem lock; reset() descarta o aquecimento.
+ */
+final class EndpointStats {
+
+	private static final long MAX_LATENCY_MICROS = TimeUnit.MINUTES.toMicros(2);
+
+	private final Map<String, Entry> entries = new ConcurrentHashMap<>();
+
+	void record(String endpoint, long elapsedNanos, boolean success) {
+		Entry entry = entries.computeIfAbsent(endpoint, key -> new Entry());
+		entry.recorder.recordValue(Math.min(TimeUnit.NANOSECONDS.toMicros(elapsedNanos), MAX_LATENCY_MICROS));
+		if (!success) {
+			entry.errors.increment();
+		}
+	}
+
+	void reset() {
+		entries.values().forEach(entry -> {
+			entry.recorder.reset();
+			entry.errors.reset();
+		});
+	}
+
+	Map<String, Result> results() {
+		Map<String, Result> results = new java.util.TreeMap<>();
+		entries.forEach((endpoint, entry) -> results.put(endpoint,
+			new Result(entry.recorder.getIntervalHistogram(), entry.errors.sum())));
+		return results;
+	}
+
+	record Result(Histogram histogram, long errors) {
+	}
+
+	private static final class Entry {
+		final Recorder recorder = new Recorder(MAX_LATENCY_MICROS, 3);
+		final LongAdder errors = new LongAdder();
+	}
+}
@@ -0,0 +1,59 @@
+package com.ilungi.gestora.loadtest;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Parâmetros do teste de carga, lidos de system properties "loadtest.*"
+ * (o Gradle repassa -Ploadtest.x=y para a JVM do teste).
+ *
+ * Os padrões reproduzem o ambiente de produção: 20 threads no Tomcat e 5 conexões no Hikari.
+ * threadModes ("platform", "virtual") roda a mesma carga em cada modo sobre o mesmo banco.
+ */
+record LoadTestConfig(
+		int users,
+		int tasks,
+		int emails,
+		int concurrency,
+		Duration warmup,
+		Duration duration,
+		int tomcatThreads,
+		int hikariPoolSize,
+		List<String> threadModes,
+		Path outputDir,
+		long seed) {
+
+	static LoadTestConfig fromSystemProperties() {
+		return new LoadTestConfig(
+			intProperty("loadtest.users", 10_000),
+			intProperty("loadtest.tasks", 1_000_000),
+			intProperty("loadtest.emails", 5_000_000),
+			intProperty("loadtest.concurrency", 64),
+			Duration.ofSeconds(intProperty("loadtest.warmup-seconds", 15)),
+			Duration.ofSeconds(intProperty("loadtest.duration-seconds", 60)),
+			intProperty("loadtest.tomcat-threads", 20),
+			intProperty("loadtest.hikari-pool-size", 5),
+			Arrays.stream(System.getProperty("loadtest.thread-modes", "platform").split(","))
+				.map(String::trim)
+				.filter(mode -> !mode.isEmpty())
+				.toList(),
+			Path.of(System.getProperty("loadtest.output", "build/reports/loadtest")),
+			Long.getLong("loadtest.seed", 42L));
+	}
+
+	// 1% de administradores, pelo menos um
+	int admins() {
+		return Math.max(1, users / 100);
+	}
+
+	int regularUsers() {
+		return users - admins();
+	}
+
+	private static int intProperty(String name, int defaultValue) {
+		String value = System.getProperty(name);
+		return value == null || value.isBlank() ? defaultValue : Integer.parseInt(value.trim().replace("_", ""));
+	}
+}
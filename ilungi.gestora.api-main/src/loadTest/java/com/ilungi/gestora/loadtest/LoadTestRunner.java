@@ -0,0 +1,114 @@
+package com.ilungi.gestora.loadtest;
+
+import java.net.URI;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.flywaydb.core.Flyway;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.server.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import com.icegreen.greenmail.configuration.GreenMailConfiguration;
+import com.icegreen.greenmail.util.GreenMail;
+import com.icegreen.greenmail.util.ServerSetup;
+import com.ilungi.gestora.Application;
+import com.ilungi.gestora.loadtest.DataGenerator.SeededData;
+
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+
+/**
+ * Teste de carga de ponta a ponta, sem rede externa: PostgreSQL embarcado, SMTP local
+ * (GreenMail) e a aplicação com o perfil prod (mesmos pools de produção).
+ *
+ * 1. Cria o esquema com as migrações do Flyway e popula os volumes configurados.
+ * 2. Para cada modo de threads (plataforma/virtual), sobe a aplicação apontando para
+ *    o banco e o SMTP locais, aquece e mede pelo tempo configurado.
+ * 3. Grava report.json / report.html, com a comparação entre os modos.
+ *
+ * Executar com: ./gradlew loadTest -Ploadtest.users=10000 -Ploadtest.thread-modes=platform,virtual ...
+ */
+public final class LoadTestRunner {
+
+	private static final Logger logger = LoggerFactory.getLogger(LoadTestRunner.class);
+
+	private LoadTestRunner() {
+	}
+
+	public static void main(String[] args) throws Exception {
+		LoadTestConfig config = LoadTestConfig.fromSystemProperties();
+
+		try (EmbeddedPostgres postgres = EmbeddedPostgres.builder().start()) {
+			GreenMail smtp = new GreenMail(new ServerSetup(0, "127.0.0.1", ServerSetup.PROTOCOL_SMTP).dynamicPort())
+				.withConfiguration(GreenMailConfiguration.aConfig().withDisabledAuthentication());
+			smtp.start();
+			try {
+				Flyway.configure()
+					.dataSource(postgres.getPostgresDatabase())
+					.locations("classpath:db/migration/common", "classpath:db/migration/postgresql")
+					.load()
+					.migrate();
+				SeededData data = new DataGenerator(postgres.getPostgresDatabase(), config).generate();
+
+				Map<String, ReportWriter.Run> runs = new LinkedHashMap<>();
+				for (String threadMode : config.threadModes()) {
+					Map<String, Object> properties = applicationProperties(config, postgres, smtp.getSmtp().getPort());
+					properties.put("spring.threads.virtual.enabled", "virtual".equals(threadMode));
+					try (ConfigurableApplicationContext context = new SpringApplicationBuilder(Application.class)
+							.profiles("prod")
+							.properties(properties)
+							.run()) {
+						int port = ((WebServerApplicationContext) context).getWebServer().getPort();
+						logger.info("Modo de threads: {}", threadMode);
+						runs.put(threadMode, run(config, data, URI.create("http://127.0.0.1:" + port)));
+					}
+				}
+				new ReportWriter().write(config, runs);
+				logger.info("Relatório em {}", config.outputDir().toAbsolutePath());
+				logger.info("E-mails recebidos pelo SMTP local: {}", smtp.getReceivedMessages().length);
+			} finally {
+				smtp.stop();
+			}
+		}
+	}
+
+	private static ReportWriter.Run run(LoadTestConfig config, SeededData data, URI baseUri) throws Exception {
+		EndpointStats stats = new EndpointStats();
+		Workload workload = new Workload(baseUri, data, stats);
+
+		logger.info("Aquecimento: {} s com {} usuários virtuais", config.warmup().toSeconds(), config.concurrency());
+		workload.run(config.concurrency(), config.warmup(), config.seed());
+		stats.reset();
+
+		logger.info("Medição: {} s", config.duration().toSeconds());
+		long started = System.nanoTime();
+		workload.run(config.concurrency(), config.duration(), config.seed() + 1);
+		Duration measured = Duration.ofNanos(System.nanoTime() - started);
+		return new ReportWriter.Run(stats.results(), measured);
+	}
+
+	private static Map<String, Object> applicationProperties(LoadTestConfig config, EmbeddedPostgres postgres, int smtpPort) {
+		Map<String, Object> properties = new HashMap<>();
+		properties.put("server.port", 0);
+		properties.put("server.address", "127.0.0.1");
+		properties.put("server.tomcat.threads.max", config.tomcatThreads());
+		properties.put("spring.datasource.url", postgres.getJdbcUrl("postgres", "postgres"));
+		properties.put("spring.datasource.username", "postgres");
+		properties.put("spring.datasource.password", "postgres");
+		properties.put("spring.datasource.hikari.maximum-pool-size", config.hikariPoolSize());
+		// "localhost" faria o EmailService só simular o envio; 127.0.0.1 passa pelo SMTP de verdade
+		properties.put("spring.mail.host", "127.0.0.1");
+		properties.put("spring.mail.port", smtpPort);
+		properties.put("spring.mail.username", "loadtest@gestora.local");
+		properties.put("spring.mail.password", "");
+		properties.put("spring.mail.properties.mail.smtp.auth", false);
+		properties.put("spring.mail.properties.mail.smtp.starttls.enable", false);
+		properties.put("app.email.admin", "admin@loadtest.local");
+		properties.put("spring.jpa.show-sql", false);
+		return properties;
+	}
+}
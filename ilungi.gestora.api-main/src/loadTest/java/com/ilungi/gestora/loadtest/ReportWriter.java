@@ -0,0 +1,124 @@
+package com.ilungi.gestora.loadtest;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.time.Duration;
+import java.time.OffsetDateTime;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeSet;
+
+import org.HdrHistogram.Histogram;
+
+import tools.jackson.databind.SerializationFeature;
+import tools.jackson.databind.json.JsonMapper;
+
+/**
+ * Grava report.json (para comparar execuções) e report.html com vazão e
+ * percentis de latência (ms) por endpoint, uma seção por modo de threads.
+ */
+final class ReportWriter {
+
+	private static final double[] PERCENTILES = { 50, 90, 99, 99.9 };
+
+	private final JsonMapper jsonMapper = JsonMapper.builder()
+		.enable(SerializationFeature.INDENT_OUTPUT)
+		.build();
+
+	record Run(Map<String, EndpointStats.Result> results, Duration measured) {
+	}
+
+	void write(LoadTestConfig config, Map<String, Run> runs) throws IOException {
+		Files.createDirectories(config.outputDir());
+
+		Map<String, Object> report = new LinkedHashMap<>();
+		report.put("finishedAt", OffsetDateTime.now().toString());
+		report.put("config", Map.of(
+			"users", config.users(),
+			"tasks", config.tasks(),
+			"emails", config.emails(),
+			"concurrency", config.concurrency(),
+			"tomcatThreads", config.tomcatThreads(),
+			"hikariPoolSize", config.hikariPoolSize()));
+
+		Map<String, Map<String, Map<String, Object>>> summaries = new LinkedHashMap<>();
+		Map<String, Object> jsonRuns = new LinkedHashMap<>();
+		runs.forEach((mode, run) -> {
+			Map<String, Map<String, Object>> endpoints = new LinkedHashMap<>();
+			run.results().forEach((endpoint, result) -> endpoints.put(endpoint, summary(result, run.measured())));
+			summaries.put(mode, endpoints);
+			jsonRuns.put(mode, Map.of("durationSeconds", run.measured().toSeconds(), "endpoints", endpoints));
+		});
+		report.put("runs", jsonRuns);
+
+		jsonMapper.writeValue(config.outputDir().resolve("report.json").toFile(), report);
+		Files.writeString(config.outputDir().resolve("report.html"), html(config, summaries), StandardCharsets.UTF_8);
+	}
+
+	private static Map<String, Object> summary(EndpointStats.Result result, Duration measured) {
+		Histogram histogram = result.histogram();
+		Map<String, Object> summary = new LinkedHashMap<>();
+		summary.put("requests", histogram.getTotalCount());
+		summary.put("errors", result.errors());
+		summary.put("throughputPerSecond", round(histogram.getTotalCount() / (double) Math.max(1, measured.toSeconds())));
+		summary.put("meanMs", round(histogram.getMean() / 1000.0));
+		for (double percentile : PERCENTILES) {
+			summary.put("p" + String.valueOf(percentile).replace(".0", "").replace(".", "_") + "Ms",
+				round(histogram.getValueAtPercentile(percentile) / 1000.0));
+		}
+		summary.put("maxMs", round(histogram.getMaxValue() / 1000.0));
+		return summary;
+	}
+
+	private static String html(LoadTestConfig config, Map<String, Map<String, Map<String, Object>>> summaries) {
+		StringBuilder html = new StringBuilder();
+		html.append("<!DOCTYPE html><html lang=\"pt\"><head><meta charset=\"utf-8\"><title>Gestora - teste de carga</title>")
+			.append("<style>body{font-family:sans-serif;margin:2em}table{border-collapse:collapse;margin-bottom:2em}")
+			.append("th,td{border:1px solid #ccc;padding:4px 10px;text-align:right}th:first-child,td:first-child{text-align:left}")
+			.append("</style></head><body><h1>Teste de carga</h1><p>")
+			.append(String.format(Locale.ROOT, "%d usuários, %d tarefas, %d e-mails; %d usuários virtuais; ",
+				config.users(), config.tasks(), config.emails(), config.concurrency()))
+			.append(String.format(Locale.ROOT, "Tomcat %d threads (modo plataforma), Hikari %d conexões. Latências em ms.",
+				config.tomcatThreads(), config.hikariPoolSize()))
+			.append("</p>");
+
+		summaries.forEach((mode, endpoints) -> {
+			html.append("<h2>Threads: ").append(mode).append("</h2>")
+				.append("<table><tr><th>Endpoint</th><th>Requisições</th><th>Erros</th><th>req/s</th>")
+				.append("<th>média</th><th>p50</th><th>p90</th><th>p99</th><th>p99.9</th><th>máx</th></tr>");
+			endpoints.forEach((endpoint, summary) -> {
+				html.append("<tr><td>").append(endpoint).append("</td>");
+				for (Object cell : summary.values()) {
+					html.append("<td>").append(cell).append("</td>");
+				}
+				html.append("</tr>");
+			});
+			html.append("</table>");
+		});
+
+		if (summaries.size() > 1) {
+			html.append("<h2>Comparação (req/s / p99)</h2><table><tr><th>Endpoint</th>");
+			summaries.keySet().forEach(mode -> html.append("<th>").append(mode).append("</th>"));
+			html.append("</tr>");
+			TreeSet<String> endpoints = new TreeSet<>();
+			summaries.values().forEach(modeEndpoints -> endpoints.addAll(modeEndpoints.keySet()));
+			for (String endpoint : endpoints) {
+				html.append("<tr><td>").append(endpoint).append("</td>");
+				summaries.values().forEach(modeEndpoints -> {
+					Map<String, Object> summary = modeEndpoints.get(endpoint);
+					html.append("<td>").append(summary == null ? "-"
+						: summary.get("throughputPerSecond") + " / " + summary.get("p99Ms")).append("</td>");
+				});
+				html.append("</tr>");
+			}
+			html.append("</table>");
+		}
+		return html.append("</body></html>").toString();
+	}
+
+	private static double round(double value) {
+		return Math.round(value * 100.0) / 100.0;
+	}
+}
@@ -0,0 +1,167 @@
+package com.ilungi.gestora.loadtest;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import com.ilungi.gestora.loadtest.DataGenerator.SeededData;
+
+import tools.jackson.databind.JsonNode;
+import tools.jackson.databind.json.JsonMapper;
+
+/**
+ * Carga em loop fechado: cada usuário virtual (thread virtual) faz login e repete
+ * operações sorteadas pelo peso, sem pausa, até o fim da fase.
+ *
+ * Um em cada ADMIN_EVERY usuários virtuais é administrador:
+ * - usuário comum: login 10%, GET /tasks/my-tasks 55%, PATCH /tasks/{id}/status 35%
+ * - administrador: login 10%, GET /tasks/query 60%, POST /admin/tasks (com e-mails) 30%
+ */
+final class Workload {
+
+	private static final int ADMIN_EVERY = 8;
+	private static final String[] STATUSES = { "PENDING", "TODO", "HOLD", "DOING", "DONE" };
+	private static final Duration REQUEST_TIMEOUT = Duration.ofSeconds(30);
+
+	private final URI baseUri;
+	private final SeededData data;
+	private final EndpointStats stats;
+	private final HttpClient httpClient;
+	private final JsonMapper jsonMapper = JsonMapper.builder().build();
+
+	Workload(URI baseUri, SeededData data, EndpointStats stats) {
+		this.baseUri = baseUri;
+		this.data = data;
+		this.stats = stats;
+		this.httpClient = HttpClient.newBuilder()
+			.version(HttpClient.Version.HTTP_1_1)
+			.connectTimeout(Duration.ofSeconds(5))
+			.build();
+	}
+
+	void run(int concurrency, Duration duration, long seed) throws InterruptedException {
+		AtomicBoolean running = new AtomicBoolean(true);
+		List<Thread> users = new ArrayList<>(concurrency);
+		for (int i = 0; i < concurrency; i++) {
+			int virtualUser = i;
+			users.add(Thread.ofVirtual().name("loadtest-user-" + i).start(() ->
+				new VirtualUser(virtualUser, new SplittableRandom(seed + virtualUser)).loop(running)));
+		}
+		Thread.sleep(duration);
+		running.set(false);
+		for (Thread user : users) {
+			user.join();
+		}
+	}
+
+	private final class VirtualUser {
+
+		private final SplittableRandom random;
+		private final int userIndex;
+		private final boolean admin;
+		private String token;
+
+		VirtualUser(int virtualUser, SplittableRandom random) {
+			this.random = random;
+			this.admin = virtualUser % ADMIN_EVERY == 0;
+			this.userIndex = admin
+				? (virtualUser / ADMIN_EVERY) % data.config().admins()
+				: data.regularUserIndex(random.nextInt(data.config().regularUsers()));
+		}
+
+		void loop(AtomicBoolean running) {
+			while (running.get()) {
+				int roll = random.nextInt(100);
+				if (token == null || roll < 10) {
+					login();
+				} else if (admin) {
+					if (roll < 70) {
+						queryTasks();
+					} else {
+						createTask();
+					}
+				} else if (roll < 65) {
+					listMyTasks();
+				} else {
+					patchStatus();
+				}
+			}
+		}
+
+		private void login() {
+			String body = "{\"email\":\"" + SeededData.email(userIndex) + "\",\"password\":\"" + DataGenerator.PASSWORD + "\"}";
+			HttpResponse<String> response = send("POST /auth/login",
+				request("/auth/login").POST(HttpRequest.BodyPublishers.ofString(body)));
+			if (response != null && response.statusCode() == 200) {
+				JsonNode json = jsonMapper.readTree(response.body());
+				token = json.get("token").asString();
+			}
+		}
+
+		private void listMyTasks() {
+			send("GET /tasks/my-tasks", authorized("/tasks/my-tasks").GET());
+		}
+
+		private void patchStatus() {
+			int owned = data.tasksOf(userIndex);
+			if (owned == 0) {
+				listMyTasks();
+				return;
+			}
+			long taskId = data.taskOf(userIndex, random.nextInt(owned));
+			String body = "{\"status\":\"" + STATUSES[random.nextInt(STATUSES.length)] + "\"}";
+			send("PATCH /tasks/{id}/status", authorized("/tasks/" + taskId + "/status")
+				.method("PATCH", HttpRequest.BodyPublishers.ofString(body)));
+		}
+
+		private void queryTasks() {
+			String status = STATUSES[random.nextInt(STATUSES.length)];
+			send("GET /tasks/query", authorized("/tasks/query?status=" + status + "&page=" + random.nextInt(5) + "&size=20").GET());
+		}
+
+		private void createTask() {
+			long first = data.userId(data.regularUserIndex(random.nextInt(data.config().regularUsers())));
+			long second = data.userId(data.regularUserIndex(random.nextInt(data.config().regularUsers())));
+			String body = "{\"title\":\"Tarefa de carga " + random.nextInt(1_000_000) + "\","
+				+ "\"description\":\"Criada pelo teste de carga\",\"daysToFinish\":" + (1 + random.nextInt(30)) + ","
+				+ "\"responsibles\":[" + first + (second != first ? "," + second : "") + "]}";
+			send("POST /admin/tasks", authorized("/admin/tasks").POST(HttpRequest.BodyPublishers.ofString(body)));
+		}
+
+		private HttpRequest.Builder authorized(String path) {
+			return request(path).header("Authorization", "Bearer " + token);
+		}
+
+		private HttpRequest.Builder request(String path) {
+			return HttpRequest.newBuilder(baseUri.resolve(path))
+				.timeout(REQUEST_TIMEOUT)
+				.header("Content-Type", "application/json");
+		}
+
+		private HttpResponse<String> send(String endpoint, HttpRequest.Builder builder) {
+			long started = System.nanoTime();
+			try {
+				HttpResponse<String> response = httpClient.send(builder.build(), HttpResponse.BodyHandlers.ofString());
+				boolean success = response.statusCode() < 400;
+				stats.record(endpoint, System.nanoTime() - started, success);
+				if (response.statusCode() == 401 || response.statusCode() == 403) {
+					token = null;
+				}
+				return response;
+			} catch (IOException e) {
+				stats.record(endpoint, System.nanoTime() - started, false);
+				return null;
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+				return null;
+			}
+		}
+	}
+}
@@ -0,0 +1,99 @@
+package com.ilungi.gestora.config;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Limite de concorrência ajustado pela latência observada (gradiente, como o Gradient2
+ * do concurrency-limits da Netflix), com redução multiplicativa em falhas (AIMD).
+ *
+ * - A latência de referência (longRtt) é uma média móvel longa; cada amostra é comparada
+ *   a ela: gradiente = tolerance * longRtt / rtt, entre 0.5 e 1.
+ * - Novo limite = limite * gradiente + sqrt(limite) (folga para crescer), suavizado.
+ * - Requisição com erro 5xx ou exceção: limite * DROP_FACTOR.
+ * - Com menos da metade do limite em uso não há evidência para mexer no limite.
+ */
+public class AdaptiveConcurrencyLimit {
+
+    private static final int LONG_WINDOW = 600;
+    private static final double DROP_FACTOR = 0.9;
+
+    private final int minLimit;
+    private final int maxLimit;
+    private final double tolerance;
+    private final double smoothing;
+    private final AtomicInteger inFlight = new AtomicInteger();
+
+    private volatile double limit;
+    private double longRttNanos;
+    private long samples;
+
+    public AdaptiveConcurrencyLimit(int initialLimit, int minLimit, int maxLimit, double tolerance, double smoothing) {
+        this.minLimit = Math.max(1, minLimit);
+        this.maxLimit = Math.max(this.minLimit, maxLimit);
+        this.tolerance = tolerance;
+        this.smoothing = smoothing;
+        this.limit = clamp(initialLimit);
+    }
+
+    // Reserva uma vaga; false quando o limite atual já está ocupado
+    public boolean tryAcquire() {
+        while (true) {
+            int current = inFlight.get();
+            if (current >= (int) limit) {
+                return false;
+            }
+            if (inFlight.compareAndSet(current, current + 1)) {
+                return true;
+            }
+        }
+    }
+
+    // Libera a vaga sem amostra (ex.: resposta assíncrona, cujo tempo não representa o servidor)
+    public void release() {
+        inFlight.decrementAndGet();
+    }
+
+    // Libera a vaga e ajusta o limite; inFlightAtStart inclui a própria requisição
+    public void release(long rttNanos, int inFlightAtStart, boolean dropped) {
+        inFlight.decrementAndGet();
+        onSample(rttNanos, inFlightAtStart, dropped);
+    }
+
+    synchronized void onSample(long rttNanos, int inFlightAtStart, boolean dropped) {
+        if (dropped) {
+            limit = clamp(limit * DROP_FACTOR);
+            return;
+        }
+        double rtt = Math.max(1, rttNanos);
+        samples++;
+        if (samples == 1) {
+            longRttNanos = rtt;
+        } else {
+            longRttNanos += (rtt - longRttNanos) / Math.min(samples, LONG_WINDOW);
+        }
+        // Depois de um pico a referência ficaria alta por muito tempo: acompanha a queda mais rápido
+        if (longRttNanos / rtt > 2) {
+            longRttNanos *= 0.95;
+        }
+
+        double current = limit;
+        if (inFlightAtStart < current / 2) {
+            return;
+        }
+        double gradient = Math.max(0.5, Math.min(1.0, tolerance * longRttNanos / rtt));
+        double target = current * gradient + Math.sqrt(current);
+        limit = clamp(current * (1 - smoothing) + target * smoothing);
+    }
+
+    public int getLimit() {
+        return (int) limit;
+    }
+
+    public int getInFlight() {
+        return inFlight.get();
+    }
+
+    private double clamp(double value) {
+        return Math.max(minLimit, Math.min(maxLimit, value));
+    }
+}
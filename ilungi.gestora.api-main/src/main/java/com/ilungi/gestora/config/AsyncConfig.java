@@ -1,10 +1,15 @@
 package com.ilungi.gestora.config;
 
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnThreading;
+import org.springframework.boot.thread.Threading;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.scheduling.annotation.EnableAsync;
 import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
 
+import io.micrometer.core.instrument.MeterRegistry;
+
 import java.util.concurrent.Executor;
 
 @Configuration
@@ -12,6 +17,7 @@ import java.util.concurrent.Executor;
 public class AsyncConfig {
     
     @Bean(name = "taskExecutor")
+    @ConditionalOnThreading(Threading.PLATFORM)
     public Executor taskExecutor() {
         ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
         executor.setCorePoolSize(2);
@@ -21,4 +27,14 @@ public class AsyncConfig {
         executor.initialize();
         return executor;
     }
-}
\ No newline at end of file
+    
+    // spring.threads.virtual.enabled=true: uma thread virtual por e-mail; o limite é o
+    // número de envios simultâneos (cada um grava no banco), não o tamanho de um pool
+    @Bean(name = "taskExecutor")
+    @ConditionalOnThreading(Threading.VIRTUAL)
+    public Executor virtualTaskExecutor(
+            @Value("${app.threads.virtual.max-concurrent-emails:${spring.datasource.hikari.maximum-pool-size:10}}") int maxConcurrent,
+            MeterRegistry meterRegistry) {
+        return new BoundedVirtualThreadExecutor("EmailThread-", maxConcurrent, meterRegistry);
+    }
+}
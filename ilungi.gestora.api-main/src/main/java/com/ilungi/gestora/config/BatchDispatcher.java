@@ -0,0 +1,589 @@
+package com.ilungi.gestora.config;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.PrintWriter;
+import java.net.URLDecoder;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Enumeration;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.web.access.WebInvocationPrivilegeEvaluator;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.DispatcherServlet;
+import org.springframework.web.util.UriComponentsBuilder;
+
+import jakarta.servlet.ReadListener;
+import jakarta.servlet.ServletInputStream;
+import jakarta.servlet.ServletOutputStream;
+import jakarta.servlet.WriteListener;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletRequestWrapper;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.servlet.http.HttpServletResponseWrapper;
+
+/**
+ * Executa uma sub-requisição do POST /batch pelos controllers existentes, na mesma
+ * thread e com o SecurityContext de quem chamou.
+ *
+ * A sub-requisição vai direto ao DispatcherServlet (sem os filtros do servlet), então as
+ * regras de URL do SecurityConfig são conferidas aqui pelo WebInvocationPrivilegeEvaluator,
+ * a mesma autorização de uma requisição avulsa. Sem o avaliador nenhuma sub-requisição é
+ * executada. Atributos, corpo e resposta são próprios de cada sub-requisição; nada é
+ * escrito na resposta real.
+ */
+@Component
+public class BatchDispatcher {
+
+    private static final Logger logger = LoggerFactory.getLogger(BatchDispatcher.class);
+
+    /**
+     * Resposta capturada de uma sub-requisição.
+     */
+    public record Result(int status, Map<String, String> headers, String contentType, byte[] body) {}
+
+    // Conexões longas, streaming e o próprio batch não fazem sentido dentro de um batch
+    private static final List<String> BLOCKED_PREFIXES = List.of(
+        "/batch", "/tasks/stream", "/admin/export", "/actuator", "/h2-console");
+
+    // Condicionais vêm só da sub-requisição, nunca da requisição do batch
+    private static final Set<String> NOT_INHERITED = Set.of(
+        "content-type", "content-length", "if-match", "if-none-match", "if-modified-since",
+        "if-unmodified-since", "accept");
+
+    private final DispatcherServlet dispatcherServlet;
+    private final ObjectProvider<WebInvocationPrivilegeEvaluator> privilegeEvaluator;
+
+    public BatchDispatcher(DispatcherServlet dispatcherServlet,
+                           ObjectProvider<WebInvocationPrivilegeEvaluator> privilegeEvaluator) {
+        this.dispatcherServlet = dispatcherServlet;
+        this.privilegeEvaluator = privilegeEvaluator;
+    }
+
+    // Motivo para recusar o caminho (null = aceito)
+    public static String rejectPath(String path) {
+        if (path == null || !path.startsWith("/") || path.startsWith("//")) {
+            return "path deve começar com /";
+        }
+        String withoutQuery = path.contains("?") ? path.substring(0, path.indexOf('?')) : path;
+        if (withoutQuery.contains("..") || withoutQuery.contains("\\") || withoutQuery.contains(";")) {
+            return "path inválido";
+        }
+        for (String prefix : BLOCKED_PREFIXES) {
+            if (withoutQuery.equals(prefix) || withoutQuery.startsWith(prefix + "/")) {
+                return "path não permitido em batch";
+            }
+        }
+        return null;
+    }
+
+    public Result dispatch(HttpServletRequest original, HttpServletResponse originalResponse, String method,
+                           String path, Map<String, String> headers, byte[] body) throws Exception {
+        String rejection = rejectPath(path);
+        if (rejection != null) {
+            return error(HttpStatus.BAD_REQUEST, rejection);
+        }
+        String uri = path.contains("?") ? path.substring(0, path.indexOf('?')) : path;
+        String query = path.contains("?") ? path.substring(path.indexOf('?') + 1) : null;
+
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        WebInvocationPrivilegeEvaluator evaluator = privilegeEvaluator.getIfAvailable();
+        if (evaluator == null) {
+            // Sem as regras de URL a sub-requisição passaria sem autorização: recusa
+            logger.error("WebInvocationPrivilegeEvaluator indisponível; sub-requisição {} {} recusada", method, uri);
+            return error(HttpStatus.FORBIDDEN, "Acesso negado");
+        }
+        if (!evaluator.isAllowed(original.getContextPath(), uri, method, authentication)) {
+            return error(HttpStatus.FORBIDDEN, "Acesso negado");
+        }
+
+        SubRequest request = new SubRequest(original, method, uri, query, headers, body);
+        CapturingResponse response = new CapturingResponse(originalResponse);
+        dispatcherServlet.service(request, response);
+        return response.result();
+    }
+
+    private static Result error(HttpStatus status, String message) {
+        String json = "{\"error\":\"" + message.replace("\"", "\\\"") + "\"}";
+        return new Result(status.value(), Map.of(), "application/json", json.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static final class SubRequest extends HttpServletRequestWrapper {
+
+        private final String method;
+        private final String uri;
+        private final String query;
+        private final Map<String, String> headers = new TreeMap<>(String.CASE_INSENSITIVE_ORDER);
+        private final byte[] body;
+        private final Map<String, Object> attributes = new HashMap<>();
+        private final Map<String, List<String>> parameters = new LinkedHashMap<>();
+        private String characterEncoding = "UTF-8";
+
+        SubRequest(HttpServletRequest original, String method, String uri, String query,
+                   Map<String, String> headers, byte[] body) {
+            super(original);
+            this.method = method.toUpperCase(Locale.ROOT);
+            this.uri = uri;
+            this.query = query;
+            this.body = body != null ? body : new byte[0];
+            if (headers != null) {
+                this.headers.putAll(headers);
+            }
+            if (body != null && !this.headers.containsKey(HttpHeaders.CONTENT_TYPE)) {
+                this.headers.put(HttpHeaders.CONTENT_TYPE, "application/json");
+            }
+            if (query != null) {
+                UriComponentsBuilder.newInstance().query(query).build().getQueryParams().forEach((name, values) ->
+                    this.parameters.put(decode(name), values.stream()
+                        .map(value -> value != null ? decode(value) : "").toList()));
+            }
+        }
+
+        @Override
+        public String getMethod() {
+            return method;
+        }
+
+        @Override
+        public String getRequestURI() {
+            return getContextPath() + uri;
+        }
+
+        @Override
+        public StringBuffer getRequestURL() {
+            StringBuffer url = new StringBuffer(getScheme()).append("://").append(getServerName());
+            return url.append(':').append(getServerPort()).append(getRequestURI());
+        }
+
+        @Override
+        public String getServletPath() {
+            return uri;
+        }
+
+        @Override
+        public String getPathInfo() {
+            return null;
+        }
+
+        @Override
+        public String getQueryString() {
+            return query;
+        }
+
+        @Override
+        public String getParameter(String name) {
+            List<String> values = parameters.get(name);
+            return values != null && !values.isEmpty() ? values.get(0) : null;
+        }
+
+        @Override
+        public Map<String, String[]> getParameterMap() {
+            Map<String, String[]> map = new LinkedHashMap<>();
+            parameters.forEach((name, values) -> map.put(name, values.toArray(String[]::new)));
+            return map;
+        }
+
+        @Override
+        public Enumeration<String> getParameterNames() {
+            return Collections.enumeration(parameters.keySet());
+        }
+
+        @Override
+        public String[] getParameterValues(String name) {
+            return getParameterMap().get(name);
+        }
+
+        @Override
+        public String getHeader(String name) {
+            String value = headers.get(name);
+            if (value != null || NOT_INHERITED.contains(name.toLowerCase(Locale.ROOT))) {
+                return value;
+            }
+            return super.getHeader(name);
+        }
+
+        @Override
+        public Enumeration<String> getHeaders(String name) {
+            String value = getHeader(name);
+            return value != null ? Collections.enumeration(List.of(value)) : Collections.emptyEnumeration();
+        }
+
+        @Override
+        public Enumeration<String> getHeaderNames() {
+            Set<String> names = new LinkedHashSet<>(headers.keySet());
+            for (String name : Collections.list(super.getHeaderNames())) {
+                if (!NOT_INHERITED.contains(name.toLowerCase(Locale.ROOT))) {
+                    names.add(name);
+                }
+            }
+            return Collections.enumeration(names);
+        }
+
+        @Override
+        public long getDateHeader(String name) {
+            String value = getHeader(name);
+            if (value == null) {
+                return -1;
+            }
+            HttpHeaders parsed = new HttpHeaders();
+            parsed.set(name, value);
+            return parsed.getFirstDate(name);
+        }
+
+        @Override
+        public int getIntHeader(String name) {
+            String value = getHeader(name);
+            return value != null ? Integer.parseInt(value) : -1;
+        }
+
+        @Override
+        public String getContentType() {
+            return headers.get(HttpHeaders.CONTENT_TYPE);
+        }
+
+        @Override
+        public int getContentLength() {
+            return body.length;
+        }
+
+        @Override
+        public long getContentLengthLong() {
+            return body.length;
+        }
+
+        @Override
+        public String getCharacterEncoding() {
+            return characterEncoding;
+        }
+
+        @Override
+        public void setCharacterEncoding(String encoding) {
+            this.characterEncoding = encoding;
+        }
+
+        @Override
+        public ServletInputStream getInputStream() {
+            ByteArrayInputStream input = new ByteArrayInputStream(body);
+            return new ServletInputStream() {
+                @Override
+                public int read() {
+                    return input.read();
+                }
+
+                @Override
+                public int read(byte[] buffer, int offset, int length) {
+                    return input.read(buffer, offset, length);
+                }
+
+                @Override
+                public boolean isFinished() {
+                    return input.available() == 0;
+                }
+
+                @Override
+                public boolean isReady() {
+                    return true;
+                }
+
+                @Override
+                public void setReadListener(ReadListener listener) {
+                    throw new UnsupportedOperationException();
+                }
+            };
+        }
+
+        @Override
+        public BufferedReader getReader() {
+            return new BufferedReader(new InputStreamReader(getInputStream(), Charset.forName(characterEncoding)));
+        }
+
+        @Override
+        public Object getAttribute(String name) {
+            return attributes.get(name);
+        }
+
+        @Override
+        public Enumeration<String> getAttributeNames() {
+            return Collections.enumeration(new ArrayList<>(attributes.keySet()));
+        }
+
+        @Override
+        public void setAttribute(String name, Object value) {
+            if (value == null) {
+                attributes.remove(name);
+            } else {
+                attributes.put(name, value);
+            }
+        }
+
+        @Override
+        public void removeAttribute(String name) {
+            attributes.remove(name);
+        }
+
+        @Override
+        public boolean isAsyncSupported() {
+            return false;
+        }
+
+        private static String decode(String value) {
+            return URLDecoder.decode(value, StandardCharsets.UTF_8);
+        }
+    }
+
+    private static final class CapturingResponse extends HttpServletResponseWrapper {
+
+        private final ByteArrayOutputStream body = new ByteArrayOutputStream();
+        private final Map<String, List<String>> headers = new TreeMap<>(String.CASE_INSENSITIVE_ORDER);
+        private int status = HttpServletResponse.SC_OK;
+        private String contentType;
+        private String characterEncoding = "UTF-8";
+        private PrintWriter writer;
+        private ServletOutputStream outputStream;
+
+        // Status, headers e corpo ficam aqui; a resposta real não é alterada
+        CapturingResponse(HttpServletResponse original) {
+            super(original);
+        }
+
+        Result result() {
+            if (writer != null) {
+                writer.flush();
+            }
+            Map<String, String> flat = new LinkedHashMap<>();
+            headers.forEach((name, values) -> flat.put(name, String.join(", ", values)));
+            return new Result(status, flat, contentType, body.toByteArray());
+        }
+
+        @Override
+        public ServletOutputStream getOutputStream() {
+            if (outputStream == null) {
+                outputStream = new ServletOutputStream() {
+                    @Override
+                    public void write(int b) {
+                        body.write(b);
+                    }
+
+                    @Override
+                    public void write(byte[] bytes, int offset, int length) {
+                        body.write(bytes, offset, length);
+                    }
+
+                    @Override
+                    public boolean isReady() {
+                        return true;
+                    }
+
+                    @Override
+                    public void setWriteListener(WriteListener listener) {
+                        throw new UnsupportedOperationException();
+                    }
+                };
+            }
+            return outputStream;
+        }
+
+        @Override
+        public PrintWriter getWriter() {
+            if (writer == null) {
+                writer = new PrintWriter(new OutputStreamWriter(getOutputStream(), Charset.forName(characterEncoding)));
+            }
+            return writer;
+        }
+
+        @Override
+        public void setStatus(int status) {
+            this.status = status;
+        }
+
+        @Override
+        public int getStatus() {
+            return status;
+        }
+
+        @Override
+        public void sendError(int status) {
+            this.status = status;
+        }
+
+        @Override
+        public void sendError(int status, String message) {
+            this.status = status;
+            if (message != null && body.size() == 0) {
+                Result error = error(HttpStatus.valueOf(status), message);
+                contentType = error.contentType();
+                body.writeBytes(error.body());
+            }
+        }
+
+        @Override
+        public void sendRedirect(String location) {
+            status = HttpServletResponse.SC_FOUND;
+            setHeader(HttpHeaders.LOCATION, location);
+        }
+
+        @Override
+        public void setHeader(String name, String value) {
+            if (HttpHeaders.CONTENT_TYPE.equalsIgnoreCase(name)) {
+                setContentType(value);
+                return;
+            }
+            List<String> values = new ArrayList<>();
+            values.add(value);
+            headers.put(name, values);
+        }
+
+        @Override
+        public void addHeader(String name, String value) {
+            if (HttpHeaders.CONTENT_TYPE.equalsIgnoreCase(name)) {
+                setContentType(value);
+                return;
+            }
+            headers.computeIfAbsent(name, key -> new ArrayList<>()).add(value);
+        }
+
+        @Override
+        public void setIntHeader(String name, int value) {
+            setHeader(name, Integer.toString(value));
+        }
+
+        @Override
+        public void addIntHeader(String name, int value) {
+            addHeader(name, Integer.toString(value));
+        }
+
+        @Override
+        public void setDateHeader(String name, long date) {
+            HttpHeaders formatted = new HttpHeaders();
+            formatted.setDate(name, date);
+            setHeader(name, formatted.getFirst(name));
+        }
+
+        @Override
+        public void addDateHeader(String name, long date) {
+            HttpHeaders formatted = new HttpHeaders();
+            formatted.setDate(name, date);
+            addHeader(name, formatted.getFirst(name));
+        }
+
+        @Override
+        public boolean containsHeader(String name) {
+            return headers.containsKey(name)
+                || (HttpHeaders.CONTENT_TYPE.equalsIgnoreCase(name) && contentType != null);
+        }
+
+        @Override
+        public String getHeader(String name) {
+            if (HttpHeaders.CONTENT_TYPE.equalsIgnoreCase(name)) {
+                return contentType;
+            }
+            List<String> values = headers.get(name);
+            return values != null && !values.isEmpty() ? values.get(0) : null;
+        }
+
+        @Override
+        public Collection<String> getHeaders(String name) {
+            return headers.getOrDefault(name, List.of());
+        }
+
+        @Override
+        public Collection<String> getHeaderNames() {
+            return headers.keySet();
+        }
+
+        @Override
+        public void setContentType(String type) {
+            this.contentType = type;
+        }
+
+        @Override
+        public String getContentType() {
+            return contentType;
+        }
+
+        @Override
+        public void setCharacterEncoding(String encoding) {
+            this.characterEncoding = encoding;
+        }
+
+        @Override
+        public String getCharacterEncoding() {
+            return characterEncoding;
+        }
+
+        @Override
+        public void setContentLength(int length) {
+        }
+
+        @Override
+        public void setContentLengthLong(long length) {
+        }
+
+        @Override
+        public void setBufferSize(int size) {
+        }
+
+        @Override
+        public int getBufferSize() {
+            return body.size();
+        }
+
+        @Override
+        public void flushBuffer() {
+            if (writer != null) {
+                writer.flush();
+            }
+        }
+
+        @Override
+        public boolean isCommitted() {
+            return false;
+        }
+
+        @Override
+        public void reset() {
+            resetBuffer();
+            headers.clear();
+            status = HttpServletResponse.SC_OK;
+            contentType = null;
+        }
+
+        @Override
+        public void resetBuffer() {
+            if (writer != null) {
+                writer.flush();
+            }
+            body.reset();
+        }
+
+        @Override
+        public void setLocale(Locale locale) {
+        }
+
+        @Override
+        public Locale getLocale() {
+            return Locale.getDefault();
+        }
+    }
+}
@@ -0,0 +1,58 @@
+package com.ilungi.gestora.config;
+
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.springframework.core.task.TaskExecutor;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Executor de threads virtuais com limite de tarefas simultâneas por semáforo.
+ *
+ * Quem submete nunca bloqueia: cada tarefa ganha sua thread virtual, que espera
+ * uma permissão antes de rodar. Métricas: gestora.executor.running / .waiting (tag name).
+ */
+public class BoundedVirtualThreadExecutor implements TaskExecutor {
+
+    private final ThreadFactory threadFactory;
+    private final Semaphore permits;
+    private final AtomicInteger running = new AtomicInteger();
+    private final AtomicInteger waiting = new AtomicInteger();
+
+    public BoundedVirtualThreadExecutor(String threadNamePrefix, int maxConcurrent, MeterRegistry meterRegistry) {
+        this.threadFactory = Thread.ofVirtual().name(threadNamePrefix, 1).factory();
+        this.permits = new Semaphore(Math.max(1, maxConcurrent));
+
+        String name = threadNamePrefix.endsWith("-")
+            ? threadNamePrefix.substring(0, threadNamePrefix.length() - 1)
+            : threadNamePrefix;
+        Gauge.builder("gestora.executor.running", running, AtomicInteger::get)
+            .tag("name", name)
+            .register(meterRegistry);
+        Gauge.builder("gestora.executor.waiting", waiting, AtomicInteger::get)
+            .tag("name", name)
+            .register(meterRegistry);
+    }
+
+    @Override
+    public void execute(Runnable task) {
+        waiting.incrementAndGet();
+        threadFactory.newThread(() -> {
+            try {
+                permits.acquireUninterruptibly();
+            } finally {
+                waiting.decrementAndGet();
+            }
+            running.incrementAndGet();
+            try {
+                task.run();
+            } finally {
+                running.decrementAndGet();
+                permits.release();
+            }
+        }).start();
+    }
+}
@@ -0,0 +1,80 @@
+package com.ilungi.gestora.config;
+
+import java.util.List;
+
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.InvalidMediaTypeException;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.HttpMessageConverters;
+import org.springframework.http.converter.cbor.JacksonCborHttpMessageConverter;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import tools.jackson.databind.JacksonModule;
+import tools.jackson.dataformat.cbor.CBORMapper;
+
+/**
+ * CBOR (application/cbor) ao lado do JSON: o cliente escolhe pelo Accept.
+ *
+ * O conversor entra na posição de CBOR dos conversores padrão, depois do JSON:
+ * sem Accept ou com Accept: *&#47;* a resposta continua JSON.
+ */
+@Configuration
+public class CborConfig implements WebMvcConfigurer {
+
+    // Os mesmos módulos do JsonMapper do Boot (ex.: EntityJsonModule): o CBOR tem o mesmo formato
+    private final List<JacksonModule> modules;
+
+    public CborConfig(List<JacksonModule> modules) {
+        this.modules = modules;
+    }
+
+    @Bean
+    public CBORMapper cborMapper() {
+        return CBORMapper.builder().addModules(modules).build();
+    }
+
+    @Override
+    public void configureMessageConverters(HttpMessageConverters.ServerBuilder builder) {
+        builder.withCborConverter(new JacksonCborHttpMessageConverter(cborMapper()));
+    }
+
+    // Sufixo das ETags da representação CBOR: JSON e CBOR do mesmo recurso nunca
+    // compartilham ETag (o cliente que troca o Accept não recebe 304 do outro formato)
+    public static final String ETAG_SUFFIX = ".cbor";
+
+    public static String etagScope(String scope, String accept) {
+        return prefersCbor(accept) ? scope + ETAG_SUFFIX : scope;
+    }
+
+    /**
+     * Mesma escolha da negociação do Spring para as respostas já serializadas
+     * (bytes em cache) e para a ETag: CBOR só se pedido explicitamente, com
+     * qualidade maior que a do JSON ou antes dele no Accept.
+     */
+    public static boolean prefersCbor(String accept) {
+        if (accept == null || accept.isBlank()) {
+            return false;
+        }
+        List<MediaType> types;
+        try {
+            types = MediaType.parseMediaTypes(accept);
+        } catch (InvalidMediaTypeException e) {
+            return false;
+        }
+        double cbor = 0;
+        double json = 0;
+        boolean jsonFirst = false;
+        for (MediaType type : types) {
+            double quality = type.getQualityValue();
+            if (type.equalsTypeAndSubtype(MediaType.APPLICATION_CBOR)) {
+                cbor = Math.max(cbor, quality);
+            } else if (type.includes(MediaType.APPLICATION_JSON)) {
+                json = Math.max(json, quality);
+                // Wildcards perdem para o tipo explícito; JSON explícito antes do CBOR ganha o empate
+                jsonFirst |= cbor == 0 && type.equalsTypeAndSubtype(MediaType.APPLICATION_JSON);
+            }
+        }
+        return cbor > 0 && (cbor > json || (cbor == json && !jsonFirst));
+    }
+}
@@ -0,0 +1,122 @@
+package com.ilungi.gestora.config;
+
+import java.io.IOException;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+/**
+ * Descarte de carga antes do Spring Security: cada grupo de rotas tem um limite
+ * adaptativo de requisições em andamento (AdaptiveConcurrencyLimit). Acima dele a
+ * resposta é 503 imediato com Retry-After, em vez de esperar até o connection-timeout
+ * do Hikari.
+ *
+ * Métricas (tag group): gestora.http.limiter.limit, gestora.http.limiter.in-flight,
+ * gestora.http.limiter.rejected.
+ */
+public class ConcurrencyLimitFilter extends OncePerRequestFilter {
+
+    // Prefixo de rota -> grupo; rotas fora da lista (actuator, swagger, SSE) não são limitadas
+    private static final Map<String, String> ROUTE_GROUPS = new LinkedHashMap<>();
+
+    static {
+        ROUTE_GROUPS.put("/auth", "auth");
+        ROUTE_GROUPS.put("/tasks", "tasks");
+        ROUTE_GROUPS.put("/admin", "admin");
+        // Leituras de tarefas em paralelo (BootstrapService)
+        ROUTE_GROUPS.put("/bootstrap", "tasks");
+        // Sub-requisições não passam pelos filtros: o batch inteiro conta como uma
+        ROUTE_GROUPS.put("/batch", "tasks");
+        ROUTE_GROUPS.put("/graphql", "tasks");
+        ROUTE_GROUPS.put("/api/emails", "emails");
+    }
+
+    private final Map<String, AdaptiveConcurrencyLimit> limits = new LinkedHashMap<>();
+    private final Map<String, Counter> rejections = new LinkedHashMap<>();
+
+    public ConcurrencyLimitFilter(ConcurrencyLimiterProperties properties, MeterRegistry meterRegistry) {
+        // Um limite (e um conjunto de métricas) por grupo, mesmo com vários prefixos no grupo
+        for (String group : new LinkedHashSet<>(ROUTE_GROUPS.values())) {
+            ConcurrencyLimiterProperties.Limits config = properties.forGroup(group);
+            AdaptiveConcurrencyLimit limit = new AdaptiveConcurrencyLimit(config.getInitialLimit(),
+                config.getMinLimit(), config.getMaxLimit(), config.getTolerance(), config.getSmoothing());
+            limits.put(group, limit);
+            rejections.put(group, Counter.builder("gestora.http.limiter.rejected")
+                .tag("group", group)
+                .register(meterRegistry));
+            Gauge.builder("gestora.http.limiter.limit", limit, AdaptiveConcurrencyLimit::getLimit)
+                .tag("group", group)
+                .register(meterRegistry);
+            Gauge.builder("gestora.http.limiter.in-flight", limit, AdaptiveConcurrencyLimit::getInFlight)
+                .tag("group", group)
+                .register(meterRegistry);
+        }
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return group(request.getServletPath()) == null;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response,
+                                    FilterChain filterChain) throws ServletException, IOException {
+        String group = group(request.getServletPath());
+        AdaptiveConcurrencyLimit limit = limits.get(group);
+        if (!limit.tryAcquire()) {
+            rejections.get(group).increment();
+            response.setStatus(HttpStatus.SERVICE_UNAVAILABLE.value());
+            response.setHeader(HttpHeaders.RETRY_AFTER, "1");
+            response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+            response.setCharacterEncoding("UTF-8");
+            response.getWriter().write("{\"error\":\"Servidor ocupado, tente novamente\"}");
+            return;
+        }
+
+        int inFlightAtStart = limit.getInFlight();
+        long started = System.nanoTime();
+        boolean failed = true;
+        try {
+            filterChain.doFilter(request, response);
+            failed = false;
+        } finally {
+            if (request.isAsyncStarted()) {
+                // Exportações em streaming: o tempo até aqui não mede o servidor
+                limit.release();
+            } else {
+                limit.release(System.nanoTime() - started, inFlightAtStart,
+                    failed || response.getStatus() >= 500);
+            }
+        }
+    }
+
+    AdaptiveConcurrencyLimit limit(String group) {
+        return limits.get(group);
+    }
+
+    static String group(String path) {
+        if (path == null || "/tasks/stream".equals(path)) {
+            return null;
+        }
+        for (Map.Entry<String, String> route : ROUTE_GROUPS.entrySet()) {
+            String prefix = route.getKey();
+            if (path.equals(prefix) || path.startsWith(prefix + "/")) {
+                return route.getValue();
+            }
+        }
+        return null;
+    }
+}
@@ -0,0 +1,27 @@
+package com.ilungi.gestora.config;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnBooleanProperty;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Liga o ConcurrencyLimitFilter (app.limiter.enabled=true) antes da cadeia do Spring Security.
+ */
+@Configuration
+@ConditionalOnBooleanProperty("app.limiter.enabled")
+public class ConcurrencyLimiterConfig {
+
+    @Bean
+    public FilterRegistrationBean<ConcurrencyLimitFilter> concurrencyLimitFilter(
+            ConcurrencyLimiterProperties properties, MeterRegistry meterRegistry) {
+        FilterRegistrationBean<ConcurrencyLimitFilter> registration =
+            new FilterRegistrationBean<>(new ConcurrencyLimitFilter(properties, meterRegistry));
+        // Depois do teto fixo do modo virtual (RequestConcurrencyFilter) e antes da segurança (-100)
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE + 20);
+        return registration;
+    }
+}
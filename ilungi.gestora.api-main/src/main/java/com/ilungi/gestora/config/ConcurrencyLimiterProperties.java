@@ -0,0 +1,118 @@
+package com.ilungi.gestora.config;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * app.limiter.*: limites adaptativos por grupo de rotas (auth, tasks, admin, emails).
+ * Valores em app.limiter.groups.<grupo>.* substituem os padrões para aquele grupo.
+ */
+@Configuration
+@ConfigurationProperties(prefix = "app.limiter")
+public class ConcurrencyLimiterProperties {
+
+    private boolean enabled = false;
+    private Limits defaults = Limits.standard();
+    private Map<String, Limits> groups = new HashMap<>();
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public Limits getDefaults() {
+        return defaults;
+    }
+
+    public void setDefaults(Limits defaults) {
+        this.defaults = defaults;
+    }
+
+    public Map<String, Limits> getGroups() {
+        return groups;
+    }
+
+    public void setGroups(Map<String, Limits> groups) {
+        this.groups = groups;
+    }
+
+    // Limites do grupo, completando o que não foi configurado com os padrões
+    Limits forGroup(String group) {
+        Limits custom = groups.get(group);
+        if (custom == null) {
+            return defaults;
+        }
+        Limits merged = new Limits();
+        merged.setInitialLimit(custom.getInitialLimit() != null ? custom.getInitialLimit() : defaults.getInitialLimit());
+        merged.setMinLimit(custom.getMinLimit() != null ? custom.getMinLimit() : defaults.getMinLimit());
+        merged.setMaxLimit(custom.getMaxLimit() != null ? custom.getMaxLimit() : defaults.getMaxLimit());
+        merged.setTolerance(custom.getTolerance() != null ? custom.getTolerance() : defaults.getTolerance());
+        merged.setSmoothing(custom.getSmoothing() != null ? custom.getSmoothing() : defaults.getSmoothing());
+        return merged;
+    }
+
+    public static class Limits {
+        private Integer initialLimit;
+        private Integer minLimit;
+        private Integer maxLimit;
+        // Quanto a latência pode subir (em relação à média longa) sem reduzir o limite
+        private Double tolerance;
+        private Double smoothing;
+
+        static Limits standard() {
+            Limits limits = new Limits();
+            limits.setInitialLimit(10);
+            limits.setMinLimit(2);
+            limits.setMaxLimit(40);
+            limits.setTolerance(1.5);
+            limits.setSmoothing(0.2);
+            return limits;
+        }
+
+        public Integer getInitialLimit() {
+            return initialLimit;
+        }
+
+        public void setInitialLimit(Integer initialLimit) {
+            this.initialLimit = initialLimit;
+        }
+
+        public Integer getMinLimit() {
+            return minLimit;
+        }
+
+        public void setMinLimit(Integer minLimit) {
+            this.minLimit = minLimit;
+        }
+
+        public Integer getMaxLimit() {
+            return maxLimit;
+        }
+
+        public void setMaxLimit(Integer maxLimit) {
+            this.maxLimit = maxLimit;
+        }
+
+        public Double getTolerance() {
+            return tolerance;
+        }
+
+        public void setTolerance(Double tolerance) {
+            this.tolerance = tolerance;
+        }
+
+        public Double getSmoothing() {
+            return smoothing;
+        }
+
+        public void setSmoothing(Double smoothing) {
+            this.smoothing = smoothing;
+        }
+    }
+}
@@ -0,0 +1,257 @@
+package com.ilungi.gestora.config;
+
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.stereotype.Component;
+
+import com.ilungi.gestora.entities.Role;
+import com.ilungi.gestora.entities.Task;
+import com.ilungi.gestora.entities.User;
+import com.ilungi.gestora.repositories.UserListing;
+
+import tools.jackson.core.JsonGenerator;
+import tools.jackson.core.SerializableString;
+import tools.jackson.core.io.SerializedString;
+import tools.jackson.databind.SerializationContext;
+import tools.jackson.databind.module.SimpleModule;
+import tools.jackson.databind.ser.std.StdSerializer;
+
+/**
+ * Serializadores escritos à mão para as respostas de leitura mais frequentes: Task,
+ * User e as linhas de usuários do admin.
+ *
+ * Escrevem direto no JsonGenerator, com os nomes já codificados e sem introspecção
+ * por reflexão. Também não criam as authorities do UserDetails para cada usuário. O
+ * formato é o mesmo da serialização por bean: propriedades em ordem alfabética e
+ * os @JsonIgnoreProperties de Task e User aplicados à mão. Datas e enums passam
+ * pelos serializadores padrão, para seguir a configuração do mapper.
+ *
+ * Registrado como bean: o Spring Boot o adiciona ao JsonMapper (e o CborConfig ao
+ * CBORMapper).
+ */
+@Component
+public class EntityJsonModule extends SimpleModule {
+
+    private static final SerializedString ACCOUNT_NON_EXPIRED = new SerializedString("accountNonExpired");
+    private static final SerializedString ACCOUNT_NON_LOCKED = new SerializedString("accountNonLocked");
+    private static final SerializedString ASSIGNED_TASKS = new SerializedString("assignedTasks");
+    private static final SerializedString AUTHORITY = new SerializedString("authority");
+    private static final SerializedString AUTHORITIES = new SerializedString("authorities");
+    private static final SerializedString CHANGE_SEQ = new SerializedString("changeSeq");
+    private static final SerializedString CREATE_AT = new SerializedString("createAt");
+    private static final SerializedString CREATED_AT = new SerializedString("createdAt");
+    private static final SerializedString CREATED_BY = new SerializedString("createdBy");
+    private static final SerializedString CREATED_TASK_COUNT = new SerializedString("createdTaskCount");
+    private static final SerializedString CREATED_TASKS = new SerializedString("createdTasks");
+    private static final SerializedString CREDENTIALS_NON_EXPIRED = new SerializedString("credentialsNonExpired");
+    private static final SerializedString DAYS_TO_FINISH = new SerializedString("daysToFinish");
+    private static final SerializedString DESCRIPTION = new SerializedString("description");
+    private static final SerializedString EMAIL = new SerializedString("email");
+    private static final SerializedString ENABLED = new SerializedString("enabled");
+    private static final SerializedString END_DATE = new SerializedString("endDate");
+    private static final SerializedString ID = new SerializedString("id");
+    private static final SerializedString NAME = new SerializedString("name");
+    private static final SerializedString PHONE = new SerializedString("phone");
+    private static final SerializedString RESPONSIBLES = new SerializedString("responsibles");
+    private static final SerializedString ROLE = new SerializedString("role");
+    private static final SerializedString STATUS = new SerializedString("status");
+    private static final SerializedString TASK_COUNT = new SerializedString("taskCount");
+    private static final SerializedString TITLE = new SerializedString("title");
+    private static final SerializedString UPDATED_AT = new SerializedString("updatedAt");
+    private static final SerializedString USERNAME = new SerializedString("username");
+    private static final SerializedString VERSION = new SerializedString("version");
+
+    // Mesmo valor de User.getAuthorities(), sem a lista e o SimpleGrantedAuthority por usuário
+    private static final Map<Role, SerializedString> AUTHORITY_BY_ROLE = new EnumMap<>(Role.class);
+
+    static {
+        for (Role role : Role.values()) {
+            AUTHORITY_BY_ROLE.put(role, new SerializedString("ROLE_" + role.name()));
+        }
+    }
+
+    public EntityJsonModule() {
+        super("gestora-entities");
+        addSerializer(Task.class, new TaskSerializer());
+        addSerializer(User.class, new UserSerializer());
+        addSerializer(UserListing.class, new UserListingSerializer());
+    }
+
+    static final class TaskSerializer extends StdSerializer<Task> {
+
+        TaskSerializer() {
+            super(Task.class);
+        }
+
+        @Override
+        public void serialize(Task task, JsonGenerator gen, SerializationContext ctxt) {
+            writeTask(task, gen, true);
+        }
+    }
+
+    // Usuário como resposta própria (PUT /users/...): inclui as tarefas, sem os usuários delas
+    static final class UserSerializer extends StdSerializer<User> {
+
+        UserSerializer() {
+            super(User.class);
+        }
+
+        @Override
+        public void serialize(User user, JsonGenerator gen, SerializationContext ctxt) {
+            writeUser(user, gen, true);
+        }
+    }
+
+    static final class UserListingSerializer extends StdSerializer<UserListing> {
+
+        UserListingSerializer() {
+            super(UserListing.class);
+        }
+
+        @Override
+        public void serialize(UserListing user, JsonGenerator gen, SerializationContext ctxt) {
+            gen.writeStartObject(user);
+            writeNumber(gen, ID, user.id());
+            writeString(gen, NAME, user.name());
+            writeString(gen, EMAIL, user.email());
+            writeString(gen, PHONE, user.phone());
+            writePojo(gen, ROLE, user.role());
+            writePojo(gen, CREATED_AT, user.createdAt());
+            writePojo(gen, UPDATED_AT, user.updatedAt());
+            writeNumber(gen, TASK_COUNT, user.taskCount());
+            writeNumber(gen, CREATED_TASK_COUNT, user.createdTaskCount());
+            gen.writeEndObject();
+        }
+    }
+
+    // withUsers=false: task dentro de User.assignedTasks/createdTasks (sem responsibles e createdBy)
+    private static void writeTask(Task task, JsonGenerator gen, boolean withUsers) {
+        gen.writeStartObject(task);
+        writeNumber(gen, CHANGE_SEQ, task.getChangeSeq());
+        writePojo(gen, CREATE_AT, task.getCreateAt());
+        if (withUsers) {
+            gen.writeName(CREATED_BY);
+            if (task.getCreatedBy() == null) {
+                gen.writeNull();
+            } else {
+                writeUser(task.getCreatedBy(), gen, false);
+            }
+        }
+        writeNumber(gen, DAYS_TO_FINISH, task.getDaysToFinish());
+        writeString(gen, DESCRIPTION, task.getDescription());
+        writePojo(gen, END_DATE, task.getEndDate());
+        writeNumber(gen, ID, task.getId());
+        if (withUsers) {
+            gen.writeName(RESPONSIBLES);
+            writeUsers(task.getResponsibles(), gen);
+        }
+        writePojo(gen, STATUS, task.getStatus());
+        writeString(gen, TITLE, task.getTitle());
+        writeNumber(gen, VERSION, task.getVersion());
+        gen.writeEndObject();
+    }
+
+    // withTasks=false: usuário dentro de uma task (sem assignedTasks e createdTasks)
+    private static void writeUser(User user, JsonGenerator gen, boolean withTasks) {
+        gen.writeStartObject(user);
+        gen.writeName(ACCOUNT_NON_EXPIRED);
+        gen.writeBoolean(user.isAccountNonExpired());
+        gen.writeName(ACCOUNT_NON_LOCKED);
+        gen.writeBoolean(user.isAccountNonLocked());
+        if (withTasks) {
+            gen.writeName(ASSIGNED_TASKS);
+            writeTasks(user.getAssignedTasks(), gen);
+        }
+        gen.writeName(AUTHORITIES);
+        gen.writeStartArray();
+        if (user.getRole() != null) {
+            gen.writeStartObject();
+            gen.writeName(AUTHORITY);
+            gen.writeString(AUTHORITY_BY_ROLE.get(user.getRole()));
+            gen.writeEndObject();
+        }
+        gen.writeEndArray();
+        writePojo(gen, CREATED_AT, user.getCreatedAt());
+        if (withTasks) {
+            gen.writeName(CREATED_TASKS);
+            writeTasks(user.getCreatedTasks(), gen);
+        }
+        gen.writeName(CREDENTIALS_NON_EXPIRED);
+        gen.writeBoolean(user.isCredentialsNonExpired());
+        writeString(gen, EMAIL, user.getEmail());
+        gen.writeName(ENABLED);
+        gen.writeBoolean(user.isEnabled());
+        writeNumber(gen, ID, user.getId());
+        writeString(gen, NAME, user.getName());
+        writeString(gen, PHONE, user.getPhone());
+        writePojo(gen, ROLE, user.getRole());
+        writePojo(gen, UPDATED_AT, user.getUpdatedAt());
+        writeString(gen, USERNAME, user.getUsername());
+        writeNumber(gen, VERSION, user.getVersion());
+        gen.writeEndObject();
+    }
+
+    // Laço por índice: as coleções do Hibernate (PersistentBag) são List
+    private static void writeUsers(List<User> users, JsonGenerator gen) {
+        if (users == null) {
+            gen.writeNull();
+            return;
+        }
+        gen.writeStartArray(users, users.size());
+        for (int i = 0; i < users.size(); i++) {
+            writeUser(users.get(i), gen, false);
+        }
+        gen.writeEndArray();
+    }
+
+    private static void writeTasks(List<Task> tasks, JsonGenerator gen) {
+        if (tasks == null) {
+            gen.writeNull();
+            return;
+        }
+        gen.writeStartArray(tasks, tasks.size());
+        for (int i = 0; i < tasks.size(); i++) {
+            writeTask(tasks.get(i), gen, false);
+        }
+        gen.writeEndArray();
+    }
+
+    private static void writeNumber(JsonGenerator gen, SerializableString name, Long value) {
+        gen.writeName(name);
+        if (value == null) {
+            gen.writeNull();
+        } else {
+            gen.writeNumber(value.longValue());
+        }
+    }
+
+    private static void writeNumber(JsonGenerator gen, SerializableString name, Integer value) {
+        gen.writeName(name);
+        if (value == null) {
+            gen.writeNull();
+        } else {
+            gen.writeNumber(value.intValue());
+        }
+    }
+
+    private static void writeString(JsonGenerator gen, SerializableString name, String value) {
+        gen.writeName(name);
+        if (value == null) {
+            gen.writeNull();
+        } else {
+            gen.writeString(value);
+        }
+    }
+
+    // Datas e enums: serializador padrão do tipo (formato de data e enums conforme o mapper)
+    private static void writePojo(JsonGenerator gen, SerializableString name, Object value) {
+        gen.writeName(name);
+        if (value == null) {
+            gen.writeNull();
+        } else {
+            gen.writePOJO(value);
+        }
+    }
+}
@@ -0,0 +1,65 @@
+package com.ilungi.gestora.config;
+
+import java.util.Set;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.graphql.autoconfigure.GraphQlSourceBuilderCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import graphql.analysis.FieldComplexityCalculator;
+import graphql.analysis.MaxQueryComplexityInstrumentation;
+import graphql.analysis.MaxQueryDepthInstrumentation;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Proteções do POST /graphql: profundidade e complexidade máximas (recusadas antes
+ * de qualquer consulta ao banco) e cache de documentos já validados.
+ *
+ * Complexidade: cada campo vale 1; listas paginadas multiplicam os filhos pelo
+ * size (ou limit, em assignedTasks) pedido e responsibles, sem paginação, por listFactor.
+ */
+@Configuration
+public class GraphQlConfig {
+
+    private static final Set<String> UNPAGED_LISTS = Set.of("responsibles");
+
+    @Bean
+    public MaxQueryDepthInstrumentation maxQueryDepthInstrumentation(
+            @Value("${app.graphql.max-depth:6}") int maxDepth) {
+        return new MaxQueryDepthInstrumentation(maxDepth);
+    }
+
+    @Bean
+    public MaxQueryComplexityInstrumentation maxQueryComplexityInstrumentation(
+            @Value("${app.graphql.max-complexity:5000}") int maxComplexity,
+            @Value("${app.graphql.list-factor:10}") int listFactor,
+            @Value("${app.graphql.max-page-size:200}") int maxPageSize) {
+        return new MaxQueryComplexityInstrumentation(maxComplexity, complexity(listFactor, maxPageSize));
+    }
+
+    @Bean
+    public ParsedDocumentCache parsedDocumentCache(@Value("${app.graphql.document-cache-size:500}") int maxEntries,
+                                                   MeterRegistry meterRegistry) {
+        return new ParsedDocumentCache(maxEntries, meterRegistry);
+    }
+
+    @Bean
+    public GraphQlSourceBuilderCustomizer parsedDocumentCacheCustomizer(ParsedDocumentCache parsedDocumentCache) {
+        return builder -> builder.configureGraphQl(graphQl -> graphQl.preparsedDocumentProvider(parsedDocumentCache));
+    }
+
+    static FieldComplexityCalculator complexity(int listFactor, int maxPageSize) {
+        return (environment, childComplexity) -> {
+            Object size = environment.getArguments().getOrDefault("size", environment.getArguments().get("limit"));
+            if (size instanceof Number number) {
+                long items = Math.max(1, Math.min(number.longValue(), maxPageSize));
+                return (int) Math.min(Integer.MAX_VALUE, items * (childComplexity + 1));
+            }
+            if (UNPAGED_LISTS.contains(environment.getField().getName())) {
+                return (int) Math.min(Integer.MAX_VALUE, (long) listFactor * (childComplexity + 1));
+            }
+            return childComplexity + 1;
+        };
+    }
+}
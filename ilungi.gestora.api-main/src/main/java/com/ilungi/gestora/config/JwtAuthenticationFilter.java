@@ -6,7 +6,10 @@ import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.context.SecurityContext;
 import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.web.context.RequestAttributeSecurityContextRepository;
+import org.springframework.security.web.context.SecurityContextRepository;
 import org.springframework.stereotype.Component;
 import org.springframework.web.filter.OncePerRequestFilter;
 
@@ -18,10 +21,17 @@ import java.util.Collections;
 @Component
 public class JwtAuthenticationFilter extends OncePerRequestFilter {
     
+    // O contexto fica num atributo da requisição: o dispatch assíncrono (SSE, exportações,
+    // GraphQL) é autorizado com ele, sem o filtro rodar de novo (mesmo repositório do SecurityConfig)
+    static final SecurityContextRepository CONTEXT_REPOSITORY = new RequestAttributeSecurityContextRepository();
+    
     private final JwtTokenProvider jwtTokenProvider;
     
-    public JwtAuthenticationFilter(JwtTokenProvider jwtTokenProvider) {
+    private final StreamTickets streamTickets;
+    
+    public JwtAuthenticationFilter(JwtTokenProvider jwtTokenProvider, StreamTickets streamTickets) {
         this.jwtTokenProvider = jwtTokenProvider;
+        this.streamTickets = streamTickets;
     }
     
     @Override
@@ -32,22 +42,37 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
         String token = extractToken(request);
         
         if (token != null && jwtTokenProvider.validateToken(token)) {
-            String email = jwtTokenProvider.getEmailFromToken(token);
-            String role = jwtTokenProvider.getRoleFromToken(token);
-            
-            // Cria authorities (roles) - Spring espera "ROLE_" prefix
-            Collection<SimpleGrantedAuthority> authorities = new ArrayList<>();
-            authorities.add(new SimpleGrantedAuthority("ROLE_" + role));
-            
-            UsernamePasswordAuthenticationToken authentication = 
-                new UsernamePasswordAuthenticationToken(email, null, authorities);
-            
-            SecurityContextHolder.getContext().setAuthentication(authentication);
+            authenticate(jwtTokenProvider.getEmailFromToken(token), jwtTokenProvider.getUserIdFromToken(token),
+                jwtTokenProvider.getRoleFromToken(token), request, response);
+        } else if ("/tasks/stream".equals(request.getServletPath())) {
+            // EventSource (SSE) não permite enviar headers: o stream aceita um ticket de uso único
+            // na query (POST /tasks/stream/ticket), nunca o JWT
+            StreamTickets.Ticket ticket = streamTickets.redeem(request.getParameter("ticket"));
+            if (ticket != null) {
+                authenticate(ticket.email(), ticket.userId(), ticket.role(), request, response);
+            }
         }
         
         filterChain.doFilter(request, response);
     }
     
+    private void authenticate(String email, Long userId, String role,
+                              HttpServletRequest request, HttpServletResponse response) {
+        // Cria authorities (roles) - Spring espera "ROLE_" prefix
+        Collection<SimpleGrantedAuthority> authorities = new ArrayList<>();
+        authorities.add(new SimpleGrantedAuthority("ROLE_" + role));
+        
+        UsernamePasswordAuthenticationToken authentication = 
+            new UsernamePasswordAuthenticationToken(email, null, authorities);
+        // Guarda o userId do token para evitar consultar o banco só para obter o ID
+        authentication.setDetails(userId);
+        
+        SecurityContext context = SecurityContextHolder.createEmptyContext();
+        context.setAuthentication(authentication);
+        SecurityContextHolder.setContext(context);
+        CONTEXT_REPOSITORY.saveContext(context, request, response);
+    }
+    
     private String extractToken(HttpServletRequest request) {
         String bearerToken = request.getHeader("Authorization");
         if (bearerToken != null && bearerToken.startsWith("Bearer ")) {
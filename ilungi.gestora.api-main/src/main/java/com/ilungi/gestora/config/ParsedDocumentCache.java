@@ -0,0 +1,70 @@
+package com.ilungi.gestora.config;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Function;
+
+import graphql.ExecutionInput;
+import graphql.execution.preparsed.PreparsedDocumentEntry;
+import graphql.execution.preparsed.PreparsedDocumentProvider;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Documentos GraphQL já analisados e validados, pelo texto da query (LRU).
+ *
+ * Os clientes mandam sempre as mesmas operações, mudando só as variáveis: a partir da
+ * segunda vez parse e validação são pulados. Documentos com erro não entram no cache.
+ * Profundidade e complexidade continuam sendo verificadas a cada execução.
+ *
+ * Métricas: gestora.graphql.documents (tag result=hit|miss) e gestora.graphql.documents.size.
+ */
+public class ParsedDocumentCache implements PreparsedDocumentProvider {
+
+    private final Map<String, PreparsedDocumentEntry> entries;
+    private final Counter hits;
+    private final Counter misses;
+
+    public ParsedDocumentCache(int maxEntries, MeterRegistry meterRegistry) {
+        // Protegido por "this"
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, PreparsedDocumentEntry> eldest) {
+                return size() > maxEntries;
+            }
+        };
+        this.hits = Counter.builder("gestora.graphql.documents").tag("result", "hit").register(meterRegistry);
+        this.misses = Counter.builder("gestora.graphql.documents").tag("result", "miss").register(meterRegistry);
+        Gauge.builder("gestora.graphql.documents.size", this, ParsedDocumentCache::size).register(meterRegistry);
+    }
+
+    @Override
+    public CompletableFuture<PreparsedDocumentEntry> getDocumentAsync(ExecutionInput executionInput,
+            Function<ExecutionInput, PreparsedDocumentEntry> parseAndValidateFunction) {
+        String query = executionInput.getQuery();
+        PreparsedDocumentEntry entry;
+        synchronized (this) {
+            entry = entries.get(query);
+        }
+        if (entry != null) {
+            hits.increment();
+            return CompletableFuture.completedFuture(entry);
+        }
+
+        // Fora do lock: duas threads com a mesma query nova apenas repetem o parse
+        misses.increment();
+        entry = parseAndValidateFunction.apply(executionInput);
+        if (!entry.hasErrors()) {
+            synchronized (this) {
+                entries.put(query, entry);
+            }
+        }
+        return CompletableFuture.completedFuture(entry);
+    }
+
+    public synchronized int size() {
+        return entries.size();
+    }
+}
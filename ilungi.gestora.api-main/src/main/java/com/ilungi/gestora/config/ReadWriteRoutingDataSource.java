@@ -0,0 +1,166 @@
+package com.ilungi.gestora.config;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import javax.sql.DataSource;
+
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.ilungi.gestora.servicies.TaskChangedEvent;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Escolhe o pool (primário ou réplica) no momento em que a conexão é obtida.
+ *
+ * Vão para a réplica apenas transações read-only declaradas nos serviços
+ * configurados (o nome da transação é "classe.método"); as transações
+ * read-only padrão dos repositórios e todo o resto ficam no primário.
+ * A réplica é evitada quando está atrasada (ReplicaLagMonitor) e, por
+ * pinWindowMillis, para usuários que acabaram de escrever ou cujas tarefas
+ * acabaram de mudar: assim eles sempre leem as próprias escritas.
+ *
+ * Precisa estar atrás de um LazyConnectionDataSourceProxy, senão a conexão
+ * é obtida antes da transação ser marcada como read-only.
+ */
+public class ReadWriteRoutingDataSource extends AbstractRoutingDataSource {
+
+    public enum Target { PRIMARY, REPLICA }
+
+    // Acima disso, fixações vencidas são removidas antes de criar novas
+    private static final int MAX_PINS_BEFORE_SWEEP = 1024;
+
+    private final ReplicaLagMonitor lagMonitor;
+    private final List<String> routedTransactionPrefixes;
+    private final long pinWindowNanos;
+
+    // userId -> System.nanoTime() até quando as leituras do usuário vão para o primário
+    private final Map<Long, Long> pinnedUntil = new ConcurrentHashMap<>();
+
+    private final Counter primaryConnections;
+    private final Counter replicaConnections;
+    private final Counter fallbackConnections;
+
+    public ReadWriteRoutingDataSource(DataSource primary, DataSource replica, ReplicaLagMonitor lagMonitor,
+                                      Collection<String> routedTransactionPrefixes, long pinWindowMillis,
+                                      MeterRegistry meterRegistry) {
+        this.lagMonitor = lagMonitor;
+        this.routedTransactionPrefixes = List.copyOf(routedTransactionPrefixes);
+        this.pinWindowNanos = pinWindowMillis * 1_000_000L;
+
+        setTargetDataSources(Map.of(Target.PRIMARY, primary, Target.REPLICA, replica));
+        setDefaultTargetDataSource(primary);
+        afterPropertiesSet();
+
+        primaryConnections = Counter.builder("gestora.datasource.routing")
+            .tag("target", "primary").register(meterRegistry);
+        replicaConnections = Counter.builder("gestora.datasource.routing")
+            .tag("target", "replica").register(meterRegistry);
+        // Leituras elegíveis que foram para o primário (réplica atrasada ou usuário fixado)
+        fallbackConnections = Counter.builder("gestora.datasource.routing.fallbacks")
+            .register(meterRegistry);
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        Target target = route();
+        (target == Target.REPLICA ? replicaConnections : primaryConnections).increment();
+        return target;
+    }
+
+    Target route() {
+        if (!TransactionSynchronizationManager.isActualTransactionActive()) {
+            return Target.PRIMARY;
+        }
+        if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            pinCurrentUserAfterCommit();
+            return Target.PRIMARY;
+        }
+        if (!isRoutedTransaction(TransactionSynchronizationManager.getCurrentTransactionName())) {
+            return Target.PRIMARY;
+        }
+        Long userId = currentUserId();
+        if ((userId != null && isPinned(userId)) || !lagMonitor.isReplicaUsable()) {
+            fallbackConnections.increment();
+            return Target.PRIMARY;
+        }
+        return Target.REPLICA;
+    }
+
+    // As listas e ETags dos responsáveis também mudaram: eles leem do primário por um tempo
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onTaskChanged(TaskChangedEvent event) {
+        pin(event.affectedUserIds());
+    }
+
+    public void pin(Collection<Long> userIds) {
+        if (pinnedUntil.size() > MAX_PINS_BEFORE_SWEEP) {
+            expirePins();
+        }
+        long until = System.nanoTime() + pinWindowNanos;
+        for (Long userId : userIds) {
+            if (userId != null) {
+                pinnedUntil.put(userId, until);
+            }
+        }
+    }
+
+    public boolean isPinned(Long userId) {
+        Long until = pinnedUntil.get(userId);
+        if (until == null) {
+            return false;
+        }
+        if (System.nanoTime() - until < 0) {
+            return true;
+        }
+        pinnedUntil.remove(userId, until);
+        return false;
+    }
+
+    // Remove fixações vencidas de usuários que não voltaram a ler
+    private void expirePins() {
+        long now = System.nanoTime();
+        pinnedUntil.values().removeIf(until -> now - until >= 0);
+    }
+
+    private boolean isRoutedTransaction(String transactionName) {
+        if (transactionName == null) {
+            return false;
+        }
+        for (String prefix : routedTransactionPrefixes) {
+            if (transactionName.startsWith(prefix)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    // Fixa quem escreveu só depois do commit (rollback não muda o que a réplica vai mostrar)
+    private void pinCurrentUserAfterCommit() {
+        Long userId = currentUserId();
+        if (userId == null || !TransactionSynchronizationManager.isSynchronizationActive()) {
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                pin(List.of(userId));
+            }
+        });
+    }
+
+    // ID vindo do token (JwtAuthenticationFilter); não consulta o banco, que é justamente quem está sendo roteado
+    private static Long currentUserId() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        return authentication != null && authentication.getDetails() instanceof Long userId ? userId : null;
+    }
+}
@@ -0,0 +1,99 @@
+package com.ilungi.gestora.config;
+
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import javax.sql.DataSource;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Mede periodicamente o atraso da réplica (lagQuery, em milissegundos).
+ *
+ * A réplica só é usada enquanto a última medição é recente e o atraso está
+ * abaixo de maxLagMillis; falha na consulta conta como réplica indisponível.
+ * Sem lagQuery (ex.: duas bases H2 locais) a réplica é sempre considerada em dia.
+ */
+public class ReplicaLagMonitor implements DisposableBean {
+
+    private static final Logger logger = LoggerFactory.getLogger(ReplicaLagMonitor.class);
+
+    private final JdbcTemplate replica;
+    private final String lagQuery;
+    private final long maxLagMillis;
+    private final long staleAfterNanos;
+
+    private final ScheduledExecutorService checker = Executors.newSingleThreadScheduledExecutor(
+        runnable -> Thread.ofPlatform().name("replica-lag").daemon().unstarted(runnable));
+
+    private volatile long lagMillis = -1;
+    private volatile long lastCheckNanos;
+    private volatile boolean healthy;
+
+    public ReplicaLagMonitor(DataSource replicaDataSource, String lagQuery, long maxLagMillis,
+                             long checkIntervalMillis, MeterRegistry meterRegistry) {
+        this.replica = new JdbcTemplate(replicaDataSource);
+        this.replica.setQueryTimeout((int) Math.max(1, checkIntervalMillis / 1000));
+        this.lagQuery = lagQuery == null || lagQuery.isBlank() ? null : lagQuery;
+        this.maxLagMillis = maxLagMillis;
+        // Três verificações perdidas seguidas: a medição não vale mais
+        this.staleAfterNanos = TimeUnit.MILLISECONDS.toNanos(checkIntervalMillis * 3);
+
+        Gauge.builder("gestora.datasource.replica.lag", this, ReplicaLagMonitor::lagMillis)
+            .baseUnit("milliseconds")
+            .register(meterRegistry);
+        Gauge.builder("gestora.datasource.replica.usable", this, monitor -> monitor.isReplicaUsable() ? 1 : 0)
+            .register(meterRegistry);
+
+        if (this.lagQuery != null) {
+            checker.scheduleWithFixedDelay(this::check, 0, checkIntervalMillis, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    public boolean isReplicaUsable() {
+        if (lagQuery == null) {
+            return true;
+        }
+        return healthy && lagMillis <= maxLagMillis && System.nanoTime() - lastCheckNanos < staleAfterNanos;
+    }
+
+    // Último atraso medido; -1 se a réplica não respondeu
+    public long lagMillis() {
+        return lagMillis;
+    }
+
+    void check() {
+        boolean wasUsable = isReplicaUsable();
+        try {
+            Number lag = replica.queryForObject(lagQuery, Number.class);
+            lagMillis = lag != null ? lag.longValue() : 0L;
+            healthy = true;
+        } catch (RuntimeException e) {
+            lagMillis = -1;
+            healthy = false;
+            if (wasUsable) {
+                logger.warn("Réplica indisponível, leituras vão para o primário: {}", e.getMessage());
+            }
+        }
+        lastCheckNanos = System.nanoTime();
+
+        boolean usable = isReplicaUsable();
+        if (wasUsable && !usable && healthy) {
+            logger.warn("Réplica atrasada {} ms (limite {} ms), leituras vão para o primário", lagMillis, maxLagMillis);
+        } else if (!wasUsable && usable) {
+            logger.info("Réplica em dia ({} ms), leituras read-only voltam para ela", lagMillis);
+        }
+    }
+
+    @Override
+    public void destroy() {
+        checker.shutdownNow();
+    }
+}
@@ -0,0 +1,111 @@
+package com.ilungi.gestora.config;
+
+import java.sql.Connection;
+import java.util.List;
+
+import javax.sql.DataSource;
+
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.jdbc.DataSourceBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import com.ilungi.gestora.resources.GraphQlResource;
+import com.ilungi.gestora.servicies.EmailService;
+import com.ilungi.gestora.servicies.SparseReadService;
+import com.ilungi.gestora.servicies.TaskService;
+import com.ilungi.gestora.servicies.UserService;
+import com.zaxxer.hikari.HikariDataSource;
+
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Dois pools (primário e réplica) atrás de um DataSource que roteia por transação.
+ *
+ * Ativado apenas quando app.datasource.replica.url está definido; sem ele o
+ * DataSource único do Spring Boot continua sendo usado. O primário usa
+ * spring.datasource.* e spring.datasource.hikari.*; a réplica,
+ * app.datasource.replica.* e app.datasource.replica.hikari.*.
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "app.datasource.replica", name = "url")
+public class ReplicaRoutingConfig {
+
+    // Lag em ms; 0 se a réplica já aplicou tudo que recebeu (primário ocioso não conta como atraso)
+    private static final String POSTGRES_LAG_QUERY =
+        "SELECT CASE WHEN NOT pg_is_in_recovery() OR pg_last_wal_receive_lsn() = pg_last_wal_replay_lsn() THEN 0 "
+        + "ELSE COALESCE(EXTRACT(EPOCH FROM now() - pg_last_xact_replay_timestamp()) * 1000, 0) END";
+
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource primaryDataSource(@Value("${spring.datasource.url}") String url,
+                                              @Value("${spring.datasource.username:}") String username,
+                                              @Value("${spring.datasource.password:}") String password) {
+        HikariDataSource dataSource = DataSourceBuilder.create()
+            .type(HikariDataSource.class)
+            .url(url)
+            .username(username)
+            .password(password)
+            .build();
+        dataSource.setPoolName("primary");
+        return dataSource;
+    }
+
+    @Bean
+    @ConfigurationProperties("app.datasource.replica.hikari")
+    public HikariDataSource replicaDataSource(@Value("${app.datasource.replica.url}") String url,
+                                              @Value("${app.datasource.replica.username:${spring.datasource.username:}}") String username,
+                                              @Value("${app.datasource.replica.password:${spring.datasource.password:}}") String password) {
+        HikariDataSource dataSource = DataSourceBuilder.create()
+            .type(HikariDataSource.class)
+            .url(url)
+            .username(username)
+            .password(password)
+            .build();
+        dataSource.setPoolName("replica");
+        dataSource.setReadOnly(true);
+        return dataSource;
+    }
+
+    @Bean
+    public ReplicaLagMonitor replicaLagMonitor(@Qualifier("replicaDataSource") DataSource replicaDataSource,
+                                               @Value("${app.datasource.replica.lag-query:" + POSTGRES_LAG_QUERY + "}") String lagQuery,
+                                               @Value("${app.datasource.replica.max-lag-ms:1000}") long maxLagMillis,
+                                               @Value("${app.datasource.replica.check-interval-ms:1000}") long checkIntervalMillis,
+                                               MeterRegistry meterRegistry) {
+        return new ReplicaLagMonitor(replicaDataSource, lagQuery, maxLagMillis, checkIntervalMillis, meterRegistry);
+    }
+
+    // Transações read-only destes serviços (e dos resolvers GraphQL) podem ir para a réplica
+    @Bean
+    public ReadWriteRoutingDataSource routingDataSource(@Qualifier("primaryDataSource") DataSource primaryDataSource,
+                                                        @Qualifier("replicaDataSource") DataSource replicaDataSource,
+                                                        ReplicaLagMonitor replicaLagMonitor,
+                                                        @Value("${app.datasource.replica.pin-window-ms:5000}") long pinWindowMillis,
+                                                        MeterRegistry meterRegistry) {
+        List<String> routedServices = List.of(
+            TaskService.class.getName() + ".",
+            UserService.class.getName() + ".",
+            EmailService.class.getName() + ".",
+            SparseReadService.class.getName() + ".",
+            GraphQlResource.class.getName() + ".");
+        return new ReadWriteRoutingDataSource(primaryDataSource, replicaDataSource, replicaLagMonitor,
+            routedServices, pinWindowMillis, meterRegistry);
+    }
+
+    // A conexão física só é obtida no primeiro comando, quando a transação já é read-only ou não
+    @Bean
+    @Primary
+    public DataSource dataSource(ReadWriteRoutingDataSource routingDataSource) {
+        LazyConnectionDataSourceProxy dataSource = new LazyConnectionDataSourceProxy(routingDataSource);
+        // Evita abrir uma conexão no startup só para descobrir os padrões
+        dataSource.setDefaultAutoCommit(true);
+        dataSource.setDefaultTransactionIsolation(Connection.TRANSACTION_READ_COMMITTED);
+        return dataSource;
+    }
+}
@@ -0,0 +1,79 @@
+package com.ilungi.gestora.config;
+
+import java.io.IOException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+/**
+ * Limite de requisições em processamento quando o Tomcat usa threads virtuais
+ * (sem o teto de server.tomcat.threads.max).
+ *
+ * A requisição espera até waitMillis por uma permissão; sem ela, responde 503 com
+ * Retry-After em vez de acumular esperas pelo pool do Hikari. Health checks e o
+ * stream SSE (conexões longas) não passam pelo limite.
+ */
+public class RequestConcurrencyFilter extends OncePerRequestFilter {
+
+    private final Semaphore permits;
+    private final int maxConcurrent;
+    private final long waitMillis;
+    private final Counter rejected;
+
+    public RequestConcurrencyFilter(int maxConcurrent, long waitMillis, MeterRegistry meterRegistry) {
+        this.maxConcurrent = Math.max(1, maxConcurrent);
+        this.permits = new Semaphore(this.maxConcurrent);
+        this.waitMillis = waitMillis;
+        this.rejected = Counter.builder("gestora.http.concurrency.rejected").register(meterRegistry);
+        Gauge.builder("gestora.http.concurrency.in-flight", this, RequestConcurrencyFilter::inFlight)
+            .register(meterRegistry);
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        String path = request.getServletPath();
+        return path.startsWith("/actuator") || "/tasks/stream".equals(path);
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response,
+                                    FilterChain filterChain) throws ServletException, IOException {
+        boolean acquired;
+        try {
+            acquired = permits.tryAcquire(waitMillis, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            acquired = false;
+        }
+        if (!acquired) {
+            rejected.increment();
+            response.setStatus(HttpStatus.SERVICE_UNAVAILABLE.value());
+            response.setHeader(HttpHeaders.RETRY_AFTER, "1");
+            response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+            response.setCharacterEncoding("UTF-8");
+            response.getWriter().write("{\"error\":\"Servidor ocupado, tente novamente\"}");
+            return;
+        }
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            permits.release();
+        }
+    }
+
+    int inFlight() {
+        return maxConcurrent - permits.availablePermits();
+    }
+}
@@ -43,6 +43,11 @@ public class SecurityConfig {
                 .sessionCreationPolicy(SessionCreationPolicy.STATELESS)
             )
             
+            // Contexto salvo pelo JwtAuthenticationFilter na requisição: vale também no dispatch assíncrono
+            .securityContext(context -> context
+                .securityContextRepository(JwtAuthenticationFilter.CONTEXT_REPOSITORY)
+            )
+            
             // Configura autorização de requests
             .authorizeHttpRequests(authz -> authz
                 // ⭐⭐ CRÍTICO: Permite OPTIONS para CORS preflight
@@ -64,11 +69,13 @@ public class SecurityConfig {
                 .requestMatchers("/error").permitAll()
                 .requestMatchers("/favicon.ico").permitAll()
                 
-                // Actuator (monitoramento)
-                .requestMatchers("/actuator/**").permitAll()
-                .requestMatchers("/actuator").permitAll()
+                // Actuator (monitoramento): health e info abertos para os probes; o resto
+                // (prometheus: métricas com rotas, consultas e volumes) só para ADMIN
                 .requestMatchers("/actuator/health").permitAll()
                 .requestMatchers("/actuator/health/**").permitAll()
+                .requestMatchers("/actuator/info").permitAll()
+                .requestMatchers("/actuator").hasRole("ADMIN")
+                .requestMatchers("/actuator/**").hasRole("ADMIN")
                 
                 // Swagger/OpenAPI
                 .requestMatchers(
@@ -134,13 +141,17 @@ public class SecurityConfig {
             "Accept",
             "Origin",
             "Access-Control-Request-Method",
-            "Access-Control-Request-Headers"
+            "Access-Control-Request-Headers",
+            "If-None-Match",
+            "If-Match",
+            "Last-Event-ID"
         ));
         
         // Headers expostos
         configuration.setExposedHeaders(Arrays.asList(
             "Authorization",
-            "Content-Disposition"
+            "Content-Disposition",
+            "ETag"
         ));
         
         // Permite credentials (cookies, auth headers)
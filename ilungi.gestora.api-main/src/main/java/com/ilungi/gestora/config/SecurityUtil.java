@@ -1,5 +1,6 @@
 package com.ilungi.gestora.config;
 
+import com.ilungi.gestora.entities.Role;
 import com.ilungi.gestora.entities.User;
 import com.ilungi.gestora.repositories.UserRepository;
 import org.springframework.security.core.Authentication;
@@ -43,8 +44,24 @@ public class SecurityUtil {
         return true;
     }
     
-    // Obtém ID do usuário atual
+    // Verifica a role pelas authorities do token (sem consultar o banco)
+    public boolean hasRole(Role role) {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication == null || !authentication.isAuthenticated()) {
+            return false;
+        }
+        String authority = "ROLE_" + role.name();
+        return authentication.getAuthorities().stream()
+            .anyMatch(granted -> authority.equals(granted.getAuthority()));
+    }
+    
+    // Obtém ID do usuário atual (do token quando disponível)
     public Long getCurrentUserId() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication != null && authentication.getDetails() instanceof Long userId) {
+            return userId;
+        }
+        
         User user = getCurrentUser();
         return user != null ? user.getId() : null;
     }
@@ -0,0 +1,142 @@
+package com.ilungi.gestora.config;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerMapping;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import net.ttddyy.dsproxy.ExecutionInfo;
+import net.ttddyy.dsproxy.QueryInfo;
+import net.ttddyy.dsproxy.listener.QueryExecutionListener;
+
+/**
+ * Métricas de cada comando SQL, marcadas com o método de controller que o disparou.
+ *
+ * gestora.sql.queries: latência por endpoint e tipo de comando (histograma);
+ * gestora.http.sql.queries / gestora.http.sql.time: quantidade e tempo total
+ * de SQL por requisição (registrados pelo SqlMetricsConfig ao fim da requisição).
+ * Comandos acima de slowQueryMillis vão para o log, sem os parâmetros.
+ */
+@Component
+public class SqlMetrics implements QueryExecutionListener {
+
+    private static final Logger logger = LoggerFactory.getLogger(SqlMetrics.class);
+
+    // Fora de uma requisição MVC (startup, threads de exportação/importação, e-mail)
+    static final String NO_ENDPOINT = "none";
+
+    private static final String REQUEST_STATS = SqlMetrics.class.getName() + ".stats";
+    private static final int MAX_LOGGED_SQL = 500;
+
+    private final MeterRegistry meterRegistry;
+    private final long slowQueryMillis;
+
+    public SqlMetrics(MeterRegistry meterRegistry,
+                      @Value("${app.sql.slow-query-ms:500}") long slowQueryMillis) {
+        this.meterRegistry = meterRegistry;
+        this.slowQueryMillis = slowQueryMillis;
+    }
+
+    @Override
+    public void beforeQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+    }
+
+    @Override
+    public void afterQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+        RequestAttributes request = RequestContextHolder.getRequestAttributes();
+        String endpoint = endpoint(request);
+        String sql = queryInfoList.isEmpty() ? "" : queryInfoList.get(0).getQuery();
+        long elapsedMillis = execInfo.getElapsedTime();
+
+        Timer.builder("gestora.sql.queries")
+            .tag("endpoint", endpoint)
+            .tag("type", statementType(sql))
+            .publishPercentileHistogram()
+            .minimumExpectedValue(Duration.ofMillis(1))
+            .maximumExpectedValue(Duration.ofSeconds(10))
+            .register(meterRegistry)
+            .record(elapsedMillis, TimeUnit.MILLISECONDS);
+
+        if (request != null) {
+            RequestStats stats = (RequestStats) request.getAttribute(REQUEST_STATS, RequestAttributes.SCOPE_REQUEST);
+            if (stats == null) {
+                stats = new RequestStats();
+                request.setAttribute(REQUEST_STATS, stats, RequestAttributes.SCOPE_REQUEST);
+            }
+            stats.queries++;
+            stats.elapsedMillis += elapsedMillis;
+        }
+
+        if (elapsedMillis >= slowQueryMillis) {
+            logger.warn("SQL lento ({} ms) em {}: {}", elapsedMillis, endpoint,
+                sql.length() > MAX_LOGGED_SQL ? sql.substring(0, MAX_LOGGED_SQL) + "..." : sql);
+        }
+    }
+
+    // Chamado ao fim da requisição: registra quantos comandos o endpoint executou
+    void recordRequest(RequestAttributes request) {
+        String endpoint = endpoint(request);
+        if (NO_ENDPOINT.equals(endpoint)) {
+            return;
+        }
+        RequestStats stats = (RequestStats) request.getAttribute(REQUEST_STATS, RequestAttributes.SCOPE_REQUEST);
+        int queries = stats != null ? stats.queries : 0;
+        long elapsedMillis = stats != null ? stats.elapsedMillis : 0L;
+
+        DistributionSummary.builder("gestora.http.sql.queries")
+            .tag("endpoint", endpoint)
+            .publishPercentileHistogram()
+            .maximumExpectedValue(1000.0)
+            .register(meterRegistry)
+            .record(queries);
+        Timer.builder("gestora.http.sql.time")
+            .tag("endpoint", endpoint)
+            .register(meterRegistry)
+            .record(elapsedMillis, TimeUnit.MILLISECONDS);
+    }
+
+    // "TaskResource.findAll": controller e método resolvidos pelo DispatcherServlet
+    static String endpoint(RequestAttributes request) {
+        if (request == null) {
+            return NO_ENDPOINT;
+        }
+        Object handler = request.getAttribute(HandlerMapping.BEST_MATCHING_HANDLER_ATTRIBUTE,
+            RequestAttributes.SCOPE_REQUEST);
+        if (handler instanceof HandlerMethod handlerMethod) {
+            return handlerMethod.getBeanType().getSimpleName() + "." + handlerMethod.getMethod().getName();
+        }
+        return NO_ENDPOINT;
+    }
+
+    static String statementType(String sql) {
+        String trimmed = sql.stripLeading();
+        int end = 0;
+        while (end < trimmed.length() && Character.isLetter(trimmed.charAt(end))) {
+            end++;
+        }
+        String keyword = trimmed.substring(0, end).toLowerCase(Locale.ROOT);
+        return switch (keyword) {
+            case "select", "insert", "update", "delete" -> keyword;
+            case "with" -> "select";
+            default -> "other";
+        };
+    }
+
+    // Acumulado da requisição atual (uma thread por vez)
+    private static final class RequestStats {
+        int queries;
+        long elapsedMillis;
+    }
+}
@@ -0,0 +1,90 @@
+package com.ilungi.gestora.config;
+
+import java.util.List;
+
+import javax.sql.DataSource;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.context.request.ServletRequestAttributes;
+import org.springframework.web.servlet.HandlerInterceptor;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import net.ttddyy.dsproxy.ExecutionInfo;
+import net.ttddyy.dsproxy.QueryInfo;
+import net.ttddyy.dsproxy.listener.QueryExecutionListener;
+import net.ttddyy.dsproxy.support.ProxyDataSourceBuilder;
+
+/**
+ * Liga o SqlMetrics ao DataSource principal (datasource-proxy) e ao fim de cada requisição.
+ */
+@Configuration
+public class SqlMetricsConfig implements WebMvcConfigurer {
+
+    private final ObjectProvider<SqlMetrics> sqlMetrics;
+
+    public SqlMetricsConfig(ObjectProvider<SqlMetrics> sqlMetrics) {
+        this.sqlMetrics = sqlMetrics;
+    }
+
+    // Estático e com o SqlMetrics resolvido só no primeiro comando: o DataSource é criado
+    // antes do MeterRegistry e não pode depender dele
+    @Bean
+    public static BeanPostProcessor sqlMetricsDataSourcePostProcessor(ObjectProvider<SqlMetrics> sqlMetrics) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (bean instanceof DataSource dataSource && beanName.equals("dataSource")) {
+                    return ProxyDataSourceBuilder.create(dataSource)
+                        .name(beanName)
+                        .listener(new DeferredListener(sqlMetrics))
+                        .build();
+                }
+                return bean;
+            }
+        };
+    }
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(new HandlerInterceptor() {
+            @Override
+            public void afterCompletion(HttpServletRequest request, HttpServletResponse response,
+                                        Object handler, Exception ex) {
+                sqlMetrics.getObject().recordRequest(new ServletRequestAttributes(request));
+            }
+        });
+    }
+
+    private static final class DeferredListener implements QueryExecutionListener {
+
+        private final ObjectProvider<SqlMetrics> provider;
+        private volatile SqlMetrics sqlMetrics;
+
+        DeferredListener(ObjectProvider<SqlMetrics> provider) {
+            this.provider = provider;
+        }
+
+        @Override
+        public void beforeQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+        }
+
+        @Override
+        public void afterQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+            SqlMetrics metrics = sqlMetrics;
+            if (metrics == null) {
+                metrics = provider.getIfAvailable();
+                if (metrics == null) {
+                    return;
+                }
+                sqlMetrics = metrics;
+            }
+            metrics.afterQuery(execInfo, queryInfoList);
+        }
+    }
+}
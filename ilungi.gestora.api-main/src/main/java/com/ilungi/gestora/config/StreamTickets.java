@@ -0,0 +1,61 @@
+package com.ilungi.gestora.config;
+
+import java.security.SecureRandom;
+import java.time.Duration;
+import java.util.Base64;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * Tickets de uso único para abrir o stream SSE (GET /tasks/stream?ticket=...).
+ *
+ * EventSource não envia headers, então a credencial vai na URL, que acaba em logs de
+ * acesso e proxies. Em vez do JWT, o cliente troca o token (POST /tasks/stream/ticket)
+ * por um valor aleatório que vale por poucos segundos e só uma vez.
+ *
+ * Os tickets ficam em memória: com mais de uma instância, o pedido do ticket e a
+ * abertura do stream precisam cair na mesma (afinidade no balanceador).
+ */
+@Component
+public class StreamTickets {
+
+    // Quem pediu o ticket, com os mesmos dados que o JwtAuthenticationFilter tira do token
+    public record Ticket(String email, Long userId, String role, long expiresAtNanos) {
+    }
+
+    private final Map<String, Ticket> tickets = new ConcurrentHashMap<>();
+    private final SecureRandom random = new SecureRandom();
+    private final Duration ttl;
+
+    public StreamTickets(@Value("${app.sse.ticket-ttl-seconds:30}") long ttlSeconds) {
+        this.ttl = Duration.ofSeconds(ttlSeconds);
+    }
+
+    public String issue(String email, Long userId, String role) {
+        long now = System.nanoTime();
+        // Tickets nunca usados não ficam acumulando
+        tickets.values().removeIf(ticket -> ticket.expiresAtNanos() - now < 0);
+
+        byte[] bytes = new byte[32];
+        random.nextBytes(bytes);
+        String value = Base64.getUrlEncoder().withoutPadding().encodeToString(bytes);
+        tickets.put(value, new Ticket(email, userId, role, now + ttl.toNanos()));
+        return value;
+    }
+
+    // Consome o ticket: uma segunda tentativa com o mesmo valor devolve null
+    public Ticket redeem(String value) {
+        if (value == null) {
+            return null;
+        }
+        Ticket ticket = tickets.remove(value);
+        return ticket != null && ticket.expiresAtNanos() - System.nanoTime() > 0 ? ticket : null;
+    }
+
+    public Duration ttl() {
+        return ttl;
+    }
+}
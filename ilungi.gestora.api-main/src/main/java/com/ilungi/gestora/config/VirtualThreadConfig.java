@@ -0,0 +1,47 @@
+package com.ilungi.gestora.config;
+
+import java.time.Duration;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnBooleanProperty;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnThreading;
+import org.springframework.boot.thread.Threading;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Modo de threads virtuais (spring.threads.virtual.enabled=true): o Tomcat atende cada
+ * requisição em uma thread virtual e o teto deixa de ser server.tomcat.threads.max.
+ * O limite passa a ser um semáforo dimensionado pelo pool do Hikari.
+ */
+@Configuration
+@ConditionalOnThreading(Threading.VIRTUAL)
+public class VirtualThreadConfig {
+
+    // Padrão: 4 requisições por conexão (parte do tempo de cada uma é fora do banco)
+    @Bean
+    public FilterRegistrationBean<RequestConcurrencyFilter> requestConcurrencyFilter(
+            @Value("${spring.datasource.hikari.maximum-pool-size:10}") int poolSize,
+            @Value("${app.threads.virtual.max-concurrent-requests:0}") int maxConcurrent,
+            @Value("${app.threads.virtual.request-wait-ms:2000}") long waitMillis,
+            MeterRegistry meterRegistry) {
+        int limit = maxConcurrent > 0 ? maxConcurrent : poolSize * 4;
+        FilterRegistrationBean<RequestConcurrencyFilter> registration =
+            new FilterRegistrationBean<>(new RequestConcurrencyFilter(limit, waitMillis, meterRegistry));
+        // Antes da segurança: requisições rejeitadas não chegam a validar o JWT
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE + 10);
+        return registration;
+    }
+
+    @Bean
+    @ConditionalOnBooleanProperty(name = "app.threads.virtual.pinning-monitor.enabled", matchIfMissing = true)
+    public VirtualThreadPinningMonitor virtualThreadPinningMonitor(
+            MeterRegistry meterRegistry,
+            @Value("${app.threads.virtual.pinning-threshold-ms:20}") long thresholdMillis) {
+        return new VirtualThreadPinningMonitor(meterRegistry, Duration.ofMillis(thresholdMillis));
+    }
+}
@@ -0,0 +1,123 @@
+package com.ilungi.gestora.config;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordedFrame;
+import jdk.jfr.consumer.RecordedStackTrace;
+import jdk.jfr.consumer.RecordingStream;
+
+/**
+ * Detecta threads virtuais presas à carrier thread (evento JFR jdk.VirtualThreadPinned)
+ * e classifica pela pilha: driver JDBC/Hikari, JavaMail ou outro código.
+ *
+ * Métrica gestora.virtual-threads.pinned (timer, tag source). Cada pilha distinta
+ * (pelo frame mais alto da aplicação ou biblioteca) vai para o log uma vez, em WARN.
+ */
+public class VirtualThreadPinningMonitor implements DisposableBean {
+
+    private static final Logger logger = LoggerFactory.getLogger(VirtualThreadPinningMonitor.class);
+
+    static final String PINNED_EVENT = "jdk.VirtualThreadPinned";
+    private static final int LOGGED_FRAMES = 12;
+    private static final int MAX_LOGGED_SITES = 200;
+
+    private final MeterRegistry meterRegistry;
+    private final Duration threshold;
+    private final Map<String, Boolean> loggedSites = new ConcurrentHashMap<>();
+    private RecordingStream stream;
+
+    public VirtualThreadPinningMonitor(MeterRegistry meterRegistry, Duration threshold) {
+        this.meterRegistry = meterRegistry;
+        this.threshold = threshold;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public synchronized void start() {
+        if (stream != null) {
+            return;
+        }
+        try {
+            RecordingStream recording = new RecordingStream();
+            recording.enable(PINNED_EVENT).withThreshold(threshold).withStackTrace();
+            recording.onEvent(PINNED_EVENT, this::onPinned);
+            recording.startAsync();
+            stream = recording;
+            logger.info("Monitor de pinning de threads virtuais ativo (limiar {} ms)", threshold.toMillis());
+        } catch (RuntimeException e) {
+            // JFR indisponível (ex.: JVM sem suporte): a aplicação segue sem o monitor
+            logger.warn("Não foi possível iniciar o monitor de pinning: {}", e.getMessage());
+        }
+    }
+
+    private void onPinned(RecordedEvent event) {
+        List<String> classes = stackClasses(event.getStackTrace());
+        String source = source(classes);
+        Timer.builder("gestora.virtual-threads.pinned")
+            .tag("source", source)
+            .register(meterRegistry)
+            .record(event.getDuration().toNanos(), TimeUnit.NANOSECONDS);
+
+        RecordedStackTrace stackTrace = event.getStackTrace();
+        if (stackTrace == null || loggedSites.size() >= MAX_LOGGED_SITES) {
+            return;
+        }
+        String site = classes.isEmpty() ? "?" : classes.get(0);
+        if (loggedSites.putIfAbsent(site, Boolean.TRUE) == null) {
+            StringBuilder frames = new StringBuilder();
+            for (RecordedFrame frame : stackTrace.getFrames().subList(0, Math.min(LOGGED_FRAMES, stackTrace.getFrames().size()))) {
+                frames.append("\n    at ").append(frame.getMethod().getType().getName())
+                    .append('.').append(frame.getMethod().getName())
+                    .append(':').append(frame.getLineNumber());
+            }
+            logger.warn("Thread virtual presa à carrier por {} ms ({}){}",
+                event.getDuration().toMillis(), source, frames);
+        }
+    }
+
+    // "jdbc", "mail" ou "other", pelo primeiro frame reconhecido (do topo para a base)
+    static String source(List<String> classes) {
+        for (String className : classes) {
+            if (className.startsWith("org.postgresql.") || className.startsWith("org.h2.")
+                    || className.startsWith("com.zaxxer.hikari.") || className.startsWith("java.sql.")) {
+                return "jdbc";
+            }
+            if (className.startsWith("jakarta.mail.") || className.startsWith("com.sun.mail.")
+                    || className.startsWith("org.eclipse.angus.mail.")
+                    || className.startsWith("org.springframework.mail.")) {
+                return "mail";
+            }
+        }
+        return "other";
+    }
+
+    private static List<String> stackClasses(RecordedStackTrace stackTrace) {
+        if (stackTrace == null) {
+            return List.of();
+        }
+        return stackTrace.getFrames().stream()
+            .map(frame -> frame.getMethod().getType().getName())
+            .filter(name -> !name.startsWith("java.lang.") && !name.startsWith("jdk.internal."))
+            .toList();
+    }
+
+    @Override
+    public synchronized void destroy() {
+        if (stream != null) {
+            stream.close();
+            stream = null;
+        }
+    }
+}
@@ -0,0 +1,35 @@
+package com.ilungi.gestora.entities;
+
+import jakarta.persistence.*;
+
+/**
+ * Contador nomeado usado como sequência de alterações.
+ * A linha é bloqueada (SELECT ... FOR UPDATE) no beforeCommit das escritas e
+ * liberada no commit, então a ordem dos valores é a mesma ordem de commit das
+ * transações.
+ */
+@Entity
+@Table(name = "change_sequences")
+public class ChangeSequence {
+
+    @Id
+    @Column(length = 50)
+    private String name;
+
+    @Column(name = "seq_value", nullable = false)
+    private Long value;
+
+    public ChangeSequence() {
+    }
+
+    public ChangeSequence(String name, Long value) {
+        this.name = name;
+        this.value = value;
+    }
+
+    public String getName() { return name; }
+    public void setName(String name) { this.name = name; }
+
+    public Long getValue() { return value; }
+    public void setValue(Long value) { this.value = value; }
+}
@@ -6,6 +6,9 @@ import java.util.Date;
 import java.util.List;
 import java.util.Objects;
 
+import org.hibernate.annotations.ColumnDefault;
+import org.hibernate.annotations.OptimisticLock;
+
 import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
 import com.fasterxml.jackson.annotation.JsonProperty;
 
@@ -14,7 +17,12 @@ import jakarta.persistence.Temporal;
 import jakarta.persistence.TemporalType;
 
 @Entity
-@Table(name="tb_tasks")
+@Table(name="tb_tasks", indexes = {
+    @Index(name = "idx_tasks_change_seq", columnList = "change_seq"),
+    // Filtros de /tasks/query: status (+ intervalo/atraso em end_date) e criador
+    @Index(name = "idx_tasks_status_end_date", columnList = "status, end_date"),
+    @Index(name = "idx_tasks_created_by", columnList = "created_by_id")
+})
 public class Task implements Serializable {
     
     private static final long serialVersionUID = 1L;
@@ -42,7 +50,9 @@ public class Task implements Serializable {
     @JoinTable(
         name = "task_responsibles",
         joinColumns = @JoinColumn(name = "task_id"),
-        inverseJoinColumns = @JoinColumn(name = "user_id")
+        inverseJoinColumns = @JoinColumn(name = "user_id"),
+        // user_id primeiro: tasks de um responsável (EXISTS de /tasks/query, findByResponsiblesContaining)
+        indexes = @Index(name = "idx_task_responsibles_user_task", columnList = "user_id, task_id")
     )
     @JsonIgnoreProperties({"assignedTasks", "createdTasks", "password"})
     private List<User> responsibles = new ArrayList<>(); 
@@ -51,6 +61,17 @@ public class Task implements Serializable {
     @JoinColumn(name = "created_by_id")
     @JsonIgnoreProperties({"assignedTasks", "createdTasks", "password"})
     private User createdBy;
+    
+    // Sequência da última alteração (delta-sync em /tasks/changes); gravada no commit,
+    // sem incrementar a versão de novo
+    @Column(name = "change_seq")
+    @OptimisticLock(excluded = true)
+    private Long changeSeq;
+    
+    // Controle de concorrência otimista: escritas simultâneas resultam em 409 em vez de sobrescrever
+    @Version
+    @ColumnDefault("0")
+    private Long version;
 
 	public Long getId() {
 		return id;
@@ -124,6 +145,22 @@ public class Task implements Serializable {
 		this.createdBy = createdBy;
 	}
 
+	public Long getChangeSeq() {
+		return changeSeq;
+	}
+
+	public void setChangeSeq(Long changeSeq) {
+		this.changeSeq = changeSeq;
+	}
+
+	public Long getVersion() {
+		return version;
+	}
+
+	public void setVersion(Long version) {
+		this.version = version;
+	}
+
 	@Override
 	public int hashCode() {
 		return Objects.hash(id);
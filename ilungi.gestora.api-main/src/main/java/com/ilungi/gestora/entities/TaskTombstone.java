@@ -0,0 +1,58 @@
+package com.ilungi.gestora.entities;
+
+import java.time.LocalDateTime;
+
+import jakarta.persistence.*;
+
+/**
+ * Marca a remoção de uma tarefa para o delta-sync: tarefa excluída ou
+ * usuário removido dos responsáveis. userId nulo = exclusão (visão ADMIN).
+ */
+@Entity
+@Table(name = "task_tombstones", indexes = {
+    @Index(name = "idx_tombstones_user_seq", columnList = "user_id, change_seq")
+})
+public class TaskTombstone {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "task_id", nullable = false)
+    private Long taskId;
+
+    @Column(name = "user_id")
+    private Long userId;
+
+    @Column(name = "change_seq", nullable = false)
+    private Long changeSeq;
+
+    @Column(name = "removed_at", nullable = false)
+    private LocalDateTime removedAt;
+
+    public TaskTombstone() {
+        this.removedAt = LocalDateTime.now();
+    }
+
+    public TaskTombstone(Long taskId, Long userId, Long changeSeq) {
+        this();
+        this.taskId = taskId;
+        this.userId = userId;
+        this.changeSeq = changeSeq;
+    }
+
+    public Long getId() { return id; }
+    public void setId(Long id) { this.id = id; }
+
+    public Long getTaskId() { return taskId; }
+    public void setTaskId(Long taskId) { this.taskId = taskId; }
+
+    public Long getUserId() { return userId; }
+    public void setUserId(Long userId) { this.userId = userId; }
+
+    public Long getChangeSeq() { return changeSeq; }
+    public void setChangeSeq(Long changeSeq) { this.changeSeq = changeSeq; }
+
+    public LocalDateTime getRemovedAt() { return removedAt; }
+    public void setRemovedAt(LocalDateTime removedAt) { this.removedAt = removedAt; }
+}
@@ -5,6 +5,8 @@ import java.util.ArrayList;
 import java.util.Collection;
 import java.util.List;
 
+import org.hibernate.annotations.ColumnDefault;
+import org.hibernate.annotations.OptimisticLock;
 import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.userdetails.UserDetails;
@@ -43,13 +45,20 @@ public class User implements UserDetails{
     @Column(name = "updated_at")
     private LocalDateTime updatedAt;
     
+    // Controle de concorrência otimista (ETag / If-Match nas atualizações de admin)
+    @Version
+    @ColumnDefault("0")
+    private Long version;
+    
     // CORREÇÃO: mappedBy deve apontar para "responsibles" (plural)
     @ManyToMany(mappedBy = "responsibles")  // <- AQUI ESTÁ O ERRO
+    @OptimisticLock(excluded = true)  // atribuir tarefas não altera a versão do usuário
     @JsonIgnoreProperties({"responsibles", "createdBy"})
     private List<Task> assignedTasks = new ArrayList<>();
     
     // Tarefas criadas pelo usuário
     @OneToMany(mappedBy = "createdBy")
+    @OptimisticLock(excluded = true)
     @JsonIgnoreProperties({"createdBy", "responsibles"})
     private List<Task> createdTasks = new ArrayList<>();
     
@@ -127,6 +136,9 @@ public class User implements UserDetails{
     public LocalDateTime getUpdatedAt() { return updatedAt; }
     public void setUpdatedAt(LocalDateTime updatedAt) { this.updatedAt = updatedAt; }
     
+    public Long getVersion() { return version; }
+    public void setVersion(Long version) { this.version = version; }
+    
     public List<Task> getAssignedTasks() { return assignedTasks; }
     public void setAssignedTasks(List<Task> assignedTasks) { this.assignedTasks = assignedTasks; }
     
@@ -0,0 +1,22 @@
+package com.ilungi.gestora.repositories;
+
+import java.util.Date;
+
+import com.ilungi.gestora.entities.TaskStatus;
+
+/**
+ * Task atribuída a um usuário (par responsável, task), para carregar as tasks de
+ * vários usuários numa única consulta (DataLoader do GraphQL).
+ */
+public record AssignedTaskRow(
+        Long userId,
+        Long id,
+        String title,
+        String description,
+        TaskStatus status,
+        Date createAt,
+        Date endDate,
+        Integer daysToFinish,
+        Long version,
+        Long createdById) {
+}
@@ -0,0 +1,18 @@
+package com.ilungi.gestora.repositories;
+
+import com.ilungi.gestora.entities.ChangeSequence;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.Optional;
+
+public interface ChangeSequenceRepository extends JpaRepository<ChangeSequence, String> {
+    
+    // Bloqueia a linha até o fim da transação (usado só no commit das escritas)
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT s FROM ChangeSequence s WHERE s.name = :name")
+    Optional<ChangeSequence> findForUpdate(@Param("name") String name);
+}
@@ -2,6 +2,8 @@ package com.ilungi.gestora.repositories;
 
 import com.ilungi.gestora.entities.Email;
 import com.ilungi.gestora.entities.StatusEmail;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.stereotype.Repository;
 
@@ -13,6 +15,8 @@ public interface EmailRepository extends JpaRepository<Email, Long> {
     
     List<Email> findByStatus(StatusEmail status);
     
+    Page<Email> findByStatus(StatusEmail status, Pageable pageable);
+    
     List<Email> findByDestinatario(String destinatario);
     
     List<Email> findByTipo(String tipo);
@@ -0,0 +1,22 @@
+package com.ilungi.gestora.repositories;
+
+import java.util.Date;
+
+import com.ilungi.gestora.entities.TaskStatus;
+
+/**
+ * Linha da exportação de tarefas: uma por par (tarefa, responsável),
+ * ordenadas por tarefa. Projeção sem entidades gerenciadas.
+ */
+public record TaskExportRow(
+        Long id,
+        String title,
+        String description,
+        TaskStatus status,
+        Date createAt,
+        Date endDate,
+        Integer daysToFinish,
+        Long createdById,
+        Long responsibleId,
+        Long changeSeq) {
+}
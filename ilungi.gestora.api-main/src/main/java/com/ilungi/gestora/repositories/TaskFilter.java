@@ -0,0 +1,21 @@
+package com.ilungi.gestora.repositories;
+
+import java.util.Date;
+import java.util.List;
+
+import com.ilungi.gestora.entities.TaskStatus;
+
+/**
+ * Filtros de GET /tasks/query. Campos nulos (ou lista vazia) não filtram.
+ * Intervalos de data são semiabertos: from <= data < to.
+ */
+public record TaskFilter(
+        List<TaskStatus> statuses,
+        Long responsibleId,
+        Long createdById,
+        Date endDateFrom,
+        Date endDateTo,
+        Date createdFrom,
+        Date createdTo,
+        boolean overdue) {
+}
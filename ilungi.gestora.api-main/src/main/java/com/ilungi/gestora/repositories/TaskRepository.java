@@ -2,15 +2,26 @@ package com.ilungi.gestora.repositories;
 
 import com.ilungi.gestora.entities.Task;
 import com.ilungi.gestora.entities.User;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 
+import java.util.Collection;
 import java.util.Date;
 import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+import org.hibernate.jpa.HibernateHints;
+
+import jakarta.persistence.QueryHint;
+
 import com .ilungi.gestora.entities.TaskStatus;
 
-public interface TaskRepository extends JpaRepository<Task, Long> {
+public interface TaskRepository extends JpaRepository<Task, Long>, JpaSpecificationExecutor<Task> {
     
     // Substituir o método antigo
     // List<Task> findByResponsible(User responsible);
@@ -27,6 +38,79 @@ public interface TaskRepository extends JpaRepository<Task, Long> {
     // Método para contar tasks por responsável
     Long countByResponsiblesContaining(User responsible);
     
+    // Delta-sync: tasks do responsável alteradas depois do cursor
+    @Query("SELECT t FROM Task t JOIN t.responsibles r WHERE r.id = :userId AND t.changeSeq > :since ORDER BY t.changeSeq")
+    List<Task> findChangedForResponsible(@Param("userId") Long userId, @Param("since") Long since, Pageable pageable);
+    
+    // Delta-sync (ADMIN): todas as tasks alteradas depois do cursor
+    List<Task> findByChangeSeqGreaterThanOrderByChangeSeq(Long since, Pageable pageable);
+    
+    // Exportação: cursor somente-leitura, sem carregar entidades (ver ExportService)
+    @Query("SELECT new com.ilungi.gestora.repositories.TaskExportRow(t.id, t.title, t.description, t.status, " +
+           "t.createAt, t.endDate, t.daysToFinish, c.id, r.id, t.changeSeq) " +
+           "FROM Task t LEFT JOIN t.createdBy c LEFT JOIN t.responsibles r ORDER BY t.id")
+    @QueryHints({
+        @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+        @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    Stream<TaskExportRow> streamForExport();
+    
+    // Inicializa os responsáveis de uma página já carregada numa única consulta (evita N+1)
+    @Query("SELECT DISTINCT t FROM Task t LEFT JOIN FETCH t.responsibles WHERE t.id IN :ids")
+    List<Task> fetchResponsibles(@Param("ids") Collection<Long> ids);
+    
+    // Totais por status numa única agregação (snapshot do dashboard)
+    @Query("SELECT new com.ilungi.gestora.repositories.TaskStatusCount(t.status, COUNT(t)) FROM Task t GROUP BY t.status")
+    List<TaskStatusCount> countGroupedByStatus();
+    
+    // Totais por status das tarefas de um responsável (/tasks/my-stats, /bootstrap)
+    @Query("SELECT new com.ilungi.gestora.repositories.TaskStatusCount(t.status, COUNT(t)) " +
+           "FROM Task t JOIN t.responsibles u WHERE u.id = :userId GROUP BY t.status")
+    List<TaskStatusCount> countGroupedByStatusForResponsible(@Param("userId") Long userId);
+    
+    // GraphQL: responsáveis de várias tasks numa única consulta
+    @Query("SELECT new com.ilungi.gestora.repositories.TaskResponsibleRow(t.id, u.id, u.name, u.email, u.phone, u.role, u.createdAt) " +
+           "FROM Task t JOIN t.responsibles u WHERE t.id IN :taskIds ORDER BY u.name")
+    List<TaskResponsibleRow> findResponsibleRows(@Param("taskIds") Collection<Long> taskIds);
+    
+    // ?fields=responsibleIds: apenas a tabela de junção
+    @Query("SELECT new com.ilungi.gestora.repositories.TaskResponsibleId(t.id, u.id) " +
+           "FROM Task t JOIN t.responsibles u WHERE t.id IN :taskIds ORDER BY u.id")
+    List<TaskResponsibleId> findResponsibleIds(@Param("taskIds") Collection<Long> taskIds);
+    
+    // GraphQL: tasks de vários responsáveis numa única consulta
+    // No máximo :limit tasks (as mais recentes) por usuário, numa única consulta
+    @Query("SELECT new com.ilungi.gestora.repositories.AssignedTaskRow(r.userId, r.id, r.title, r.description, r.status, " +
+           "r.createAt, r.endDate, r.daysToFinish, r.version, r.createdById) " +
+           "FROM (SELECT u.id AS userId, t.id AS id, t.title AS title, t.description AS description, t.status AS status, " +
+           "t.createAt AS createAt, t.endDate AS endDate, t.daysToFinish AS daysToFinish, t.version AS version, " +
+           "c.id AS createdById, " +
+           "row_number() OVER (PARTITION BY u.id ORDER BY t.createAt DESC, t.id DESC) AS position " +
+           "FROM Task t JOIN t.responsibles u LEFT JOIN t.createdBy c WHERE u.id IN :userIds) r " +
+           "WHERE r.position <= :limit ORDER BY r.userId, r.position")
+    List<AssignedTaskRow> findAssignedTaskRows(@Param("userIds") Collection<Long> userIds, @Param("limit") int limit);
+    
+    // GraphQL: listas sem carregar createdBy (EAGER)
+    @Query("SELECT new com.ilungi.gestora.repositories.TaskRow(t.id, t.title, t.description, t.status, " +
+           "t.createAt, t.endDate, t.daysToFinish, t.version, c.id) " +
+           "FROM Task t LEFT JOIN t.createdBy c WHERE t.status IN :statuses ORDER BY t.createAt DESC, t.id DESC")
+    List<TaskRow> findRows(@Param("statuses") Collection<TaskStatus> statuses, Pageable pageable);
+    
+    @Query("SELECT new com.ilungi.gestora.repositories.TaskRow(t.id, t.title, t.description, t.status, " +
+           "t.createAt, t.endDate, t.daysToFinish, t.version, c.id) " +
+           "FROM Task t JOIN t.responsibles r LEFT JOIN t.createdBy c " +
+           "WHERE r.id = :userId AND t.status IN :statuses ORDER BY t.createAt DESC, t.id DESC")
+    List<TaskRow> findRowsByResponsible(@Param("userId") Long userId,
+                                        @Param("statuses") Collection<TaskStatus> statuses, Pageable pageable);
+    
+    @Query("SELECT new com.ilungi.gestora.repositories.TaskRow(t.id, t.title, t.description, t.status, " +
+           "t.createAt, t.endDate, t.daysToFinish, t.version, c.id) " +
+           "FROM Task t LEFT JOIN t.createdBy c WHERE t.id = :id")
+    Optional<TaskRow> findRowById(@Param("id") Long id);
+    
+    // Visibilidade de uma task para um USER
+    boolean existsByIdAndResponsibles_Id(Long id, Long userId);
+    
     // Buscar tasks que expiram em breve
     @Query("SELECT t FROM Task t WHERE t.endDate BETWEEN CURRENT_DATE AND :date AND t.status = 'PENDING'")
     List<Task> findTasksExpiringSoon(@Param("date") Date date);
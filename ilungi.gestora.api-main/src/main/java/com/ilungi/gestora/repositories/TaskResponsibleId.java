@@ -0,0 +1,7 @@
+package com.ilungi.gestora.repositories;
+
+/**
+ * Par (task, responsável) só com os ids: ?fields=responsibleIds não lê a tabela de usuários.
+ */
+public record TaskResponsibleId(Long taskId, Long userId) {
+}
@@ -0,0 +1,19 @@
+package com.ilungi.gestora.repositories;
+
+import java.time.LocalDateTime;
+
+import com.ilungi.gestora.entities.Role;
+
+/**
+ * Responsável de uma task (par task, usuário), para carregar os responsáveis de
+ * várias tasks numa única consulta (DataLoader do GraphQL).
+ */
+public record TaskResponsibleRow(
+        Long taskId,
+        Long userId,
+        String name,
+        String email,
+        String phone,
+        Role role,
+        LocalDateTime createdAt) {
+}
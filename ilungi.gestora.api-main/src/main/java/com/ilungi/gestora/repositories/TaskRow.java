@@ -0,0 +1,21 @@
+package com.ilungi.gestora.repositories;
+
+import java.util.Date;
+
+import com.ilungi.gestora.entities.TaskStatus;
+
+/**
+ * Colunas da task sem as associações (o criador vem só pelo id): evita o
+ * carregamento EAGER de createdBy, uma consulta por criador.
+ */
+public record TaskRow(
+        Long id,
+        String title,
+        String description,
+        TaskStatus status,
+        Date createAt,
+        Date endDate,
+        Integer daysToFinish,
+        Long version,
+        Long createdById) {
+}
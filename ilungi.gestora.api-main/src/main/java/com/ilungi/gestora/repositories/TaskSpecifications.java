@@ -0,0 +1,83 @@
+package com.ilungi.gestora.repositories;
+
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+
+import org.springframework.data.jpa.domain.Specification;
+
+import com.ilungi.gestora.entities.Task;
+import com.ilungi.gestora.entities.TaskStatus;
+
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.Join;
+import jakarta.persistence.criteria.Path;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.criteria.Subquery;
+
+/**
+ * Predicados de GET /tasks/query. Todos comparam a coluna diretamente (sem funções
+ * sobre ela), para usar os índices de tb_tasks e task_responsibles:
+ * status IN (...), intervalos semiabertos de data, created_by_id = ? e EXISTS no responsável.
+ */
+public final class TaskSpecifications {
+
+    private TaskSpecifications() {
+    }
+
+    public static Specification<Task> of(TaskFilter filter, Date now) {
+        return (root, query, cb) -> {
+            List<Predicate> predicates = new ArrayList<>();
+
+            Set<TaskStatus> statuses = filter.statuses() == null || filter.statuses().isEmpty()
+                ? EnumSet.allOf(TaskStatus.class)
+                : EnumSet.copyOf(filter.statuses());
+            if (filter.overdue()) {
+                // "end_date < agora e não concluída" como IN: aproveita o índice (status, end_date)
+                statuses.remove(TaskStatus.DONE);
+                predicates.add(cb.lessThan(root.get("endDate"), now));
+            }
+            if (statuses.isEmpty()) {
+                return cb.disjunction();
+            }
+            if (statuses.size() < TaskStatus.values().length) {
+                predicates.add(root.get("status").in(statuses));
+            }
+
+            addRange(predicates, cb, root.get("endDate"), filter.endDateFrom(), filter.endDateTo());
+            addRange(predicates, cb, root.get("createAt"), filter.createdFrom(), filter.createdTo());
+
+            if (filter.createdById() != null) {
+                // Compara a FK (created_by_id) sem join em users
+                predicates.add(cb.equal(root.get("createdBy").get("id"), filter.createdById()));
+            }
+            if (filter.responsibleId() != null) {
+                // EXISTS em vez de JOIN: não duplica tasks nem exige DISTINCT na paginação
+                Subquery<Integer> responsible = query.subquery(Integer.class);
+                Root<Task> task = responsible.correlate(root);
+                Join<Object, Object> user = task.join("responsibles");
+                responsible.select(cb.literal(1)).where(cb.equal(user.get("id"), filter.responsibleId()));
+                predicates.add(cb.exists(responsible));
+            }
+            return cb.and(predicates.toArray(Predicate[]::new));
+        };
+    }
+
+    // Leitura de uma task por ?fields= (combinada com a visibilidade do usuário)
+    public static Specification<Task> hasId(Long id) {
+        return (root, query, cb) -> cb.equal(root.get("id"), id);
+    }
+
+    private static void addRange(List<Predicate> predicates, CriteriaBuilder cb,
+            Path<Date> path, Date from, Date to) {
+        if (from != null) {
+            predicates.add(cb.greaterThanOrEqualTo(path, from));
+        }
+        if (to != null) {
+            predicates.add(cb.lessThan(path, to));
+        }
+    }
+}
@@ -0,0 +1,9 @@
+package com.ilungi.gestora.repositories;
+
+import com.ilungi.gestora.entities.TaskStatus;
+
+/**
+ * Quantidade de tarefas em um status (GROUP BY no banco).
+ */
+public record TaskStatusCount(TaskStatus status, Long count) {
+}
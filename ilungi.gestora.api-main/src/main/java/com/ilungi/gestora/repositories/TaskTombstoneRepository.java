@@ -0,0 +1,28 @@
+package com.ilungi.gestora.repositories;
+
+import com.ilungi.gestora.entities.TaskTombstone;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+public interface TaskTombstoneRepository extends JpaRepository<TaskTombstone, Long> {
+    
+    // Remoções visíveis para um usuário (exclusões e desatribuições)
+    List<TaskTombstone> findByUserIdAndChangeSeqGreaterThanOrderByChangeSeq(Long userId, Long since, Pageable pageable);
+    
+    // Exclusões de tarefas (visão ADMIN)
+    List<TaskTombstone> findByUserIdIsNullAndChangeSeqGreaterThanOrderByChangeSeq(Long since, Pageable pageable);
+    
+    // Retenção: maior sequência entre os tombstones anteriores a cutoff
+    @Query("SELECT MAX(t.changeSeq) FROM TaskTombstone t WHERE t.removedAt < :cutoff")
+    Long findMaxChangeSeqRemovedBefore(@Param("cutoff") LocalDateTime cutoff);
+    
+    @Modifying
+    @Query("DELETE FROM TaskTombstone t WHERE t.changeSeq <= :seq")
+    int deleteUpTo(@Param("seq") Long seq);
+}
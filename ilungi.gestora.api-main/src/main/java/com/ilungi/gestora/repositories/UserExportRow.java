@@ -0,0 +1,18 @@
+package com.ilungi.gestora.repositories;
+
+import java.time.LocalDateTime;
+
+import com.ilungi.gestora.entities.Role;
+
+/**
+ * Linha da exportação de usuários (sem senha). Projeção sem entidades gerenciadas.
+ */
+public record UserExportRow(
+        Long id,
+        String name,
+        String email,
+        String phone,
+        Role role,
+        LocalDateTime createdAt,
+        LocalDateTime updatedAt) {
+}
@@ -0,0 +1,21 @@
+package com.ilungi.gestora.repositories;
+
+import java.time.LocalDateTime;
+
+import com.ilungi.gestora.entities.Role;
+
+/**
+ * Linha das listas de usuários do admin, com as contagens de tarefas calculadas
+ * no banco (SIZE): nenhuma coleção é carregada para contar.
+ */
+public record UserListing(
+        Long id,
+        String name,
+        String email,
+        String phone,
+        Role role,
+        LocalDateTime createdAt,
+        LocalDateTime updatedAt,
+        Integer taskCount,
+        Integer createdTaskCount) {
+}
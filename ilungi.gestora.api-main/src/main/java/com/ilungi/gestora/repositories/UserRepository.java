@@ -2,12 +2,21 @@ package com.ilungi.gestora.repositories;
 
 import com.ilungi.gestora.entities.Role;
 import com.ilungi.gestora.entities.User;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
+
+import org.hibernate.jpa.HibernateHints;
+
+import jakarta.persistence.QueryHint;
 
 public interface UserRepository extends JpaRepository<User, Long> {
     
@@ -18,6 +27,8 @@ public interface UserRepository extends JpaRepository<User, Long> {
     
     long countByRole(Role role);
     
+    Page<User> findByRole(Role role, Pageable pageable);
+    
     // Para dashboard
     List<User> findTop5ByOrderByCreatedAtDesc();
     
@@ -26,9 +37,52 @@ public interface UserRepository extends JpaRepository<User, Long> {
     
     boolean existsByEmail(String email);
     
+    // Importação: verificações por bloco em uma única consulta. Os e-mails vêm em minúsculas
+    // e a comparação ignora maiúsculas (cadastros antigos podem ter "Ana@..."); índice
+    // lower(email) na migração V5 (PostgreSQL)
+    @Query("SELECT lower(u.email) FROM User u WHERE lower(u.email) IN :emails")
+    List<String> findExistingEmails(@Param("emails") Collection<String> emails);
+    
+    @Query("SELECT u.id FROM User u WHERE lower(u.email) IN :emails")
+    List<Long> findIdsByEmailIn(@Param("emails") Collection<String> emails);
+    
+    @Query("SELECT u FROM User u WHERE lower(u.email) IN :emails")
+    List<User> findByEmailIn(@Param("emails") Collection<String> emails);
+    
     // Estatísticas
     long countByCreatedAtAfter(LocalDateTime date);
     
+    // Exportação: cursor somente-leitura, sem carregar entidades (ver ExportService)
+    @Query("SELECT new com.ilungi.gestora.repositories.UserExportRow(u.id, u.name, u.email, u.phone, " +
+           "u.role, u.createdAt, u.updatedAt) FROM User u ORDER BY u.id")
+    @QueryHints({
+        @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+        @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    Stream<UserExportRow> streamForExport();
+    
+    // GET /admin/users e /admin/users/by-role/{role}: uma consulta, contagens como subconsultas
+    @Query("SELECT new com.ilungi.gestora.repositories.UserListing(u.id, u.name, u.email, u.phone, u.role, " +
+           "u.createdAt, u.updatedAt, SIZE(u.assignedTasks), SIZE(u.createdTasks)) FROM User u ORDER BY u.id")
+    List<UserListing> findListings();
+    
+    @Query("SELECT new com.ilungi.gestora.repositories.UserListing(u.id, u.name, u.email, u.phone, u.role, " +
+           "u.createdAt, u.updatedAt, SIZE(u.assignedTasks), SIZE(u.createdTasks)) FROM User u " +
+           "WHERE u.role = :role ORDER BY u.id")
+    List<UserListing> findListingsByRole(@Param("role") Role role);
+    
+    // Autocomplete: recarga de um usuário no índice em memória
+    @Query("SELECT new com.ilungi.gestora.repositories.UserSuggestion(u.id, u.name, u.email, u.role) " +
+           "FROM User u WHERE u.id = :id")
+    Optional<UserSuggestion> findSuggestionById(@Param("id") Long id);
+    
+    // Autocomplete pelo banco enquanto o índice em memória não está pronto.
+    // No PostgreSQL usa os índices GIN pg_trgm sobre lower(name) e lower(email)
+    @Query("SELECT new com.ilungi.gestora.repositories.UserSuggestion(u.id, u.name, u.email, u.role) " +
+           "FROM User u WHERE LOWER(u.name) LIKE :pattern ESCAPE '!' OR LOWER(u.email) LIKE :pattern ESCAPE '!' " +
+           "ORDER BY u.name")
+    List<UserSuggestion> findSuggestions(@Param("pattern") String pattern, Pageable pageable);
+    
     // ====== CORREÇÕES ======
     
     // 1. Se quiser manter um método para contar tarefas por usuário:
@@ -0,0 +1,9 @@
+package com.ilungi.gestora.repositories;
+
+import com.ilungi.gestora.entities.Role;
+
+/**
+ * Usuário no autocomplete de responsáveis (apenas o necessário para exibir e atribuir).
+ */
+public record UserSuggestion(Long id, String name, String email, Role role) {
+}
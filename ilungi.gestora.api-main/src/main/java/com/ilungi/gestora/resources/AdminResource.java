@@ -1,25 +1,59 @@
 package com.ilungi.gestora.resources;
 
+import com.ilungi.gestora.config.CborConfig;
+import com.ilungi.gestora.config.SecurityUtil;
 import com.ilungi.gestora.entities.Task;
 import com.ilungi.gestora.entities.TaskStatus;
 import com.ilungi.gestora.entities.User;
 import com.ilungi.gestora.entities.Role;
 import com.ilungi.gestora.servicies.EmailService;
 import com.ilungi.gestora.servicies.PasswordGeneratorService;
+import com.ilungi.gestora.servicies.ChangeType;
+import com.ilungi.gestora.servicies.ChangeWatermarks;
+import com.ilungi.gestora.servicies.DashboardSnapshotService;
+import com.ilungi.gestora.servicies.ExportFormat;
+import com.ilungi.gestora.servicies.ExportService;
+import com.ilungi.gestora.servicies.FieldSelection;
+import com.ilungi.gestora.servicies.ImportJob;
+import com.ilungi.gestora.servicies.ImportService;
+import com.ilungi.gestora.servicies.RequestCoalescer;
+import com.ilungi.gestora.servicies.SparseReadService;
 import com.ilungi.gestora.servicies.TaskService;
+import com.ilungi.gestora.servicies.UserChangedEvent;
+import com.ilungi.gestora.servicies.UserSearchIndex;
 import com.ilungi.gestora.repositories.UserRepository;
+import com.ilungi.gestora.repositories.UserSuggestion;
 
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
 
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.http.CacheControl;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.URI;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.Calendar;
@@ -29,6 +63,7 @@ import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.Random;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 import org.slf4j.Logger;
@@ -56,36 +91,77 @@ public class AdminResource {
     @Autowired
     private PasswordGeneratorService passwordGenerator;
     
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+    
+    @Autowired
+    private ChangeWatermarks changeWatermarks;
+    
+    @Autowired
+    private ExportService exportService;
+    
+    @Autowired
+    private ImportService importService;
+    
+    @Autowired
+    private SecurityUtil securityUtil;
+    
+    @Autowired
+    private UserSearchIndex userSearchIndex;
+    
+    @Autowired
+    private RequestCoalescer requestCoalescer;
+    
+    @Autowired
+    private DashboardSnapshotService dashboardSnapshots;
+    
+    @Autowired
+    private SparseReadService sparseReadService;
+    
+    // Admins listando usuários juntos compartilham a mesma leitura; as chaves incluem as
+    // versões do ChangeWatermarks, então uma escrita nunca devolve o resultado anterior
+    @Value("${app.coalescing.admin-fresh-ms:2000}")
+    private long adminFreshMillis;
+    
+    // O navegador guarda a resposta, mas revalida sempre com If-None-Match
+    private static final CacheControl REVALIDATE = CacheControl.noCache().cachePrivate();
+    
     // ========== GERENCIAMENTO DE USUÁRIOS ==========
     
+    // ?fields=id,name,role: só essas colunas no SELECT (contagens viram subconsultas)
     @GetMapping("/users")
     @Operation(summary = "Listar todos os usuários")
-    public ResponseEntity<List<Map<String, Object>>> getAllUsers() {
-        List<User> users = userRepository.findAll();
-        
-        List<Map<String, Object>> response = users.stream()
-            .map(user -> {
-                Map<String, Object> userMap = new HashMap<>();
-                userMap.put("id", user.getId());
-                userMap.put("name", user.getName());
-                userMap.put("email", user.getEmail());
-                userMap.put("phone", user.getPhone());
-                userMap.put("role", user.getRole().name());
-                userMap.put("createdAt", user.getCreatedAt());
-                userMap.put("updatedAt", user.getUpdatedAt());
-                // Estatísticas - use getAssignedTasks() em vez de tasks
-                userMap.put("taskCount", user.getAssignedTasks() != null ? user.getAssignedTasks().size() : 0);
-                userMap.put("createdTaskCount", user.getCreatedTasks() != null ? user.getCreatedTasks().size() : 0);
-                return userMap;
-            })
-            .collect(Collectors.toList());
-        
+    public ResponseEntity<List<?>> getAllUsers(@RequestParam(required = false) String fields) {
+        FieldSelection selection = FieldSelection.parse(fields, FieldSelection.USER_FIELDS);
+        String key = changeWatermarks.usersVersion() + "-" + changeWatermarks.tasksVersion();
+        // Sem fields: UserListing, escrito pelo EntityJsonModule (sem um mapa por usuário)
+        List<?> response = selection != null
+            ? requestCoalescer.coalesce("admin.users", selection.etagScope(key), adminFresh(),
+                () -> sparseReadService.findUsers(null, Pageable.unpaged(Sort.by("id")), selection))
+            : requestCoalescer.coalesce("admin.users", key, adminFresh(), userRepository::findListings);
         return ResponseEntity.ok(response);
     }
     
+    @GetMapping("/users/autocomplete")
+    @Operation(summary = "Autocomplete de usuários por nome ou email (escolha de responsáveis)")
+    public ResponseEntity<List<UserSuggestion>> autocompleteUsers(@RequestParam String q,
+            @RequestParam(defaultValue = "10") int limit) {
+        return ResponseEntity.ok(userSearchIndex.suggest(q, Math.max(1, Math.min(limit, 50))));
+    }
+    
     @GetMapping("/users/{id}")
     @Operation(summary = "Buscar usuário por ID")
-    public ResponseEntity<?> getUserById(@PathVariable Long id) {
+    public ResponseEntity<?> getUserById(@PathVariable Long id, @RequestParam(required = false) String fields,
+            @RequestHeader(name = HttpHeaders.ACCEPT, required = false) String accept) {
+        FieldSelection selection = FieldSelection.parse(fields, FieldSelection.USER_FIELDS);
+        if (selection != null) {
+            List<Map<String, Object>> rows = sparseReadService.findUsers(
+                (root, query, cb) -> cb.equal(root.get("id"), id), Pageable.unpaged(), selection);
+            if (rows.isEmpty()) {
+                return ResponseEntity.status(404).body("Usuário não encontrado");
+            }
+            return ResponseEntity.ok(rows.get(0));
+        }
         Optional<User> userOptional = userRepository.findById(id);
         
         if (userOptional.isEmpty()) {
@@ -113,7 +189,8 @@ public class AdminResource {
             response.put("taskStats", taskStats);
         }
         
-        return ResponseEntity.ok(response);
+        // ETag usada no If-Match de PUT /admin/users/{id} e PATCH /admin/users/{id}/role
+        return ResponseEntity.ok().eTag(userEtag(user, accept)).varyBy(HttpHeaders.ACCEPT).body(response);
     }
     
     @PostMapping("/users")
@@ -156,6 +233,7 @@ public class AdminResource {
             }
             
             User savedUser = userRepository.save(user);
+            eventPublisher.publishEvent(new UserChangedEvent(savedUser.getId(), ChangeType.CREATED));
             
             //ENVIA EMAIL DE BOAS-VINDAS COM SENHA
             emailService.enviarBoasVindasInicial(email, nome, rawPassword);
@@ -187,7 +265,9 @@ public class AdminResource {
     
     @PutMapping("/users/{id}")
     @Operation(summary = "Atualizar usuário")
-    public ResponseEntity<?> updateUser(@PathVariable Long id, @RequestBody Map<String, String> userData) {
+    public ResponseEntity<?> updateUser(@PathVariable Long id, @RequestBody Map<String, String> userData,
+            @RequestHeader(name = "If-Match", required = false) String ifMatch,
+            @RequestHeader(name = HttpHeaders.ACCEPT, required = false) String accept) {
         try {
             Optional<User> userOptional = userRepository.findById(id);
             
@@ -197,6 +277,10 @@ public class AdminResource {
             
             User user = userOptional.get();
             
+            if (!changeWatermarks.ifMatchVersion(ifMatch, "user", user.getId(), userVersion(user))) {
+                return preconditionFailed();
+            }
+            
             // Atualiza campos se fornecidos
             if (userData.get("name") != null) {
                 user.setName(userData.get("name"));
@@ -214,6 +298,7 @@ public class AdminResource {
             }
             
             User updatedUser = userRepository.save(user);
+            eventPublisher.publishEvent(new UserChangedEvent(id, ChangeType.UPDATED));
             
             Map<String, Object> response = new HashMap<>();
             response.put("message", "Usuário atualizado com sucesso");
@@ -225,8 +310,10 @@ public class AdminResource {
                 "role", updatedUser.getRole().name()
             ));
             
-            return ResponseEntity.ok(response);
+            return ResponseEntity.ok().eTag(userEtag(updatedUser, accept)).body(response);
             
+        } catch (ObjectOptimisticLockingFailureException e) {
+            return conflict();
         } catch (Exception e) {
             return ResponseEntity.status(500)
                 .body(Map.of("error", "Erro ao atualizar usuário: " + e.getMessage()));
@@ -252,6 +339,7 @@ public class AdminResource {
             }
             
             userRepository.delete(user);
+            eventPublisher.publishEvent(new UserChangedEvent(id, ChangeType.DELETED));
             
             return ResponseEntity.ok(Map.of("message", "Usuário excluído com sucesso"));
             
@@ -263,7 +351,9 @@ public class AdminResource {
     
     @PatchMapping("/users/{id}/role")
     @Operation(summary = "Alterar role do usuário")
-    public ResponseEntity<?> changeUserRole(@PathVariable Long id, @RequestParam String role) {
+    public ResponseEntity<?> changeUserRole(@PathVariable Long id, @RequestParam String role,
+            @RequestHeader(name = "If-Match", required = false) String ifMatch,
+            @RequestHeader(name = HttpHeaders.ACCEPT, required = false) String accept) {
         try {
             Optional<User> userOptional = userRepository.findById(id);
             
@@ -273,12 +363,17 @@ public class AdminResource {
             
             User user = userOptional.get();
             
+            if (!changeWatermarks.ifMatchVersion(ifMatch, "user", user.getId(), userVersion(user))) {
+                return preconditionFailed();
+            }
+            
             try {
                 Role newRole = Role.valueOf(role.toUpperCase());
                 user.setRole(newRole);
-                userRepository.save(user);
+                User updatedUser = userRepository.save(user);
+                eventPublisher.publishEvent(new UserChangedEvent(id, ChangeType.UPDATED));
                 
-                return ResponseEntity.ok(Map.of(
+                return ResponseEntity.ok().eTag(userEtag(updatedUser, accept)).body(Map.of(
                     "message", "Role alterado com sucesso",
                     "userId", user.getId(),
                     "newRole", newRole.name()
@@ -288,15 +383,39 @@ public class AdminResource {
                 return ResponseEntity.badRequest().body("Role inválido. Use: ADMIN ou USER");
             }
             
+        } catch (ObjectOptimisticLockingFailureException e) {
+            return conflict();
         } catch (Exception e) {
             return ResponseEntity.status(500)
                 .body(Map.of("error", "Erro ao alterar role: " + e.getMessage()));
         }
     }
     
+    // Versão (@Version) do usuário como ETag, por formato
+    private String userEtag(User user, String accept) {
+        return changeWatermarks.etag(CborConfig.etagScope("user", accept), user.getId(), userVersion(user));
+    }
+    
+    private static long userVersion(User user) {
+        return user.getVersion() != null ? user.getVersion() : 0L;
+    }
+    
+    private ResponseEntity<?> preconditionFailed() {
+        return ResponseEntity.status(HttpStatus.PRECONDITION_FAILED)
+            .body(Map.of("error", "Usuário alterado desde a última leitura. Recarregue e tente novamente."));
+    }
+    
+    // Outra escrita gravou o usuário entre a leitura e o save
+    private ResponseEntity<?> conflict() {
+        return ResponseEntity.status(HttpStatus.CONFLICT)
+            .body(Map.of("error", "Usuário alterado por outra requisição. Recarregue e tente novamente."));
+    }
+    
     @GetMapping("/users/by-role/{role}")
     @Operation(summary = "Buscar usuários por role")
-    public ResponseEntity<?> getUsersByRole(@PathVariable String role) {
+    public ResponseEntity<?> getUsersByRole(@PathVariable String role,
+            @RequestParam(required = false) String fields) {
+        FieldSelection selection = FieldSelection.parse(fields, FieldSelection.USER_FIELDS);
         try {
             Role roleEnum;
             try {
@@ -305,21 +424,13 @@ public class AdminResource {
                 return ResponseEntity.badRequest().body("Role inválido. Use: ADMIN ou USER");
             }
             
-            List<User> users = userRepository.findByRole(roleEnum);
-            
-            // CORREÇÃO DA LINHA 290: Especifique o tipo explicitamente
-            List<Map<String, Object>> response = users.stream()
-                .map(user -> {
-                    Map<String, Object> userMap = new HashMap<>();
-                    userMap.put("id", user.getId());
-                    userMap.put("name", user.getName());
-                    userMap.put("email", user.getEmail());
-                    userMap.put("phone", user.getPhone());
-                    userMap.put("role", user.getRole().name());
-                    userMap.put("taskCount", user.getAssignedTasks() != null ? user.getAssignedTasks().size() : 0);
-                    return userMap;
-                })
-                .collect(Collectors.toList());
+            String key = roleEnum + "-" + changeWatermarks.usersVersion() + "-" + changeWatermarks.tasksVersion();
+            List<?> response = selection != null
+                ? requestCoalescer.coalesce("admin.users-by-role", selection.etagScope(key), adminFresh(),
+                    () -> sparseReadService.findUsers((root, query, cb) -> cb.equal(root.get("role"), roleEnum),
+                        Pageable.unpaged(Sort.by("id")), selection))
+                : requestCoalescer.coalesce("admin.users-by-role", key, adminFresh(),
+                    () -> userRepository.findListingsByRole(roleEnum));
             
             return ResponseEntity.ok(response);
             
@@ -329,19 +440,106 @@ public class AdminResource {
         }
     }
     
+    // ========== EXPORTAÇÃO (STREAMING) ==========
+    
+    @GetMapping("/export/tasks")
+    @Operation(summary = "Exportar todas as tarefas (format=ndjson|csv)")
+    public ResponseEntity<StreamingResponseBody> exportTasks(@RequestParam(defaultValue = "ndjson") String format) {
+        return export("tasks", format, exportService::exportTasks);
+    }
+    
+    @GetMapping("/export/users")
+    @Operation(summary = "Exportar todos os usuários (format=ndjson|csv)")
+    public ResponseEntity<StreamingResponseBody> exportUsers(@RequestParam(defaultValue = "ndjson") String format) {
+        return export("users", format, exportService::exportUsers);
+    }
+    
+    // O corpo é escrito fora da thread da requisição, direto na resposta. O tipo do corpo precisa
+    // aparecer na assinatura (não ResponseEntity<?>) para o MVC tratá-lo como streaming
+    private ResponseEntity<StreamingResponseBody> export(String name, String format, Exporter exporter) {
+        ExportFormat exportFormat;
+        try {
+            exportFormat = ExportFormat.from(format);
+        } catch (IllegalArgumentException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Formato inválido. Use: ndjson ou csv");
+        }
+        
+        StreamingResponseBody body = out -> exporter.export(exportFormat, out);
+        return ResponseEntity.ok()
+            .contentType(exportFormat.getMediaType())
+            .header(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment()
+                .filename(name + "." + exportFormat.getExtension()).build().toString())
+            .body(body);
+    }
+    
+    @FunctionalInterface
+    private interface Exporter {
+        void export(ExportFormat format, OutputStream out) throws IOException;
+    }
+    
+    // ========== IMPORTAÇÃO EM MASSA (CSV) ==========
+    
+    @PostMapping(path = "/import/users", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
+    @Operation(summary = "Importar usuários de CSV (name,email,phone,role)")
+    public ResponseEntity<?> importUsers(@RequestParam("file") MultipartFile file) {
+        return startImport(file, path -> importService.submitUsers(path));
+    }
+    
+    @PostMapping(path = "/import/tasks", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
+    @Operation(summary = "Importar tarefas de CSV (title,description,status,daysToFinish,responsibles)")
+    public ResponseEntity<?> importTasks(@RequestParam("file") MultipartFile file) {
+        Long adminId = securityUtil.getCurrentUserId();
+        return startImport(file, path -> importService.submitTasks(path, adminId));
+    }
+    
+    @GetMapping("/import/{jobId}")
+    @Operation(summary = "Andamento de uma importação")
+    public ResponseEntity<?> getImportStatus(@PathVariable String jobId) {
+        return importService.findJob(jobId)
+            .<ResponseEntity<?>>map(job -> ResponseEntity.ok(job.toMap()))
+            .orElseGet(() -> ResponseEntity.status(404).body(Map.of("error", "Importação não encontrada")));
+    }
+    
+    // O arquivo é copiado para um temporário e processado em segundo plano: responde 202 com o job
+    private ResponseEntity<?> startImport(MultipartFile file, Function<Path, ImportJob> submit) {
+        if (file.isEmpty()) {
+            return ResponseEntity.badRequest().body(Map.of("error", "Arquivo CSV vazio"));
+        }
+        try {
+            Path path = Files.createTempFile("gestora-import-", ".csv");
+            file.transferTo(path);
+            ImportJob job = submit.apply(path);
+            return ResponseEntity.accepted()
+                .location(URI.create("/admin/import/" + job.getId()))
+                .body(job.toMap());
+        } catch (IOException e) {
+            return ResponseEntity.status(500)
+                .body(Map.of("error", "Erro ao receber arquivo: " + e.getMessage()));
+        }
+    }
+    
     // ========== GERENCIAMENTO DE TAREFAS (ADMIN) ==========
     
     @GetMapping("/tasks")
     @Operation(summary = "Listar todas as tarefas")
-    public ResponseEntity<List<Task>> getAllTasks() {
+    public ResponseEntity<?> getAllTasks(@RequestParam(required = false) String fields) {
+        FieldSelection selection = FieldSelection.parse(fields, FieldSelection.TASK_FIELDS);
+        if (selection != null) {
+            return ResponseEntity.ok(taskService.findTaskFields(selection));
+        }
         List<Task> tasks = taskService.findAllTasksAdmin();
         return ResponseEntity.ok(tasks);
     }
     
     @GetMapping("/tasks/user/{userId}")
     @Operation(summary = "Listar tarefas de um usuário específico")
-    public ResponseEntity<?> getTasksByUser(@PathVariable Long userId) {
+    public ResponseEntity<?> getTasksByUser(@PathVariable Long userId,
+            @RequestParam(required = false) String fields) {
+        FieldSelection selection = FieldSelection.parse(fields, FieldSelection.TASK_FIELDS);
         try {
+            if (selection != null) {
+                return ResponseEntity.ok(taskService.findTaskFieldsByUser(userId, selection));
+            }
             List<Task> tasks = taskService.findTasksByUser(userId);
             return ResponseEntity.ok(tasks);
         } catch (Exception e) {
@@ -588,63 +786,36 @@ public class AdminResource {
     
     @GetMapping("/stats")
     @Operation(summary = "Estatísticas gerais do sistema")
-    public ResponseEntity<Map<String, Object>> getSystemStats() {
-        Map<String, Object> stats = new HashMap<>();
-        
-        // Estatísticas de usuários
-        long totalUsers = userRepository.count();
-        long adminUsers = userRepository.findAll().stream()
-            .filter(u -> u.getRole() == Role.ADMIN)
-            .count();
-        long regularUsers = userRepository.findAll().stream()
-            .filter(u -> u.getRole() == Role.USER)
-            .count();
-        
-        stats.put("totalUsers", totalUsers);
-        stats.put("adminUsers", adminUsers);
-        stats.put("regularUsers", regularUsers);
-        
-        // Estatísticas de tarefas
-        Map<com.ilungi.gestora.entities.TaskStatus, Long> taskStats = taskService.getAllTaskStats();
-        stats.put("taskStats", taskStats);
-        
-        long totalTasks = taskStats.values().stream().mapToLong(Long::longValue).sum();
-        stats.put("totalTasks", totalTasks);
-        
-        return ResponseEntity.ok(stats);
+    public ResponseEntity<Map<String, Object>> getSystemStats(
+            @RequestParam(defaultValue = "false") boolean fresh, WebRequest request) {
+        DashboardSnapshotService.Snapshot snapshot = snapshot(fresh);
+        String etag = changeWatermarks.etag(CborConfig.etagScope("stats", request.getHeader(HttpHeaders.ACCEPT)),
+            snapshot.generation());
+        if (request.checkNotModified(etag)) {
+            return null;
+        }
+        return ResponseEntity.ok().cacheControl(REVALIDATE).varyBy(HttpHeaders.ACCEPT).body(snapshot.stats());
     }
     
     @GetMapping("/dashboard")
     @Operation(summary = "Dados para dashboard administrativo")
-    public ResponseEntity<Map<String, Object>> getDashboardData() {
-        Map<String, Object> dashboard = new HashMap<>();
-        
-        // Dados resumidos
-        dashboard.put("systemInfo", Map.of(
-            "name", "Gestora API",
-            "version", "1.0.0",
-            "activeUsers", userRepository.count(),
-            "activeTasks", taskService.findAllTasksAdmin().size()
-        ));
-        
-        
-        List<User> recentUsers = userRepository.findTop5ByOrderByCreatedAtDesc();
-        
-        
-        List<Map<String, Object>> recentUsersData = recentUsers.stream()
-            .map(user -> {
-                Map<String, Object> userMap = new HashMap<>();
-                userMap.put("id", user.getId());
-                userMap.put("name", user.getName());
-                userMap.put("email", user.getEmail());
-                userMap.put("role", user.getRole().name());
-                userMap.put("createdAt", user.getCreatedAt());
-                return userMap;
-            })
-            .collect(Collectors.toList());
-        
-        dashboard.put("recentUsers", recentUsersData);
-        
-        return ResponseEntity.ok(dashboard);
+    public ResponseEntity<Map<String, Object>> getDashboardData(
+            @RequestParam(defaultValue = "false") boolean fresh, WebRequest request) {
+        DashboardSnapshotService.Snapshot snapshot = snapshot(fresh);
+        String etag = changeWatermarks.etag(CborConfig.etagScope("dashboard", request.getHeader(HttpHeaders.ACCEPT)),
+            snapshot.generation());
+        if (request.checkNotModified(etag)) {
+            return null;
+        }
+        return ResponseEntity.ok().cacheControl(REVALIDATE).varyBy(HttpHeaders.ACCEPT).body(snapshot.dashboard());
+    }
+    
+    // Snapshot em segundo plano (com generatedAt); fresh=true para números exatos
+    private DashboardSnapshotService.Snapshot snapshot(boolean fresh) {
+        return fresh ? dashboardSnapshots.rebuildNow() : dashboardSnapshots.current();
+    }
+    
+    private Duration adminFresh() {
+        return Duration.ofMillis(adminFreshMillis);
     }
 }
\ No newline at end of file
@@ -3,11 +3,14 @@ package com.ilungi.gestora.resources;
 import com.ilungi.gestora.config.JwtTokenProvider;
 import com.ilungi.gestora.entities.User;
 import com.ilungi.gestora.repositories.UserRepository;
+import com.ilungi.gestora.servicies.ChangeType;
+import com.ilungi.gestora.servicies.UserChangedEvent;
 
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.servlet.http.HttpServletRequest;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.web.bind.annotation.*;
@@ -31,6 +34,9 @@ public class AuthResource {
     @Autowired
     private JwtTokenProvider jwtTokenProvider;
     
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+    
     // LOGIN 
     @PostMapping("/login")
     public ResponseEntity<?> login(@RequestBody Map<String, String> credentials) {
@@ -110,6 +116,7 @@ public class AuthResource {
             }  
             // 4. Salva no banco
             User savedUser = userRepository.save(user);
+            eventPublisher.publishEvent(new UserChangedEvent(savedUser.getId(), ChangeType.CREATED));
             
             // 5. Gera token JWT
             String token = jwtTokenProvider.generateToken(
@@ -0,0 +1,195 @@
+package com.ilungi.gestora.resources;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonRawValue;
+import com.ilungi.gestora.config.BatchDispatcher;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import tools.jackson.core.JacksonException;
+import tools.jackson.databind.JsonNode;
+import tools.jackson.databind.json.JsonMapper;
+
+@RestController
+@RequestMapping("/batch")
+@Tag(name = "Batch", description = "Várias operações REST em uma única requisição")
+public class BatchResource {
+
+    private static final Logger logger = LoggerFactory.getLogger(BatchResource.class);
+
+    private static final Set<String> METHODS = Set.of("GET", "POST", "PUT", "PATCH", "DELETE");
+
+    @Autowired
+    private BatchDispatcher batchDispatcher;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private JsonMapper jsonMapper;
+
+    @Value("${app.batch.max-operations:20}")
+    private int maxOperations;
+
+    @Value("${app.batch.max-payload-bytes:262144}")
+    private long maxPayloadBytes;
+
+    /**
+     * Sub-requisição: path relativo à API (pode ter query string), headers opcionais
+     * (If-Match, If-None-Match...) e corpo JSON.
+     */
+    public record BatchOperation(String id, String method, String path, Map<String, String> headers, JsonNode body) {}
+
+    /**
+     * atomic=true executa tudo em uma transação: a primeira falha (status >= 400)
+     * desfaz as anteriores e as seguintes não são executadas (424).
+     */
+    public record BatchRequest(boolean atomic, List<BatchOperation> operations) {}
+
+    @JsonInclude(JsonInclude.Include.NON_EMPTY)
+    public record BatchResult(String id, int status, Map<String, String> headers, @JsonRawValue String body) {}
+
+    public record BatchResponse(boolean atomic, boolean rolledBack, List<BatchResult> responses) {}
+
+    // Executadas em ordem, uma a uma, pelos mesmos controllers e regras de acesso das rotas.
+    // O corpo é lido à mão para o limite valer antes de carregar o JSON inteiro
+    @PostMapping(consumes = MediaType.APPLICATION_JSON_VALUE)
+    @Operation(summary = "Executa uma lista ordenada de operações")
+    public ResponseEntity<?> batch(HttpServletRequest request, HttpServletResponse response) throws IOException {
+        if (request.getContentLengthLong() > maxPayloadBytes) {
+            return tooLarge();
+        }
+        byte[] payload = request.getInputStream().readNBytes((int) Math.min(Integer.MAX_VALUE - 8, maxPayloadBytes + 1));
+        if (payload.length > maxPayloadBytes) {
+            return tooLarge();
+        }
+        BatchRequest batch;
+        try {
+            batch = jsonMapper.readValue(payload, BatchRequest.class);
+        } catch (JacksonException e) {
+            return ResponseEntity.badRequest().body(Map.of("error", "JSON inválido: " + e.getOriginalMessage()));
+        }
+        if (batch == null || batch.operations() == null || batch.operations().isEmpty()) {
+            return ResponseEntity.badRequest().body(Map.of("error", "Informe ao menos uma operação"));
+        }
+        if (batch.operations().size() > maxOperations) {
+            return ResponseEntity.badRequest()
+                .body(Map.of("error", "Máximo de " + maxOperations + " operações por batch"));
+        }
+
+        // Validação completa antes de executar qualquer operação
+        List<byte[]> bodies = new ArrayList<>();
+        for (BatchOperation operation : batch.operations()) {
+            if (operation.method() == null || !METHODS.contains(operation.method().toUpperCase(Locale.ROOT))) {
+                return ResponseEntity.badRequest()
+                    .body(Map.of("error", "Método inválido na operação " + describe(operation)));
+            }
+            String rejection = BatchDispatcher.rejectPath(operation.path());
+            if (rejection != null) {
+                return ResponseEntity.badRequest()
+                    .body(Map.of("error", rejection + ": " + describe(operation)));
+            }
+            bodies.add(operation.body() != null && !operation.body().isNull()
+                ? jsonMapper.writeValueAsBytes(operation.body()) : null);
+        }
+
+        List<BatchResult> results = new ArrayList<>();
+        boolean rolledBack = false;
+        if (batch.atomic()) {
+            TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+            rolledBack = Boolean.TRUE.equals(transaction.execute(status -> {
+                boolean failed = execute(batch.operations(), bodies, request, response, results, true);
+                if (failed) {
+                    // Rollback local: sem UnexpectedRollbackException mesmo que um serviço
+                    // interno já tenha marcado a transação
+                    status.setRollbackOnly();
+                }
+                return failed;
+            }));
+        } else {
+            execute(batch.operations(), bodies, request, response, results, false);
+        }
+
+        return ResponseEntity.ok()
+            .contentType(MediaType.APPLICATION_JSON)
+            .body(new BatchResponse(batch.atomic(), rolledBack, results));
+    }
+
+    // Devolve true se alguma operação falhou
+    private boolean execute(List<BatchOperation> operations, List<byte[]> bodies, HttpServletRequest request,
+                            HttpServletResponse response, List<BatchResult> results, boolean stopOnFailure) {
+        boolean failed = false;
+        for (int i = 0; i < operations.size(); i++) {
+            BatchOperation operation = operations.get(i);
+            if (failed && stopOnFailure) {
+                results.add(new BatchResult(operation.id(), HttpStatus.FAILED_DEPENDENCY.value(), Map.of(),
+                    errorJson("Não executada: operação anterior falhou")));
+                continue;
+            }
+            BatchResult result;
+            try {
+                BatchDispatcher.Result dispatched = batchDispatcher.dispatch(request, response,
+                    operation.method(), operation.path(), operation.headers(), bodies.get(i));
+                result = new BatchResult(operation.id(), dispatched.status(), dispatched.headers(), body(dispatched));
+            } catch (Exception e) {
+                // Detalhes só no log: a mensagem da exceção pode expor SQL, classes ou dados
+                logger.error("Operação {} do batch falhou: {} {}", operation.id(), operation.method(),
+                    operation.path(), e);
+                result = new BatchResult(operation.id(), HttpStatus.INTERNAL_SERVER_ERROR.value(), Map.of(),
+                    errorJson("Erro ao executar a operação"));
+            }
+            results.add(result);
+            failed |= result.status() >= 400;
+        }
+        return failed;
+    }
+
+    // Corpo JSON repassado como está; texto vira string JSON
+    private String body(BatchDispatcher.Result result) {
+        if (result.body().length == 0) {
+            return null;
+        }
+        String text = new String(result.body(), StandardCharsets.UTF_8);
+        String contentType = result.contentType();
+        if (contentType != null && MediaType.parseMediaType(contentType).isCompatibleWith(MediaType.APPLICATION_JSON)) {
+            return text;
+        }
+        return jsonMapper.writeValueAsString(text);
+    }
+
+    private ResponseEntity<Map<String, String>> tooLarge() {
+        return ResponseEntity.status(HttpStatus.CONTENT_TOO_LARGE)
+            .body(Map.of("error", "Batch acima de " + maxPayloadBytes + " bytes"));
+    }
+
+    private String errorJson(String message) {
+        return jsonMapper.writeValueAsString(Map.of("error", message));
+    }
+
+    private static String describe(BatchOperation operation) {
+        return operation.id() != null ? operation.id() : operation.method() + " " + operation.path();
+    }
+}
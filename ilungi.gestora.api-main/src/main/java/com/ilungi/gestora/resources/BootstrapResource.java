@@ -0,0 +1,37 @@
+package com.ilungi.gestora.resources;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.ilungi.gestora.servicies.BootstrapService;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+
+@RestController
+@RequestMapping("/bootstrap")
+@Tag(name = "Bootstrap", description = "Dados da primeira tela em uma única requisição")
+public class BootstrapResource {
+    
+    @Autowired
+    private BootstrapService bootstrapService;
+    
+    // Usuário, tarefas, resumo e (admins) dashboard buscados em paralelo; partes que
+    // falharem ou passarem do prazo são listadas em "errors" e podem ser pedidas à parte.
+    // Só JSON: "tasks" é JSON pronto (@JsonRawValue), que o CBOR não sabe embutir
+    @GetMapping(produces = MediaType.APPLICATION_JSON_VALUE)
+    @Operation(summary = "Dados iniciais após o login")
+    public ResponseEntity<BootstrapService.Bootstrap> bootstrap() {
+        BootstrapService.Bootstrap bootstrap = bootstrapService.load();
+        HttpStatus status = bootstrap.hasAnyPart() ? HttpStatus.OK : HttpStatus.SERVICE_UNAVAILABLE;
+        return ResponseEntity.status(status)
+            .cacheControl(CacheControl.noStore())
+            .body(bootstrap);
+    }
+}
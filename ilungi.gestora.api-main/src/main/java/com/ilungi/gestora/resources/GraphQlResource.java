@@ -0,0 +1,288 @@
+package com.ilungi.gestora.resources;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Date;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.graphql.data.method.annotation.Argument;
+import org.springframework.graphql.data.method.annotation.BatchMapping;
+import org.springframework.graphql.data.method.annotation.QueryMapping;
+import org.springframework.graphql.data.method.annotation.SchemaMapping;
+import org.springframework.graphql.execution.BatchLoaderRegistry;
+import org.springframework.security.access.AccessDeniedException;
+import org.springframework.stereotype.Controller;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.ilungi.gestora.config.SecurityUtil;
+import com.ilungi.gestora.entities.Email;
+import com.ilungi.gestora.entities.Role;
+import com.ilungi.gestora.entities.StatusEmail;
+import com.ilungi.gestora.entities.TaskStatus;
+import com.ilungi.gestora.entities.User;
+import com.ilungi.gestora.repositories.AssignedTaskRow;
+import com.ilungi.gestora.repositories.EmailRepository;
+import com.ilungi.gestora.repositories.TaskRepository;
+import com.ilungi.gestora.repositories.TaskResponsibleRow;
+import com.ilungi.gestora.repositories.TaskRow;
+import com.ilungi.gestora.repositories.UserRepository;
+
+import graphql.schema.DataFetchingEnvironment;
+import reactor.core.publisher.Mono;
+
+/**
+ * Leituras GraphQL (schema em resources/graphql/schema.graphqls).
+ *
+ * Os resolvers devolvem registros simples (TaskNode, UserNode), nunca entidades:
+ * nada depende de lazy loading fora da transação. responsibles e createdBy são
+ * @BatchMapping e assignedTasks usa um DataLoader próprio (a chave leva o limit):
+ * o DataLoader junta as chaves de um nível da query e cada campo vira uma única
+ * consulta IN (...).
+ *
+ * Todas as leituras rodam em readOnlyTransaction(), roteável para a réplica como
+ * as leituras REST (ReplicaRoutingConfig).
+ */
+@Controller
+public class GraphQlResource {
+
+    private static final String ASSIGNED_TASKS = "assignedTasks";
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private EmailRepository emailRepository;
+
+    @Autowired
+    private SecurityUtil securityUtil;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Value("${app.graphql.max-page-size:200}")
+    private int maxPageSize;
+
+    public GraphQlResource(BatchLoaderRegistry batchLoaderRegistry) {
+        batchLoaderRegistry.<AssignedTasksKey, List<TaskNode>>forName(ASSIGNED_TASKS)
+            .registerMappedBatchLoader((keys, environment) -> Mono.fromSupplier(() -> loadAssignedTasks(keys)));
+    }
+
+    // Tasks de um usuário limitadas a limit; chaves com limits diferentes podem cair no mesmo lote
+    record AssignedTasksKey(Long userId, int limit) {
+    }
+
+    public record TaskNode(Long id, String title, String description, TaskStatus status, String createAt,
+                           String endDate, Integer daysToFinish, Long version, Long createdById) {
+
+        static TaskNode from(TaskRow row) {
+            return new TaskNode(row.id(), row.title(), row.description(), row.status(), iso(row.createAt()),
+                iso(row.endDate()), row.daysToFinish(), row.version(), row.createdById());
+        }
+
+        static TaskNode from(AssignedTaskRow row) {
+            return new TaskNode(row.id(), row.title(), row.description(), row.status(), iso(row.createAt()),
+                iso(row.endDate()), row.daysToFinish(), row.version(), row.createdById());
+        }
+    }
+
+    public record UserNode(Long id, String name, String email, String phone, Role role, String createdAt) {
+
+        static UserNode from(User user) {
+            return new UserNode(user.getId(), user.getName(), user.getEmail(), user.getPhone(), user.getRole(),
+                iso(user.getCreatedAt()));
+        }
+
+        static UserNode from(TaskResponsibleRow row) {
+            return new UserNode(row.userId(), row.name(), row.email(), row.phone(), row.role(), iso(row.createdAt()));
+        }
+    }
+
+    // ========== QUERIES ==========
+
+    @QueryMapping
+    public UserNode me() {
+        Long userId = securityUtil.getCurrentUserId();
+        return readOnlyTransaction().execute(status ->
+            userRepository.findById(userId).map(UserNode::from).orElse(null));
+    }
+
+    @QueryMapping
+    public TaskNode task(@Argument Long id) {
+        boolean admin = isAdmin();
+        Long userId = securityUtil.getCurrentUserId();
+        return readOnlyTransaction().execute(status -> {
+            if (!admin && !taskRepository.existsByIdAndResponsibles_Id(id, userId)) {
+                return null;
+            }
+            return taskRepository.findRowById(id).map(TaskNode::from).orElse(null);
+        });
+    }
+
+    // Mesmas regras de visibilidade de GET /tasks/query; ordenadas pela consulta
+    @QueryMapping
+    public List<TaskNode> tasks(@Argument List<TaskStatus> status, @Argument int size, @Argument int page) {
+        Collection<TaskStatus> statuses = status == null || status.isEmpty()
+            ? EnumSet.allOf(TaskStatus.class) : status;
+        Pageable pageable = page(size, page, Sort.unsorted());
+        Long userId = isAdmin() ? null : securityUtil.getCurrentUserId();
+        return readOnlyTransaction().execute(tx -> {
+            List<TaskRow> rows = userId == null
+                ? taskRepository.findRows(statuses, pageable)
+                : taskRepository.findRowsByResponsible(userId, statuses, pageable);
+            return rows.stream().map(TaskNode::from).toList();
+        });
+    }
+
+    @QueryMapping
+    public UserNode user(@Argument Long id) {
+        requireAdmin();
+        return readOnlyTransaction().execute(status -> userRepository.findById(id).map(UserNode::from).orElse(null));
+    }
+
+    @QueryMapping
+    public List<UserNode> users(@Argument Role role, @Argument int size, @Argument int page) {
+        requireAdmin();
+        Pageable pageable = page(size, page, Sort.by("id"));
+        return readOnlyTransaction().execute(status ->
+            (role != null ? userRepository.findByRole(role, pageable) : userRepository.findAll(pageable)).stream()
+                .map(UserNode::from)
+                .toList());
+    }
+
+    @QueryMapping
+    public List<Email> emails(@Argument StatusEmail status, @Argument int size, @Argument int page) {
+        requireAdmin();
+        Pageable pageable = page(size, page, Sort.by(Sort.Direction.DESC, "dataEnvio", "id"));
+        return readOnlyTransaction().execute(tx ->
+            (status != null ? emailRepository.findByStatus(status, pageable) : emailRepository.findAll(pageable))
+                .getContent());
+    }
+
+    // ========== CAMPOS EM LOTE (DataLoader) ==========
+
+    @BatchMapping(typeName = "Task")
+    public Map<TaskNode, List<UserNode>> responsibles(List<TaskNode> tasks) {
+        Map<Long, List<UserNode>> byTask = new HashMap<>();
+        List<TaskResponsibleRow> rows = readOnlyTransaction().execute(status ->
+            taskRepository.findResponsibleRows(ids(tasks, TaskNode::id)));
+        for (TaskResponsibleRow row : rows) {
+            byTask.computeIfAbsent(row.taskId(), id -> new ArrayList<>()).add(UserNode.from(row));
+        }
+        return tasks.stream().collect(Collectors.toMap(Function.identity(),
+            task -> byTask.getOrDefault(task.id(), List.of()), (a, b) -> a, LinkedHashMap::new));
+    }
+
+    @BatchMapping(typeName = "Task")
+    public Map<TaskNode, UserNode> createdBy(List<TaskNode> tasks) {
+        Set<Long> creatorIds = ids(tasks, TaskNode::createdById);
+        Map<Long, UserNode> creators = readOnlyTransaction().execute(status ->
+            userRepository.findAllById(creatorIds).stream().collect(Collectors.toMap(User::getId, UserNode::from)));
+
+        // Tasks sem criador ficam fora do mapa: o campo resolve como null
+        Map<TaskNode, UserNode> result = new LinkedHashMap<>();
+        for (TaskNode task : tasks) {
+            UserNode creator = task.createdById() != null ? creators.get(task.createdById()) : null;
+            if (creator != null) {
+                result.put(task, creator);
+            }
+        }
+        return result;
+    }
+
+    // USER só enxerga as próprias tasks; a lista de outros usuários vem vazia
+    @SchemaMapping(typeName = "User")
+    public CompletableFuture<List<TaskNode>> assignedTasks(UserNode user, @Argument int limit,
+                                                           DataFetchingEnvironment environment) {
+        if (user.id() == null || (!isAdmin() && !user.id().equals(securityUtil.getCurrentUserId()))) {
+            return CompletableFuture.completedFuture(List.of());
+        }
+        int perUser = Math.max(1, Math.min(limit, maxPageSize));
+        return environment.<AssignedTasksKey, List<TaskNode>>getDataLoader(ASSIGNED_TASKS)
+            .load(new AssignedTasksKey(user.id(), perUser));
+    }
+
+    // Uma consulta por limit distinto no lote (em geral, um só)
+    private Map<AssignedTasksKey, List<TaskNode>> loadAssignedTasks(Set<AssignedTasksKey> keys) {
+        Map<Integer, Set<Long>> usersByLimit = new HashMap<>();
+        for (AssignedTasksKey key : keys) {
+            usersByLimit.computeIfAbsent(key.limit(), limit -> new LinkedHashSet<>()).add(key.userId());
+        }
+        Map<AssignedTasksKey, List<TaskNode>> result = new HashMap<>();
+        readOnlyTransaction().executeWithoutResult(status -> usersByLimit.forEach((limit, userIds) -> {
+            for (AssignedTaskRow row : taskRepository.findAssignedTaskRows(userIds, limit)) {
+                result.computeIfAbsent(new AssignedTasksKey(row.userId(), limit), key -> new ArrayList<>())
+                    .add(TaskNode.from(row));
+            }
+        }));
+        for (AssignedTasksKey key : keys) {
+            result.putIfAbsent(key, List.of());
+        }
+        return result;
+    }
+
+    // ========== AUXILIARES ==========
+
+    private boolean isAdmin() {
+        return securityUtil.hasRole(Role.ADMIN);
+    }
+
+    private void requireAdmin() {
+        if (!isAdmin()) {
+            throw new AccessDeniedException("Apenas ADMIN");
+        }
+    }
+
+    // Nomeada como as transações dos serviços roteados: pode ir para a réplica
+    private TransactionTemplate readOnlyTransaction() {
+        TransactionTemplate template = new TransactionTemplate(transactionManager);
+        template.setName(GraphQlResource.class.getName() + ".readOnlyTransaction");
+        template.setReadOnly(true);
+        return template;
+    }
+
+    private Pageable page(int size, int page, Sort sort) {
+        return PageRequest.of(Math.max(page, 0), Math.max(1, Math.min(size, maxPageSize)), sort);
+    }
+
+    private static <T> Set<Long> ids(List<T> nodes, Function<T, Long> id) {
+        Set<Long> ids = new LinkedHashSet<>();
+        for (T node : nodes) {
+            Long value = id.apply(node);
+            if (value != null) {
+                ids.add(value);
+            }
+        }
+        return ids;
+    }
+
+    private static String iso(Date date) {
+        if (date == null) {
+            return null;
+        }
+        // java.sql.Date (coluna DATE) não suporta toInstant()
+        return date instanceof java.sql.Date sqlDate ? sqlDate.toLocalDate().toString() : date.toInstant().toString();
+    }
+
+    private static String iso(LocalDateTime dateTime) {
+        return dateTime != null ? dateTime.toString() : null;
+    }
+}
@@ -2,38 +2,59 @@ package com.ilungi.gestora.resources;
 
 
 import com.fasterxml.jackson.databind.JsonNode;
+import com.ilungi.gestora.config.CborConfig;
+import com.ilungi.gestora.config.SecurityUtil;
+import com.ilungi.gestora.config.StreamTickets;
 import com.ilungi.gestora.entities.Role;
 import com.ilungi.gestora.entities.Task;
 import com.ilungi.gestora.entities.TaskStatus;
 import com.ilungi.gestora.entities.User;
+import com.ilungi.gestora.repositories.TaskFilter;
+import com.ilungi.gestora.servicies.ChangeWatermarks;
+import com.ilungi.gestora.servicies.FieldSelection;
+import com.ilungi.gestora.servicies.TaskEventStream;
+import com.ilungi.gestora.servicies.TaskSearchIndex;
 import com.ilungi.gestora.servicies.TaskService;
+import com.ilungi.gestora.servicies.TaskSyncService;
 import com.ilungi.gestora.servicies.UserService;
 
 import io.swagger.v3.oas.annotations.tags.Tag;
 
 import java.net.URI;
 import java.text.SimpleDateFormat;
+import java.time.LocalDate;
+import java.time.ZoneId;
 import java.util.Calendar;
 import java.util.Date;
-import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.stream.Collectors;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PatchMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
 
 
@@ -48,30 +69,162 @@ public class TaskResource {
     @Autowired
     private UserService userService;
     
+    @Autowired
+    private SecurityUtil securityUtil;
+    
+    @Autowired
+    private ChangeWatermarks changeWatermarks;
+    
+    @Autowired
+    private TaskSyncService taskSyncService;
+    
+    @Autowired
+    private TaskEventStream taskEventStream;
+    
+    @Autowired
+    private TaskSearchIndex taskSearchIndex;
+    
+    @Autowired
+    private StreamTickets streamTickets;
+    
+    // O navegador guarda a resposta, mas revalida sempre com If-None-Match
+    private static final CacheControl REVALIDATE = CacheControl.noCache().cachePrivate();
+    
 
+    // GETs abaixo respondem 304 pela ETag (watermark) antes de qualquer consulta ao banco.
+    // ?fields=id,title,status seleciona só essas colunas; Accept: application/cbor troca o formato
     @GetMapping
-    public ResponseEntity<List<Task>> findAll() {
-        List<Task> list = taskService.findAll();
-        return ResponseEntity.ok(list);
+    public ResponseEntity<?> findAll(WebRequest request, @RequestParam(required = false) String fields) {
+        // USER vê apenas suas tasks: mesma lista (em cache) de /my-tasks
+        if (!securityUtil.hasRole(Role.ADMIN)) {
+            return findMyTasks(request, fields);
+        }
+        FieldSelection selection = FieldSelection.parse(fields, FieldSelection.TASK_FIELDS);
+        String etag = changeWatermarks.etag(scope("tasks", selection, request),
+            changeWatermarks.tasksVersion(), changeWatermarks.usersVersion());
+        if (request.checkNotModified(etag)) {
+            return null;
+        }
+        Object body = selection != null ? taskService.findTaskFields(selection) : taskService.findAll();
+        return ResponseEntity.ok().cacheControl(REVALIDATE).varyBy(HttpHeaders.ACCEPT).body(body);
     }
     
     //USER vê apenas suas tasks
     @GetMapping("/my-tasks")
-    public ResponseEntity<List<Task>> findMyTasks() {
-        List<Task> list = taskService.findMyTasks();
-        return ResponseEntity.ok(list);
+    public ResponseEntity<?> findMyTasks(WebRequest request, @RequestParam(required = false) String fields) {
+        Long userId = securityUtil.getCurrentUserId();
+        FieldSelection selection = FieldSelection.parse(fields, FieldSelection.TASK_FIELDS);
+        String etag = changeWatermarks.etag(scope("my-tasks", selection, request), userId,
+            changeWatermarks.userTasksVersion(userId), changeWatermarks.usersVersion());
+        if (request.checkNotModified(etag)) {
+            return null;
+        }
+        if (selection != null) {
+            return ResponseEntity.ok().cacheControl(REVALIDATE).varyBy(HttpHeaders.ACCEPT)
+                .body(taskService.findMyTaskFields(selection));
+        }
+        // A lista completa vem pronta do cache em JSON: o tipo é escolhido aqui, não pelos conversores
+        boolean cbor = CborConfig.prefersCbor(request.getHeader(HttpHeaders.ACCEPT));
+        return ResponseEntity.ok()
+            .contentType(cbor ? MediaType.APPLICATION_CBOR : MediaType.APPLICATION_JSON)
+            .cacheControl(REVALIDATE)
+            .varyBy(HttpHeaders.ACCEPT)
+            .body(cbor ? taskService.findMyTasksCbor() : taskService.findMyTasksJson());
+    }
+    
+    // Delta-sync: apenas tasks alteradas/removidas depois do cursor "since"
+    @GetMapping("/changes")
+    public ResponseEntity<Map<String, Object>> findChanges(
+            @RequestParam(defaultValue = "0") long since,
+            @RequestParam(defaultValue = "500") int limit) {
+        return ResponseEntity.ok(taskSyncService.findChanges(since, limit));
     }
     
+    // Busca textual em título e descrição (índice em memória), respeitando a visibilidade
+    @GetMapping("/search")
+    public ResponseEntity<Map<String, Object>> search(@RequestParam String q,
+            @RequestParam(defaultValue = "20") int limit) {
+        if (!taskSearchIndex.isReady()) {
+            // Índice ainda sendo construído no startup
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, "5")
+                .body(Map.of("error", "Índice de busca em construção"));
+        }
+        return ResponseEntity.ok(taskService.searchTasks(q, limit));
+    }
+    
+    // Filtros compostos com paginação. Datas no formato yyyy-MM-dd; o "até" inclui o dia informado.
+    @GetMapping("/query")
+    public ResponseEntity<Map<String, Object>> query(
+            @RequestParam(required = false) List<TaskStatus> status,
+            @RequestParam(required = false) Long responsibleId,
+            @RequestParam(required = false) Long createdById,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDateFrom,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDateTo,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate createdFrom,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate createdTo,
+            @RequestParam(defaultValue = "false") boolean overdue,
+            @RequestParam(defaultValue = "createAt,desc") String sort,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "20") int size,
+            @RequestParam(required = false) String fields) {
+        FieldSelection selection = FieldSelection.parse(fields, FieldSelection.TASK_FIELDS);
+        TaskFilter filter = new TaskFilter(status, responsibleId, createdById,
+            startOfDay(endDateFrom), startOfDay(endDateTo == null ? null : endDateTo.plusDays(1)),
+            startOfDay(createdFrom), startOfDay(createdTo == null ? null : createdTo.plusDays(1)),
+            overdue);
+        return ResponseEntity.ok(taskService.queryTasks(filter, sort, page, size, selection));
+    }
+    
+    // Ticket de uso único para abrir o stream (EventSource não envia o header Authorization)
+    @PostMapping("/stream/ticket")
+    public ResponseEntity<Map<String, Object>> streamTicket(Authentication authentication) {
+        String role = securityUtil.hasRole(Role.ADMIN) ? Role.ADMIN.name() : Role.USER.name();
+        String ticket = streamTickets.issue(authentication.getName(), securityUtil.getCurrentUserId(), role);
+        return ResponseEntity.ok()
+            .cacheControl(CacheControl.noStore())
+            .body(Map.of("ticket", ticket, "expiresIn", streamTickets.ttl().toSeconds()));
+    }
+    
+    // Notificações em tempo real (SSE): o cliente busca os dados em /changes ao receber um evento.
+    // Autenticado pelo ticket em ?ticket= (ver streamTicket)
+    @GetMapping(path = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter stream(@RequestHeader(name = "Last-Event-ID", required = false) Long lastEventId) {
+        return taskEventStream.subscribe(securityUtil.getCurrentUserId(),
+            securityUtil.hasRole(Role.ADMIN), lastEventId);
+    }
+    
+    // A ETag vem da versão (@Version) da task: no If-Match das escritas vale só essa versão.
+    // Exige carregar a task, o que também valida a permissão antes do 304.
+    // Com ?fields= a ETag vem do watermark (a versão pode nem ter sido pedida)
     @GetMapping("/{id}")
-    public ResponseEntity<Task> findById(@PathVariable Long id) {
+    public ResponseEntity<?> findById(@PathVariable Long id, WebRequest request,
+            @RequestParam(required = false) String fields) {
+        FieldSelection selection = FieldSelection.parse(fields, FieldSelection.TASK_FIELDS);
+        if (selection != null) {
+            String etag = changeWatermarks.etag(scope("task-" + id, selection, request),
+                changeWatermarks.tasksVersion(), changeWatermarks.usersVersion());
+            if (request.checkNotModified(etag)) {
+                return null;
+            }
+            return ResponseEntity.ok().cacheControl(REVALIDATE).varyBy(HttpHeaders.ACCEPT)
+                .body(taskService.findTaskFieldsById(id, selection));
+        }
         Task obj = taskService.findById(id);
-        return ResponseEntity.ok(obj);
+        if (request.checkNotModified(taskEtag(obj, request.getHeader(HttpHeaders.ACCEPT)))) {
+            return null;
+        }
+        return ResponseEntity.ok().cacheControl(REVALIDATE).varyBy(HttpHeaders.ACCEPT).body(obj);
     }
     
     //ADMIN pode ver todas sem filtro
     @GetMapping("/admin/all")
     @PreAuthorize("hasRole('ADMIN')")  // Só ADMIN
-    public ResponseEntity<List<Task>> findAllAdmin() {
+    public ResponseEntity<?> findAllAdmin(@RequestParam(required = false) String fields) {
+        FieldSelection selection = FieldSelection.parse(fields, FieldSelection.TASK_FIELDS);
+        if (selection != null) {
+            return ResponseEntity.ok(taskService.findTaskFields(selection));
+        }
         List<Task> list = taskService.findAllTasksAdmin();
         return ResponseEntity.ok(list);
     }
@@ -84,18 +237,23 @@ public class TaskResource {
     }*/
     
     //Atualizar task (USER só status, ADMIN tudo)
+    // If-Match opcional com a ETag de GET /tasks/{id}: 412 se a task mudou, 409 se a escrita concorrer com outra
     @PutMapping("/{id}")
-    public ResponseEntity<Task> updateTask(@PathVariable Long id, @RequestBody Task task) {
-        Task updatedTask = taskService.updateTask(id, task);
-        return ResponseEntity.ok(updatedTask);
+    public ResponseEntity<Task> updateTask(@PathVariable Long id, @RequestBody Task task,
+            @RequestHeader(name = "If-Match", required = false) String ifMatch,
+            @RequestHeader(name = HttpHeaders.ACCEPT, required = false) String accept) {
+        Task updatedTask = taskService.updateTask(id, task, expectedVersion(id, ifMatch));
+        return ResponseEntity.ok().eTag(taskEtag(updatedTask, accept)).body(updatedTask);
     }
     
     //Especial: USER atualiza apenas status
     @PatchMapping("/{id}/status")
-    public ResponseEntity<Task> updateStatus(@PathVariable Long id, @RequestBody Map<String, String> json) {
+    public ResponseEntity<Task> updateStatus(@PathVariable Long id, @RequestBody Map<String, String> json,
+            @RequestHeader(name = "If-Match", required = false) String ifMatch,
+            @RequestHeader(name = HttpHeaders.ACCEPT, required = false) String accept) {
         TaskStatus status = TaskStatus.valueOf(json.get("status").toUpperCase());
-        Task updatedTask = taskService.updateMyTaskStatus(id, status);
-        return ResponseEntity.ok(updatedTask);
+        Task updatedTask = taskService.updateMyTaskStatus(id, status, expectedVersion(id, ifMatch));
+        return ResponseEntity.ok().eTag(taskEtag(updatedTask, accept)).body(updatedTask);
     }
     
     
@@ -108,17 +266,52 @@ public class TaskResource {
     
     //Endpoint para USER ver estatísticas próprias
     @GetMapping("/my-stats")
-    public ResponseEntity<Map<String, Object>> getMyStats() {
-        List<Task> myTasks = taskService.findMyTasks();
-        
-        Map<String, Object> stats = new HashMap<>();
-        stats.put("totalTasks", myTasks.size());
-        stats.put("pending", myTasks.stream().filter(t -> t.getStatus() == TaskStatus.PENDING).count());
-        stats.put("doing", myTasks.stream().filter(t -> t.getStatus() == TaskStatus.DOING).count());
-        stats.put("done", myTasks.stream().filter(t -> t.getStatus() == TaskStatus.DONE).count());
+    public ResponseEntity<Map<String, Object>> getMyStats(WebRequest request) {
+        Long userId = securityUtil.getCurrentUserId();
+        String etag = changeWatermarks.etag(scope("my-stats", null, request), userId,
+            changeWatermarks.userTasksVersion(userId));
+        if (request.checkNotModified(etag)) {
+            return null;
+        }
         
-        return ResponseEntity.ok(stats);
+        return ResponseEntity.ok().cacheControl(REVALIDATE).varyBy(HttpHeaders.ACCEPT).body(taskService.getMyTaskSummary());
     }
     
+    // Escrita concorrente detectada pelo @Version
+    @ExceptionHandler(ObjectOptimisticLockingFailureException.class)
+    public ResponseEntity<Map<String, Object>> handleConflict(ObjectOptimisticLockingFailureException e) {
+        return ResponseEntity.status(HttpStatus.CONFLICT)
+            .body(Map.of("error", "A task foi alterada por outra requisição. Recarregue e tente novamente."));
+    }
+    
+    // Campos e formato fazem parte da representação: cada combinação tem a sua ETag
+    private static String scope(String base, FieldSelection selection, WebRequest request) {
+        String scope = selection != null ? selection.etagScope(base) : base;
+        return CborConfig.etagScope(scope, request.getHeader(HttpHeaders.ACCEPT));
+    }
+    
+    private static Date startOfDay(LocalDate date) {
+        return date == null ? null : Date.from(date.atStartOfDay(ZoneId.systemDefault()).toInstant());
+    }
+    
+    // Inclui os dados de usuários embutidos na task (responsáveis e criador); só para GET/304
+    private String taskEtag(Task task, String accept) {
+        long version = task.getVersion() != null ? task.getVersion() : 0L;
+        return changeWatermarks.etag(CborConfig.etagScope("task", accept), task.getId(), version,
+            changeWatermarks.usersVersion());
+    }
     
+    // Versão esperada pela escrita, tirada do If-Match sem ir ao banco (null = sem pré-condição).
+    // O serviço compara com a task que carrega para a escrita e responde 412 se ela mudou.
+    private Long expectedVersion(Long id, String ifMatch) {
+        if (!ChangeWatermarks.hasIfMatchVersion(ifMatch)) {
+            return null;
+        }
+        Long version = changeWatermarks.ifMatchedVersion(ifMatch, "task", id);
+        if (version == null) {
+            throw new ResponseStatusException(HttpStatus.PRECONDITION_FAILED,
+                "If-Match não corresponde a esta task");
+        }
+        return version;
+    }
 }
\ No newline at end of file
@@ -0,0 +1,186 @@
+package com.ilungi.gestora.servicies;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.concurrent.DelegatingSecurityContextCallable;
+import org.springframework.security.core.context.SecurityContext;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Service;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonRawValue;
+import com.ilungi.gestora.config.SecurityUtil;
+import com.ilungi.gestora.entities.Role;
+import com.ilungi.gestora.entities.User;
+import com.ilungi.gestora.repositories.UserRepository;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+/**
+ * GET /bootstrap: o que o frontend pede logo após o login (/auth/me, /tasks/my-tasks,
+ * /tasks/my-stats e, para admins, /admin/dashboard) numa única resposta.
+ *
+ * Cada parte roda em uma thread virtual própria, com o SecurityContext da requisição,
+ * e todas compartilham um prazo único. Partes que falham ou estouram o prazo ficam de
+ * fora e aparecem em "errors"; as demais são devolvidas normalmente. No fim as
+ * pendentes são interrompidas e a chamada espera, por um tempo limitado, que terminem.
+ *
+ * Métrica gestora.bootstrap.part (tags part e outcome=ok|error|timeout).
+ */
+@Service
+public class BootstrapService {
+
+    private static final Logger logger = LoggerFactory.getLogger(BootstrapService.class);
+
+    // Espera pelas partes interrompidas depois do prazo (ex.: JDBC que não responde à interrupção)
+    private static final Duration SHUTDOWN_GRACE = Duration.ofMillis(500);
+
+    /**
+     * Resposta combinada; tasks é o JSON da lista já serializado pelo TaskListCache.
+     */
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    public record Bootstrap(Map<String, Object> me,
+                            @JsonRawValue String tasks,
+                            Map<String, Object> stats,
+                            Map<String, Object> dashboard,
+                            Map<String, String> errors) {
+
+        // Sem prefixo get/is para não virar campo do JSON
+        public boolean hasAnyPart() {
+            return me != null || tasks != null || stats != null || dashboard != null;
+        }
+    }
+
+    private final TaskService taskService;
+    private final UserRepository userRepository;
+    private final SecurityUtil securityUtil;
+    private final DashboardSnapshotService dashboardSnapshots;
+    private final MeterRegistry meterRegistry;
+    private final Duration deadline;
+
+    public BootstrapService(TaskService taskService,
+                            UserRepository userRepository,
+                            SecurityUtil securityUtil,
+                            DashboardSnapshotService dashboardSnapshots,
+                            MeterRegistry meterRegistry,
+                            @Value("${app.bootstrap.timeout-ms:3000}") long timeoutMillis) {
+        this.taskService = taskService;
+        this.userRepository = userRepository;
+        this.securityUtil = securityUtil;
+        this.dashboardSnapshots = dashboardSnapshots;
+        this.meterRegistry = meterRegistry;
+        this.deadline = Duration.ofMillis(timeoutMillis);
+    }
+
+    @SuppressWarnings("unchecked")
+    public Bootstrap load() {
+        Long userId = securityUtil.getCurrentUserId();
+
+        Map<String, Callable<?>> parts = new LinkedHashMap<>();
+        parts.put("me", () -> currentUser(userId));
+        parts.put("tasks", () -> new String(taskService.findMyTasksJson(), StandardCharsets.UTF_8));
+        parts.put("stats", taskService::getMyTaskSummary);
+        if (securityUtil.hasRole(Role.ADMIN)) {
+            // Snapshot em memória: não ocupa conexão
+            parts.put("dashboard", () -> dashboardSnapshots.current().dashboard());
+        }
+
+        Map<String, String> errors = new LinkedHashMap<>();
+        Map<String, Object> results = fanOut(parts, deadline, errors);
+        return new Bootstrap(
+            (Map<String, Object>) results.get("me"),
+            (String) results.get("tasks"),
+            (Map<String, Object>) results.get("stats"),
+            (Map<String, Object>) results.get("dashboard"),
+            errors.isEmpty() ? null : errors);
+    }
+
+    /**
+     * Executa as partes em paralelo sob um prazo único. O resultado traz apenas as que
+     * terminaram; o motivo das demais ("timeout" ou "error") vai para errors.
+     */
+    Map<String, Object> fanOut(Map<String, Callable<?>> parts, Duration timeout, Map<String, String> errors) {
+        SecurityContext context = SecurityContextHolder.getContext();
+        long deadlineNanos = System.nanoTime() + timeout.toNanos();
+        long start = System.nanoTime();
+
+        ExecutorService scope = Executors.newThreadPerTaskExecutor(
+            Thread.ofVirtual().name("bootstrap-", 0).factory());
+        try {
+            Map<String, Future<?>> futures = new LinkedHashMap<>();
+            parts.forEach((name, part) ->
+                futures.put(name, scope.submit(new DelegatingSecurityContextCallable<>(part, context))));
+
+            Map<String, Object> results = new LinkedHashMap<>();
+            for (Map.Entry<String, Future<?>> entry : futures.entrySet()) {
+                String name = entry.getKey();
+                String outcome;
+                try {
+                    results.put(name, entry.getValue().get(Math.max(0, deadlineNanos - System.nanoTime()),
+                        TimeUnit.NANOSECONDS));
+                    outcome = "ok";
+                } catch (TimeoutException e) {
+                    outcome = "timeout";
+                } catch (ExecutionException | CancellationException e) {
+                    Throwable cause = e instanceof ExecutionException ? e.getCause() : e;
+                    logger.warn("Parte {} do bootstrap falhou: {}", name, cause.toString());
+                    outcome = "error";
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    outcome = "timeout";
+                }
+                if (!"ok".equals(outcome)) {
+                    errors.put(name, outcome);
+                }
+                Timer.builder("gestora.bootstrap.part")
+                    .tag("part", name)
+                    .tag("outcome", outcome)
+                    .register(meterRegistry)
+                    .record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            }
+            return results;
+        } finally {
+            // Quem passou do prazo é interrompido; a espera é curta para não segurar a resposta
+            scope.shutdownNow();
+            awaitTermination(scope);
+        }
+    }
+
+    private static void awaitTermination(ExecutorService scope) {
+        try {
+            if (!scope.awaitTermination(SHUTDOWN_GRACE.toMillis(), TimeUnit.MILLISECONDS)) {
+                logger.warn("Partes do bootstrap ainda em execução {} ms após a interrupção",
+                    SHUTDOWN_GRACE.toMillis());
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private Map<String, Object> currentUser(Long userId) {
+        User user = userRepository.findById(userId)
+            .orElseThrow(() -> new RuntimeException("Usuário não encontrado"));
+
+        Map<String, Object> me = new LinkedHashMap<>();
+        me.put("id", user.getId());
+        me.put("name", user.getName());
+        me.put("email", user.getEmail());
+        me.put("role", user.getRole().name());
+        return me;
+    }
+}
@@ -0,0 +1,7 @@
+package com.ilungi.gestora.servicies;
+
+public enum ChangeType {
+	CREATED,
+	UPDATED,
+	DELETED
+}
@@ -0,0 +1,124 @@
+package com.ilungi.gestora.servicies;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import com.ilungi.gestora.config.CborConfig;
+
+/**
+ * Contadores de versão incrementados a cada escrita (após o commit).
+ *
+ * Usados para gerar ETags sem consultar o banco nem calcular hash da resposta:
+ * enquanto o contador não muda, o conteúdo do endpoint também não mudou.
+ */
+@Component
+public class ChangeWatermarks {
+
+    // Diferencia os contadores entre reinícios da aplicação
+    private final String epoch = Long.toString(System.currentTimeMillis(), 36);
+
+    private final AtomicLong tasks = new AtomicLong();
+    private final AtomicLong users = new AtomicLong();
+    private final ConcurrentHashMap<Long, AtomicLong> userTasks = new ConcurrentHashMap<>();
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onTaskChanged(TaskChangedEvent event) {
+        for (Long userId : event.affectedUserIds()) {
+            userTasks.computeIfAbsent(userId, id -> new AtomicLong()).incrementAndGet();
+        }
+        tasks.incrementAndGet();
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onUserChanged(UserChangedEvent event) {
+        users.incrementAndGet();
+    }
+
+    // Versão de todas as tarefas
+    public long tasksVersion() {
+        return tasks.get();
+    }
+
+    // Versão de todos os usuários (dados embutidos nas tarefas, contagens)
+    public long usersVersion() {
+        return users.get();
+    }
+
+    // Versão das tarefas em que o usuário é responsável
+    public long userTasksVersion(Long userId) {
+        AtomicLong version = userTasks.get(userId);
+        return version != null ? version.get() : 0L;
+    }
+
+    /**
+     * Monta uma ETag forte a partir do escopo e das versões informadas.
+     * Deve ser calculada ANTES de ler os dados da resposta.
+     */
+    public String etag(String scope, long... versions) {
+        StringBuilder tag = new StringBuilder(32).append('"').append(scope).append('-').append(epoch);
+        for (long version : versions) {
+            tag.append('-').append(Long.toString(version, 36));
+        }
+        return tag.append('"').toString();
+    }
+    
+    /**
+     * If-Match de escrita com uma ETag de etag(scope, id, version, ...): compara só o id e a
+     * versão da entidade (@Version). Época e demais contadores (ex.: usersVersion) ficam de
+     * fora, senão um reinício ou a alteração de outro usuário daria 412 sem a entidade mudar.
+     * A ETag da representação CBOR (scope.cbor) vale igual: é a mesma versão da entidade.
+     * Sem header a escrita segue, protegida apenas pelo @Version na gravação.
+     */
+    public boolean ifMatchVersion(String ifMatch, String scope, long id, long version) {
+        if (!hasIfMatchVersion(ifMatch)) {
+            return true;
+        }
+        return ifMatchVersions(ifMatch, scope, id).contains(version);
+    }
+
+    // If-Match ausente ou "*" não impõe versão
+    public static boolean hasIfMatchVersion(String ifMatch) {
+        return ifMatch != null && !ifMatch.isBlank() && !ifMatch.trim().equals("*");
+    }
+
+    /**
+     * Versão da entidade id tirada do If-Match, sem consultar o banco: quem escreve compara
+     * com a versão da entidade que já carrega. null se nenhuma ETag forte do header é desta
+     * entidade (a pré-condição falha); com várias, vale a primeira.
+     */
+    public Long ifMatchedVersion(String ifMatch, String scope, long id) {
+        List<Long> versions = ifMatchVersions(ifMatch, scope, id);
+        return versions.isEmpty() ? null : versions.get(0);
+    }
+
+    private static List<Long> ifMatchVersions(String ifMatch, String scope, long id) {
+        String prefix = '"' + scope + '-';
+        String cborPrefix = '"' + scope + CborConfig.ETAG_SUFFIX + '-';
+        String expectedId = Long.toString(id, 36);
+        List<Long> versions = new ArrayList<>();
+        for (String candidate : ifMatch.split(",")) {
+            candidate = candidate.trim();
+            // ETags fracas (W/...) nunca satisfazem If-Match (comparação forte, RFC 9110)
+            int start = candidate.startsWith(prefix) ? prefix.length()
+                : candidate.startsWith(cborPrefix) ? cborPrefix.length() : -1;
+            if (start < 0 || !candidate.endsWith("\"")) {
+                continue;
+            }
+            // scope-epoch-id-version[-outros contadores]
+            String[] parts = candidate.substring(start, candidate.length() - 1).split("-");
+            if (parts.length >= 3 && parts[1].equals(expectedId)) {
+                try {
+                    versions.add(Long.parseLong(parts[2], 36));
+                } catch (NumberFormatException e) {
+                    // Não é uma ETag gerada aqui
+                }
+            }
+        }
+        return versions;
+    }
+}
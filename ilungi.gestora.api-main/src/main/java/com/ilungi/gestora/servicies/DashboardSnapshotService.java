@@ -0,0 +1,248 @@
+package com.ilungi.gestora.servicies;
+
+import java.time.Instant;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.ilungi.gestora.entities.Role;
+import com.ilungi.gestora.entities.TaskStatus;
+import com.ilungi.gestora.entities.User;
+import com.ilungi.gestora.repositories.TaskRepository;
+import com.ilungi.gestora.repositories.TaskStatusCount;
+import com.ilungi.gestora.repositories.UserRepository;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+
+/**
+ * Snapshot pré-calculado de GET /admin/stats e /admin/dashboard.
+ *
+ * Reconstruído em segundo plano a cada refreshMillis (só se houve escrita desde o
+ * anterior) ou logo após rebuildAfterWrites escritas, e trocado atomicamente: as
+ * requisições só leem a referência volátil. O atraso máximo é, portanto, refreshMillis
+ * mais o tempo de uma reconstrução; rebuildNow() reconstrói na hora (?fresh=true).
+ *
+ * Métricas: gestora.dashboard.rebuild (tag trigger) e gestora.dashboard.age (segundos).
+ */
+@Service
+public class DashboardSnapshotService {
+
+    private static final Logger logger = LoggerFactory.getLogger(DashboardSnapshotService.class);
+
+    /**
+     * Respostas já montadas; generation muda a cada reconstrução e serve de ETag.
+     */
+    public record Snapshot(long generation, Instant generatedAt, long tasksVersion, long usersVersion,
+                           Map<String, Object> stats, Map<String, Object> dashboard) {}
+
+    private final UserRepository userRepository;
+    private final TaskRepository taskRepository;
+    private final ChangeWatermarks changeWatermarks;
+    private final TransactionTemplate readOnly;
+    private final MeterRegistry meterRegistry;
+    private final long refreshMillis;
+    private final long rebuildAfterWrites;
+
+    private final ScheduledExecutorService rebuilder = Executors.newSingleThreadScheduledExecutor(
+        runnable -> Thread.ofPlatform().name("dashboard-snapshot").daemon().unstarted(runnable));
+
+    // Uma reconstrução por vez; as de segundo plano desistem se outra estiver em andamento
+    private final ReentrantLock rebuildLock = new ReentrantLock();
+    private final AtomicLong writesSinceBuild = new AtomicLong();
+    private final AtomicBoolean rebuildQueued = new AtomicBoolean();
+    private final AtomicLong generations = new AtomicLong();
+
+    private volatile Snapshot snapshot;
+    private volatile long builtAtNanos;
+
+    public DashboardSnapshotService(UserRepository userRepository,
+                                    TaskRepository taskRepository,
+                                    ChangeWatermarks changeWatermarks,
+                                    PlatformTransactionManager transactionManager,
+                                    MeterRegistry meterRegistry,
+                                    @Value("${app.dashboard.refresh-ms:30000}") long refreshMillis,
+                                    @Value("${app.dashboard.rebuild-after-writes:50}") long rebuildAfterWrites) {
+        this.userRepository = userRepository;
+        this.taskRepository = taskRepository;
+        this.changeWatermarks = changeWatermarks;
+        this.readOnly = new TransactionTemplate(transactionManager);
+        this.readOnly.setReadOnly(true);
+        this.meterRegistry = meterRegistry;
+        this.refreshMillis = refreshMillis;
+        this.rebuildAfterWrites = rebuildAfterWrites;
+
+        Gauge.builder("gestora.dashboard.age", this, DashboardSnapshotService::ageSeconds)
+            .baseUnit("seconds")
+            .register(meterRegistry);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        rebuilder.scheduleWithFixedDelay(() -> rebuildInBackground("scheduled"), 0, refreshMillis,
+            TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        rebuilder.shutdownNow();
+    }
+
+    // Tempo constante; só reconstrói aqui se nenhum snapshot foi gerado ainda
+    public Snapshot current() {
+        Snapshot current = snapshot;
+        return current != null ? current : rebuildNow();
+    }
+
+    /**
+     * Reconstrução síncrona. Quem chegou enquanto outra estava em andamento reaproveita
+     * a que terminar depois do seu pedido, em vez de enfileirar mais uma.
+     */
+    public Snapshot rebuildNow() {
+        long requestedAt = System.nanoTime();
+        rebuildLock.lock();
+        try {
+            Snapshot current = snapshot;
+            if (current != null && builtAtNanos - requestedAt > 0) {
+                return current;
+            }
+            return rebuild("forced");
+        } finally {
+            rebuildLock.unlock();
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onTaskChanged(TaskChangedEvent event) {
+        countWrite();
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onUserChanged(UserChangedEvent event) {
+        countWrite();
+    }
+
+    // >= e não ==: se a reconstrução enfileirada encontrar o lock ocupado, a próxima escrita enfileira outra
+    private void countWrite() {
+        if (writesSinceBuild.incrementAndGet() >= rebuildAfterWrites && rebuildQueued.compareAndSet(false, true)) {
+            rebuilder.execute(() -> rebuildInBackground("writes"));
+        }
+    }
+
+    void rebuildInBackground(String trigger) {
+        rebuildQueued.set(false);
+        if (!rebuildLock.tryLock()) {
+            return;
+        }
+        try {
+            Snapshot current = snapshot;
+            if (current != null
+                    && current.tasksVersion() == changeWatermarks.tasksVersion()
+                    && current.usersVersion() == changeWatermarks.usersVersion()) {
+                return;
+            }
+            rebuild(trigger);
+        } catch (RuntimeException e) {
+            // Continua servindo o snapshot anterior até a próxima tentativa
+            logger.warn("Falha ao reconstruir o snapshot do dashboard: {}", e.getMessage());
+        } finally {
+            rebuildLock.unlock();
+        }
+    }
+
+    // Chamado com o rebuildLock
+    private Snapshot rebuild(String trigger) {
+        long start = System.nanoTime();
+        // Versões lidas ANTES dos dados: uma escrita concorrente gera nova reconstrução
+        writesSinceBuild.set(0);
+        long tasksVersion = changeWatermarks.tasksVersion();
+        long usersVersion = changeWatermarks.usersVersion();
+
+        Snapshot built = readOnly.execute(status -> load(tasksVersion, usersVersion));
+        snapshot = built;
+        builtAtNanos = System.nanoTime();
+
+        Timer.builder("gestora.dashboard.rebuild")
+            .tag("trigger", trigger)
+            .register(meterRegistry)
+            .record(builtAtNanos - start, TimeUnit.NANOSECONDS);
+        return built;
+    }
+
+    private Snapshot load(long tasksVersion, long usersVersion) {
+        Instant generatedAt = Instant.now();
+
+        // Estatísticas de usuários
+        long adminUsers = userRepository.countByRole(Role.ADMIN);
+        long regularUsers = userRepository.countByRole(Role.USER);
+        long totalUsers = userRepository.count();
+
+        // Estatísticas de tarefas
+        Map<TaskStatus, Long> taskStats = new EnumMap<>(TaskStatus.class);
+        long totalTasks = 0;
+        for (TaskStatusCount row : taskRepository.countGroupedByStatus()) {
+            taskStats.put(row.status(), row.count());
+            totalTasks += row.count();
+        }
+
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("totalUsers", totalUsers);
+        stats.put("adminUsers", adminUsers);
+        stats.put("regularUsers", regularUsers);
+        stats.put("taskStats", Collections.unmodifiableMap(taskStats));
+        stats.put("totalTasks", totalTasks);
+        stats.put("generatedAt", generatedAt);
+
+        List<Map<String, Object>> recentUsers = userRepository.findTop5ByOrderByCreatedAtDesc().stream()
+            .map(DashboardSnapshotService::recentUser)
+            .toList();
+
+        Map<String, Object> dashboard = new LinkedHashMap<>();
+        dashboard.put("systemInfo", Map.of(
+            "name", "Gestora API",
+            "version", "1.0.0",
+            "activeUsers", totalUsers,
+            "activeTasks", totalTasks
+        ));
+        dashboard.put("recentUsers", recentUsers);
+        dashboard.put("generatedAt", generatedAt);
+
+        return new Snapshot(generations.incrementAndGet(), generatedAt, tasksVersion, usersVersion,
+            Collections.unmodifiableMap(stats), Collections.unmodifiableMap(dashboard));
+    }
+
+    private static Map<String, Object> recentUser(User user) {
+        Map<String, Object> userMap = new LinkedHashMap<>();
+        userMap.put("id", user.getId());
+        userMap.put("name", user.getName());
+        userMap.put("email", user.getEmail());
+        userMap.put("role", user.getRole().name());
+        userMap.put("createdAt", user.getCreatedAt());
+        return Collections.unmodifiableMap(userMap);
+    }
+
+    private double ageSeconds() {
+        Snapshot current = snapshot;
+        return current != null ? (System.nanoTime() - builtAtNanos) / 1e9 : -1;
+    }
+}
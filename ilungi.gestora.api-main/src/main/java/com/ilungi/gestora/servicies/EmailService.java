@@ -13,6 +13,7 @@ import org.springframework.mail.SimpleMailMessage;
 import org.springframework.mail.javamail.JavaMailSender;
 import org.springframework.scheduling.annotation.Async;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.text.SimpleDateFormat;
 import java.time.LocalDateTime;
@@ -136,29 +137,7 @@ public class EmailService {
         logger.info("└─ Status: {}", status);
         
         String assunto = "🎯 Nova Tarefa Atribuída - " + tituloTarefa;
-        
-        SimpleDateFormat sdf = new SimpleDateFormat("dd/MM/yyyy HH:mm");
-        String dataTerminoStr = dataTermino != null ? sdf.format(dataTermino) : "Não definida";
-        
-        String corpo = String.format(
-            "Olá %s,\n\n" +
-            "Você foi designado(a) como responsável por uma nova tarefa.\n\n" +
-            "📋 DETALHES DA TAREFA:\n" +
-            "• Título: %s\n" +
-            "• Descrição: %s\n" +
-            "• Status: %s\n" +
-            "• Prazo: %s\n\n" +
-            "🔧 AÇÕES NECESSÁRIAS:\n" +
-            "1. Acesse o Sistema Gestora\n" +
-            "2. Verifique os detalhes da tarefa\n" +
-            "3. Atualize o progresso conforme necessário\n\n" +
-            "📞 PRECISA DE AJUDA?\n" +
-            "Entre em contato com o administrador do sistema.\n\n" +
-            "Atenciosamente,\n" +
-            "Sistema de Gestão de Tarefas",
-            nomeResponsavel, tituloTarefa, descricaoTarefa, 
-            status.name(), dataTerminoStr
-        );
+        String corpo = corpoNotificacaoTarefa(nomeResponsavel, tituloTarefa, descricaoTarefa, dataTermino, status);
         
         enviarEmail(emailResponsavel, assunto, corpo, "notificacao_tarefa");
     }
@@ -172,18 +151,7 @@ public class EmailService {
         logger.info("Senha: {}", tmpPass);
         
         String assunto = "Bem-vindo ao Sistema Gestora!";
-        String corpo = String.format(
-            "Olá %s,\n\n" +
-            "Seja muito bem-vindo(a) ao Sistema Gestora!\n\n" +
-            "SUAS CREDENCIAIS DE ACESSO:\n" +
-            "• Email: %s\n" +
-            "• Senha: %s\n\n" +
-            "RECOMENDAÇÕES:\n" +
-            "1. Faça login com essas credenciais\n" +
-            "2. Altere sua senha imediatamente\n\n" +
-            "Atenciosamente,\nEquipe Gestora",
-            nomeUsuario, emailUsuario, tmpPass
-        );
+        String corpo = corpoBoasVindas(nomeUsuario, emailUsuario, tmpPass);
         
         //Envia para o USUÁRIO, não para admin
         enviarEmail(emailUsuario, assunto, corpo, "boas_vindas_inicial");
@@ -215,15 +183,7 @@ public class EmailService {
         logger.info("ENVIANDO EMAIL DE RECUPERAÇÃO DE SENHA");
         
         String assunto = "Recuperação de Senha - Sistema Gestora";
-        String corpo = String.format(
-            "Olá,\n\n" +
-            "Você solicitou a recuperação de senha.\n" +
-            "Use o seguinte token para redefinir sua senha:\n\n" +
-            "Token: %s\n\n" +
-            "Este token expira em 24 horas.\n\n" +
-            "Atenciosamente,\nEquipe Gestora",
-            token
-        );
+        String corpo = corpoRecuperacaoSenha(token);
         
         enviarEmail(emailUsuario, assunto, corpo, "recuperacao_senha");
     }
@@ -258,19 +218,77 @@ public class EmailService {
         }
     }
     
+    // Corpos dos e-mails, fora dos métodos @Async para poderem ser medidos isoladamente (src/jmh)
+    static String corpoNotificacaoTarefa(String nomeResponsavel, String tituloTarefa, String descricaoTarefa,
+                                         Date dataTermino, TaskStatus status) {
+        SimpleDateFormat sdf = new SimpleDateFormat("dd/MM/yyyy HH:mm");
+        String dataTerminoStr = dataTermino != null ? sdf.format(dataTermino) : "Não definida";
+        
+        return String.format(
+            "Olá %s,\n\n" +
+            "Você foi designado(a) como responsável por uma nova tarefa.\n\n" +
+            "📋 DETALHES DA TAREFA:\n" +
+            "• Título: %s\n" +
+            "• Descrição: %s\n" +
+            "• Status: %s\n" +
+            "• Prazo: %s\n\n" +
+            "🔧 AÇÕES NECESSÁRIAS:\n" +
+            "1. Acesse o Sistema Gestora\n" +
+            "2. Verifique os detalhes da tarefa\n" +
+            "3. Atualize o progresso conforme necessário\n\n" +
+            "📞 PRECISA DE AJUDA?\n" +
+            "Entre em contato com o administrador do sistema.\n\n" +
+            "Atenciosamente,\n" +
+            "Sistema de Gestão de Tarefas",
+            nomeResponsavel, tituloTarefa, descricaoTarefa, 
+            status.name(), dataTerminoStr
+        );
+    }
+    
+    static String corpoBoasVindas(String nomeUsuario, String emailUsuario, String tmpPass) {
+        return String.format(
+            "Olá %s,\n\n" +
+            "Seja muito bem-vindo(a) ao Sistema Gestora!\n\n" +
+            "SUAS CREDENCIAIS DE ACESSO:\n" +
+            "• Email: %s\n" +
+            "• Senha: %s\n\n" +
+            "RECOMENDAÇÕES:\n" +
+            "1. Faça login com essas credenciais\n" +
+            "2. Altere sua senha imediatamente\n\n" +
+            "Atenciosamente,\nEquipe Gestora",
+            nomeUsuario, emailUsuario, tmpPass
+        );
+    }
+    
+    static String corpoRecuperacaoSenha(String token) {
+        return String.format(
+            "Olá,\n\n" +
+            "Você solicitou a recuperação de senha.\n" +
+            "Use o seguinte token para redefinir sua senha:\n\n" +
+            "Token: %s\n\n" +
+            "Este token expira em 24 horas.\n\n" +
+            "Atenciosamente,\nEquipe Gestora",
+            token
+        );
+    }
+    
     // Métodos para consultas
+    @Transactional(readOnly = true)
     public List<Email> buscarEmailsPendentes() {
         return emailRepository.findByStatus(StatusEmail.PENDENTE);
     }
     
+    @Transactional(readOnly = true)
     public List<Email> buscarEmailsPorTipo(String tipo) {
         return emailRepository.findByTipo(tipo);
     }
     
+    @Transactional(readOnly = true)
     public long contarEmailsEnviados() {
         return emailRepository.countByStatus(StatusEmail.ENVIADO);
     }
     
+    @Transactional(readOnly = true)
     public List<Email> buscarEmailsPorDestinatario(String destinatario) {
         return emailRepository.findByDestinatario(destinatario);
     }
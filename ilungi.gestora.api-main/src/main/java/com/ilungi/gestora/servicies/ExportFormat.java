@@ -0,0 +1,32 @@
+package com.ilungi.gestora.servicies;
+
+import org.springframework.http.MediaType;
+
+/**
+ * Formatos da exportação administrativa (/admin/export/*).
+ */
+public enum ExportFormat {
+
+    NDJSON(MediaType.parseMediaType("application/x-ndjson"), "ndjson"),
+    CSV(MediaType.parseMediaType("text/csv;charset=UTF-8"), "csv");
+
+    private final MediaType mediaType;
+    private final String extension;
+
+    ExportFormat(MediaType mediaType, String extension) {
+        this.mediaType = mediaType;
+        this.extension = extension;
+    }
+
+    public MediaType getMediaType() {
+        return mediaType;
+    }
+
+    public String getExtension() {
+        return extension;
+    }
+
+    public static ExportFormat from(String value) {
+        return ExportFormat.valueOf(value.trim().toUpperCase());
+    }
+}
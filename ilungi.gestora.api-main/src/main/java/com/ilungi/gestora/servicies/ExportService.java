@@ -0,0 +1,174 @@
+package com.ilungi.gestora.servicies;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.Iterator;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import tools.jackson.databind.json.JsonMapper;
+
+import com.ilungi.gestora.repositories.TaskExportRow;
+import com.ilungi.gestora.repositories.TaskRepository;
+import com.ilungi.gestora.repositories.UserExportRow;
+import com.ilungi.gestora.repositories.UserRepository;
+
+/**
+ * Exportação completa de tarefas e usuários com memória constante.
+ *
+ * As linhas vêm de um cursor somente-leitura (fetch size nos repositórios) como
+ * projeções, sem entidades no contexto de persistência, e são escritas direto na
+ * resposta: apenas uma tarefa fica em memória por vez, qualquer que seja o total.
+ */
+@Service
+public class ExportService {
+
+    private static final String[] TASK_COLUMNS = {
+        "id", "title", "description", "status", "createAt", "endDate",
+        "daysToFinish", "createdById", "responsibleIds", "changeSeq"
+    };
+
+    private static final String[] USER_COLUMNS = {
+        "id", "name", "email", "phone", "role", "createdAt", "updatedAt"
+    };
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private JsonMapper jsonMapper;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    public void exportTasks(ExportFormat format, OutputStream out) throws IOException {
+        Writer writer = writer(out);
+        if (format == ExportFormat.CSV) {
+            writeCsvLine(writer, (Object[]) TASK_COLUMNS);
+        }
+
+        readOnlyTransaction().executeWithoutResult(status -> {
+            try (Stream<TaskExportRow> rows = taskRepository.streamForExport()) {
+                // Linhas chegam ordenadas por tarefa, uma por responsável: agrupa as consecutivas
+                Iterator<TaskExportRow> iterator = rows.iterator();
+                TaskExportRow current = null;
+                List<Long> responsibleIds = new ArrayList<>();
+                while (iterator.hasNext()) {
+                    TaskExportRow row = iterator.next();
+                    if (current != null && !current.id().equals(row.id())) {
+                        writeTask(writer, format, current, responsibleIds);
+                        responsibleIds = new ArrayList<>();
+                    }
+                    current = row;
+                    if (row.responsibleId() != null) {
+                        responsibleIds.add(row.responsibleId());
+                    }
+                }
+                if (current != null) {
+                    writeTask(writer, format, current, responsibleIds);
+                }
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+        writer.flush();
+    }
+
+    public void exportUsers(ExportFormat format, OutputStream out) throws IOException {
+        Writer writer = writer(out);
+        if (format == ExportFormat.CSV) {
+            writeCsvLine(writer, (Object[]) USER_COLUMNS);
+        }
+
+        readOnlyTransaction().executeWithoutResult(status -> {
+            try (Stream<UserExportRow> rows = userRepository.streamForExport()) {
+                Iterator<UserExportRow> iterator = rows.iterator();
+                while (iterator.hasNext()) {
+                    UserExportRow user = iterator.next();
+                    if (format == ExportFormat.CSV) {
+                        writeCsvLine(writer, user.id(), user.name(), user.email(), user.phone(),
+                            user.role(), user.createdAt(), user.updatedAt());
+                    } else {
+                        writeJsonLine(writer, user);
+                    }
+                }
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+        writer.flush();
+    }
+
+    private void writeTask(Writer writer, ExportFormat format, TaskExportRow row,
+                           List<Long> responsibleIds) throws IOException {
+        if (format == ExportFormat.CSV) {
+            String responsibles = responsibleIds.stream().map(String::valueOf).collect(Collectors.joining(";"));
+            writeCsvLine(writer, row.id(), row.title(), row.description(), row.status(), row.createAt(),
+                row.endDate(), row.daysToFinish(), row.createdById(), responsibles, row.changeSeq());
+        } else {
+            writeJsonLine(writer, new TaskSummary(row.id(), row.title(), row.description(), row.status(),
+                row.createAt(), row.endDate(), row.daysToFinish(), row.createdById(), responsibleIds,
+                row.changeSeq()));
+        }
+    }
+
+    private void writeJsonLine(Writer writer, Object value) throws IOException {
+        writer.write(jsonMapper.writeValueAsString(value));
+        writer.write('\n');
+    }
+
+    private void writeCsvLine(Writer writer, Object... values) throws IOException {
+        for (int i = 0; i < values.length; i++) {
+            if (i > 0) {
+                writer.write(',');
+            }
+            writer.write(csvField(values[i]));
+        }
+        writer.write("\r\n");
+    }
+
+    // RFC 4180; texto iniciado por =, +, - ou @ recebe ' para não virar fórmula em planilhas
+    static String csvField(Object value) {
+        if (value == null) {
+            return "";
+        }
+        if (value instanceof Date date) {
+            return date.toInstant().toString();
+        }
+        String text = value.toString();
+        if (value instanceof String && !text.isEmpty() && "=+-@".indexOf(text.charAt(0)) >= 0) {
+            text = "'" + text;
+        }
+        if (text.indexOf(',') >= 0 || text.indexOf('"') >= 0 || text.indexOf('\n') >= 0 || text.indexOf('\r') >= 0) {
+            return '"' + text.replace("\"", "\"\"") + '"';
+        }
+        return text;
+    }
+
+    private Writer writer(OutputStream out) {
+        return new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8), 16 * 1024);
+    }
+
+    // Transação somente-leitura: necessária para o cursor (fetch size) do PostgreSQL
+    private TransactionTemplate readOnlyTransaction() {
+        TransactionTemplate template = new TransactionTemplate(transactionManager);
+        template.setReadOnly(true);
+        return template;
+    }
+}
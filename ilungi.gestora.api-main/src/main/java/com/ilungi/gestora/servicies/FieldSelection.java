@@ -0,0 +1,65 @@
+package com.ilungi.gestora.servicies;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
+
+/**
+ * Campos pedidos em ?fields= (sparse fieldset), na ordem da lista de campos
+ * permitidos. O id entra sempre: sem ele o cliente não casa a resposta com o
+ * que já tem em cache.
+ */
+public record FieldSelection(List<String> fields) {
+
+    // Colunas de tb_tasks mais createdById (FK, sem join) e as associações
+    public static final List<String> TASK_FIELDS = List.of(
+        "id", "title", "description", "status", "createAt", "endDate", "daysToFinish",
+        "version", "changeSeq", "createdById", "responsibleIds", "responsibles");
+
+    // taskCount e createdTaskCount viram subconsultas de contagem, não coleções carregadas
+    public static final List<String> USER_FIELDS = List.of(
+        "id", "name", "email", "phone", "role", "createdAt", "updatedAt", "taskCount", "createdTaskCount");
+
+    /**
+     * "id,title,status" -> seleção; null ou vazio -> null (representação completa).
+     * Campo fora da lista permitida -> 400.
+     */
+    public static FieldSelection parse(String raw, List<String> allowed) {
+        if (raw == null || raw.isBlank()) {
+            return null;
+        }
+        Set<String> requested = new HashSet<>();
+        requested.add("id");
+        for (String field : raw.split(",")) {
+            field = field.trim();
+            if (field.isEmpty()) {
+                continue;
+            }
+            if (!allowed.contains(field)) {
+                throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
+                    "Campo inválido em fields: " + field + ". Use: " + String.join(",", allowed));
+            }
+            requested.add(field);
+        }
+        List<String> fields = new ArrayList<>(requested.size());
+        for (String field : allowed) {
+            if (requested.contains(field)) {
+                fields.add(field);
+            }
+        }
+        return new FieldSelection(List.copyOf(fields));
+    }
+
+    public boolean has(String field) {
+        return fields.contains(field);
+    }
+
+    // Entra no escopo da ETag: cada combinação de campos é uma representação diferente
+    public String etagScope(String scope) {
+        return scope + "." + String.join(".", fields);
+    }
+}
@@ -0,0 +1,110 @@
+package com.ilungi.gestora.servicies;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Estado de uma importação em andamento (consultado em GET /admin/import/{jobId}).
+ */
+public class ImportJob {
+
+    public enum Status { QUEUED, RUNNING, COMPLETED, FAILED }
+
+    // Limite de erros guardados por job; os demais só entram na contagem
+    private static final int MAX_ERRORS = 100;
+
+    private final String id = UUID.randomUUID().toString();
+    private final String type;
+    private final Instant createdAt = Instant.now();
+
+    private final AtomicLong processed = new AtomicLong();
+    private final AtomicLong imported = new AtomicLong();
+    private final AtomicLong skipped = new AtomicLong();
+    private final AtomicLong failed = new AtomicLong();
+
+    private volatile Status status = Status.QUEUED;
+    private volatile Instant finishedAt;
+    private volatile String message;
+    private final List<String> errors = new ArrayList<>();
+
+    public ImportJob(String type) {
+        this.type = type;
+    }
+
+    public String getId() {
+        return id;
+    }
+
+    public Status getStatus() {
+        return status;
+    }
+
+    public Instant getFinishedAt() {
+        return finishedAt;
+    }
+
+    void start() {
+        status = Status.RUNNING;
+    }
+
+    void complete() {
+        finish(Status.COMPLETED, null);
+    }
+
+    void fail(String message) {
+        finish(Status.FAILED, message);
+    }
+
+    void processed(int rows) {
+        processed.addAndGet(rows);
+    }
+
+    void imported(int rows) {
+        imported.addAndGet(rows);
+    }
+
+    // Linha ignorada (duplicada ou já cadastrada)
+    void skipped(long line, String reason) {
+        skipped.incrementAndGet();
+        addError(line, reason);
+    }
+
+    // Linha inválida
+    void failed(long line, String reason) {
+        failed.incrementAndGet();
+        addError(line, reason);
+    }
+
+    public synchronized Map<String, Object> toMap() {
+        Map<String, Object> map = new HashMap<>();
+        map.put("id", id);
+        map.put("type", type);
+        map.put("status", status);
+        map.put("processed", processed.get());
+        map.put("imported", imported.get());
+        map.put("skipped", skipped.get());
+        map.put("failed", failed.get());
+        map.put("errors", List.copyOf(errors));
+        map.put("createdAt", createdAt);
+        map.put("finishedAt", finishedAt);
+        map.put("message", message);
+        return map;
+    }
+
+    private void finish(Status status, String message) {
+        this.message = message;
+        this.finishedAt = Instant.now();
+        this.status = status;
+    }
+
+    private synchronized void addError(long line, String reason) {
+        if (errors.size() < MAX_ERRORS) {
+            errors.add("Linha " + line + ": " + reason);
+        }
+    }
+}
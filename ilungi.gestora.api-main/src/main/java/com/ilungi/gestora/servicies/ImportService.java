@@ -0,0 +1,517 @@
+package com.ilungi.gestora.servicies;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.StringReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Calendar;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import javax.sql.DataSource;
+
+import org.postgresql.PGConnection;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceUtils;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.ilungi.gestora.entities.Role;
+import com.ilungi.gestora.entities.Task;
+import com.ilungi.gestora.entities.TaskStatus;
+import com.ilungi.gestora.entities.User;
+import com.ilungi.gestora.repositories.UserRepository;
+
+import jakarta.annotation.PreDestroy;
+
+/**
+ * Importação em massa de usuários e tarefas a partir de CSV.
+ *
+ * O arquivo é lido de forma incremental e processado em blocos: cada bloco faz
+ * uma única consulta de e-mails existentes, gera as senhas com BCrypt em paralelo
+ * (pool limitado) e grava tudo em uma transação. Usuários entram via COPY no
+ * PostgreSQL; no H2 o mesmo bloco vira um INSERT em batch.
+ */
+@Service
+public class ImportService {
+
+    private static final Logger logger = LoggerFactory.getLogger(ImportService.class);
+
+    static final int CHUNK_SIZE = 500;
+
+    // Jobs concluídos ficam consultáveis por 1 hora
+    private static final long JOB_RETENTION_SECONDS = 3600;
+
+    private static final String COPY_USERS =
+        "COPY users (name, email, password, phone, role, created_at, updated_at, version) FROM STDIN WITH (FORMAT csv)";
+    private static final String INSERT_USER =
+        "INSERT INTO users (name, email, password, phone, role, created_at, updated_at, version) VALUES (?, ?, ?, ?, ?, ?, ?, 0)";
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private TaskService taskService;
+
+    @Autowired
+    private PasswordEncoder passwordEncoder;
+
+    @Autowired
+    private PasswordGeneratorService passwordGenerator;
+
+    @Autowired
+    private EmailService emailService;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private DataSource dataSource;
+
+    private final Map<String, ImportJob> jobs = new ConcurrentHashMap<>();
+
+    // Um import por vez: o pool do banco é pequeno (5 conexões) e é dividido com as requisições
+    private final ExecutorService jobRunner = Executors.newSingleThreadExecutor(
+        runnable -> Thread.ofPlatform().name("import-job").daemon().unstarted(runnable));
+
+    // BCrypt é CPU-bound: no máximo um hash por núcleo (até 4)
+    private final ExecutorService hashPool = Executors.newFixedThreadPool(
+        Math.max(1, Math.min(4, Runtime.getRuntime().availableProcessors())),
+        Thread.ofPlatform().name("import-bcrypt-", 0).daemon().factory());
+
+    private record UserRow(long line, String name, String email, String phone, Role role) {}
+
+    private record NewUser(UserRow row, String rawPassword, String passwordHash) {}
+
+    private record TaskRow(long line, String title, String description, TaskStatus status,
+                           Integer daysToFinish, List<String> responsibleEmails) {}
+
+    /**
+     * Agenda a importação de usuários. Colunas: name, email, phone (opcional), role (opcional).
+     * O arquivo é apagado ao final.
+     */
+    public ImportJob submitUsers(Path file) {
+        return submit("users", file, job -> importUsers(job, file));
+    }
+
+    /**
+     * Agenda a importação de tarefas. Colunas: title, description, status, daysToFinish,
+     * responsibles (e-mails separados por ";"). O criador é o admin que enviou o arquivo.
+     */
+    public ImportJob submitTasks(Path file, Long createdById) {
+        return submit("tasks", file, job -> importTasks(job, file, createdById));
+    }
+
+    public Optional<ImportJob> findJob(String jobId) {
+        return Optional.ofNullable(jobs.get(jobId));
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        jobRunner.shutdownNow();
+        hashPool.shutdownNow();
+    }
+
+    private ImportJob submit(String type, Path file, ImportStep step) {
+        purgeFinishedJobs();
+        ImportJob job = new ImportJob(type);
+        jobs.put(job.getId(), job);
+
+        jobRunner.execute(() -> {
+            job.start();
+            try {
+                step.run(job);
+                job.complete();
+            } catch (Exception e) {
+                logger.error("Importação {} ({}) falhou", job.getId(), type, e);
+                job.fail(e.getMessage());
+            } finally {
+                try {
+                    Files.deleteIfExists(file);
+                } catch (IOException e) {
+                    logger.warn("Não foi possível apagar {}: {}", file, e.getMessage());
+                }
+            }
+        });
+        return job;
+    }
+
+    @FunctionalInterface
+    private interface ImportStep {
+        void run(ImportJob job) throws Exception;
+    }
+
+    // ========== USUÁRIOS ==========
+
+    private void importUsers(ImportJob job, Path file) throws IOException {
+        try (CsvReader csv = open(file)) {
+            Map<String, Integer> header = readHeader(csv, "name", "email");
+            List<UserRow> chunk = new ArrayList<>(CHUNK_SIZE);
+
+            List<String> record;
+            while ((record = csv.next()) != null) {
+                job.processed(1);
+                UserRow row = parseUser(job, csv.getRecordLine(), header, record);
+                if (row != null) {
+                    chunk.add(row);
+                }
+                if (chunk.size() == CHUNK_SIZE) {
+                    importUserChunk(job, chunk);
+                    chunk.clear();
+                }
+            }
+            if (!chunk.isEmpty()) {
+                importUserChunk(job, chunk);
+            }
+        }
+    }
+
+    private UserRow parseUser(ImportJob job, long line, Map<String, Integer> header, List<String> record) {
+        String name = field(record, header, "name");
+        String email = field(record, header, "email");
+        if (name == null) {
+            job.failed(line, "Nome é obrigatório");
+            return null;
+        }
+        if (email == null || !email.contains("@")) {
+            job.failed(line, "Email inválido");
+            return null;
+        }
+
+        Role role = Role.USER;
+        String roleValue = field(record, header, "role");
+        if (roleValue != null) {
+            try {
+                role = Role.valueOf(roleValue.toUpperCase(Locale.ROOT));
+            } catch (IllegalArgumentException e) {
+                job.failed(line, "Role inválido: " + roleValue);
+                return null;
+            }
+        }
+        return new UserRow(line, name, email.toLowerCase(Locale.ROOT), field(record, header, "phone"), role);
+    }
+
+    private void importUserChunk(ImportJob job, List<UserRow> chunk) {
+        // Repetidos dentro do bloco; blocos anteriores já estão no banco
+        Map<String, UserRow> unique = new LinkedHashMap<>();
+        for (UserRow row : chunk) {
+            if (unique.putIfAbsent(row.email(), row) != null) {
+                job.skipped(row.line(), "Email repetido no arquivo: " + row.email());
+            }
+        }
+
+        // Uma consulta por bloco para os e-mails já cadastrados
+        for (String existing : userRepository.findExistingEmails(unique.keySet())) {
+            UserRow row = unique.remove(existing);
+            if (row != null) {
+                job.skipped(row.line(), "Email já cadastrado: " + existing);
+            }
+        }
+        if (unique.isEmpty()) {
+            return;
+        }
+
+        List<CompletableFuture<NewUser>> hashing = unique.values().stream()
+            .map(row -> CompletableFuture.supplyAsync(() -> {
+                String rawPassword = passwordGenerator.generateUserPassword();
+                return new NewUser(row, rawPassword, passwordEncoder.encode(rawPassword));
+            }, hashPool))
+            .toList();
+        List<NewUser> users = hashing.stream().map(CompletableFuture::join).toList();
+
+        try {
+            transactionTemplate().executeWithoutResult(status -> insertUsers(users));
+        } catch (RuntimeException e) {
+            // Ex.: e-mail cadastrado por outra requisição durante o import; o bloco inteiro é descartado
+            logger.warn("Bloco de usuários rejeitado: {}", e.getMessage());
+            for (NewUser user : users) {
+                job.failed(user.row().line(), "Bloco rejeitado pelo banco: " + e.getMessage());
+            }
+            return;
+        }
+        job.imported(users.size());
+
+        for (Long userId : userRepository.findIdsByEmailIn(unique.keySet())) {
+            eventPublisher.publishEvent(new UserChangedEvent(userId, ChangeType.CREATED));
+        }
+        for (NewUser user : users) {
+            sendWelcomeEmail(user);
+        }
+    }
+
+    // Chamado dentro da transação: usa a mesma conexão do JPA
+    private void insertUsers(List<NewUser> users) {
+        Connection connection = DataSourceUtils.getConnection(dataSource);
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        try {
+            if (connection.isWrapperFor(PGConnection.class)) {
+                StringBuilder data = new StringBuilder(users.size() * 128);
+                for (NewUser user : users) {
+                    UserRow row = user.row();
+                    appendCsv(data, row.name()).append(',');
+                    appendCsv(data, row.email()).append(',');
+                    appendCsv(data, user.passwordHash()).append(',');
+                    appendCsv(data, row.phone()).append(',');
+                    appendCsv(data, row.role().name()).append(',');
+                    appendCsv(data, now.toString()).append(',');
+                    appendCsv(data, now.toString()).append(",0\n");
+                }
+                connection.unwrap(PGConnection.class).getCopyAPI()
+                    .copyIn(COPY_USERS, new StringReader(data.toString()));
+            } else {
+                new JdbcTemplate(dataSource).batchUpdate(INSERT_USER, users, users.size(), (statement, user) -> {
+                    UserRow row = user.row();
+                    statement.setString(1, row.name());
+                    statement.setString(2, row.email());
+                    statement.setString(3, user.passwordHash());
+                    statement.setString(4, row.phone());
+                    statement.setString(5, row.role().name());
+                    statement.setTimestamp(6, now);
+                    statement.setTimestamp(7, now);
+                });
+            }
+        } catch (SQLException | IOException e) {
+            throw new IllegalStateException("Erro ao gravar usuários: " + e.getMessage(), e);
+        }
+    }
+
+    // Campo do COPY: null vira campo vazio sem aspas (NULL no formato csv)
+    private static StringBuilder appendCsv(StringBuilder data, String value) {
+        if (value == null) {
+            return data;
+        }
+        return data.append('"').append(value.replace("\"", "\"\"")).append('"');
+    }
+
+    // O executor de e-mails tem fila limitada: espera e tenta de novo em vez de perder o e-mail
+    private void sendWelcomeEmail(NewUser user) {
+        for (int attempt = 0; attempt < 50; attempt++) {
+            try {
+                emailService.enviarBoasVindasInicial(user.row().email(), user.row().name(), user.rawPassword());
+                return;
+            } catch (TaskRejectedException e) {
+                try {
+                    Thread.sleep(200);
+                } catch (InterruptedException interrupted) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+            }
+        }
+        logger.warn("Email de boas-vindas não enviado para {}", user.row().email());
+    }
+
+    // ========== TAREFAS ==========
+
+    private void importTasks(ImportJob job, Path file, Long createdById) throws IOException {
+        try (CsvReader csv = open(file)) {
+            Map<String, Integer> header = readHeader(csv, "title");
+            List<TaskRow> chunk = new ArrayList<>(CHUNK_SIZE);
+
+            List<String> record;
+            while ((record = csv.next()) != null) {
+                job.processed(1);
+                TaskRow row = parseTask(job, csv.getRecordLine(), header, record);
+                if (row != null) {
+                    chunk.add(row);
+                }
+                if (chunk.size() == CHUNK_SIZE) {
+                    importTaskChunk(job, chunk, createdById);
+                    chunk.clear();
+                }
+            }
+            if (!chunk.isEmpty()) {
+                importTaskChunk(job, chunk, createdById);
+            }
+        }
+    }
+
+    private TaskRow parseTask(ImportJob job, long line, Map<String, Integer> header, List<String> record) {
+        String title = field(record, header, "title");
+        if (title == null) {
+            job.failed(line, "Título é obrigatório");
+            return null;
+        }
+
+        TaskStatus status = TaskStatus.PENDING;
+        String statusValue = field(record, header, "status");
+        if (statusValue != null) {
+            try {
+                status = TaskStatus.valueOf(statusValue.toUpperCase(Locale.ROOT));
+            } catch (IllegalArgumentException e) {
+                job.failed(line, "Status inválido: " + statusValue);
+                return null;
+            }
+        }
+
+        Integer daysToFinish = null;
+        String daysValue = field(record, header, "daysToFinish");
+        if (daysValue != null) {
+            try {
+                daysToFinish = Integer.valueOf(daysValue);
+            } catch (NumberFormatException e) {
+                job.failed(line, "daysToFinish inválido: " + daysValue);
+                return null;
+            }
+        }
+
+        List<String> emails = new ArrayList<>();
+        String responsibles = field(record, header, "responsibles");
+        if (responsibles != null) {
+            for (String email : responsibles.split(";")) {
+                if (!email.isBlank()) {
+                    emails.add(email.trim().toLowerCase(Locale.ROOT));
+                }
+            }
+        }
+        return new TaskRow(line, title, field(record, header, "description"), status, daysToFinish, emails);
+    }
+
+    private void importTaskChunk(ImportJob job, List<TaskRow> chunk, Long createdById) {
+        // Linha -> motivo; registrado no job só no fim, para cada linha contar uma vez
+        Map<Long, String> invalid = new HashMap<>();
+        try {
+            int imported = transactionTemplate().execute(status -> {
+                invalid.clear();
+                // Uma consulta por bloco para todos os responsáveis citados
+                Set<String> emails = new HashSet<>();
+                chunk.forEach(row -> emails.addAll(row.responsibleEmails()));
+                Map<String, User> usersByEmail = emails.isEmpty() ? Map.of()
+                    : userRepository.findByEmailIn(emails).stream()
+                        .collect(Collectors.toMap(user -> user.getEmail().toLowerCase(Locale.ROOT),
+                            Function.identity(), (first, second) -> first));
+
+                List<Task> tasks = new ArrayList<>();
+                for (TaskRow row : chunk) {
+                    List<String> missing = row.responsibleEmails().stream()
+                        .filter(email -> !usersByEmail.containsKey(email))
+                        .toList();
+                    if (!missing.isEmpty()) {
+                        invalid.put(row.line(), "Responsáveis não encontrados: " + String.join(", ", missing));
+                        continue;
+                    }
+                    tasks.add(toTask(row, usersByEmail));
+                }
+
+                taskService.createTasksBulk(tasks, userRepository.getReferenceById(createdById));
+                return tasks.size();
+            });
+            job.imported(imported);
+            for (TaskRow row : chunk) {
+                String reason = invalid.get(row.line());
+                if (reason != null) {
+                    job.failed(row.line(), reason);
+                }
+            }
+        } catch (RuntimeException e) {
+            logger.warn("Bloco de tarefas rejeitado: {}", e.getMessage());
+            for (TaskRow row : chunk) {
+                job.failed(row.line(), invalid.getOrDefault(row.line(), "Bloco rejeitado pelo banco: " + e.getMessage()));
+            }
+        }
+    }
+
+    private Task toTask(TaskRow row, Map<String, User> usersByEmail) {
+        Task task = new Task();
+        task.setTitle(row.title());
+        task.setDescription(row.description());
+        task.setStatus(row.status());
+        task.setDaysToFinish(row.daysToFinish());
+        task.setCreateAt(new Date());
+
+        // Mesmo cálculo da criação pelo admin
+        if (row.daysToFinish() != null && row.daysToFinish() > 0) {
+            Calendar calendar = Calendar.getInstance();
+            calendar.add(Calendar.DAY_OF_MONTH, row.daysToFinish());
+            task.setEndDate(calendar.getTime());
+        }
+
+        List<User> responsibles = new ArrayList<>();
+        for (String email : row.responsibleEmails()) {
+            User user = usersByEmail.get(email);
+            if (!responsibles.contains(user)) {
+                responsibles.add(user);
+            }
+        }
+        task.setResponsibles(responsibles);
+        return task;
+    }
+
+    // ========== AUXILIARES ==========
+
+    private CsvReader open(Path file) throws IOException {
+        return new CsvReader(new BufferedReader(Files.newBufferedReader(file, StandardCharsets.UTF_8), 64 * 1024), ',');
+    }
+
+    // Índice de cada coluna pelo nome (sem diferenciar maiúsculas)
+    private Map<String, Integer> readHeader(CsvReader csv, String... required) throws IOException {
+        List<String> names = csv.next();
+        if (names == null) {
+            throw new IllegalArgumentException("Arquivo vazio");
+        }
+        Map<String, Integer> header = new HashMap<>();
+        for (int i = 0; i < names.size(); i++) {
+            String name = names.get(i).trim().toLowerCase(Locale.ROOT);
+            if (i == 0 && name.startsWith("\uFEFF")) {
+                name = name.substring(1); // BOM do Excel
+            }
+            header.putIfAbsent(name, i);
+        }
+        for (String column : required) {
+            if (!header.containsKey(column.toLowerCase(Locale.ROOT))) {
+                throw new IllegalArgumentException("Coluna obrigatória ausente: " + column);
+            }
+        }
+        return header;
+    }
+
+    // Valor sem espaços nas pontas; vazio ou coluna ausente = null
+    private String field(List<String> record, Map<String, Integer> header, String column) {
+        Integer index = header.get(column.toLowerCase(Locale.ROOT));
+        if (index == null || index >= record.size()) {
+            return null;
+        }
+        String value = record.get(index).trim();
+        return value.isEmpty() ? null : value;
+    }
+
+    private void purgeFinishedJobs() {
+        Instant limit = Instant.now().minusSeconds(JOB_RETENTION_SECONDS);
+        jobs.values().removeIf(job -> job.getFinishedAt() != null && job.getFinishedAt().isBefore(limit));
+    }
+
+    private TransactionTemplate transactionTemplate() {
+        return new TransactionTemplate(transactionManager);
+    }
+}
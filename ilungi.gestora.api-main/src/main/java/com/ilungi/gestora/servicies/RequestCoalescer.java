@@ -0,0 +1,122 @@
+package com.ilungi.gestora.servicies;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+import org.springframework.stereotype.Component;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Single-flight para leituras caras: chamadas simultâneas com a mesma chave
+ * compartilham uma única execução e o seu resultado.
+ *
+ * A primeira chamada (líder) executa na própria thread; as demais esperam por ela.
+ * Com freshFor > 0 o resultado continua valendo por esse tempo depois de pronto.
+ * A chave deve incluir as versões do ChangeWatermarks dos dados lidos, para que
+ * uma escrita gere outra chave em vez de servir um resultado antigo.
+ * O resultado é compartilhado entre requisições: não deve ser alterado depois.
+ *
+ * Métrica gestora.coalescing.calls (tags name e outcome=executed|joined|fresh).
+ */
+@Component
+public class RequestCoalescer {
+
+    // Acima disso, resultados vencidos são varridos a cada nova execução
+    private static final int SWEEP_THRESHOLD = 256;
+
+    private final ConcurrentHashMap<String, Flight> flights = new ConcurrentHashMap<>();
+    private final MeterRegistry meterRegistry;
+
+    public RequestCoalescer(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    @SuppressWarnings("unchecked")
+    public <T> T coalesce(String name, Object key, Duration freshFor, Supplier<T> computation) {
+        String flightKey = name + ':' + key;
+        while (true) {
+            Flight existing = flights.get(flightKey);
+            if (existing != null) {
+                if (!existing.result.isDone()) {
+                    count(name, "joined");
+                    return (T) join(existing);
+                }
+                if (existing.isFresh() && !existing.result.isCompletedExceptionally()) {
+                    count(name, "fresh");
+                    return (T) existing.result.join();
+                }
+                flights.remove(flightKey, existing);
+                continue;
+            }
+
+            Flight flight = new Flight(freshFor.toNanos());
+            if (flights.putIfAbsent(flightKey, flight) != null) {
+                continue;
+            }
+            if (flights.size() > SWEEP_THRESHOLD) {
+                flights.values().removeIf(other -> other.result.isDone() && !other.isFresh());
+            }
+            count(name, "executed");
+            return execute(flightKey, flight, computation);
+        }
+    }
+
+    private <T> T execute(String flightKey, Flight flight, Supplier<T> computation) {
+        T value;
+        try {
+            value = computation.get();
+        } catch (RuntimeException | Error e) {
+            flights.remove(flightKey, flight);
+            flight.result.completeExceptionally(e);
+            throw e;
+        }
+        flight.completedAt = System.nanoTime();
+        if (flight.freshForNanos <= 0) {
+            flights.remove(flightKey, flight);
+        }
+        flight.result.complete(value);
+        return value;
+    }
+
+    private static Object join(Flight flight) {
+        try {
+            return flight.result.join();
+        } catch (CompletionException e) {
+            // Mesma exceção que o líder recebeu
+            if (e.getCause() instanceof RuntimeException runtime) {
+                throw runtime;
+            }
+            if (e.getCause() instanceof Error error) {
+                throw error;
+            }
+            throw e;
+        }
+    }
+
+    private void count(String name, String outcome) {
+        Counter.builder("gestora.coalescing.calls")
+            .tag("name", name)
+            .tag("outcome", outcome)
+            .register(meterRegistry)
+            .increment();
+    }
+
+    private static final class Flight {
+        final CompletableFuture<Object> result = new CompletableFuture<>();
+        final long freshForNanos;
+        volatile long completedAt;
+
+        Flight(long freshForNanos) {
+            this.freshForNanos = freshForNanos;
+        }
+
+        boolean isFresh() {
+            return result.isDone() && System.nanoTime() - completedAt < freshForNanos;
+        }
+    }
+}
@@ -0,0 +1,216 @@
+package com.ilungi.gestora.servicies;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.query.QueryUtils;
+import org.springframework.data.support.PageableExecutionUtils;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.ilungi.gestora.entities.Task;
+import com.ilungi.gestora.entities.User;
+import com.ilungi.gestora.repositories.TaskRepository;
+import com.ilungi.gestora.repositories.TaskResponsibleId;
+import com.ilungi.gestora.repositories.TaskResponsibleRow;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.Tuple;
+import jakarta.persistence.TypedQuery;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Expression;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.criteria.Selection;
+
+/**
+ * Leituras com ?fields=: o SELECT traz apenas as colunas pedidas (consulta de tuplas,
+ * sem entidades no contexto de persistência nem o createdBy EAGER). Responsáveis só
+ * são lidos se pedidos, numa consulta IN (...) por bloco de tasks.
+ */
+@Service
+public class SparseReadService {
+
+    // Limite de parâmetros por IN (...) nas consultas de responsáveis
+    private static final int IN_CHUNK = 1000;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    public List<Map<String, Object>> findTasks(Specification<Task> specification, Pageable pageable,
+                                              FieldSelection fields) {
+        return readOnlyTransaction().execute(status -> {
+            List<Map<String, Object>> rows = select(Task.class, specification, pageable, fields,
+                (root, cb, field) -> taskColumn(root, field));
+            fillResponsibles(rows, fields);
+            return rows;
+        });
+    }
+
+    // Página com total (GET /tasks/query): linhas e contagem na mesma transação roteada
+    public Page<Map<String, Object>> findTaskPage(Specification<Task> specification, Pageable pageable,
+                                                  FieldSelection fields) {
+        return readOnlyTransaction().execute(status -> {
+            List<Map<String, Object>> rows = select(Task.class, specification, pageable, fields,
+                (root, cb, field) -> taskColumn(root, field));
+            fillResponsibles(rows, fields);
+            // Como no findAll(spec, pageable): sem COUNT quando a página já define o total
+            return PageableExecutionUtils.getPage(rows, pageable, () -> taskRepository.count(specification));
+        });
+    }
+
+    public List<Map<String, Object>> findUsers(Specification<User> specification, Pageable pageable,
+                                              FieldSelection fields) {
+        return readOnlyTransaction().execute(status ->
+            select(User.class, specification, pageable, fields, SparseReadService::userColumn));
+    }
+
+    // Expressão de cada campo; null = associação, preenchida depois da consulta principal
+    private interface Columns<T> {
+        Expression<?> column(Root<T> root, CriteriaBuilder cb, String field);
+    }
+
+    private <T> List<Map<String, Object>> select(Class<T> type, Specification<T> specification, Pageable pageable,
+                                                FieldSelection fields, Columns<T> columns) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Tuple> query = cb.createTupleQuery();
+        Root<T> root = query.from(type);
+
+        List<String> selected = new ArrayList<>();
+        List<Selection<?>> selections = new ArrayList<>();
+        for (String field : fields.fields()) {
+            Expression<?> column = columns.column(root, cb, field);
+            if (column != null) {
+                selected.add(field);
+                selections.add(column.alias(field));
+            }
+        }
+        query.multiselect(selections);
+
+        Predicate predicate = specification != null ? specification.toPredicate(root, query, cb) : null;
+        if (predicate != null) {
+            query.where(predicate);
+        }
+        if (pageable.getSort().isSorted()) {
+            query.orderBy(QueryUtils.toOrders(pageable.getSort(), root, cb));
+        }
+
+        TypedQuery<Tuple> typed = entityManager.createQuery(query);
+        if (pageable.isPaged()) {
+            typed.setFirstResult((int) pageable.getOffset());
+            typed.setMaxResults(pageable.getPageSize());
+        }
+
+        List<Tuple> tuples = typed.getResultList();
+        List<Map<String, Object>> rows = new ArrayList<>(tuples.size());
+        for (Tuple tuple : tuples) {
+            // Ordem das chaves = ordem de FieldSelection; associações ficam reservadas como null
+            Map<String, Object> row = new LinkedHashMap<>();
+            for (String field : fields.fields()) {
+                row.put(field, selected.contains(field) ? tuple.get(field) : null);
+            }
+            rows.add(row);
+        }
+        return rows;
+    }
+
+    private static Expression<?> taskColumn(Root<Task> root, String field) {
+        return switch (field) {
+            // FK de tb_tasks: o Hibernate lê created_by_id sem join em users
+            case "createdById" -> root.get("createdBy").get("id");
+            case "responsibleIds", "responsibles" -> null;
+            default -> root.get(field);
+        };
+    }
+
+    private static Expression<?> userColumn(Root<User> root, CriteriaBuilder cb, String field) {
+        return switch (field) {
+            case "taskCount" -> cb.size(root.<List<Task>>get("assignedTasks"));
+            case "createdTaskCount" -> cb.size(root.<List<Task>>get("createdTasks"));
+            default -> root.get(field);
+        };
+    }
+
+    private void fillResponsibles(List<Map<String, Object>> rows, FieldSelection fields) {
+        boolean full = fields.has("responsibles");
+        boolean ids = fields.has("responsibleIds");
+        if (rows.isEmpty() || (!full && !ids)) {
+            return;
+        }
+
+        Map<Long, Map<String, Object>> byId = new HashMap<>();
+        for (Map<String, Object> row : rows) {
+            if (full) {
+                row.put("responsibles", new ArrayList<Map<String, Object>>());
+            }
+            if (ids) {
+                row.put("responsibleIds", new ArrayList<Long>());
+            }
+            byId.put((Long) row.get("id"), row);
+        }
+
+        List<Long> taskIds = new ArrayList<>(byId.keySet());
+        for (int from = 0; from < taskIds.size(); from += IN_CHUNK) {
+            List<Long> chunk = taskIds.subList(from, Math.min(from + IN_CHUNK, taskIds.size()));
+            if (full) {
+                // Mesmos campos do usuário embutido na task completa (sem senha e coleções)
+                for (TaskResponsibleRow responsible : taskRepository.findResponsibleRows(chunk)) {
+                    Map<String, Object> user = new LinkedHashMap<>();
+                    user.put("id", responsible.userId());
+                    user.put("name", responsible.name());
+                    user.put("email", responsible.email());
+                    user.put("phone", responsible.phone());
+                    user.put("role", responsible.role());
+                    user.put("createdAt", responsible.createdAt());
+                    responsibles(byId.get(responsible.taskId())).add(user);
+                }
+            } else {
+                for (TaskResponsibleId pair : taskRepository.findResponsibleIds(chunk)) {
+                    responsibleIds(byId.get(pair.taskId())).add(pair.userId());
+                }
+            }
+        }
+        if (full && ids) {
+            // Ids tirados dos responsáveis já lidos: sem segunda consulta
+            for (Map<String, Object> row : rows) {
+                for (Map<String, Object> user : responsibles(row)) {
+                    responsibleIds(row).add((Long) user.get("id"));
+                }
+            }
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private static List<Map<String, Object>> responsibles(Map<String, Object> row) {
+        return (List<Map<String, Object>>) row.get("responsibles");
+    }
+
+    @SuppressWarnings("unchecked")
+    private static List<Long> responsibleIds(Map<String, Object> row) {
+        return (List<Long>) row.get("responsibleIds");
+    }
+
+    // Nomeada como as transações @Transactional dos serviços: pode ser roteada para a réplica
+    private TransactionTemplate readOnlyTransaction() {
+        TransactionTemplate template = new TransactionTemplate(transactionManager);
+        template.setName(SparseReadService.class.getName() + ".readOnlyTransaction");
+        template.setReadOnly(true);
+        return template;
+    }
+}
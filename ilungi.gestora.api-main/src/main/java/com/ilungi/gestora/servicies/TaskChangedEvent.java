@@ -0,0 +1,27 @@
+package com.ilungi.gestora.servicies;
+
+import java.util.LinkedHashSet;
+import java.util.Set;
+
+/**
+ * Publicado pelo TaskService a cada escrita de tarefa.
+ * seq é a sequência do delta-sync; os responsáveis são os de antes e depois da alteração.
+ * Título e descrição acompanham o evento para o índice de busca não consultar o banco.
+ */
+public record TaskChangedEvent(Long taskId, ChangeType type, long seq, Long createdById,
+                               Set<Long> previousResponsibleIds, Set<Long> responsibleIds,
+                               String title, String description) {
+
+    // Usuários cujas listas de tarefas mudaram (responsáveis antes e depois)
+    public Set<Long> affectedUserIds() {
+        Set<Long> affected = new LinkedHashSet<>(previousResponsibleIds);
+        affected.addAll(responsibleIds);
+        return affected;
+    }
+
+    // O usuário perdeu acesso à tarefa (desatribuído ou tarefa excluída)
+    public boolean removedFor(Long userId) {
+        return previousResponsibleIds.contains(userId)
+            && (type == ChangeType.DELETED || !responsibleIds.contains(userId));
+    }
+}
@@ -0,0 +1,319 @@
+package com.ilungi.gestora.servicies;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+
+/**
+ * Stream SSE de alterações de tarefas (GET /tasks/stream).
+ *
+ * Conexões ociosas não ocupam threads do Tomcat (requisição assíncrona).
+ * Cada conexão tem uma fila limitada; a publicação apenas enfileira e o envio
+ * é feito em virtual threads. Quem não acompanha (fila cheia) é desconectado e
+ * retoma com Last-Event-ID, a partir das últimas alterações guardadas em memória.
+ *
+ * Os callbacks de commit podem chegar fora da ordem das sequências; um evento que chega
+ * antes do anterior espera (no máximo reorder-window-ms) para que o stream siga sempre a
+ * ordem de seq e um Last-Event-ID nunca pule uma alteração ainda não entregue.
+ */
+@Component
+public class TaskEventStream {
+
+    private static final Logger logger = LoggerFactory.getLogger(TaskEventStream.class);
+
+    private final long timeoutMs;
+    private final int queueCapacity;
+    private final int replaySize;
+    private final long reorderWindowMs;
+
+    private final Map<Long, Set<Subscriber>> subscribersByUser = new ConcurrentHashMap<>();
+    private final Set<Subscriber> adminSubscribers = ConcurrentHashMap.newKeySet();
+
+    // Últimas alterações, por seq, para retomar com Last-Event-ID; protegido por "this"
+    private final TreeMap<Long, TaskChangedEvent> recentEvents = new TreeMap<>();
+
+    // Eventos que chegaram antes de uma sequência anterior; protegidos por "this"
+    private final TreeMap<Long, TaskChangedEvent> outOfOrder = new TreeMap<>();
+    private long lastDeliveredSeq;
+    private long outOfOrderSinceNanos;
+    private boolean flushScheduled;
+
+    private final ExecutorService senders = Executors.newVirtualThreadPerTaskExecutor();
+    private final ScheduledExecutorService heartbeats = Executors.newSingleThreadScheduledExecutor(
+        runnable -> Thread.ofPlatform().name("sse-heartbeat").daemon().unstarted(runnable));
+
+    private final LongAdder dropped = new LongAdder();
+
+    public TaskEventStream(@Value("${app.sse.timeout-ms:1800000}") long timeoutMs,
+                           @Value("${app.sse.queue-capacity:64}") int queueCapacity,
+                           @Value("${app.sse.replay-size:1024}") int replaySize,
+                           @Value("${app.sse.heartbeat-seconds:25}") long heartbeatSeconds,
+                           @Value("${app.sse.reorder-window-ms:2000}") long reorderWindowMs,
+                           MeterRegistry meterRegistry) {
+        this.timeoutMs = timeoutMs;
+        this.queueCapacity = queueCapacity;
+        this.replaySize = replaySize;
+        this.reorderWindowMs = reorderWindowMs;
+
+        heartbeats.scheduleAtFixedRate(this::sendHeartbeats, heartbeatSeconds, heartbeatSeconds, TimeUnit.SECONDS);
+
+        Gauge.builder("gestora.sse.connections", this, TaskEventStream::connectionCount)
+            .register(meterRegistry);
+        FunctionCounter.builder("gestora.sse.dropped", dropped, LongAdder::sum)
+            .description("Conexões encerradas por não acompanharem o stream")
+            .register(meterRegistry);
+    }
+
+    /**
+     * Registra uma conexão. Com lastEventId, reenvia as alterações posteriores
+     * ou, se já saíram da memória, um evento "resync" com o cursor para /tasks/changes.
+     */
+    public SseEmitter subscribe(Long userId, boolean admin, Long lastEventId) {
+        SseEmitter emitter = new SseEmitter(timeoutMs);
+        Subscriber subscriber = new Subscriber(userId, admin, emitter, queueCapacity);
+
+        emitter.onCompletion(() -> unregister(subscriber));
+        emitter.onTimeout(() -> close(subscriber));
+        emitter.onError(error -> close(subscriber));
+
+        synchronized (this) {
+            if (lastEventId != null) {
+                replay(subscriber, lastEventId);
+            }
+            subscribersByUser.computeIfAbsent(userId, id -> ConcurrentHashMap.newKeySet()).add(subscriber);
+            if (admin) {
+                adminSubscribers.add(subscriber);
+            }
+        }
+        return emitter;
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onTaskChanged(TaskChangedEvent event) {
+        synchronized (this) {
+            // Falta a sequência anterior: espera ela chegar (ou a janela acabar)
+            if (lastDeliveredSeq > 0 && event.seq() > lastDeliveredSeq + 1) {
+                if (outOfOrder.isEmpty()) {
+                    outOfOrderSinceNanos = System.nanoTime();
+                }
+                outOfOrder.put(event.seq(), event);
+                scheduleFlush(reorderWindowMs);
+                return;
+            }
+            deliver(event);
+            while (!outOfOrder.isEmpty() && outOfOrder.firstKey() == lastDeliveredSeq + 1) {
+                deliver(outOfOrder.pollFirstEntry().getValue());
+            }
+        }
+    }
+
+    public int connectionCount() {
+        return subscribersByUser.values().stream().mapToInt(Set::size).sum();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        heartbeats.shutdownNow();
+        senders.shutdownNow();
+    }
+
+    // Chamado com o lock
+    private void deliver(TaskChangedEvent event) {
+        lastDeliveredSeq = Math.max(lastDeliveredSeq, event.seq());
+        recentEvents.put(event.seq(), event);
+        if (recentEvents.size() > replaySize) {
+            recentEvents.pollFirstEntry();
+        }
+
+        // Responsáveis (antes e depois), criador e admins
+        Set<Subscriber> recipients = new LinkedHashSet<>(adminSubscribers);
+        for (Long userId : event.affectedUserIds()) {
+            recipients.addAll(subscribersByUser.getOrDefault(userId, Set.of()));
+        }
+        if (event.createdById() != null) {
+            recipients.addAll(subscribersByUser.getOrDefault(event.createdById(), Set.of()));
+        }
+
+        for (Subscriber subscriber : recipients) {
+            enqueue(subscriber, toMessage(event, subscriber));
+        }
+    }
+
+    // Chamado com o lock
+    private void scheduleFlush(long delayMs) {
+        if (!flushScheduled) {
+            flushScheduled = true;
+            heartbeats.schedule(this::flushOutOfOrder, delayMs, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    // A sequência que faltava não veio (gravada por outra instância, por exemplo): entrega
+    // o que esperava, em ordem. Se ela chegar depois, é entregue assim que chegar.
+    private synchronized void flushOutOfOrder() {
+        flushScheduled = false;
+        if (outOfOrder.isEmpty()) {
+            return;
+        }
+        long waitedMs = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - outOfOrderSinceNanos);
+        if (waitedMs < reorderWindowMs) {
+            scheduleFlush(reorderWindowMs - waitedMs);
+            return;
+        }
+        logger.debug("Sequência {} não chegou em {} ms; entregando {} eventos em espera",
+            lastDeliveredSeq + 1, reorderWindowMs, outOfOrder.size());
+        while (!outOfOrder.isEmpty()) {
+            deliver(outOfOrder.pollFirstEntry().getValue());
+        }
+    }
+
+    // Chamado com o lock
+    private void replay(Subscriber subscriber, long lastEventId) {
+        long oldestSeq = recentEvents.isEmpty() ? Long.MAX_VALUE : recentEvents.firstKey();
+        List<TaskChangedEvent> missed = new ArrayList<>();
+        if (lastEventId >= oldestSeq - 1) {
+            for (TaskChangedEvent event : recentEvents.tailMap(lastEventId, false).values()) {
+                if (isVisible(event, subscriber)) {
+                    missed.add(event);
+                }
+            }
+        }
+        // Fora da memória (as sequências são contínuas), ou mais do que cabe na fila com folga
+        // para os eventos ao vivo: em vez de estourar a fila e reconectar com o mesmo
+        // Last-Event-ID para sempre, o cliente busca o que perdeu em /tasks/changes
+        if (lastEventId < oldestSeq - 1 || missed.size() > queueCapacity / 2) {
+            enqueue(subscriber, new Message(null, "resync", "{\"since\":" + lastEventId + "}"));
+            return;
+        }
+        for (TaskChangedEvent event : missed) {
+            enqueue(subscriber, toMessage(event, subscriber));
+        }
+    }
+
+    private boolean isVisible(TaskChangedEvent event, Subscriber subscriber) {
+        return subscriber.admin
+            || event.affectedUserIds().contains(subscriber.userId)
+            || subscriber.userId.equals(event.createdById());
+    }
+
+    private Message toMessage(TaskChangedEvent event, Subscriber subscriber) {
+        String type = !subscriber.admin && event.removedFor(subscriber.userId)
+            ? "REMOVED"
+            : event.type().name();
+        String data = "{\"seq\":" + event.seq() + ",\"taskId\":" + event.taskId() + ",\"type\":\"" + type + "\"}";
+        return new Message(Long.toString(event.seq()), "task", data);
+    }
+
+    private void sendHeartbeats() {
+        Message heartbeat = new Message(null, null, null);
+        for (Set<Subscriber> subscribers : subscribersByUser.values()) {
+            for (Subscriber subscriber : subscribers) {
+                enqueue(subscriber, heartbeat);
+            }
+        }
+    }
+
+    // Nunca bloqueia: fila cheia = consumidor lento, que é desconectado
+    private void enqueue(Subscriber subscriber, Message message) {
+        if (subscriber.closed.get()) {
+            return;
+        }
+        if (!subscriber.queue.offer(message)) {
+            dropped.increment();
+            close(subscriber);
+            return;
+        }
+        if (subscriber.draining.compareAndSet(false, true)) {
+            senders.execute(() -> drain(subscriber));
+        }
+    }
+
+    private void drain(Subscriber subscriber) {
+        do {
+            Message message;
+            while ((message = subscriber.queue.poll()) != null) {
+                try {
+                    subscriber.emitter.send(message.toEvent());
+                } catch (IOException | IllegalStateException e) {
+                    close(subscriber);
+                    return;
+                }
+            }
+            subscriber.draining.set(false);
+            // Evita perder mensagens enfileiradas entre o último poll e o set(false)
+        } while (!subscriber.queue.isEmpty() && subscriber.draining.compareAndSet(false, true));
+    }
+
+    private void close(Subscriber subscriber) {
+        if (subscriber.closed.compareAndSet(false, true)) {
+            unregister(subscriber);
+            subscriber.queue.clear();
+            try {
+                subscriber.emitter.complete();
+            } catch (Exception e) {
+                logger.debug("Erro ao encerrar conexão SSE: {}", e.getMessage());
+            }
+        }
+    }
+
+    private void unregister(Subscriber subscriber) {
+        subscriber.closed.set(true);
+        subscribersByUser.computeIfPresent(subscriber.userId, (id, subscribers) -> {
+            subscribers.remove(subscriber);
+            return subscribers.isEmpty() ? null : subscribers;
+        });
+        adminSubscribers.remove(subscriber);
+    }
+
+    private record Message(String id, String name, String data) {
+
+        // Sem nome nem dados = comentário de heartbeat
+        SseEmitter.SseEventBuilder toEvent() {
+            if (data == null) {
+                return SseEmitter.event().comment("hb");
+            }
+            SseEmitter.SseEventBuilder event = SseEmitter.event().name(name).data(data, MediaType.APPLICATION_JSON);
+            return id != null ? event.id(id) : event;
+        }
+    }
+
+    private static final class Subscriber {
+        final Long userId;
+        final boolean admin;
+        final SseEmitter emitter;
+        final ArrayBlockingQueue<Message> queue;
+        final AtomicBoolean draining = new AtomicBoolean();
+        final AtomicBoolean closed = new AtomicBoolean();
+
+        Subscriber(Long userId, boolean admin, SseEmitter emitter, int capacity) {
+            this.userId = userId;
+            this.admin = admin;
+            this.emitter = emitter;
+            this.queue = new ArrayBlockingQueue<>(capacity);
+        }
+    }
+}
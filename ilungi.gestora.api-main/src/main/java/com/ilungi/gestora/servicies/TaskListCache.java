@@ -0,0 +1,237 @@
+package com.ilungi.gestora.servicies;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Cache da lista de tarefas (já serializada em JSON) de cada usuário.
+ *
+ * Guarda o resultado de findByResponsiblesContaining por userId, de modo que
+ * um acerto não executa a consulta nem a serialização. A memória é limitada
+ * pelo total de bytes (LRU) e as entradas são invalidadas, após o commit,
+ * apenas para os usuários afetados por cada escrita de tarefa.
+ *
+ * A versão CBOR (Accept: application/cbor) fica na mesma entrada, ao lado do JSON:
+ * é gerada a partir dele no primeiro pedido e sai junto com ele na invalidação.
+ */
+@Component
+public class TaskListCache {
+
+    // Custo aproximado de cada entrada além do próprio JSON
+    private static final int ENTRY_OVERHEAD = 64;
+
+    private final long maxBytes;
+    private final long maxEntryBytes;
+
+    // Ordem de acesso = LRU; protegido por "this"
+    private final LinkedHashMap<Long, Entry> entries = new LinkedHashMap<>(64, 0.75f, true);
+
+    // Gerações (global e por usuário): uma carga só é guardada se nenhuma
+    // invalidação aconteceu enquanto ela era feita
+    private final Map<Long, Long> generations = new HashMap<>();
+    private long globalGeneration;
+
+    private long currentBytes;
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+    private final LongAdder invalidations = new LongAdder();
+
+    // JSON da lista e, se já pedida, a mesma lista em CBOR (cbor protegido por "this")
+    private static final class Entry {
+        final byte[] json;
+        byte[] cbor;
+
+        Entry(byte[] json) {
+            this.json = json;
+        }
+
+        long bytes() {
+            return json.length + (cbor != null ? cbor.length : 0) + ENTRY_OVERHEAD;
+        }
+    }
+
+    public TaskListCache(@Value("${app.cache.task-lists.max-bytes:16777216}") long maxBytes,
+                         MeterRegistry meterRegistry) {
+        this.maxBytes = maxBytes;
+        this.maxEntryBytes = maxBytes / 8;
+
+        FunctionCounter.builder("gestora.cache.task_lists.requests", hits, LongAdder::sum)
+            .tag("result", "hit")
+            .register(meterRegistry);
+        FunctionCounter.builder("gestora.cache.task_lists.requests", misses, LongAdder::sum)
+            .tag("result", "miss")
+            .register(meterRegistry);
+        FunctionCounter.builder("gestora.cache.task_lists.evictions", evictions, LongAdder::sum)
+            .register(meterRegistry);
+        FunctionCounter.builder("gestora.cache.task_lists.invalidations", invalidations, LongAdder::sum)
+            .register(meterRegistry);
+        Gauge.builder("gestora.cache.task_lists.size", this, TaskListCache::size)
+            .register(meterRegistry);
+        Gauge.builder("gestora.cache.task_lists.bytes", this, TaskListCache::bytes)
+            .baseUnit("bytes")
+            .register(meterRegistry);
+    }
+
+    /**
+     * Retorna o JSON em cache do usuário ou carrega com o loader em caso de falha.
+     */
+    public byte[] get(Long userId, Supplier<byte[]> loader) {
+        long generation;
+        synchronized (this) {
+            Entry cached = entries.get(userId);
+            if (cached != null) {
+                hits.increment();
+                return cached.json;
+            }
+            generation = generationOf(userId);
+        }
+
+        misses.increment();
+        byte[] loaded = loader.get();
+
+        if (loaded.length + ENTRY_OVERHEAD <= maxEntryBytes) {
+            synchronized (this) {
+                if (generationOf(userId) == generation) {
+                    put(userId, loaded);
+                }
+            }
+        }
+        return loaded;
+    }
+
+    /**
+     * Mesma lista em CBOR: convertida do JSON em cache (ou carregado) na primeira vez e
+     * guardada na entrada do usuário, se ela ainda for a do JSON convertido.
+     */
+    public byte[] getCbor(Long userId, Supplier<byte[]> loader, Function<byte[], byte[]> toCbor) {
+        synchronized (this) {
+            Entry cached = entries.get(userId);
+            if (cached != null && cached.cbor != null) {
+                hits.increment();
+                return cached.cbor;
+            }
+        }
+
+        byte[] json = get(userId, loader);
+        byte[] cbor = toCbor.apply(json);
+
+        synchronized (this) {
+            // Invalidada ou recarregada no meio tempo: o CBOR não é guardado
+            Entry cached = entries.get(userId);
+            if (cached != null && cached.json == json && cached.cbor == null
+                    && cached.bytes() + cbor.length <= maxEntryBytes) {
+                cached.cbor = cbor;
+                currentBytes += cbor.length;
+                evictOverLimit();
+            }
+        }
+        return cbor;
+    }
+
+    // Só após o commit, para que nenhuma leitura concorrente volte a guardar os dados antigos
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onTaskChanged(TaskChangedEvent event) {
+        evict(event.affectedUserIds());
+    }
+
+    // Dados do usuário aparecem embutidos nas tarefas (responsáveis e criador)
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onUserChanged(UserChangedEvent event) {
+        if (event.type() != ChangeType.CREATED) {
+            evictAll();
+        }
+    }
+
+    /**
+     * Invalida as listas dos usuários informados.
+     */
+    public void evict(Collection<Long> userIds) {
+        if (userIds == null || userIds.isEmpty()) {
+            return;
+        }
+        synchronized (this) {
+            for (Long userId : userIds) {
+                generations.merge(userId, 1L, Long::sum);
+                remove(userId);
+            }
+        }
+        invalidations.add(userIds.size());
+    }
+
+    /**
+     * Invalida todas as listas.
+     */
+    public void evictAll() {
+        synchronized (this) {
+            globalGeneration++;
+            entries.clear();
+            currentBytes = 0;
+        }
+        invalidations.increment();
+    }
+
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    public synchronized long bytes() {
+        return currentBytes;
+    }
+
+    public long hitCount() {
+        return hits.sum();
+    }
+
+    public long missCount() {
+        return misses.sum();
+    }
+
+    // Chamado com o lock; as duas gerações só crescem, então a soma também
+    private long generationOf(Long userId) {
+        return globalGeneration + generations.getOrDefault(userId, 0L);
+    }
+
+    // Chamado com o lock
+    private void put(Long userId, byte[] json) {
+        remove(userId);
+        Entry entry = new Entry(json);
+        entries.put(userId, entry);
+        currentBytes += entry.bytes();
+        evictOverLimit();
+    }
+
+    // Chamado com o lock
+    private void evictOverLimit() {
+        Iterator<Map.Entry<Long, Entry>> eldest = entries.entrySet().iterator();
+        while (currentBytes > maxBytes && eldest.hasNext()) {
+            Map.Entry<Long, Entry> entry = eldest.next();
+            currentBytes -= entry.getValue().bytes();
+            eldest.remove();
+            evictions.increment();
+        }
+    }
+
+    // Chamado com o lock
+    private void remove(Long userId) {
+        Entry previous = entries.remove(userId);
+        if (previous != null) {
+            currentBytes -= previous.bytes();
+        }
+    }
+}
@@ -0,0 +1,426 @@
+package com.ilungi.gestora.servicies;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.stream.Stream;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.ilungi.gestora.repositories.TaskExportRow;
+import com.ilungi.gestora.repositories.TaskRepository;
+
+/**
+ * Índice invertido em memória sobre título e descrição das tarefas (GET /tasks/search).
+ *
+ * Termo -> lista ordenada de IDs com o peso do termo em cada tarefa (título vale
+ * mais que descrição). Construído no startup e atualizado a cada escrita pelo
+ * TaskChangedEvent, que já traz título, descrição e responsáveis.
+ */
+@Component
+public class TaskSearchIndex {
+
+    private static final Logger logger = LoggerFactory.getLogger(TaskSearchIndex.class);
+
+    private static final int TITLE_WEIGHT = 3;
+    private static final int DESCRIPTION_WEIGHT = 1;
+
+    // Quantos termos o prefixo da última palavra pode expandir
+    private static final int MAX_PREFIX_TERMS = 64;
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    // Protegidos pelo lock
+    private final TreeMap<String, Postings> dictionary = new TreeMap<>();
+    private final Map<Long, Document> documents = new HashMap<>();
+
+    // Escritas que chegam durante a construção inicial são reaplicadas no final
+    private boolean building;
+    private final List<TaskChangedEvent> pendingDuringBuild = new ArrayList<>();
+    private volatile boolean ready;
+
+    /**
+     * Resultado ordenado por relevância, já filtrado pela visibilidade.
+     */
+    public record SearchResult(List<Long> taskIds, int total) {}
+
+    private record Document(String[] terms, long[] responsibleIds) {}
+
+    // Carga completa numa thread própria: o startup não espera por ela e, até terminar,
+    // /tasks/search vai ao banco (isReady)
+    @EventListener(ApplicationReadyEvent.class)
+    public void buildInBackground() {
+        Thread.ofVirtual().name("task-search-index").start(this::build);
+    }
+
+    public void build() {
+        synchronized (pendingDuringBuild) {
+            building = true;
+        }
+        long start = System.currentTimeMillis();
+        try {
+            Map<String, Postings> newDictionary = new HashMap<>();
+            Map<Long, Document> newDocuments = new HashMap<>();
+            TransactionTemplate readOnly = new TransactionTemplate(transactionManager);
+            readOnly.setReadOnly(true);
+            readOnly.executeWithoutResult(status -> {
+                // Mesmo cursor da exportação: uma linha por responsável, ordenadas por tarefa
+                try (Stream<TaskExportRow> rows = taskRepository.streamForExport()) {
+                    Iterator<TaskExportRow> iterator = rows.iterator();
+                    TaskExportRow current = null;
+                    List<Long> responsibles = new ArrayList<>();
+                    while (iterator.hasNext()) {
+                        TaskExportRow row = iterator.next();
+                        if (current != null && !current.id().equals(row.id())) {
+                            addDocument(newDictionary, newDocuments, current.id(), current.title(),
+                                current.description(), responsibles);
+                            responsibles = new ArrayList<>();
+                        }
+                        current = row;
+                        if (row.responsibleId() != null) {
+                            responsibles.add(row.responsibleId());
+                        }
+                    }
+                    if (current != null) {
+                        addDocument(newDictionary, newDocuments, current.id(), current.title(),
+                            current.description(), responsibles);
+                    }
+                }
+            });
+
+            lock.writeLock().lock();
+            try {
+                dictionary.clear();
+                dictionary.putAll(newDictionary);
+                documents.clear();
+                documents.putAll(newDocuments);
+                synchronized (pendingDuringBuild) {
+                    pendingDuringBuild.forEach(this::apply);
+                    pendingDuringBuild.clear();
+                    building = false;
+                }
+            } finally {
+                lock.writeLock().unlock();
+            }
+            ready = true;
+            logger.info("Índice de busca de tarefas: {} tarefas, {} termos em {} ms",
+                newDocuments.size(), newDictionary.size(), System.currentTimeMillis() - start);
+        } catch (RuntimeException e) {
+            logger.error("Falha ao construir o índice de busca de tarefas; a busca continua pelo banco", e);
+        } finally {
+            // Em caso de falha as escritas voltam a ser aplicadas direto (o índice segue não pronto)
+            synchronized (pendingDuringBuild) {
+                pendingDuringBuild.clear();
+                building = false;
+            }
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onTaskChanged(TaskChangedEvent event) {
+        synchronized (pendingDuringBuild) {
+            if (building) {
+                pendingDuringBuild.add(event);
+                return;
+            }
+        }
+        lock.writeLock().lock();
+        try {
+            apply(event);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Busca com todos os termos da consulta (a última palavra também casa como prefixo).
+     * userId null = sem filtro de visibilidade (ADMIN).
+     */
+    public SearchResult search(String query, Long userId, int limit) {
+        List<String> terms = TextAnalyzer.terms(query);
+        if (terms.isEmpty()) {
+            return new SearchResult(List.of(), 0);
+        }
+        // O prefixo usa a última palavra digitada (sem remoção de plural), se ela virou o último termo
+        List<String> rawTokens = rawTokens(query);
+        String prefix = rawTokens.isEmpty() ? null : rawTokens.get(rawTokens.size() - 1);
+        if (prefix != null && !TextAnalyzer.terms(prefix).equals(List.of(terms.get(terms.size() - 1)))) {
+            prefix = null;
+        }
+
+        lock.readLock().lock();
+        try {
+            int documentCount = Math.max(1, documents.size());
+            List<TermMatcher> matchers = new ArrayList<>(terms.size());
+            for (int i = 0; i < terms.size(); i++) {
+                boolean last = i == terms.size() - 1;
+                TermMatcher matcher = new TermMatcher(dictionary.get(terms.get(i)), documentCount);
+                if (last && prefix != null && prefix.length() >= 2) {
+                    addPrefixMatches(matcher, prefix, terms.get(i), documentCount);
+                }
+                if (matcher.isEmpty()) {
+                    return new SearchResult(List.of(), 0);
+                }
+                matchers.add(matcher);
+            }
+
+            // Percorre o termo mais raro; os demais são consultados por busca binária
+            matchers.sort((a, b) -> Integer.compare(a.size(), b.size()));
+            PriorityQueue<Map.Entry<Long, Double>> top = new PriorityQueue<>(
+                (a, b) -> a.getValue().equals(b.getValue())
+                    ? Long.compare(b.getKey(), a.getKey())
+                    : Double.compare(a.getValue(), b.getValue()));
+            int total = 0;
+
+            candidateLoop:
+            for (long taskId : matchers.get(0).candidates()) {
+                double score = 0;
+                for (TermMatcher matcher : matchers) {
+                    double termScore = matcher.score(taskId);
+                    if (termScore <= 0) {
+                        continue candidateLoop;
+                    }
+                    score += termScore;
+                }
+                if (userId != null && !isVisible(documents.get(taskId), userId)) {
+                    continue;
+                }
+                total++;
+                top.add(Map.entry(taskId, score));
+                if (top.size() > limit) {
+                    top.poll();
+                }
+            }
+
+            Long[] ranked = new Long[top.size()];
+            for (int i = ranked.length - 1; i >= 0; i--) {
+                ranked[i] = top.poll().getKey();
+            }
+            return new SearchResult(Arrays.asList(ranked), total);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return documents.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // Chamado com o write lock
+    private void apply(TaskChangedEvent event) {
+        removeDocument(event.taskId());
+        if (event.type() != ChangeType.DELETED) {
+            addDocument(dictionary, documents, event.taskId(), event.title(), event.description(),
+                event.responsibleIds());
+        }
+    }
+
+    private static void addDocument(Map<String, Postings> dictionary, Map<Long, Document> documents,
+                                    Long taskId, String title, String description,
+                                    Collection<Long> responsibleIds) {
+        Map<String, Integer> weights = new HashMap<>();
+        for (String term : TextAnalyzer.terms(title)) {
+            weights.merge(term, TITLE_WEIGHT, Integer::sum);
+        }
+        for (String term : TextAnalyzer.terms(description)) {
+            weights.merge(term, DESCRIPTION_WEIGHT, Integer::sum);
+        }
+        for (Map.Entry<String, Integer> entry : weights.entrySet()) {
+            dictionary.computeIfAbsent(entry.getKey(), term -> new Postings()).put(taskId, entry.getValue());
+        }
+
+        long[] responsibles = responsibleIds.stream().mapToLong(Long::longValue).sorted().toArray();
+        documents.put(taskId, new Document(weights.keySet().toArray(String[]::new), responsibles));
+    }
+
+    // Chamado com o write lock
+    private void removeDocument(Long taskId) {
+        Document document = documents.remove(taskId);
+        if (document == null) {
+            return;
+        }
+        for (String term : document.terms()) {
+            Postings postings = dictionary.get(term);
+            if (postings != null && postings.remove(taskId) && postings.size == 0) {
+                dictionary.remove(term);
+            }
+        }
+    }
+
+    private void addPrefixMatches(TermMatcher matcher, String prefix, String exactTerm, int documentCount) {
+        NavigableMap<String, Postings> range = dictionary.subMap(prefix, true, prefix + Character.MAX_VALUE, false);
+        int expanded = 0;
+        for (Map.Entry<String, Postings> entry : range.entrySet()) {
+            if (expanded++ >= MAX_PREFIX_TERMS) {
+                break;
+            }
+            if (!entry.getKey().equals(exactTerm)) {
+                matcher.addPrefix(entry.getValue(), documentCount);
+            }
+        }
+    }
+
+    // tf * idf simples
+    private static double idf(Postings postings, int documentCount) {
+        return Math.log(1.0 + (double) documentCount / postings.size);
+    }
+
+    private static boolean isVisible(Document document, Long userId) {
+        return document != null && Arrays.binarySearch(document.responsibleIds(), userId) >= 0;
+    }
+
+    // Tokens da consulta só com minúsculas/acentos removidos
+    private static List<String> rawTokens(String query) {
+        List<String> tokens = new ArrayList<>();
+        Set<String> seen = new HashSet<>();
+        for (String token : TextAnalyzer.fold(query).split("[^\\p{L}\\p{N}]+")) {
+            if (!token.isEmpty() && seen.add(token)) {
+                tokens.add(token);
+            }
+        }
+        return tokens;
+    }
+
+    /**
+     * Um termo da consulta: o termo exato e, na última palavra, os termos com o mesmo prefixo
+     * (valem metade; conta apenas o melhor deles para cada tarefa).
+     */
+    private static final class TermMatcher {
+        private final Postings exact;
+        private final double exactIdf;
+        private final List<Postings> prefixes = new ArrayList<>();
+        private final List<Double> prefixIdfs = new ArrayList<>();
+
+        TermMatcher(Postings exact, int documentCount) {
+            this.exact = exact;
+            this.exactIdf = exact != null ? idf(exact, documentCount) : 0;
+        }
+
+        void addPrefix(Postings postings, int documentCount) {
+            prefixes.add(postings);
+            prefixIdfs.add(idf(postings, documentCount) * 0.5);
+        }
+
+        boolean isEmpty() {
+            return exact == null && prefixes.isEmpty();
+        }
+
+        int size() {
+            int size = exact != null ? exact.size : 0;
+            for (Postings postings : prefixes) {
+                size += postings.size;
+            }
+            return size;
+        }
+
+        // IDs distintos que casam com o termo
+        long[] candidates() {
+            if (prefixes.isEmpty()) {
+                return Arrays.copyOf(exact.ids, exact.size);
+            }
+            Set<Long> ids = new HashSet<>();
+            if (exact != null) {
+                for (int i = 0; i < exact.size; i++) {
+                    ids.add(exact.ids[i]);
+                }
+            }
+            for (Postings postings : prefixes) {
+                for (int i = 0; i < postings.size; i++) {
+                    ids.add(postings.ids[i]);
+                }
+            }
+            return ids.stream().mapToLong(Long::longValue).toArray();
+        }
+
+        // 0 = a tarefa não contém o termo
+        double score(long taskId) {
+            double score = 0;
+            if (exact != null) {
+                int index = Arrays.binarySearch(exact.ids, 0, exact.size, taskId);
+                if (index >= 0) {
+                    score += exact.weights[index] * exactIdf;
+                }
+            }
+            double bestPrefix = 0;
+            for (int p = 0; p < prefixes.size(); p++) {
+                Postings postings = prefixes.get(p);
+                int index = Arrays.binarySearch(postings.ids, 0, postings.size, taskId);
+                if (index >= 0) {
+                    bestPrefix = Math.max(bestPrefix, postings.weights[index] * prefixIdfs.get(p));
+                }
+            }
+            return score + bestPrefix;
+        }
+    }
+
+    /**
+     * Lista de IDs ordenada (busca binária) com o peso de cada tarefa.
+     */
+    static final class Postings {
+        long[] ids = new long[4];
+        int[] weights = new int[4];
+        int size;
+
+        void put(long taskId, int weight) {
+            int index = Arrays.binarySearch(ids, 0, size, taskId);
+            if (index >= 0) {
+                weights[index] = weight;
+                return;
+            }
+            index = -index - 1;
+            if (size == ids.length) {
+                ids = Arrays.copyOf(ids, size * 2);
+                weights = Arrays.copyOf(weights, size * 2);
+            }
+            System.arraycopy(ids, index, ids, index + 1, size - index);
+            System.arraycopy(weights, index, weights, index + 1, size - index);
+            ids[index] = taskId;
+            weights[index] = weight;
+            size++;
+        }
+
+        boolean remove(long taskId) {
+            int index = Arrays.binarySearch(ids, 0, size, taskId);
+            if (index < 0) {
+                return false;
+            }
+            System.arraycopy(ids, index + 1, ids, index, size - index - 1);
+            System.arraycopy(weights, index + 1, weights, index, size - index - 1);
+            size--;
+            return true;
+        }
+    }
+}
@@ -3,18 +3,40 @@ package com.ilungi.gestora.servicies;
 import java.text.SimpleDateFormat;
 import java.util.ArrayList;
 import java.util.Date;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.Set;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.data.repository.CrudRepository;
+import org.springframework.http.HttpStatus;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.server.ResponseStatusException;
 
+import tools.jackson.databind.json.JsonMapper;
+import tools.jackson.dataformat.cbor.CBORMapper;
+
+import com.ilungi.gestora.repositories.TaskFilter;
 import com.ilungi.gestora.repositories.TaskRepository;
+import com.ilungi.gestora.repositories.TaskSpecifications;
+import com.ilungi.gestora.repositories.TaskStatusCount;
 import com.ilungi.gestora.repositories.UserRepository;
 
 import com.ilungi.gestora.config.SecurityUtil;
@@ -35,7 +57,32 @@ public class TaskService {
     @Autowired
     private SecurityUtil securityUtil;
     
+    @Autowired
+    private TaskListCache taskListCache;
+    
+    @Autowired
+    private JsonMapper jsonMapper;
+    
+    @Autowired
+    private CBORMapper cborMapper;
+    
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+    
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+    
+    @Autowired
+    private TaskSyncService taskSyncService;
+    
+    @Autowired
+    private TaskSearchIndex taskSearchIndex;
+    
+    @Autowired
+    private SparseReadService sparseReadService;
+    
     
+    @Transactional(readOnly = true)
     public List<Task> findAll() {
         User currentUser = securityUtil.getCurrentUser();
         
@@ -48,6 +95,7 @@ public class TaskService {
     }
     
     
+    @Transactional(readOnly = true)
     public Task findById(Long id) {
         Task task = taskRepository.findById(id)
             .orElseThrow(() -> new RuntimeException("Task não encontrada"));
@@ -98,11 +146,32 @@ public class TaskService {
                 userRepository.save(managedUser);
             }
         }
+        taskChanged(savedTask, ChangeType.CREATED, Set.of());
 		return savedTask;
         
       }
     
     
+    // Importação em lote (ImportService): responsáveis já carregados, uma transação por bloco
+    @Transactional
+    public List<Task> createTasksBulk(List<Task> tasks, User createdBy) {
+        for (Task task : tasks) {
+            task.setCreatedBy(createdBy);
+            task.setVersion(null);
+            if (task.getCreateAt() == null) {
+                task.setCreateAt(new Date());
+            }
+            if (task.getStatus() == null) {
+                task.setStatus(TaskStatus.PENDING);
+            }
+        }
+        List<Task> savedTasks = taskRepository.saveAll(tasks);
+        for (Task savedTask : savedTasks) {
+            taskChanged(savedTask, ChangeType.CREATED, Set.of());
+        }
+        return savedTasks;
+    }
+    
     @Transactional
     public Task createTask(Task task) {
         User currentUser = securityUtil.getCurrentUser();
@@ -143,16 +212,27 @@ public class TaskService {
         task.setCreatedBy(currentUser);
         
         task.setCreateAt(new Date());
+        task.setVersion(null); // versão é controlada pelo Hibernate
         if (task.getStatus() == null) {
             task.setStatus(TaskStatus.PENDING);
         }
         
-        return taskRepository.save(task);
+        Task savedTask = taskRepository.save(task);
+        taskChanged(savedTask, ChangeType.CREATED, Set.of());
+        return savedTask;
     }
     
     @Transactional
     public Task updateTask(Long id, Task taskUpdates) {
+        return updateTask(id, taskUpdates, null);
+    }
+    
+    // expectedVersion (do If-Match) != null: 412 se a task mudou desde a leitura do cliente
+    @Transactional
+    public Task updateTask(Long id, Task taskUpdates, Long expectedVersion) {
         Task task = findById(id); // Já valida permissão
+        checkVersion(task, expectedVersion);
+        Set<Long> previousResponsibles = responsibleIds(task);
         
         User currentUser = securityUtil.getCurrentUser();
         
@@ -205,7 +285,9 @@ public class TaskService {
             }
         }
         
-        return taskRepository.save(task);
+        Task savedTask = taskRepository.save(task);
+        taskChanged(savedTask, ChangeType.UPDATED, previousResponsibles);
+        return savedTask;
     }
     
     
@@ -228,11 +310,17 @@ public class TaskService {
         }
         
         taskRepository.delete(task);
+        taskChanged(task, ChangeType.DELETED, responsibleIds(task));
     }
     
     // Métodos específicos para USER
     @Transactional
     public Task updateMyTaskStatus(Long taskId, TaskStatus status) {
+        return updateMyTaskStatus(taskId, status, null);
+    }
+    
+    @Transactional
+    public Task updateMyTaskStatus(Long taskId, TaskStatus status, Long expectedVersion) {
         Task task = taskRepository.findById(taskId)
             .orElseThrow(() -> new RuntimeException("Task não encontrada"));
         
@@ -245,18 +333,189 @@ public class TaskService {
         if (!isResponsible) {
             throw new RuntimeException("Você só pode atualizar suas próprias tasks");
         }
+        // Depois da permissão: quem não é responsável não descobre a versão pelo 412
+        checkVersion(task, expectedVersion);
         
         task.setStatus(status);
-        return taskRepository.save(task);
+        Task savedTask = taskRepository.save(task);
+        taskChanged(savedTask, ChangeType.UPDATED, responsibleIds(savedTask));
+        return savedTask;
     }
     
+    @Transactional(readOnly = true)
     public List<Task> findMyTasks() {
         User currentUser = securityUtil.getCurrentUser();
         return taskRepository.findByResponsiblesContaining(currentUser);
     }
     
+    // Resumo por status das tarefas do usuário atual (GET /tasks/my-stats e /bootstrap)
+    @Transactional(readOnly = true)
+    public Map<String, Object> getMyTaskSummary() {
+        // Contagem agrupada no banco: nenhuma task é carregada
+        Map<TaskStatus, Long> counts = new EnumMap<>(TaskStatus.class);
+        long total = 0;
+        for (TaskStatusCount count : taskRepository.countGroupedByStatusForResponsible(securityUtil.getCurrentUserId())) {
+            counts.put(count.status(), count.count());
+            total += count.count();
+        }
+        
+        Map<String, Object> stats = new HashMap<>();
+        stats.put("totalTasks", total);
+        stats.put("pending", counts.getOrDefault(TaskStatus.PENDING, 0L));
+        stats.put("doing", counts.getOrDefault(TaskStatus.DOING, 0L));
+        stats.put("done", counts.getOrDefault(TaskStatus.DONE, 0L));
+        return stats;
+    }
+    
+    // Lista de tarefas do usuário atual já serializada em JSON, servida pelo TaskListCache
+    public byte[] findMyTasksJson() {
+        Long userId = securityUtil.getCurrentUserId();
+        return taskListCache.get(userId, () -> loadMyTasksJson(userId));
+    }
+    
+    private byte[] loadMyTasksJson(Long userId) {
+        return readOnlyTransaction().execute(status -> {
+            // A serialização acontece dentro da transação para carregar os responsáveis (lazy)
+            List<Task> tasks = taskRepository.findByResponsiblesContaining(userRepository.getReferenceById(userId));
+            return jsonMapper.writeValueAsBytes(tasks);
+        });
+    }
+    
+    // Accept: application/cbor em /tasks/my-tasks: convertido do JSON uma vez e guardado ao lado dele
+    public byte[] findMyTasksCbor() {
+        Long userId = securityUtil.getCurrentUserId();
+        return taskListCache.getCbor(userId, () -> loadMyTasksJson(userId),
+            json -> cborMapper.writeValueAsBytes(jsonMapper.readTree(json)));
+    }
+    
+    // Busca textual pelo índice em memória; só a página de resultados é lida do banco
+    public Map<String, Object> searchTasks(String query, int limit) {
+        limit = Math.max(1, Math.min(limit, 100));
+        Long userId = securityUtil.hasRole(Role.ADMIN) ? null : securityUtil.getCurrentUserId();
+        TaskSearchIndex.SearchResult result = taskSearchIndex.search(query, userId, limit);
+        
+        List<TaskSummary> tasks = result.taskIds().isEmpty() ? List.of()
+            : readOnlyTransaction().execute(status -> {
+                // Tasks e responsáveis numa única consulta (TaskSummary lê os responsáveis)
+                Map<Long, Task> byId = taskRepository.fetchResponsibles(result.taskIds()).stream()
+                    .collect(Collectors.toMap(Task::getId, Function.identity()));
+                // Mantém a ordem de relevância
+                return result.taskIds().stream()
+                    .map(byId::get)
+                    .filter(Objects::nonNull)
+                    .map(TaskSummary::from)
+                    .toList();
+            });
+        
+        Map<String, Object> response = new HashMap<>();
+        response.put("query", query);
+        response.put("total", result.total());
+        response.put("results", tasks);
+        return response;
+    }
+    
+    // Campos aceitos em "sort" de GET /tasks/query
+    private static final Set<String> QUERY_SORT_FIELDS = Set.of("id", "title", "status", "createAt", "endDate", "daysToFinish");
+    
+    // Filtros compostos (Specifications) com paginação; USER só vê as tasks em que é responsável
+    // fields != null: página com apenas as colunas pedidas (?fields=)
+    public Map<String, Object> queryTasks(TaskFilter filter, String sort, int page, int size, FieldSelection fields) {
+        size = Math.max(1, Math.min(size, 100));
+        if (!securityUtil.hasRole(Role.ADMIN)) {
+            Long userId = securityUtil.getCurrentUserId();
+            if (filter.responsibleId() != null && !filter.responsibleId().equals(userId)) {
+                return pageResponse(List.of(), Math.max(page, 0), size, 0);
+            }
+            filter = new TaskFilter(filter.statuses(), userId, filter.createdById(), filter.endDateFrom(),
+                filter.endDateTo(), filter.createdFrom(), filter.createdTo(), filter.overdue());
+        }
+        Specification<Task> specification = TaskSpecifications.of(filter, new Date());
+        Pageable pageable = PageRequest.of(Math.max(page, 0), size, parseSort(sort));
+        
+        if (fields != null) {
+            Page<Map<String, Object>> result = sparseReadService.findTaskPage(specification, pageable, fields);
+            return pageResponse(result.getContent(), result.getNumber(), size, result.getTotalElements());
+        }
+        return readOnlyTransaction().execute(status -> {
+            Page<Task> result = taskRepository.findAll(specification, pageable);
+            if (result.hasContent()) {
+                // Mesmo contexto de persistência: preenche os responsáveis das entidades da página
+                taskRepository.fetchResponsibles(result.getContent().stream().map(Task::getId).toList());
+            }
+            List<TaskSummary> tasks = result.getContent().stream().map(TaskSummary::from).toList();
+            return pageResponse(tasks, result.getNumber(), result.getSize(), result.getTotalElements());
+        });
+    }
+    
+    // "campo" ou "campo,asc|desc"; o id desempata para a paginação ser estável
+    private static Sort parseSort(String sort) {
+        String[] parts = sort == null || sort.isBlank() ? new String[] { "createAt", "desc" } : sort.split(",");
+        String field = parts[0].trim();
+        if (!QUERY_SORT_FIELDS.contains(field)) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Ordenação inválida: " + field);
+        }
+        Sort.Direction direction = parts.length > 1
+            ? Sort.Direction.fromOptionalString(parts[1].trim()).orElseThrow(() ->
+                new ResponseStatusException(HttpStatus.BAD_REQUEST, "Direção inválida: " + parts[1].trim()))
+            : Sort.Direction.ASC;
+        Sort order = Sort.by(direction, field);
+        return field.equals("id") ? order : order.and(Sort.by(direction, "id"));
+    }
+    
+    private static Map<String, Object> pageResponse(List<?> tasks, int page, int size, long total) {
+        Map<String, Object> response = new HashMap<>();
+        response.put("content", tasks);
+        response.put("page", page);
+        response.put("size", size);
+        response.put("totalElements", total);
+        response.put("totalPages", (total + size - 1) / size);
+        return response;
+    }
+    
+    // ?fields= em GET /tasks, /tasks/my-tasks e listas do admin: mesma visibilidade das
+    // leituras completas, mas só as colunas pedidas (sem cache nem entidades)
+    public List<Map<String, Object>> findTaskFields(FieldSelection fields) {
+        if (securityUtil.hasRole(Role.ADMIN)) {
+            return sparseReadService.findTasks(null, Pageable.unpaged(Sort.by("id")), fields);
+        }
+        return findMyTaskFields(fields);
+    }
+    
+    public List<Map<String, Object>> findMyTaskFields(FieldSelection fields) {
+        return findTaskFieldsByResponsible(securityUtil.getCurrentUserId(), fields);
+    }
+    
+    @PreAuthorize("hasRole('ADMIN')")
+    public List<Map<String, Object>> findTaskFieldsByUser(Long userId, FieldSelection fields) {
+        if (!userRepository.existsById(userId)) {
+            throw new RuntimeException("Usuário não encontrado");
+        }
+        return findTaskFieldsByResponsible(userId, fields);
+    }
+    
+    private List<Map<String, Object>> findTaskFieldsByResponsible(Long userId, FieldSelection fields) {
+        TaskFilter filter = new TaskFilter(null, userId, null, null, null, null, null, false);
+        return sparseReadService.findTasks(TaskSpecifications.of(filter, new Date()),
+            Pageable.unpaged(Sort.by("id")), fields);
+    }
+    
+    // Mesmas regras de findById: USER só lê tasks em que é responsável
+    public Map<String, Object> findTaskFieldsById(Long id, FieldSelection fields) {
+        Specification<Task> specification = TaskSpecifications.hasId(id);
+        if (!securityUtil.hasRole(Role.ADMIN)) {
+            TaskFilter filter = new TaskFilter(null, securityUtil.getCurrentUserId(), null, null, null, null, null, false);
+            specification = specification.and(TaskSpecifications.of(filter, new Date()));
+        }
+        List<Map<String, Object>> rows = sparseReadService.findTasks(specification, Pageable.unpaged(), fields);
+        if (rows.isEmpty()) {
+            throw new RuntimeException("Task não encontrada");
+        }
+        return rows.get(0);
+    }
+    
     // Métodos apenas para ADMIN
     @PreAuthorize("hasRole('ADMIN')")
+    @Transactional(readOnly = true)
     public List<Task> findAllTasksAdmin() {
         return taskRepository.findAll();
     }
@@ -275,7 +534,9 @@ public class TaskService {
             task.getResponsibles().add(user);
         }
         
-        return taskRepository.save(task);
+        Task savedTask = taskRepository.save(task);
+        taskChanged(savedTask, ChangeType.UPDATED, responsibleIds(savedTask));
+        return savedTask;
     }
     
     @PreAuthorize("hasRole('ADMIN')")
@@ -293,7 +554,9 @@ public class TaskService {
             }
         }
         
-        return taskRepository.save(task);
+        Task savedTask = taskRepository.save(task);
+        taskChanged(savedTask, ChangeType.UPDATED, responsibleIds(savedTask));
+        return savedTask;
     }
     
     @PreAuthorize("hasRole('ADMIN')")
@@ -305,12 +568,16 @@ public class TaskService {
         User user = userRepository.findById(userId)
             .orElseThrow(() -> new RuntimeException("Usuário não encontrado"));
         
+        Set<Long> previousResponsibles = responsibleIds(task);
         task.getResponsibles().remove(user);
         
-        return taskRepository.save(task);
+        Task savedTask = taskRepository.save(task);
+        taskChanged(savedTask, ChangeType.UPDATED, previousResponsibles);
+        return savedTask;
     }
     
     @PreAuthorize("hasRole('ADMIN')")
+    @Transactional(readOnly = true)
     public List<Task> findTasksByUser(Long userId) {
         User user = userRepository.findById(userId)
             .orElseThrow(() -> new RuntimeException("Usuário não encontrado"));
@@ -318,6 +585,7 @@ public class TaskService {
     }
     
     //para estatísticas
+    @Transactional(readOnly = true)
     public Map<TaskStatus, Long> getMyTaskStats() {
         User currentUser = securityUtil.getCurrentUser();
         List<Task> myTasks = taskRepository.findByResponsiblesContaining(currentUser);
@@ -331,6 +599,7 @@ public class TaskService {
     
     // Método para ADMIN ver estatísticas gerais
     @PreAuthorize("hasRole('ADMIN')")
+    @Transactional(readOnly = true)
     public Map<TaskStatus, Long> getAllTaskStats() {
         List<Task> allTasks = taskRepository.findAll();
         
@@ -340,4 +609,48 @@ public class TaskService {
                 Collectors.counting()
             ));
     }
+    
+    // Registra a alteração para o delta-sync e notifica cache, watermarks etc.
+    // O evento é publicado quando a sequência é atribuída, no commit (os listeners rodam após o commit)
+    private void taskChanged(Task task, ChangeType type, Set<Long> previousResponsibles) {
+        Set<Long> currentResponsibles = type == ChangeType.DELETED ? Set.of() : responsibleIds(task);
+        Long taskId = task.getId();
+        Long createdById = task.getCreatedBy() != null ? task.getCreatedBy().getId() : null;
+        String title = task.getTitle();
+        String description = task.getDescription();
+        taskSyncService.recordChange(task, type, previousResponsibles, currentResponsibles, seq ->
+            eventPublisher.publishEvent(new TaskChangedEvent(taskId, type, seq, createdById,
+                previousResponsibles, currentResponsibles, title, description)));
+    }
+    
+    // Concorrência entre a leitura e a gravação é detectada pelo @Version no flush (mesma exceção)
+    // If-Match com outra versão: 412 (o 409 fica para a escrita concorrente pega pelo @Version)
+    private void checkVersion(Task task, Long expectedVersion) {
+        long version = task.getVersion() != null ? task.getVersion() : 0L;
+        if (expectedVersion != null && expectedVersion != version) {
+            throw new ResponseStatusException(HttpStatus.PRECONDITION_FAILED,
+                "A task foi alterada desde a última leitura");
+        }
+    }
+    
+    // IDs dos responsáveis da tarefa (usuários cujas listas são afetadas)
+    private Set<Long> responsibleIds(Task task) {
+        Set<Long> ids = new LinkedHashSet<>();
+        if (task.getResponsibles() != null) {
+            for (User user : task.getResponsibles()) {
+                if (user.getId() != null) {
+                    ids.add(user.getId());
+                }
+            }
+        }
+        return ids;
+    }
+    
+    // Nomeada como as transações @Transactional deste serviço: pode ser roteada para a réplica
+    private TransactionTemplate readOnlyTransaction() {
+        TransactionTemplate template = new TransactionTemplate(transactionManager);
+        template.setName(TaskService.class.getName() + ".readOnlyTransaction");
+        template.setReadOnly(true);
+        return template;
+    }
 }
@@ -0,0 +1,40 @@
+package com.ilungi.gestora.servicies;
+
+import java.util.Date;
+import java.util.List;
+
+import com.ilungi.gestora.entities.Task;
+import com.ilungi.gestora.entities.TaskStatus;
+import com.ilungi.gestora.entities.User;
+
+/**
+ * Forma compacta da tarefa: responsáveis e criador apenas por ID.
+ */
+public record TaskSummary(
+        Long id,
+        String title,
+        String description,
+        TaskStatus status,
+        Date createAt,
+        Date endDate,
+        Integer daysToFinish,
+        Long createdById,
+        List<Long> responsibleIds,
+        Long changeSeq) {
+
+    public static TaskSummary from(Task task) {
+        List<Long> responsibleIds = task.getResponsibles() == null ? List.of()
+            : task.getResponsibles().stream().map(User::getId).toList();
+        return new TaskSummary(
+            task.getId(),
+            task.getTitle(),
+            task.getDescription(),
+            task.getStatus(),
+            task.getCreateAt(),
+            task.getEndDate(),
+            task.getDaysToFinish(),
+            task.getCreatedBy() != null ? task.getCreatedBy().getId() : null,
+            responsibleIds,
+            task.getChangeSeq());
+    }
+}
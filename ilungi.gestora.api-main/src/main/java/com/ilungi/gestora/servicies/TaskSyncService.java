@@ -0,0 +1,324 @@
+package com.ilungi.gestora.servicies;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongConsumer;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.ilungi.gestora.config.SecurityUtil;
+import com.ilungi.gestora.entities.ChangeSequence;
+import com.ilungi.gestora.entities.Role;
+import com.ilungi.gestora.entities.Task;
+import com.ilungi.gestora.entities.TaskTombstone;
+import com.ilungi.gestora.repositories.ChangeSequenceRepository;
+import com.ilungi.gestora.repositories.TaskRepository;
+import com.ilungi.gestora.repositories.TaskTombstoneRepository;
+import com.ilungi.gestora.repositories.UserRepository;
+
+import jakarta.annotation.PreDestroy;
+
+/**
+ * Delta-sync de tarefas: cada escrita recebe um número de sequência
+ * (tarefa alterada ou tombstone de remoção) e os clientes pedem apenas
+ * o que mudou depois do último cursor que receberam.
+ *
+ * Tombstones mais antigos que app.sync.tombstone-retention-days são apagados
+ * periodicamente; cursores anteriores ao que foi apagado recebem a lista completa
+ * (resync) em vez de um delta incompleto.
+ */
+@Service
+public class TaskSyncService {
+
+    static final String SEQUENCE = "tasks";
+
+    // Maior sequência de tombstone já apagada: cursores abaixo dela precisam de resync
+    static final String PURGED_SEQUENCE = "tasks-purged";
+
+    private static final int MAX_LIMIT = 1000;
+
+    private static final Logger logger = LoggerFactory.getLogger(TaskSyncService.class);
+
+    private final ScheduledExecutorService purger = Executors.newSingleThreadScheduledExecutor(
+        runnable -> Thread.ofPlatform().name("tombstone-purge").daemon().unstarted(runnable));
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private TaskTombstoneRepository tombstoneRepository;
+
+    @Autowired
+    private ChangeSequenceRepository sequenceRepository;
+
+    @Autowired
+    private SecurityUtil securityUtil;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Value("${app.sync.tombstone-retention-days:30}")
+    private int retentionDays;
+
+    @Value("${app.sync.purge-interval-ms:3600000}")
+    private long purgeIntervalMillis;
+
+    // Uma escrita registrada na transação atual, à espera da sequência (atribuída no commit)
+    private record PendingChange(Task task, ChangeType type, Set<Long> previousResponsibles,
+                                 Set<Long> currentResponsibles, LongConsumer onSequence) {
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional
+    public void ensureSequence() {
+        if (!sequenceRepository.existsById(SEQUENCE)) {
+            sequenceRepository.save(new ChangeSequence(SEQUENCE, 0L));
+        }
+        if (!sequenceRepository.existsById(PURGED_SEQUENCE)) {
+            sequenceRepository.save(new ChangeSequence(PURGED_SEQUENCE, 0L));
+        }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void startPurge() {
+        purger.scheduleWithFixedDelay(this::purgeExpiredTombstones, purgeIntervalMillis, purgeIntervalMillis,
+            TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        purger.shutdownNow();
+    }
+
+    /**
+     * Registra uma escrita na transação atual (chamado pelo TaskService no fim de cada escrita).
+     * Usuários que deixaram de ser responsáveis recebem um tombstone; exclusões também
+     * recebem um tombstone sem usuário para a visão ADMIN.
+     *
+     * A sequência só é atribuída no commit (ver assignSequences) e entregue a onSequence,
+     * ainda dentro da transação.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void recordChange(Task task, ChangeType type, Set<Long> previousResponsibles, Set<Long> currentResponsibles,
+                             LongConsumer onSequence) {
+        pendingChanges().add(new PendingChange(task, type, previousResponsibles, currentResponsibles, onSequence));
+    }
+
+    /**
+     * Alterações visíveis ao usuário atual depois do cursor "since".
+     * O cliente aplica "removed" e depois "changes", e guarda "cursor" para a próxima chamada.
+     * since <= 0 devolve a lista completa (sincronização inicial); o mesmo vale para um cursor
+     * anterior aos tombstones já apagados. Nos dois casos "resync" é true e o cliente troca a
+     * cópia local pela lista recebida.
+     */
+    @Transactional(readOnly = true)
+    public Map<String, Object> findChanges(long since, int limit) {
+        limit = Math.max(1, Math.min(limit, MAX_LIMIT));
+        boolean admin = securityUtil.hasRole(Role.ADMIN);
+        Long userId = securityUtil.getCurrentUserId();
+
+        // Sincronização inicial, ou cursor anterior a tombstones já apagados: a lista completa
+        // substitui a cópia local do cliente (resync)
+        if (since <= 0 || since < sequenceValue(PURGED_SEQUENCE)) {
+            // Cursor lido ANTES das tarefas: no pior caso a próxima chamada repete algo
+            long cursor = sequenceValue(SEQUENCE);
+            List<Task> tasks = admin
+                ? taskRepository.findAll()
+                : taskRepository.findByResponsiblesContaining(userRepository.getReferenceById(userId));
+            fetchResponsibles(tasks);
+            return buildResponse(tasks.stream().map(TaskSummary::from).toList(), List.of(), cursor, false, true);
+        }
+
+        // limit + 1 para saber se há mais páginas
+        Pageable page = PageRequest.of(0, limit + 1);
+        List<Task> changed = admin
+            ? taskRepository.findByChangeSeqGreaterThanOrderByChangeSeq(since, page)
+            : taskRepository.findChangedForResponsible(userId, since, page);
+        List<TaskTombstone> removed = admin
+            ? tombstoneRepository.findByUserIdIsNullAndChangeSeqGreaterThanOrderByChangeSeq(since, page)
+            : tombstoneRepository.findByUserIdAndChangeSeqGreaterThanOrderByChangeSeq(userId, since, page);
+        fetchResponsibles(changed);
+
+        // Intercala pela sequência; itens com a mesma sequência nunca ficam em páginas diferentes
+        List<TaskSummary> changes = new ArrayList<>();
+        List<Long> removedIds = new ArrayList<>();
+        long cursor = since;
+        int i = 0;
+        int j = 0;
+        while (i < changed.size() || j < removed.size()) {
+            boolean takeTask = j >= removed.size()
+                || (i < changed.size() && changed.get(i).getChangeSeq() <= removed.get(j).getChangeSeq());
+            long seq = takeTask ? changed.get(i).getChangeSeq() : removed.get(j).getChangeSeq();
+
+            if (changes.size() + removedIds.size() >= limit && seq != cursor) {
+                break;
+            }
+
+            if (takeTask) {
+                changes.add(TaskSummary.from(changed.get(i++)));
+            } else {
+                removedIds.add(removed.get(j++).getTaskId());
+            }
+            cursor = seq;
+        }
+        boolean hasMore = i < changed.size() || j < removed.size();
+
+        return buildResponse(changes, removedIds, cursor, hasMore, false);
+    }
+
+    // Responsáveis de todas as tarefas numa única consulta, no mesmo contexto de persistência:
+    // TaskSummary.from não dispara uma consulta por tarefa
+    private void fetchResponsibles(List<Task> tasks) {
+        if (!tasks.isEmpty()) {
+            taskRepository.fetchResponsibles(tasks.stream().map(Task::getId).toList());
+        }
+    }
+
+    /**
+     * Apaga os tombstones registrados antes de cutoff e guarda a maior sequência apagada
+     * (na mesma transação), para que cursores anteriores a ela recebam resync.
+     * Retorna quantos tombstones foram apagados.
+     */
+    int purgeTombstonesBefore(LocalDateTime cutoff) {
+        Integer deleted = new TransactionTemplate(transactionManager).execute(status -> {
+            Long horizon = tombstoneRepository.findMaxChangeSeqRemovedBefore(cutoff);
+            if (horizon == null) {
+                return 0;
+            }
+            ChangeSequence purged = sequenceRepository.findForUpdate(PURGED_SEQUENCE)
+                .orElseGet(() -> new ChangeSequence(PURGED_SEQUENCE, 0L));
+            purged.setValue(Math.max(purged.getValue(), horizon));
+            sequenceRepository.save(purged);
+            return tombstoneRepository.deleteUpTo(horizon);
+        });
+        return deleted != null ? deleted : 0;
+    }
+
+    private void purgeExpiredTombstones() {
+        try {
+            int deleted = purgeTombstonesBefore(LocalDateTime.now().minus(Duration.ofDays(retentionDays)));
+            if (deleted > 0) {
+                logger.info("{} tombstones de tarefas apagados (retenção de {} dias)", deleted, retentionDays);
+            }
+        } catch (RuntimeException e) {
+            // Tenta de novo no próximo intervalo
+            logger.warn("Falha ao apagar tombstones antigos: {}", e.getMessage());
+        }
+    }
+
+    // Uma lista por transação, consumida no beforeCommit. Fica na própria sincronização (e não num
+    // recurso ligado à thread) para que uma transação REQUIRES_NEW tenha a sua
+    private List<PendingChange> pendingChanges() {
+        for (TransactionSynchronization synchronization : TransactionSynchronizationManager.getSynchronizations()) {
+            if (synchronization instanceof PendingChanges pending && pending.owner == this) {
+                return pending.changes;
+            }
+        }
+        PendingChanges pending = new PendingChanges(this);
+        TransactionSynchronizationManager.registerSynchronization(pending);
+        return pending.changes;
+    }
+
+    private static final class PendingChanges implements TransactionSynchronization {
+
+        private final TaskSyncService owner;
+        private final List<PendingChange> changes = new ArrayList<>();
+
+        PendingChanges(TaskSyncService owner) {
+            this.owner = owner;
+        }
+
+        @Override
+        public void beforeCommit(boolean readOnly) {
+            owner.assignSequences(changes);
+        }
+    }
+
+    /**
+     * Atribui as sequências das escritas da transação, logo antes do commit.
+     *
+     * O resto da transação é gravado (flush) antes de bloquear a linha de change_sequences:
+     * o bloqueio cobre só este trecho e o commit, não a escrita inteira, e a ordem das
+     * sequências continua sendo a ordem de commit. Depois do flush a transação só altera
+     * linhas que já bloqueou (change_seq das suas tarefas) ou insere tombstones.
+     */
+    private void assignSequences(List<PendingChange> pending) {
+        if (pending.isEmpty()) {
+            return;
+        }
+        taskRepository.flush();
+
+        ChangeSequence sequence = sequenceRepository.findForUpdate(SEQUENCE)
+            .orElseGet(() -> sequenceRepository.save(new ChangeSequence(SEQUENCE, 0L)));
+        long seq = sequence.getValue();
+
+        List<TaskTombstone> tombstones = new ArrayList<>();
+        for (PendingChange change : pending) {
+            seq++;
+            Task task = change.task();
+            for (Long userId : change.previousResponsibles()) {
+                if (!change.currentResponsibles().contains(userId)) {
+                    tombstones.add(new TaskTombstone(task.getId(), userId, seq));
+                }
+            }
+
+            if (change.type() == ChangeType.DELETED) {
+                tombstones.add(new TaskTombstone(task.getId(), null, seq));
+            } else {
+                task.setChangeSeq(seq);
+            }
+        }
+        sequence.setValue(seq);
+
+        if (!tombstones.isEmpty()) {
+            tombstoneRepository.saveAll(tombstones);
+        }
+
+        long first = seq - pending.size() + 1;
+        for (int i = 0; i < pending.size(); i++) {
+            pending.get(i).onSequence().accept(first + i);
+        }
+    }
+
+    private long sequenceValue(String name) {
+        return sequenceRepository.findById(name)
+            .map(ChangeSequence::getValue)
+            .orElse(0L);
+    }
+
+    private Map<String, Object> buildResponse(List<TaskSummary> changes, List<Long> removed,
+                                              long cursor, boolean hasMore, boolean resync) {
+        Map<String, Object> response = new HashMap<>();
+        response.put("changes", changes);
+        response.put("removed", removed);
+        response.put("cursor", cursor);
+        response.put("hasMore", hasMore);
+        response.put("resync", resync);
+        return response;
+    }
+}
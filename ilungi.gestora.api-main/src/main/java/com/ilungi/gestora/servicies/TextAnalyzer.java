@@ -0,0 +1,100 @@
+package com.ilungi.gestora.servicies;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+
+/**
+ * Normalização de texto em português para os índices em memória:
+ * minúsculas, remoção de acentos (ação = acao), stopwords e plurais simples
+ * (tarefas = tarefa, relações = relacao), aplicados igualmente a documentos e consultas.
+ */
+public final class TextAnalyzer {
+
+    private static final Set<String> STOPWORDS = Set.of(
+        "a", "o", "as", "os", "um", "uma", "uns", "umas",
+        "de", "da", "do", "das", "dos", "em", "na", "no", "nas", "nos",
+        "ao", "aos", "e", "ou", "que", "se", "por", "para", "pra", "com", "sem",
+        "num", "numa", "pelo", "pela", "pelos", "pelas", "ate", "mais", "mas", "como");
+
+    private TextAnalyzer() {
+    }
+
+    /**
+     * Minúsculas e sem acentos (ç vira c).
+     */
+    public static String fold(String text) {
+        if (text == null || text.isEmpty()) {
+            return "";
+        }
+        String lower = text.toLowerCase(Locale.ROOT);
+        // Atalho: texto só ASCII não precisa de decomposição
+        boolean ascii = true;
+        for (int i = 0; i < lower.length() && ascii; i++) {
+            ascii = lower.charAt(i) < 128;
+        }
+        if (ascii) {
+            return lower;
+        }
+        String decomposed = Normalizer.normalize(lower, Normalizer.Form.NFD);
+        StringBuilder folded = new StringBuilder(decomposed.length());
+        for (int i = 0; i < decomposed.length(); i++) {
+            char c = decomposed.charAt(i);
+            if (Character.getType(c) != Character.NON_SPACING_MARK) {
+                folded.append(c);
+            }
+        }
+        return folded.toString();
+    }
+
+    /**
+     * Termos indexáveis do texto, na ordem em que aparecem (com repetições).
+     */
+    public static List<String> terms(String text) {
+        List<String> terms = new ArrayList<>();
+        String folded = fold(text);
+        int start = -1;
+        for (int i = 0; i <= folded.length(); i++) {
+            boolean letterOrDigit = i < folded.length() && Character.isLetterOrDigit(folded.charAt(i));
+            if (letterOrDigit && start < 0) {
+                start = i;
+            } else if (!letterOrDigit && start >= 0) {
+                String token = folded.substring(start, i);
+                if (!STOPWORDS.contains(token)) {
+                    terms.add(singular(token));
+                }
+                start = -1;
+            }
+        }
+        return terms;
+    }
+
+    // Plurais regulares; palavras curtas e números ficam como estão
+    static String singular(String token) {
+        int length = token.length();
+        if (length <= 3 || Character.isDigit(token.charAt(length - 1))) {
+            return token;
+        }
+        if (token.endsWith("oes") || token.endsWith("aes")) {
+            return token.substring(0, length - 3) + "ao";
+        }
+        if (token.endsWith("ais")) {
+            return token.substring(0, length - 2) + "l";
+        }
+        if (token.endsWith("eis")) {
+            return token.substring(0, length - 3) + "el";
+        }
+        if (token.endsWith("ns")) {
+            return token.substring(0, length - 2) + "m";
+        }
+        if (token.endsWith("res") || token.endsWith("zes")) {
+            return token.substring(0, length - 2);
+        }
+        if (token.endsWith("s") && !token.endsWith("ss") && !token.endsWith("us") && !token.endsWith("is")) {
+            return token.substring(0, length - 1);
+        }
+        return token;
+    }
+}
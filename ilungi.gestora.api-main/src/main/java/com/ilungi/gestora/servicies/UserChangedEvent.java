@@ -0,0 +1,7 @@
+package com.ilungi.gestora.servicies;
+
+/**
+ * Publicado a cada criação, alteração ou exclusão de usuário.
+ */
+public record UserChangedEvent(Long userId, ChangeType type) {
+}
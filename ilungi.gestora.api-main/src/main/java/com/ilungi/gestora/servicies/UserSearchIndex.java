@@ -0,0 +1,331 @@
+package com.ilungi.gestora.servicies;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.stream.Stream;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.ilungi.gestora.repositories.UserExportRow;
+import com.ilungi.gestora.repositories.UserRepository;
+import com.ilungi.gestora.repositories.UserSuggestion;
+
+/**
+ * Autocomplete de usuários por nome e email (escolha de responsáveis).
+ *
+ * Consultas com 3+ caracteres usam um índice de trigramas (substring em qualquer
+ * posição); mais curtas, o prefixo das palavras. Sem acentos e sem diferenciar
+ * maiúsculas. Enquanto o índice não foi construído, a busca vai ao banco
+ * (índices pg_trgm da migração V4).
+ */
+@Component
+public class UserSearchIndex {
+
+    private static final Logger logger = LoggerFactory.getLogger(UserSearchIndex.class);
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    // Protegidos pelo lock
+    private final Map<Long, Entry> entries = new HashMap<>();
+    private final Map<String, Set<Long>> trigrams = new HashMap<>();
+    private final TreeMap<String, Set<Long>> words = new TreeMap<>();
+
+    private boolean building;
+    private final List<UserChangedEvent> pendingDuringBuild = new ArrayList<>();
+    private volatile boolean ready;
+
+    private record Entry(UserSuggestion user, String name, String email, String[] words) {}
+
+    // Carga completa numa thread própria: o startup não espera por ela e, até terminar,
+    // o autocomplete vai ao banco
+    @EventListener(ApplicationReadyEvent.class)
+    public void buildInBackground() {
+        Thread.ofVirtual().name("user-search-index").start(this::build);
+    }
+
+    public void build() {
+        synchronized (pendingDuringBuild) {
+            building = true;
+        }
+        try {
+            List<UserSuggestion> users = new ArrayList<>();
+            TransactionTemplate readOnly = new TransactionTemplate(transactionManager);
+            readOnly.setReadOnly(true);
+            readOnly.executeWithoutResult(status -> {
+                try (Stream<UserExportRow> rows = userRepository.streamForExport()) {
+                    Iterator<UserExportRow> iterator = rows.iterator();
+                    while (iterator.hasNext()) {
+                        UserExportRow row = iterator.next();
+                        users.add(new UserSuggestion(row.id(), row.name(), row.email(), row.role()));
+                    }
+                }
+            });
+
+            lock.writeLock().lock();
+            try {
+                entries.clear();
+                trigrams.clear();
+                words.clear();
+                users.forEach(this::add);
+                synchronized (pendingDuringBuild) {
+                    pendingDuringBuild.forEach(this::apply);
+                    pendingDuringBuild.clear();
+                    building = false;
+                }
+            } finally {
+                lock.writeLock().unlock();
+            }
+            ready = true;
+            logger.info("Índice de autocomplete de usuários: {} usuários", users.size());
+        } catch (RuntimeException e) {
+            logger.error("Falha ao construir o índice de autocomplete; a busca continua pelo banco", e);
+        } finally {
+            // Em caso de falha as escritas voltam a ser aplicadas direto (o índice segue não pronto)
+            synchronized (pendingDuringBuild) {
+                pendingDuringBuild.clear();
+                building = false;
+            }
+        }
+    }
+
+    // Para ter nome e email atuais, o usuário é relido por ID (uma consulta por escrita)
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onUserChanged(UserChangedEvent event) {
+        if (event.userId() == null) {
+            return;
+        }
+        synchronized (pendingDuringBuild) {
+            if (building) {
+                pendingDuringBuild.add(event);
+                return;
+            }
+        }
+        // Lido antes do lock para não bloquear as buscas durante a consulta
+        UserSuggestion user = event.type() == ChangeType.DELETED ? null
+            : userRepository.findSuggestionById(event.userId()).orElse(null);
+        lock.writeLock().lock();
+        try {
+            remove(event.userId());
+            if (user != null) {
+                add(user);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Até "limit" usuários cujo nome ou email contém a consulta, melhores primeiro:
+     * início do nome, início de uma palavra do nome, início do email e, por fim, substring.
+     */
+    public List<UserSuggestion> suggest(String query, int limit) {
+        String folded = TextAnalyzer.fold(query).trim();
+        if (folded.isEmpty()) {
+            return List.of();
+        }
+        if (!ready) {
+            return suggestFromDatabase(query.trim().toLowerCase(Locale.ROOT), limit);
+        }
+        String[] tokens = folded.split("\\s+");
+
+        lock.readLock().lock();
+        try {
+            Set<Long> candidates = null;
+            for (String token : tokens) {
+                Set<Long> matches = token.length() >= 3 ? trigramMatches(token) : prefixMatches(token);
+                if (candidates == null) {
+                    candidates = matches;
+                } else {
+                    candidates.retainAll(matches);
+                }
+                if (candidates.isEmpty()) {
+                    return List.of();
+                }
+            }
+
+            Comparator<Map.Entry<Entry, Integer>> order = Comparator
+                .<Map.Entry<Entry, Integer>>comparingInt(Map.Entry::getValue)
+                .thenComparing(candidate -> candidate.getKey().name(), Comparator.reverseOrder());
+            PriorityQueue<Map.Entry<Entry, Integer>> top = new PriorityQueue<>(order);
+            for (Long userId : candidates) {
+                Entry entry = entries.get(userId);
+                int score = score(entry, folded, tokens);
+                if (score > 0) {
+                    top.add(Map.entry(entry, score));
+                    if (top.size() > limit) {
+                        top.poll();
+                    }
+                }
+            }
+
+            UserSuggestion[] ranked = new UserSuggestion[top.size()];
+            for (int i = ranked.length - 1; i >= 0; i--) {
+                ranked[i] = top.poll().getKey().user();
+            }
+            return List.of(ranked);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    // Chamado com o write lock (somente na reaplicação após a construção)
+    private void apply(UserChangedEvent event) {
+        remove(event.userId());
+        if (event.type() != ChangeType.DELETED) {
+            userRepository.findSuggestionById(event.userId()).ifPresent(this::add);
+        }
+    }
+
+    // Chamado com o write lock
+    private void add(UserSuggestion user) {
+        String name = TextAnalyzer.fold(user.name());
+        String email = TextAnalyzer.fold(user.email());
+
+        Set<String> userWords = new HashSet<>();
+        for (String word : name.split("[^\\p{L}\\p{N}]+")) {
+            if (!word.isEmpty()) {
+                userWords.add(word);
+            }
+        }
+        if (!email.isEmpty()) {
+            userWords.add(email);
+        }
+        Entry entry = new Entry(user, name, email, userWords.toArray(String[]::new));
+        entries.put(user.id(), entry);
+
+        for (String word : entry.words()) {
+            words.computeIfAbsent(word, key -> new HashSet<>()).add(user.id());
+        }
+        for (String trigram : trigramsOf(name, email)) {
+            trigrams.computeIfAbsent(trigram, key -> new HashSet<>()).add(user.id());
+        }
+    }
+
+    // Chamado com o write lock
+    private void remove(Long userId) {
+        Entry entry = entries.remove(userId);
+        if (entry == null) {
+            return;
+        }
+        for (String word : entry.words()) {
+            removePosting(words, word, userId);
+        }
+        for (String trigram : trigramsOf(entry.name(), entry.email())) {
+            removePosting(trigrams, trigram, userId);
+        }
+    }
+
+    private static void removePosting(Map<String, Set<Long>> index, String key, Long userId) {
+        Set<Long> ids = index.get(key);
+        if (ids != null && ids.remove(userId) && ids.isEmpty()) {
+            index.remove(key);
+        }
+    }
+
+    // Interseção das listas dos trigramas; confirma a substring (trigramas podem vir de lugares diferentes)
+    private Set<Long> trigramMatches(String token) {
+        List<Set<Long>> lists = new ArrayList<>();
+        for (String trigram : trigramsOf(token)) {
+            Set<Long> ids = trigrams.get(trigram);
+            if (ids == null) {
+                return new HashSet<>();
+            }
+            lists.add(ids);
+        }
+        lists.sort(Comparator.comparingInt(Set::size));
+
+        Set<Long> matches = new HashSet<>();
+        candidateLoop:
+        for (Long userId : lists.get(0)) {
+            for (int i = 1; i < lists.size(); i++) {
+                if (!lists.get(i).contains(userId)) {
+                    continue candidateLoop;
+                }
+            }
+            Entry entry = entries.get(userId);
+            if (entry.name().contains(token) || entry.email().contains(token)) {
+                matches.add(userId);
+            }
+        }
+        return matches;
+    }
+
+    private Set<Long> prefixMatches(String token) {
+        Set<Long> matches = new HashSet<>();
+        for (Set<Long> ids : words.subMap(token, true, token + Character.MAX_VALUE, false).values()) {
+            matches.addAll(ids);
+        }
+        return matches;
+    }
+
+    private static int score(Entry entry, String query, String[] tokens) {
+        if (entry.name().startsWith(query)) {
+            return 100;
+        }
+        boolean allWordPrefixes = true;
+        for (String token : tokens) {
+            boolean prefix = false;
+            for (String word : entry.words()) {
+                if (word.startsWith(token)) {
+                    prefix = true;
+                    break;
+                }
+            }
+            allWordPrefixes &= prefix;
+        }
+        if (allWordPrefixes) {
+            return 80;
+        }
+        if (entry.email().startsWith(query)) {
+            return 60;
+        }
+        if (entry.name().contains(query)) {
+            return 40;
+        }
+        return 20;
+    }
+
+    private static Set<String> trigramsOf(String... texts) {
+        Set<String> result = new HashSet<>();
+        for (String text : texts) {
+            for (int i = 0; i + 3 <= text.length(); i++) {
+                result.add(text.substring(i, i + 3));
+            }
+        }
+        return result;
+    }
+
+    private List<UserSuggestion> suggestFromDatabase(String query, int limit) {
+        String pattern = "%" + query.replace("!", "!!").replace("%", "!%").replace("_", "!_") + "%";
+        return userRepository.findSuggestions(pattern, PageRequest.of(0, limit));
+    }
+}
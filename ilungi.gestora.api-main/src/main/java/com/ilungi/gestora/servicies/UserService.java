@@ -4,8 +4,10 @@ import java.util.List;
 import java.util.Optional;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import com.ilungi.gestora.entities.Role;
 import com.ilungi.gestora.entities.User;
@@ -20,25 +22,33 @@ public class UserService {
     @Autowired
     private PasswordEncoder passwordEncoder; // Para criptografar senhas
     
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+    
+    @Transactional(readOnly = true)
     public List<User> findAll() {
         return repository.findAll();
     }
     
+    @Transactional(readOnly = true)
     public User findById(Long id) {
         Optional<User> obj = repository.findById(id);
         return obj.orElseThrow(() -> new RuntimeException("Usuário não encontrado com ID: " + id));
     }
     
+    @Transactional(readOnly = true)
     public User findByEmail(String email) {
         Optional<User> obj = repository.findByEmail(email);
         return obj.orElseThrow(() -> new RuntimeException("Usuário não encontrado com email: " + email));
     }
     
+    @Transactional(readOnly = true)
     public Optional<User> findByEmailOptional(String email) {
         return repository.findByEmail(email);
     }
     
     // Método para verificar se email existe
+    @Transactional(readOnly = true)
     public boolean emailExists(String email) {
         return repository.findByEmail(email).isPresent();
     }
@@ -46,6 +56,7 @@ public class UserService {
 
     
     // 1. Criar usuário com validação
+    @Transactional
     public User createUser(User user) {
         // Valida se email já existe
         if (repository.findByEmail(user.getEmail()).isPresent()) {
@@ -64,10 +75,14 @@ public class UserService {
         }
         
         user.setId(null); // Garante que é um novo registro
-        return repository.save(user);
+        user.setVersion(null);
+        User savedUser = repository.save(user);
+        eventPublisher.publishEvent(new UserChangedEvent(savedUser.getId(), ChangeType.CREATED));
+        return savedUser;
     }
     
     // 2. Atualizar usuário (updateUser)
+    @Transactional
     public User updateUser(Long id, User userData) {
         User user = findById(id); // Busca usuário existente
         
@@ -101,39 +116,50 @@ public class UserService {
             user.setRole(userData.getRole());
         }
         
-        return repository.save(user);
+        User savedUser = repository.save(user);
+        eventPublisher.publishEvent(new UserChangedEvent(savedUser.getId(), ChangeType.UPDATED));
+        return savedUser;
     }
     
     // 3. Deletar usuário
+    @Transactional
     public void deleteUser(Long id) {
         User user = findById(id);
         repository.delete(user);
+        eventPublisher.publishEvent(new UserChangedEvent(id, ChangeType.DELETED));
     }
     
     // 4. Mudar role do usuário (changeRole)
+    @Transactional
     public User changeRole(Long userId, Role newRole) {
         User user = findById(userId);
         user.setRole(newRole);
-        return repository.save(user);
+        User savedUser = repository.save(user);
+        eventPublisher.publishEvent(new UserChangedEvent(savedUser.getId(), ChangeType.UPDATED));
+        return savedUser;
     }
     
     // 5. Buscar usuários por role
+    @Transactional(readOnly = true)
     public List<User> findByRole(Role role) {
         return repository.findByRole(role);
     }
     
     // 6. Buscar usuários por nome (like)
+    @Transactional(readOnly = true)
     public List<User> findByNameContaining(String name) {
         return repository.findByNameContainingIgnoreCase(name);
     }
     
     // 7. Verificar se usuário é admin
+    @Transactional(readOnly = true)
     public boolean isAdmin(Long userId) {
         User user = findById(userId);
         return user.getRole() == Role.ADMIN;
     }
     
     // 8. Atualizar apenas senha
+    @Transactional
     public User updatePassword(Long userId, String newPassword) {
         User user = findById(userId);
         String encodedPassword = passwordEncoder.encode(newPassword);
@@ -142,6 +168,7 @@ public class UserService {
     }
     
     // 9. Atualizar apenas perfil (nome, telefone)
+    @Transactional
     public User updateProfile(Long userId, String name, String phone) {
         User user = findById(userId);
         
@@ -153,7 +180,9 @@ public class UserService {
             user.setPhone(phone);
         }
         
-        return repository.save(user);
+        User savedUser = repository.save(user);
+        eventPublisher.publishEvent(new UserChangedEvent(savedUser.getId(), ChangeType.UPDATED));
+        return savedUser;
     }
     
     // 10. Método para login (verifica credenciais)
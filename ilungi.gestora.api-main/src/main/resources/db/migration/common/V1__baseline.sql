@@ -0,0 +1,49 @@
+-- Baseline: esquema criado pelo Hibernate (ddl-auto=update) antes do Flyway.
+-- Bancos já existentes são marcados nesta versão (spring.flyway.baseline-on-migrate)
+-- e recebem apenas as migrações seguintes: não alterar este arquivo, colunas e
+-- tabelas novas entram numa migração nova.
+
+create table users (
+    id bigint generated by default as identity,
+    name varchar(255) not null,
+    email varchar(255) not null,
+    password varchar(255) not null,
+    phone varchar(255),
+    role varchar(255) not null check (role in ('ADMIN', 'USER')),
+    created_at timestamp(6),
+    updated_at timestamp(6),
+    primary key (id),
+    constraint uk_users_email unique (email)
+);
+
+create table tb_tasks (
+    id bigint generated by default as identity,
+    title varchar(255),
+    description varchar(255),
+    create_at timestamp(6),
+    end_date timestamp(6),
+    days_to_finish integer,
+    status varchar(255) check (status in ('PENDING', 'TODO', 'HOLD', 'DOING', 'DONE')),
+    created_by_id bigint,
+    primary key (id),
+    constraint fk_tasks_created_by foreign key (created_by_id) references users (id)
+);
+
+create table task_responsibles (
+    task_id bigint not null,
+    user_id bigint not null,
+    constraint fk_task_responsibles_task foreign key (task_id) references tb_tasks (id),
+    constraint fk_task_responsibles_user foreign key (user_id) references users (id)
+);
+
+create table emais (
+    id bigint generated by default as identity,
+    destinatario varchar(255) not null,
+    assunto varchar(255) not null,
+    corpo text not null,
+    status varchar(255) not null check (status in ('PENDENTE', 'ENVIADO', 'ERRO', 'CANCELADO')),
+    data_envio timestamp(6) not null,
+    erro varchar(255),
+    tipo varchar(255) not null,
+    primary key (id)
+);
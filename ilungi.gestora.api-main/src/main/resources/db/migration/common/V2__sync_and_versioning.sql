@@ -0,0 +1,28 @@
+-- Controle de concorrência (@Version) e delta-sync de tarefas.
+-- IF NOT EXISTS: bancos que rodaram com ddl-auto=update já podem ter parte destes objetos.
+
+-- Task.version, User.version (If-Match/412); linhas existentes começam na versão 0
+alter table users add column if not exists version bigint default 0;
+alter table tb_tasks add column if not exists version bigint default 0;
+update users set version = 0 where version is null;
+update tb_tasks set version = 0 where version is null;
+
+-- Task.changeSeq: posição da última alteração na sequência de /tasks/changes
+alter table tb_tasks add column if not exists change_seq bigint;
+
+-- TaskTombstone: remoções (exclusão ou responsável removido) para o delta-sync
+create table if not exists task_tombstones (
+    id bigint generated by default as identity,
+    task_id bigint not null,
+    user_id bigint,
+    change_seq bigint not null,
+    removed_at timestamp(6) not null,
+    primary key (id)
+);
+
+-- ChangeSequence: contador nomeado da sequência de alterações
+create table if not exists change_sequences (
+    name varchar(50) not null,
+    seq_value bigint not null,
+    primary key (name)
+);
@@ -0,0 +1,31 @@
+-- Índices das consultas dos repositórios (além das chaves primárias).
+-- IF NOT EXISTS: bancos vindos do ddl-auto=update podem já ter os declarados nas entidades.
+
+-- TaskRepository
+-- findByResponsiblesContaining, countByResponsiblesContaining, findChangedForResponsible, EXISTS de /tasks/query
+create index if not exists idx_task_responsibles_user_task on task_responsibles (user_id, task_id);
+-- Responsáveis de uma task (carga da coleção, fetchResponsibles, exclusão)
+create index if not exists idx_task_responsibles_task on task_responsibles (task_id);
+-- findByCreatedBy, filtro createdById
+create index if not exists idx_tasks_created_by on tb_tasks (created_by_id);
+-- findTasksExpiringSoon, filtros status/endDate/overdue
+create index if not exists idx_tasks_status_end_date on tb_tasks (status, end_date);
+-- findByChangeSeqGreaterThanOrderByChangeSeq (delta-sync)
+create index if not exists idx_tasks_change_seq on tb_tasks (change_seq);
+
+-- TaskTombstoneRepository
+create index if not exists idx_tombstones_user_seq on task_tombstones (user_id, change_seq);
+
+-- UserRepository (findByEmail/existsByEmail já usam a constraint unique)
+-- findTop5ByOrderByCreatedAtDesc, countByCreatedAtAfter
+create index if not exists idx_users_created_at on users (created_at);
+-- findByRole, countByRole
+create index if not exists idx_users_role on users (role);
+
+-- EmailRepository
+-- findByStatus, countByStatus, findByStatusAndTipo
+create index if not exists idx_emais_status_tipo on emais (status, tipo);
+create index if not exists idx_emais_destinatario on emais (destinatario);
+create index if not exists idx_emais_tipo on emais (tipo);
+-- findByDataEnvioBetween
+create index if not exists idx_emais_data_envio on emais (data_envio);
@@ -0,0 +1,7 @@
+-- Autocomplete de usuários pelo banco (LIKE '%x%' em UserRepository.findSuggestions),
+-- usado enquanto o índice em memória não está pronto.
+-- pg_trgm é uma extensão "trusted" (PostgreSQL 13+): o dono do banco pode criá-la.
+create extension if not exists pg_trgm;
+
+create index if not exists idx_users_name_trgm on users using gin (lower(name) gin_trgm_ops);
+create index if not exists idx_users_email_trgm on users using gin (lower(email) gin_trgm_ops);
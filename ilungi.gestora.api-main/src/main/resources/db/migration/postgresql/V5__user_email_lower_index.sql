@@ -0,0 +1,3 @@
+-- Importação: UserRepository.findExistingEmails/findByEmailIn/findIdsByEmailIn comparam
+-- lower(email) IN (...), que não usa a constraint unique em email.
+create index if not exists idx_users_email_lower on users (lower(email));
@@ -0,0 +1,93 @@
+package com.ilungi.gestora.config;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class AdaptiveConcurrencyLimitTests {
+
+	private static final long MS = TimeUnit.MILLISECONDS.toNanos(1);
+
+	@Test
+	void rejectsOnceTheLimitIsInUse() {
+		AdaptiveConcurrencyLimit limit = new AdaptiveConcurrencyLimit(2, 1, 10, 1.5, 0.2);
+
+		assertTrue(limit.tryAcquire());
+		assertTrue(limit.tryAcquire());
+		assertFalse(limit.tryAcquire());
+
+		limit.release();
+		assertTrue(limit.tryAcquire());
+	}
+
+	@Test
+	void growsWhileSaturatedWithStableLatencyAndShrinksWhenLatencyRises() {
+		AdaptiveConcurrencyLimit limit = new AdaptiveConcurrencyLimit(10, 2, 40, 1.5, 0.2);
+
+		for (int i = 0; i < 200; i++) {
+			limit.onSample(10 * MS, limit.getLimit(), false);
+		}
+		int grown = limit.getLimit();
+		assertTrue(grown > 10, "limite deveria crescer: " + grown);
+
+		// Pool do banco saturado: a latência sobe bem acima da tolerância
+		for (int i = 0; i < 20; i++) {
+			limit.onSample(200 * MS, limit.getLimit(), false);
+		}
+		assertTrue(limit.getLimit() < grown, "limite deveria cair: " + limit.getLimit());
+	}
+
+	@Test
+	void idleTrafficDoesNotMoveTheLimit() {
+		AdaptiveConcurrencyLimit limit = new AdaptiveConcurrencyLimit(10, 2, 40, 1.5, 0.2);
+
+		for (int i = 0; i < 100; i++) {
+			limit.onSample(10 * MS, 1, false);
+		}
+		assertEquals(10, limit.getLimit());
+	}
+
+	@Test
+	void failuresReduceTheLimitDownToTheMinimum() {
+		AdaptiveConcurrencyLimit limit = new AdaptiveConcurrencyLimit(10, 3, 40, 1.5, 0.2);
+
+		limit.onSample(10 * MS, 10, true);
+		assertEquals(9, limit.getLimit());
+
+		for (int i = 0; i < 50; i++) {
+			limit.onSample(10 * MS, 10, true);
+		}
+		assertEquals(3, limit.getLimit());
+	}
+
+	@Test
+	void groupsRoutesByPrefix() {
+		assertEquals("auth", ConcurrencyLimitFilter.group("/auth/login"));
+		assertEquals("tasks", ConcurrencyLimitFilter.group("/tasks"));
+		assertEquals("tasks", ConcurrencyLimitFilter.group("/tasks/12/status"));
+		assertEquals("admin", ConcurrencyLimitFilter.group("/admin/users"));
+		assertEquals("tasks", ConcurrencyLimitFilter.group("/bootstrap"));
+		assertEquals("emails", ConcurrencyLimitFilter.group("/api/emails/pendentes"));
+		assertNull(ConcurrencyLimitFilter.group("/tasks/stream"));
+		assertNull(ConcurrencyLimitFilter.group("/actuator/health"));
+		assertNull(ConcurrencyLimitFilter.group("/tasksx"));
+	}
+
+	@Test
+	void gaugesFollowTheLimitUsedByTheFilter() {
+		SimpleMeterRegistry registry = new SimpleMeterRegistry();
+		ConcurrencyLimitFilter filter = new ConcurrencyLimitFilter(new ConcurrencyLimiterProperties(), registry);
+
+		// "tasks" tem vários prefixos: o gauge tem de apontar para o limite que o filtro usa
+		assertTrue(filter.limit("tasks").tryAcquire());
+		assertEquals(1.0, registry.get("gestora.http.limiter.in-flight").tag("group", "tasks").gauge().value());
+		assertEquals(1, registry.find("gestora.http.limiter.in-flight").tag("group", "tasks").gauges().size());
+	}
+}
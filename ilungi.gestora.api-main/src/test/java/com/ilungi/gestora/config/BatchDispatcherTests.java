@@ -0,0 +1,112 @@
+package com.ilungi.gestora.config;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.web.access.WebInvocationPrivilegeEvaluator;
+import org.springframework.web.servlet.DispatcherServlet;
+
+import jakarta.servlet.ServletRequest;
+import jakarta.servlet.ServletResponse;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+class BatchDispatcherTests {
+
+	@Test
+	void rejectsNestedStreamingAndTraversalPaths() {
+		assertNull(BatchDispatcher.rejectPath("/tasks/12/status"));
+		assertNull(BatchDispatcher.rejectPath("/tasks/query?status=DONE"));
+		assertNotNull(BatchDispatcher.rejectPath("/batch"));
+		assertNotNull(BatchDispatcher.rejectPath("/tasks/stream"));
+		assertNotNull(BatchDispatcher.rejectPath("/admin/export/tasks"));
+		assertNotNull(BatchDispatcher.rejectPath("/tasks/../admin/users"));
+		assertNotNull(BatchDispatcher.rejectPath("tasks"));
+	}
+
+	@Test
+	void dispatchesWithOwnRequestAndCapturesResponse() throws Exception {
+		DispatcherServlet servlet = mock(DispatcherServlet.class);
+		doAnswer(invocation -> {
+			HttpServletRequest request = invocation.getArgument(0);
+			HttpServletResponse response = invocation.getArgument(1);
+			assertEquals("PATCH", request.getMethod());
+			assertEquals("/tasks/7/status", request.getServletPath());
+			assertEquals("a b", request.getParameter("note"));
+			assertEquals("\"task-1\"", request.getHeader("If-Match"));
+			assertNull(request.getHeader("If-None-Match"));
+			assertEquals("Bearer abc", request.getHeader("Authorization"));
+			assertEquals("{\"status\":\"DONE\"}", new String(request.getInputStream().readAllBytes(), StandardCharsets.UTF_8));
+			assertNull(request.getAttribute("outer"));
+
+			response.setStatus(201);
+			response.setHeader("ETag", "\"task-2\"");
+			response.setContentType("application/json");
+			response.getWriter().write("{\"id\":7}");
+			return null;
+		}).when(servlet).service(any(ServletRequest.class), any(ServletResponse.class));
+
+		MockHttpServletRequest original = new MockHttpServletRequest("POST", "/batch");
+		original.addHeader("Authorization", "Bearer abc");
+		original.addHeader("If-None-Match", "\"batch\"");
+		original.setAttribute("outer", "x");
+		MockHttpServletResponse originalResponse = new MockHttpServletResponse();
+
+		BatchDispatcher.Result result = new BatchDispatcher(servlet, evaluator(true)).dispatch(original, originalResponse,
+			"patch", "/tasks/7/status?note=a%20b", Map.of("If-Match", "\"task-1\""),
+			"{\"status\":\"DONE\"}".getBytes(StandardCharsets.UTF_8));
+
+		assertEquals(201, result.status());
+		assertEquals("\"task-2\"", result.headers().get("ETag"));
+		assertEquals("{\"id\":7}", new String(result.body(), StandardCharsets.UTF_8));
+		assertEquals(200, originalResponse.getStatus());
+		assertNull(originalResponse.getHeader("ETag"));
+	}
+
+	@Test
+	void appliesUrlRulesBeforeDispatching() throws Exception {
+		DispatcherServlet servlet = mock(DispatcherServlet.class);
+
+		BatchDispatcher.Result result = new BatchDispatcher(servlet, evaluator(false)).dispatch(
+			new MockHttpServletRequest("POST", "/batch"), new MockHttpServletResponse(), "GET", "/admin/users", null, null);
+
+		assertEquals(403, result.status());
+		verify(servlet, never()).service(any(ServletRequest.class), any(ServletResponse.class));
+	}
+
+	@Test
+	@SuppressWarnings("unchecked")
+	void refusesWhenUrlRulesAreUnavailable() throws Exception {
+		DispatcherServlet servlet = mock(DispatcherServlet.class);
+		ObjectProvider<WebInvocationPrivilegeEvaluator> missing = mock(ObjectProvider.class);
+
+		BatchDispatcher.Result result = new BatchDispatcher(servlet, missing).dispatch(
+			new MockHttpServletRequest("POST", "/batch"), new MockHttpServletResponse(), "GET", "/tasks", null, null);
+
+		assertEquals(403, result.status());
+		verify(servlet, never()).service(any(ServletRequest.class), any(ServletResponse.class));
+	}
+
+	@SuppressWarnings("unchecked")
+	private static ObjectProvider<WebInvocationPrivilegeEvaluator> evaluator(boolean allowed) {
+		WebInvocationPrivilegeEvaluator evaluator = mock(WebInvocationPrivilegeEvaluator.class);
+		when(evaluator.isAllowed(any(), any(), any(), any())).thenReturn(allowed);
+		ObjectProvider<WebInvocationPrivilegeEvaluator> provider = mock(ObjectProvider.class);
+		when(provider.getIfAvailable()).thenReturn(evaluator);
+		return provider;
+	}
+}
@@ -0,0 +1,41 @@
+package com.ilungi.gestora.config;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Test;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class BoundedVirtualThreadExecutorTests {
+
+	@Test
+	void runsAtMostTheConfiguredNumberOfTasksAtOnce() throws Exception {
+		SimpleMeterRegistry registry = new SimpleMeterRegistry();
+		BoundedVirtualThreadExecutor executor = new BoundedVirtualThreadExecutor("EmailThread-", 2, registry);
+		AtomicInteger running = new AtomicInteger();
+		AtomicInteger maxRunning = new AtomicInteger();
+		CountDownLatch done = new CountDownLatch(20);
+
+		for (int i = 0; i < 20; i++) {
+			executor.execute(() -> {
+				maxRunning.accumulateAndGet(running.incrementAndGet(), Math::max);
+				try {
+					Thread.sleep(10);
+				} catch (InterruptedException e) {
+					Thread.currentThread().interrupt();
+				}
+				running.decrementAndGet();
+				done.countDown();
+			});
+		}
+
+		assertTrue(done.await(10, TimeUnit.SECONDS));
+		assertTrue(maxRunning.get() <= 2);
+		assertEquals(0.0, registry.get("gestora.executor.waiting").tag("name", "EmailThread").gauge().value());
+	}
+}
@@ -0,0 +1,55 @@
+package com.ilungi.gestora.config;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Date;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+
+import tools.jackson.databind.JsonNode;
+import tools.jackson.databind.json.JsonMapper;
+import tools.jackson.dataformat.cbor.CBORMapper;
+
+class CborConfigTests {
+
+	@Test
+	void jsonStaysTheDefault() {
+		assertFalse(CborConfig.prefersCbor(null));
+		assertFalse(CborConfig.prefersCbor("*/*"));
+		assertFalse(CborConfig.prefersCbor("application/json"));
+		assertFalse(CborConfig.prefersCbor("application/json, application/cbor"));
+		assertFalse(CborConfig.prefersCbor("application/cbor;q=0.5, application/json"));
+		assertFalse(CborConfig.prefersCbor("not a media type"));
+	}
+
+	@Test
+	void explicitCborIsHonoured() {
+		assertTrue(CborConfig.prefersCbor("application/cbor"));
+		assertTrue(CborConfig.prefersCbor("application/cbor, */*"));
+		assertTrue(CborConfig.prefersCbor("application/cbor, application/json"));
+		assertTrue(CborConfig.prefersCbor("application/json;q=0.8, application/cbor"));
+	}
+
+	@Test
+	void cborCarriesTheSameDataInFewerBytes() {
+		Map<String, Object> row = new LinkedHashMap<>();
+		row.put("id", 42L);
+		row.put("title", "Relatório mensal");
+		row.put("status", "DOING");
+		row.put("endDate", new Date(1_700_000_000_000L));
+
+		JsonMapper jsonMapper = JsonMapper.builder().build();
+		CBORMapper cborMapper = new CborConfig(List.of(new EntityJsonModule())).cborMapper();
+		byte[] json = jsonMapper.writeValueAsBytes(row);
+		byte[] cbor = cborMapper.writeValueAsBytes(row);
+
+		JsonNode fromJson = jsonMapper.readTree(json);
+		assertEquals(fromJson, cborMapper.readTree(cbor));
+		assertTrue(cbor.length < json.length);
+	}
+}
@@ -0,0 +1,90 @@
+package com.ilungi.gestora.config;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.time.LocalDateTime;
+import java.util.Date;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import com.ilungi.gestora.entities.Role;
+import com.ilungi.gestora.entities.Task;
+import com.ilungi.gestora.entities.TaskStatus;
+import com.ilungi.gestora.entities.User;
+import com.ilungi.gestora.repositories.UserListing;
+
+import tools.jackson.databind.JsonNode;
+import tools.jackson.databind.json.JsonMapper;
+
+// Os serializadores escritos à mão devem produzir o mesmo JSON da serialização por reflexão
+class EntityJsonModuleTests {
+
+	private final JsonMapper reflection = JsonMapper.builder().build();
+	private final JsonMapper module = JsonMapper.builder().addModule(new EntityJsonModule()).build();
+
+	@Test
+	void taskMatchesBeanSerialization() {
+		Task task = task(10L, user(1L, Role.ADMIN), user(2L, Role.USER), user(3L, Role.USER));
+
+		assertSameJson(task);
+		assertSameJson(List.of(task, task(11L, null)));
+	}
+
+	@Test
+	void taskWithNullsMatchesBeanSerialization() {
+		Task task = new Task();
+		task.setId(12L);
+		task.setResponsibles(null);
+
+		assertSameJson(task);
+	}
+
+	@Test
+	void userWithTasksMatchesBeanSerialization() {
+		User user = user(2L, Role.USER);
+		User admin = user(1L, Role.ADMIN);
+		Task assigned = task(20L, admin, user);
+		user.getAssignedTasks().add(assigned);
+		admin.getCreatedTasks().add(assigned);
+
+		assertSameJson(user);
+		assertSameJson(admin);
+	}
+
+	@Test
+	void userListingMatchesRecordSerialization() {
+		UserListing listing = new UserListing(5L, "Ana", "ana@gestora.com", null, Role.USER,
+			LocalDateTime.of(2024, 3, 1, 10, 30), LocalDateTime.of(2024, 3, 2, 8, 0), 4, 0);
+
+		assertSameJson(listing);
+	}
+
+	private void assertSameJson(Object value) {
+		JsonNode expected = reflection.readTree(reflection.writeValueAsBytes(value));
+		JsonNode actual = module.readTree(module.writeValueAsBytes(value));
+		assertEquals(expected, actual);
+	}
+
+	private static User user(long id, Role role) {
+		User user = new User("Usuario " + id, "usuario" + id + "@gestora.com", "hash", "92300" + id, role);
+		user.setId(id);
+		user.setVersion(id);
+		return user;
+	}
+
+	private static Task task(long id, User createdBy, User... responsibles) {
+		Task task = new Task();
+		task.setId(id);
+		task.setTitle("Tarefa " + id);
+		task.setDescription("Descrição " + id);
+		task.setCreateAt(new Date(1_700_000_000_000L));
+		task.setEndDate(new java.sql.Date(1_700_500_000_000L));
+		task.setDaysToFinish(5);
+		task.setStatus(TaskStatus.DOING);
+		task.setCreatedBy(createdBy);
+		task.setVersion(3L);
+		task.getResponsibles().addAll(List.of(responsibles));
+		return task;
+	}
+}
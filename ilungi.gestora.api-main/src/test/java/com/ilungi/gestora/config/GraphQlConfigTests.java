@@ -0,0 +1,114 @@
+package com.ilungi.gestora.config;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.ClassPathResource;
+
+import graphql.ExecutionInput;
+import graphql.ExecutionResult;
+import graphql.GraphQL;
+import graphql.GraphqlErrorBuilder;
+import graphql.analysis.MaxQueryComplexityInstrumentation;
+import graphql.analysis.MaxQueryDepthInstrumentation;
+import graphql.execution.instrumentation.ChainedInstrumentation;
+import graphql.execution.preparsed.PreparsedDocumentEntry;
+import graphql.parser.Parser;
+import graphql.schema.GraphQLSchema;
+import graphql.schema.idl.RuntimeWiring;
+import graphql.schema.idl.SchemaGenerator;
+import graphql.schema.idl.SchemaParser;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class GraphQlConfigTests {
+
+	private static GraphQL graphQl() throws Exception {
+		GraphQLSchema schema;
+		try (InputStreamReader reader = new InputStreamReader(
+				new ClassPathResource("graphql/schema.graphqls").getInputStream(), StandardCharsets.UTF_8)) {
+			// tasks: [Task!]! não pode resolver como null
+			schema = new SchemaGenerator().makeExecutableSchema(new SchemaParser().parse(reader),
+				RuntimeWiring.newRuntimeWiring()
+					.type("Query", query -> query.dataFetcher("tasks", environment -> List.of()))
+					.build());
+		}
+		GraphQlConfig config = new GraphQlConfig();
+		MaxQueryDepthInstrumentation depth = config.maxQueryDepthInstrumentation(6);
+		MaxQueryComplexityInstrumentation complexity = config.maxQueryComplexityInstrumentation(5000, 10, 200);
+		return GraphQL.newGraphQL(schema)
+			.instrumentation(new ChainedInstrumentation(List.of(depth, complexity)))
+			.build();
+	}
+
+	@Test
+	void acceptsTypicalScreenQuery() throws Exception {
+		ExecutionResult result = graphQl().execute("{ tasks(size: 50) { id title responsibles { name } createdBy { name } } }");
+
+		assertTrue(result.getErrors().isEmpty(), result.getErrors().toString());
+	}
+
+	@Test
+	void rejectsQueriesDeeperThanLimit() throws Exception {
+		ExecutionResult result = graphQl().execute(
+			"{ tasks { responsibles { assignedTasks { responsibles { assignedTasks { responsibles { assignedTasks { id } } } } } } } }");
+
+		assertEquals(1, result.getErrors().size());
+		assertTrue(result.getErrors().get(0).getMessage().contains("depth"), result.getErrors().toString());
+	}
+
+	@Test
+	void rejectsFanOutAboveComplexityLimit() throws Exception {
+		ExecutionResult result = graphQl().execute(
+			"{ tasks(size: 200) { responsibles { assignedTasks { responsibles { id } } } } }");
+
+		assertEquals(1, result.getErrors().size());
+		assertTrue(result.getErrors().get(0).getMessage().contains("complexity"), result.getErrors().toString());
+	}
+
+	// assignedTasks pesa pelo limit pedido: 50 tasks x limit 200 x 3 campos passa de 5000
+	@Test
+	void weighsAssignedTasksByLimit() throws Exception {
+		ExecutionResult small = graphQl().execute("{ tasks(size: 10) { responsibles { assignedTasks(limit: 5) { id } } } }");
+		ExecutionResult large = graphQl().execute("{ users(size: 50) { assignedTasks(limit: 200) { id title status } } }");
+
+		assertTrue(small.getErrors().isEmpty(), small.getErrors().toString());
+		assertEquals(1, large.getErrors().size());
+		assertTrue(large.getErrors().get(0).getMessage().contains("complexity"), large.getErrors().toString());
+	}
+
+	@Test
+	void cachesValidDocumentsOnly() {
+		SimpleMeterRegistry registry = new SimpleMeterRegistry();
+		ParsedDocumentCache cache = new ParsedDocumentCache(2, registry);
+		AtomicInteger parses = new AtomicInteger();
+		ExecutionInput me = ExecutionInput.newExecutionInput("{ me { id } }").build();
+		ExecutionInput invalid = ExecutionInput.newExecutionInput("{ nope }").build();
+
+		PreparsedDocumentEntry first = cache.getDocumentAsync(me, input -> {
+			parses.incrementAndGet();
+			return new PreparsedDocumentEntry(Parser.parse(input.getQuery()));
+		}).join();
+		PreparsedDocumentEntry second = cache.getDocumentAsync(me, input -> {
+			parses.incrementAndGet();
+			return new PreparsedDocumentEntry(Parser.parse(input.getQuery()));
+		}).join();
+		for (int i = 0; i < 2; i++) {
+			cache.getDocumentAsync(invalid, input -> {
+				parses.incrementAndGet();
+				return new PreparsedDocumentEntry(GraphqlErrorBuilder.newError().message("campo inexistente").build());
+			}).join();
+		}
+
+		assertSame(first, second);
+		assertEquals(3, parses.get());
+		assertEquals(1, cache.size());
+		assertEquals(1.0, registry.get("gestora.graphql.documents").tag("result", "hit").counter().count());
+	}
+}
@@ -0,0 +1,131 @@
+package com.ilungi.gestora.config;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+
+import java.util.List;
+
+import javax.sql.DataSource;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+// Duas bases H2 em memória fazem o papel de primário e réplica; cada uma responde seu nome
+class ReadWriteRoutingDataSourceTests {
+
+	private static final String SERVICE = "com.ilungi.gestora.servicies.TaskService.";
+
+	private final DataSource primary = database("primary");
+	private final DataSource replica = database("replica");
+
+	@AfterEach
+	void clearAuthentication() {
+		SecurityContextHolder.clearContext();
+	}
+
+	@Test
+	void readOnlyServiceTransactionsGoToReplica() {
+		Routing routing = routing(new ReplicaLagMonitor(replica, "", 1000, 1000, new SimpleMeterRegistry()));
+
+		assertEquals("replica", routing.read(SERVICE + "findAll", true));
+		assertEquals("primary", routing.read(SERVICE + "updateTask", false));
+		// Transações padrão dos repositórios (read-only) e código sem transação ficam no primário
+		assertEquals("primary", routing.read("org.springframework.data.jpa.repository.support.SimpleJpaRepository.findById", true));
+		assertEquals("primary", new JdbcTemplate(routing.dataSource()).queryForObject("SELECT name FROM node", String.class));
+	}
+
+	@Test
+	void writerReadsOwnWritesFromPrimaryDuringPinWindow() {
+		Routing routing = routing(new ReplicaLagMonitor(replica, "", 1000, 1000, new SimpleMeterRegistry()));
+
+		authenticate(7L);
+		routing.read(SERVICE + "updateTask", false);
+		assertEquals("primary", routing.read(SERVICE + "findAll", true));
+
+		authenticate(8L);
+		assertEquals("replica", routing.read(SERVICE + "findAll", true));
+
+		routing.routingDataSource().pin(List.of(8L));
+		assertEquals("primary", routing.read(SERVICE + "findAll", true));
+	}
+
+	@Test
+	void rolledBackWriteDoesNotPin() {
+		Routing routing = routing(new ReplicaLagMonitor(replica, "", 1000, 1000, new SimpleMeterRegistry()));
+		authenticate(7L);
+
+		TransactionTemplate write = routing.transaction(SERVICE + "updateTask", false);
+		write.executeWithoutResult(status -> {
+			new JdbcTemplate(routing.dataSource()).queryForObject("SELECT name FROM node", String.class);
+			status.setRollbackOnly();
+		});
+
+		assertFalse(routing.routingDataSource().isPinned(7L));
+	}
+
+	@Test
+	void laggingOrUnreachableReplicaFallsBackToPrimary() {
+		ReplicaLagMonitor lagging = new ReplicaLagMonitor(replica, "SELECT 5000", 1000, 60000, new SimpleMeterRegistry());
+		lagging.check();
+		assertEquals("primary", routing(lagging).read(SERVICE + "findAll", true));
+
+		ReplicaLagMonitor inSync = new ReplicaLagMonitor(replica, "SELECT 200", 1000, 60000, new SimpleMeterRegistry());
+		inSync.check();
+		assertEquals("replica", routing(inSync).read(SERVICE + "findAll", true));
+
+		ReplicaLagMonitor broken = new ReplicaLagMonitor(replica, "SELECT lag FROM missing_table", 1000, 60000, new SimpleMeterRegistry());
+		broken.check();
+		assertEquals("primary", routing(broken).read(SERVICE + "findAll", true));
+
+		lagging.destroy();
+		inSync.destroy();
+		broken.destroy();
+	}
+
+	private Routing routing(ReplicaLagMonitor monitor) {
+		ReadWriteRoutingDataSource routingDataSource = new ReadWriteRoutingDataSource(primary, replica, monitor,
+			List.of(SERVICE), 60000, new SimpleMeterRegistry());
+		return new Routing(routingDataSource, new LazyConnectionDataSourceProxy(routingDataSource));
+	}
+
+	private static void authenticate(Long userId) {
+		UsernamePasswordAuthenticationToken authentication =
+			new UsernamePasswordAuthenticationToken("user" + userId + "@gestora.com", null, List.of());
+		authentication.setDetails(userId);
+		SecurityContextHolder.getContext().setAuthentication(authentication);
+	}
+
+	private static DataSource database(String name) {
+		DriverManagerDataSource dataSource = new DriverManagerDataSource("jdbc:h2:mem:routing-" + name + ";DB_CLOSE_DELAY=-1");
+		JdbcTemplate jdbc = new JdbcTemplate(dataSource);
+		jdbc.execute("CREATE TABLE IF NOT EXISTS node (name VARCHAR(20))");
+		jdbc.execute("DELETE FROM node");
+		jdbc.update("INSERT INTO node (name) VALUES (?)", name);
+		return dataSource;
+	}
+
+	private record Routing(ReadWriteRoutingDataSource routingDataSource, DataSource dataSource) {
+
+		TransactionTemplate transaction(String name, boolean readOnly) {
+			TransactionTemplate template = new TransactionTemplate(new DataSourceTransactionManager(dataSource));
+			template.setName(name);
+			template.setReadOnly(readOnly);
+			return template;
+		}
+
+		// Nome da base que atendeu a transação
+		String read(String transactionName, boolean readOnly) {
+			return transaction(transactionName, readOnly).execute(status ->
+				new JdbcTemplate(dataSource).queryForObject("SELECT name FROM node", String.class));
+		}
+	}
+}
@@ -0,0 +1,74 @@
+package com.ilungi.gestora.config;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.http.HttpServlet;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+class RequestConcurrencyFilterTests {
+
+	@Test
+	void rejectsWithRetryAfterWhenAllPermitsAreBusy() throws Exception {
+		SimpleMeterRegistry registry = new SimpleMeterRegistry();
+		RequestConcurrencyFilter filter = new RequestConcurrencyFilter(1, 50, registry);
+		CountDownLatch inside = new CountDownLatch(1);
+		CountDownLatch release = new CountDownLatch(1);
+
+		// Ocupa a única permissão até o fim do teste
+		Thread busy = Thread.ofVirtual().start(() -> {
+			try {
+				filter.doFilter(request("/tasks"), new MockHttpServletResponse(), new MockFilterChain(new HttpServlet() {
+					@Override
+					protected void service(HttpServletRequest req, HttpServletResponse res) {
+						inside.countDown();
+						try {
+							release.await();
+						} catch (InterruptedException e) {
+							Thread.currentThread().interrupt();
+						}
+					}
+				}));
+			} catch (Exception e) {
+				throw new IllegalStateException(e);
+			}
+		});
+		assertTrue(inside.await(5, TimeUnit.SECONDS));
+		assertEquals(1, filter.inFlight());
+
+		MockHttpServletResponse rejected = new MockHttpServletResponse();
+		filter.doFilter(request("/tasks/my-tasks"), rejected, new MockFilterChain());
+		assertEquals(503, rejected.getStatus());
+		assertEquals("1", rejected.getHeader("Retry-After"));
+		assertEquals(1.0, registry.get("gestora.http.concurrency.rejected").counter().count());
+
+		// Health check e SSE não disputam permissões
+		MockHttpServletResponse health = new MockHttpServletResponse();
+		filter.doFilter(request("/actuator/health"), health, new MockFilterChain());
+		assertEquals(200, health.getStatus());
+
+		release.countDown();
+		busy.join();
+		assertEquals(0, filter.inFlight());
+
+		MockHttpServletResponse accepted = new MockHttpServletResponse();
+		filter.doFilter(request("/tasks/my-tasks"), accepted, new MockFilterChain());
+		assertEquals(200, accepted.getStatus());
+	}
+
+	private static MockHttpServletRequest request(String path) {
+		MockHttpServletRequest request = new MockHttpServletRequest("GET", path);
+		request.setServletPath(path);
+		return request;
+	}
+}
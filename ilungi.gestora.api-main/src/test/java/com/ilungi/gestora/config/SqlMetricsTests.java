@@ -0,0 +1,75 @@
+package com.ilungi.gestora.config;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.List;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerMapping;
+
+import com.ilungi.gestora.resources.TaskResource;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import net.ttddyy.dsproxy.ExecutionInfo;
+import net.ttddyy.dsproxy.QueryInfo;
+
+class SqlMetricsTests {
+
+	@AfterEach
+	void resetRequest() {
+		RequestContextHolder.resetRequestAttributes();
+	}
+
+	@Test
+	void countsQueriesPerEndpoint() throws Exception {
+		SimpleMeterRegistry registry = new SimpleMeterRegistry();
+		SqlMetrics sqlMetrics = new SqlMetrics(registry, 500);
+
+		MockHttpServletRequest request = new MockHttpServletRequest();
+		request.setAttribute(HandlerMapping.BEST_MATCHING_HANDLER_ATTRIBUTE,
+			new HandlerMethod(new TaskResource(), TaskResource.class.getMethod("findMyTasks", WebRequest.class, String.class)));
+		ServletRequestAttributes attributes = new ServletRequestAttributes(request);
+		RequestContextHolder.setRequestAttributes(attributes);
+
+		sqlMetrics.afterQuery(execution(3), List.of(new QueryInfo("select * from tb_tasks")));
+		sqlMetrics.afterQuery(execution(4), List.of(new QueryInfo("update tb_tasks set status=?")));
+		sqlMetrics.recordRequest(attributes);
+
+		assertEquals(1, registry.get("gestora.sql.queries")
+			.tags("endpoint", "TaskResource.findMyTasks", "type", "select").timer().count());
+		assertEquals(2.0, registry.get("gestora.http.sql.queries")
+			.tag("endpoint", "TaskResource.findMyTasks").summary().totalAmount());
+	}
+
+	@Test
+	void queriesOutsideRequestsAreTaggedNone() {
+		SimpleMeterRegistry registry = new SimpleMeterRegistry();
+		SqlMetrics sqlMetrics = new SqlMetrics(registry, 500);
+
+		sqlMetrics.afterQuery(execution(1), List.of(new QueryInfo("\n  insert into emais values (?)")));
+
+		assertEquals(1, registry.get("gestora.sql.queries")
+			.tags("endpoint", "none", "type", "insert").timer().count());
+	}
+
+	@Test
+	void classifiesStatements() {
+		assertEquals("select", SqlMetrics.statementType("  SELECT 1"));
+		assertEquals("select", SqlMetrics.statementType("with recent as (select 1) select * from recent"));
+		assertEquals("delete", SqlMetrics.statementType("delete from task_responsibles where task_id=?"));
+		assertEquals("other", SqlMetrics.statementType("CREATE INDEX idx ON t(c)"));
+	}
+
+	private static ExecutionInfo execution(long elapsedMillis) {
+		ExecutionInfo info = new ExecutionInfo();
+		info.setElapsedTime(elapsedMillis);
+		info.setSuccess(true);
+		return info;
+	}
+}
@@ -0,0 +1,21 @@
+package com.ilungi.gestora.config;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+class VirtualThreadPinningMonitorTests {
+
+	@Test
+	void classifiesPinnedStacksByLibrary() {
+		assertEquals("jdbc", VirtualThreadPinningMonitor.source(
+			List.of("org.postgresql.core.v3.QueryExecutorImpl", "com.ilungi.gestora.servicies.TaskService")));
+		assertEquals("jdbc", VirtualThreadPinningMonitor.source(
+			List.of("com.zaxxer.hikari.pool.HikariPool", "org.hibernate.engine.jdbc.internal.ResultSetReturnImpl")));
+		assertEquals("mail", VirtualThreadPinningMonitor.source(
+			List.of("org.eclipse.angus.mail.smtp.SMTPTransport", "com.ilungi.gestora.servicies.EmailService")));
+		assertEquals("other", VirtualThreadPinningMonitor.source(List.of("com.ilungi.gestora.servicies.TaskService")));
+	}
+}
@@ -0,0 +1,62 @@
+package com.ilungi.gestora.repositories;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.data.jpa.test.autoconfigure.DataJpaTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.SingleConnectionDataSource;
+
+// As migrações (H2) criam o esquema e o Hibernate valida que ele bate com as entidades
+@DataJpaTest(properties = {
+    "spring.jpa.hibernate.ddl-auto=validate",
+    "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect"
+})
+class SchemaMigrationTests {
+
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+
+	@Test
+	void migrationsMatchEntitiesAndCreateIndexes() {
+		List<String> indexes = jdbcTemplate.queryForList(
+			"SELECT LOWER(INDEX_NAME) FROM INFORMATION_SCHEMA.INDEXES", String.class);
+
+		assertTrue(indexes.contains("idx_task_responsibles_user_task"));
+		assertTrue(indexes.contains("idx_tasks_status_end_date"));
+		assertTrue(indexes.contains("idx_emais_status_tipo"));
+	}
+
+	// Banco já existente (esquema do Hibernate = V1) marcado pelo baseline-on-migrate: recebe V2 em diante
+	@Test
+	void baselinedDatabaseReceivesLaterMigrations() {
+		SingleConnectionDataSource dataSource = new SingleConnectionDataSource(
+			"jdbc:h2:mem:baselined", "sa", "", true);
+		Flyway.configure().dataSource(dataSource)
+			.locations("classpath:db/migration/common")
+			.target("1")
+			.load()
+			.migrate();
+		JdbcTemplate existing = new JdbcTemplate(dataSource);
+		existing.update("DROP TABLE \"flyway_schema_history\"");
+		existing.update("INSERT INTO users (name, email, password, role) VALUES ('Antigo', 'antigo@gestora.com', 'x', 'USER')");
+
+		Flyway.configure().dataSource(dataSource)
+			.locations("classpath:db/migration/common")
+			.baselineOnMigrate(true)
+			.baselineVersion("1")
+			.load()
+			.migrate();
+
+		assertEquals(0L, existing.queryForObject("SELECT version FROM users WHERE email = 'antigo@gestora.com'", Long.class));
+		assertEquals(0, existing.queryForObject("SELECT COUNT(*) FROM task_tombstones", Integer.class));
+		assertEquals(0, existing.queryForObject("SELECT COUNT(*) FROM change_sequences", Integer.class));
+		assertEquals(0, existing.queryForObject("SELECT COUNT(*) FROM tb_tasks WHERE change_seq IS NOT NULL", Integer.class));
+		dataSource.destroy();
+	}
+}
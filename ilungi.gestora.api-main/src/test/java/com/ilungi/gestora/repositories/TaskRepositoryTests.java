@@ -0,0 +1,148 @@
+package com.ilungi.gestora.repositories;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.data.jpa.test.autoconfigure.DataJpaTest;
+import org.springframework.boot.jdbc.test.autoconfigure.AutoConfigureTestDatabase;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+
+import com.ilungi.gestora.entities.Role;
+import com.ilungi.gestora.entities.Task;
+import com.ilungi.gestora.entities.TaskStatus;
+import com.ilungi.gestora.entities.User;
+
+// Mesmo banco de pool de UserRepositoryTests (constraints CHECK do H2)
+@DataJpaTest(properties = {
+    "spring.datasource.url=jdbc:h2:mem:task-repository;DB_CLOSE_DELAY=-1",
+    "spring.datasource.username=sa",
+    "spring.datasource.password=",
+    "spring.datasource.driver-class-name=org.h2.Driver",
+    "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect"
+})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+class TaskRepositoryTests {
+
+	@Autowired
+	private TaskRepository taskRepository;
+
+	@Autowired
+	private UserRepository userRepository;
+
+	// assignedTasks do GraphQL: o limite vale por usuário, não para a consulta inteira
+	@Test
+	void assignedTaskRowsAreLimitedPerUser() {
+		User ana = userRepository.save(new User("Ana", "ana@gestora.ao", "hash", null, Role.USER));
+		User rui = userRepository.save(new User("Rui", "rui@gestora.ao", "hash", null, Role.USER));
+		List<Long> anaTasks = new ArrayList<>();
+		for (int i = 0; i < 4; i++) {
+			anaTasks.add(save("Ana " + i, i, ana).getId());
+		}
+		Long ruiTask = save("Rui", 10, rui).getId();
+
+		List<AssignedTaskRow> rows = taskRepository.findAssignedTaskRows(List.of(ana.getId(), rui.getId()), 2);
+
+		assertEquals(List.of(anaTasks.get(3), anaTasks.get(2), ruiTask), rows.stream().map(AssignedTaskRow::id).toList());
+		assertEquals(List.of(ana.getId(), ana.getId(), rui.getId()), rows.stream().map(AssignedTaskRow::userId).toList());
+	}
+
+	// Instante fixo: os filtros recebem "agora" de fora
+	private static final long NOW = 1_700_000_000_000L;
+	private static final long DAY = 86_400_000L;
+
+	// overdue = "end_date < agora e não concluída", combinado com o filtro de status
+	@Test
+	void overdueExcludesDoneAndTasksStillOnTime() {
+		Task late = saveEnding("atrasada", TaskStatus.PENDING, NOW - DAY);
+		Task lateDoing = saveEnding("atrasada em andamento", TaskStatus.DOING, NOW - 1);
+		saveEnding("concluída atrasada", TaskStatus.DONE, NOW - DAY);
+		saveEnding("no prazo", TaskStatus.PENDING, NOW + DAY);
+		saveEnding("vence agora", TaskStatus.PENDING, NOW);
+		saveEnding("sem prazo", TaskStatus.PENDING, null);
+
+		assertEquals(Set.of(late.getId(), lateDoing.getId()), ids(filter(null, null, null, null, null, true)));
+		assertEquals(Set.of(lateDoing.getId()), ids(filter(List.of(TaskStatus.DOING), null, null, null, null, true)));
+		// Só concluídas e atrasadas: nenhuma pode ser as duas coisas
+		assertEquals(Set.of(), ids(filter(List.of(TaskStatus.DONE), null, null, null, null, true)));
+	}
+
+	// [from, to): o início entra, o fim não
+	@Test
+	void dateRangesAreHalfOpen() {
+		Date from = new Date(NOW);
+		Date to = new Date(NOW + DAY);
+		Task atStart = saveEnding("no início", TaskStatus.PENDING, NOW);
+		Task beforeEnd = saveEnding("antes do fim", TaskStatus.PENDING, NOW + DAY - 1);
+		saveEnding("no fim", TaskStatus.PENDING, NOW + DAY);
+		saveEnding("antes do início", TaskStatus.PENDING, NOW - 1);
+
+		assertEquals(Set.of(atStart.getId(), beforeEnd.getId()), ids(filter(null, null, null, from, to, false)));
+
+		Task createdAtStart = save("criada no início", 0, null);
+		createdAtStart.setCreateAt(from);
+		taskRepository.save(createdAtStart);
+		Task createdAtEnd = save("criada no fim", 0, null);
+		createdAtEnd.setCreateAt(to);
+		taskRepository.save(createdAtEnd);
+		TaskFilter created = new TaskFilter(null, null, null, null, null, from, to, false);
+		assertEquals(Set.of(createdAtStart.getId()), ids(taskRepository.findAll(TaskSpecifications.of(created, new Date(NOW)))));
+	}
+
+	// EXISTS no responsável: a task com dois responsáveis aparece uma vez e a contagem fecha
+	@Test
+	void responsibleAndCreatorFiltersDoNotDuplicateTasks() {
+		User ana = userRepository.save(new User("Ana", "ana.filtro@gestora.ao", "hash", null, Role.USER));
+		User rui = userRepository.save(new User("Rui", "rui.filtro@gestora.ao", "hash", null, Role.USER));
+		Task shared = save("compartilhada", 1, ana);
+		shared.getResponsibles().add(rui);
+		shared.setCreatedBy(rui);
+		taskRepository.save(shared);
+		save("só do Rui", 2, rui);
+
+		Page<Task> anaPage = taskRepository.findAll(
+			TaskSpecifications.of(new TaskFilter(null, ana.getId(), null, null, null, null, null, false), new Date(NOW)),
+			PageRequest.of(0, 10));
+		assertEquals(List.of(shared.getId()), anaPage.getContent().stream().map(Task::getId).toList());
+		assertEquals(1, anaPage.getTotalElements());
+
+		TaskFilter byRui = new TaskFilter(null, rui.getId(), rui.getId(), null, null, null, null, false);
+		assertEquals(Set.of(shared.getId()), ids(taskRepository.findAll(TaskSpecifications.of(byRui, new Date(NOW)))));
+	}
+
+	private List<Task> filter(List<TaskStatus> statuses, Long responsibleId, Long createdById,
+			Date endDateFrom, Date endDateTo, boolean overdue) {
+		TaskFilter filter = new TaskFilter(statuses, responsibleId, createdById, endDateFrom, endDateTo, null, null, overdue);
+		return taskRepository.findAll(TaskSpecifications.of(filter, new Date(NOW)));
+	}
+
+	private static Set<Long> ids(List<Task> tasks) {
+		return tasks.stream().map(Task::getId).collect(Collectors.toSet());
+	}
+
+	private Task saveEnding(String title, TaskStatus status, Long endDate) {
+		Task task = new Task();
+		task.setTitle(title);
+		task.setStatus(status);
+		task.setEndDate(endDate != null ? new Date(endDate) : null);
+		return taskRepository.save(task);
+	}
+
+	private Task save(String title, int minutes, User responsible) {
+		Task task = new Task();
+		task.setTitle(title);
+		task.setStatus(TaskStatus.PENDING);
+		task.setCreateAt(new Date(1_700_000_000_000L + minutes * 60_000L));
+		if (responsible != null) {
+			task.getResponsibles().add(responsible);
+		}
+		return taskRepository.save(task);
+	}
+}
@@ -0,0 +1,40 @@
+package com.ilungi.gestora.repositories;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.data.jpa.test.autoconfigure.DataJpaTest;
+import org.springframework.boot.jdbc.test.autoconfigure.AutoConfigureTestDatabase;
+
+import com.ilungi.gestora.entities.Role;
+import com.ilungi.gestora.entities.User;
+
+// Banco do pool (não o embutido do @DataJpaTest): no H2 as constraints CHECK ... IN (...) guardam a
+// sessão que as criou (a do Flyway) e falham se ela for fechada
+@DataJpaTest(properties = {
+    "spring.datasource.url=jdbc:h2:mem:user-repository;DB_CLOSE_DELAY=-1",
+    "spring.datasource.username=sa",
+    "spring.datasource.password=",
+    "spring.datasource.driver-class-name=org.h2.Driver",
+    "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect"
+})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+class UserRepositoryTests {
+
+	@Autowired
+	private UserRepository userRepository;
+
+	// A importação normaliza os e-mails do arquivo para minúsculas; o cadastro pode não estar
+	@Test
+	void importLookupsIgnoreCase() {
+		User user = userRepository.save(new User("Ana", "Ana.Silva@Gestora.ao", "hash", null, Role.USER));
+		List<String> emails = List.of("ana.silva@gestora.ao", "outro@gestora.ao");
+
+		assertEquals(List.of("ana.silva@gestora.ao"), userRepository.findExistingEmails(emails));
+		assertEquals(List.of(user.getId()), userRepository.findIdsByEmailIn(emails));
+		assertEquals(List.of(user.getId()), userRepository.findByEmailIn(emails).stream().map(User::getId).toList());
+	}
+}
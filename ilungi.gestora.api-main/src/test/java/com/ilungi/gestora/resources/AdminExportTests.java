@@ -0,0 +1,144 @@
+package com.ilungi.gestora.resources;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.webmvc.test.autoconfigure.AutoConfigureMockMvc;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import com.ilungi.gestora.config.JwtTokenProvider;
+import com.ilungi.gestora.entities.Role;
+import com.ilungi.gestora.entities.Task;
+import com.ilungi.gestora.entities.TaskStatus;
+import com.ilungi.gestora.entities.User;
+import com.ilungi.gestora.repositories.TaskRepository;
+import com.ilungi.gestora.repositories.UserRepository;
+
+import tools.jackson.databind.JsonNode;
+import tools.jackson.databind.ObjectMapper;
+
+// GET /admin/export/*: corpo em streaming (dispatch assíncrono) em NDJSON ou CSV
+@SpringBootTest(properties = {
+	"spring.datasource.url=jdbc:h2:mem:admin-export;DB_CLOSE_DELAY=-1",
+	"spring.datasource.username=sa",
+	"spring.datasource.password=",
+	"spring.datasource.driver-class-name=org.h2.Driver",
+	"spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+	"spring.mail.host=localhost",
+	"spring.mail.port=2525"
+})
+@AutoConfigureMockMvc
+class AdminExportTests {
+
+	@Autowired
+	private MockMvc mockMvc;
+
+	@Autowired
+	private JwtTokenProvider jwtTokenProvider;
+
+	@Autowired
+	private UserRepository userRepository;
+
+	@Autowired
+	private TaskRepository taskRepository;
+
+	@Autowired
+	private ObjectMapper objectMapper;
+
+	private User admin;
+	private User ana;
+	private Task task;
+	private String adminToken;
+
+	@BeforeEach
+	void createFixtures() {
+		taskRepository.deleteAll();
+		userRepository.deleteAll();
+		admin = userRepository.save(new User("Admin", "admin.export@gestora.ao", "hash", "923000000", Role.ADMIN));
+		ana = userRepository.save(new User("Silva, \"Ana\"", "ana.export@gestora.ao", "hash", "+244923000001", Role.USER));
+
+		Task created = new Task();
+		created.setTitle("=HYPERLINK(\"http://exemplo\")");
+		created.setDescription("Linha 1, com vírgula\nLinha 2");
+		created.setStatus(TaskStatus.DOING);
+		created.setCreatedBy(admin);
+		created.getResponsibles().add(admin);
+		created.getResponsibles().add(ana);
+		task = taskRepository.save(created);
+		adminToken = jwtTokenProvider.generateToken(admin.getEmail(), admin.getId(), "ADMIN");
+	}
+
+	@Test
+	void exportsTasksAsNdjson() throws Exception {
+		MvcResult result = export("/admin/export/tasks", "ndjson");
+
+		assertEquals("application/x-ndjson", result.getResponse().getContentType());
+		List<String> lines = result.getResponse().getContentAsString(StandardCharsets.UTF_8).lines().toList();
+		assertEquals(1, lines.size());
+		JsonNode line = objectMapper.readTree(lines.get(0));
+		assertEquals(task.getId().longValue(), line.get("id").asLong());
+		// NDJSON leva o texto como está: o escape de fórmulas é só do CSV
+		assertEquals("=HYPERLINK(\"http://exemplo\")", line.get("title").asString());
+		assertEquals("Linha 1, com vírgula\nLinha 2", line.get("description").asString());
+		assertEquals("DOING", line.get("status").asString());
+		assertEquals(admin.getId().longValue(), line.get("createdById").asLong());
+		List<Long> responsibles = line.get("responsibleIds").valueStream().map(JsonNode::asLong).sorted().toList();
+		assertEquals(List.of(admin.getId(), ana.getId()), responsibles);
+	}
+
+	@Test
+	void exportsTasksAsCsvWithQuotingAndFormulaEscaping() throws Exception {
+		MvcResult result = export("/admin/export/tasks", "csv");
+
+		assertTrue(result.getResponse().getContentType().startsWith("text/csv"));
+		assertTrue(result.getResponse().getHeader(HttpHeaders.CONTENT_DISPOSITION).contains("tasks.csv"));
+		String body = result.getResponse().getContentAsString(StandardCharsets.UTF_8);
+		// RFC 4180: CRLF entre registros; a quebra de linha dentro do campo fica entre aspas
+		assertTrue(body.startsWith("id,title,description,status,createAt,endDate,daysToFinish,createdById,responsibleIds,changeSeq\r\n"));
+		String record = body.substring(body.indexOf("\r\n") + 2);
+		assertTrue(record.startsWith(task.getId() + ",\"'=HYPERLINK(\"\"http://exemplo\"\")\",\"Linha 1, com vírgula\nLinha 2\",DOING,"),
+			record);
+		assertTrue(record.endsWith("\r\n"));
+		assertEquals(1, record.split("\r\n").length);
+	}
+
+	@Test
+	void exportsUsersAsCsv() throws Exception {
+		String body = export("/admin/export/users", "csv").getResponse().getContentAsString(StandardCharsets.UTF_8);
+
+		List<String> records = Arrays.asList(body.split("\r\n"));
+		assertEquals("id,name,email,phone,role,createdAt,updatedAt", records.get(0));
+		String anaRecord = records.stream().filter(r -> r.startsWith(ana.getId() + ",")).findFirst().orElseThrow();
+		// Aspas dobradas e "+" inicial (fórmula em planilhas) escapado com '
+		assertTrue(anaRecord.startsWith(ana.getId() + ",\"Silva, \"\"Ana\"\"\",ana.export@gestora.ao,'+244923000001,USER,"),
+			anaRecord);
+	}
+
+	@Test
+	void rejectsUnknownFormat() throws Exception {
+		MvcResult result = mockMvc.perform(get("/admin/export/tasks").param("format", "xml")
+			.header(HttpHeaders.AUTHORIZATION, "Bearer " + adminToken)).andReturn();
+		assertEquals(400, result.getResponse().getStatus());
+	}
+
+	private MvcResult export(String path, String format) throws Exception {
+		MvcResult started = mockMvc.perform(get(path).param("format", format)
+			.header(HttpHeaders.AUTHORIZATION, "Bearer " + adminToken)).andReturn();
+		assertTrue(started.getRequest().isAsyncStarted());
+		MvcResult result = mockMvc.perform(asyncDispatch(started)).andReturn();
+		assertEquals(200, result.getResponse().getStatus());
+		return result;
+	}
+}
@@ -0,0 +1,189 @@
+package com.ilungi.gestora.resources;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.webmvc.test.autoconfigure.AutoConfigureMockMvc;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+
+import com.ilungi.gestora.config.JwtTokenProvider;
+import com.ilungi.gestora.entities.Role;
+import com.ilungi.gestora.entities.Task;
+import com.ilungi.gestora.entities.TaskStatus;
+import com.ilungi.gestora.entities.User;
+import com.ilungi.gestora.repositories.TaskRepository;
+import com.ilungi.gestora.repositories.UserRepository;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+
+// GETs condicionais (If-None-Match): a ETag identifica a representação, formato incluído
+@SpringBootTest(properties = {
+	"spring.datasource.url=jdbc:h2:mem:conditional-get;DB_CLOSE_DELAY=-1",
+	"spring.datasource.username=sa",
+	"spring.datasource.password=",
+	"spring.datasource.driver-class-name=org.h2.Driver",
+	"spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+	"spring.mail.host=localhost",
+	"spring.mail.port=2525"
+})
+@AutoConfigureMockMvc
+class ConditionalGetTests {
+
+	@Autowired
+	private MockMvc mockMvc;
+
+	@Autowired
+	private JwtTokenProvider jwtTokenProvider;
+
+	@Autowired
+	private UserRepository userRepository;
+
+	@Autowired
+	private TaskRepository taskRepository;
+
+	@Autowired
+	private MeterRegistry meterRegistry;
+
+	private User admin;
+	private Task task;
+	private String adminToken;
+
+	@BeforeEach
+	void createFixtures() {
+		admin = userRepository.findByEmail("admin.etag@gestora.ao")
+			.orElseGet(() -> userRepository.save(new User("Admin", "admin.etag@gestora.ao", "hash", "923000000", Role.ADMIN)));
+		Task created = new Task();
+		created.setTitle("Conferir relatório");
+		created.setStatus(TaskStatus.PENDING);
+		created.setCreatedBy(admin);
+		created.getResponsibles().add(admin);
+		task = taskRepository.save(created);
+		adminToken = jwtTokenProvider.generateToken(admin.getEmail(), admin.getId(), "ADMIN");
+	}
+
+	// Cliente com a cópia JSON em cache que passa a pedir CBOR: recebe o CBOR, não um 304
+	@Test
+	void jsonAndCborNeverShareAnEtag() throws Exception {
+		for (String path : List.of("/tasks/" + task.getId(), "/tasks/my-stats", "/admin/stats", "/admin/dashboard",
+				"/admin/users/" + admin.getId())) {
+			MvcResult json = perform(path, MediaType.APPLICATION_JSON_VALUE, null);
+			assertEquals(200, json.getResponse().getStatus(), path);
+			String jsonEtag = json.getResponse().getHeader(HttpHeaders.ETAG);
+			assertNotNull(jsonEtag, path);
+			assertTrue(json.getResponse().getHeaders(HttpHeaders.VARY).stream().anyMatch(v -> v.contains(HttpHeaders.ACCEPT)), path);
+
+			MvcResult cbor = perform(path, MediaType.APPLICATION_CBOR_VALUE, jsonEtag);
+			assertEquals(200, cbor.getResponse().getStatus(), path);
+			assertTrue(cbor.getResponse().getContentType().startsWith(MediaType.APPLICATION_CBOR_VALUE), path);
+			String cborEtag = cbor.getResponse().getHeader(HttpHeaders.ETAG);
+			assertNotEquals(jsonEtag, cborEtag, path);
+
+			assertEquals(304, perform(path, MediaType.APPLICATION_CBOR_VALUE, cborEtag).getResponse().getStatus(), path);
+			assertEquals(304, perform(path, MediaType.APPLICATION_JSON_VALUE, jsonEtag).getResponse().getStatus(), path);
+		}
+	}
+
+	// ETag dos watermarks: o 304 sai antes de qualquer consulta, e uma escrita muda a ETag
+	@Test
+	void notModifiedRunsNoSqlAndWritesChangeTheEtag() throws Exception {
+		Map<String, String> watermarked = new LinkedHashMap<>();
+		watermarked.put("TaskResource.findAll", "/tasks");
+		watermarked.put("TaskResource.findMyTasks", "/tasks/my-tasks");
+		watermarked.put("TaskResource.getMyStats", "/tasks/my-stats");
+		watermarked.put("TaskResource.findById", "/tasks/" + task.getId() + "?fields=title,status");
+		watermarked.put("AdminResource.getSystemStats", "/admin/stats");
+		watermarked.put("AdminResource.getDashboardData", "/admin/dashboard");
+
+		Map<String, String> etags = new LinkedHashMap<>();
+		for (Map.Entry<String, String> endpoint : watermarked.entrySet()) {
+			String etag = perform(endpoint.getValue(), MediaType.APPLICATION_JSON_VALUE, null).getResponse().getHeader(HttpHeaders.ETAG);
+			etags.put(endpoint.getKey(), etag);
+
+			DistributionSummary before = sqlPerRequest(endpoint.getKey());
+			long requests = before.count();
+			double statements = before.totalAmount();
+			MvcResult notModified = perform(endpoint.getValue(), MediaType.APPLICATION_JSON_VALUE, etag);
+			assertEquals(304, notModified.getResponse().getStatus(), endpoint.getKey());
+			assertEquals(0, notModified.getResponse().getContentLength(), endpoint.getKey());
+			assertEquals(requests + 1, sqlPerRequest(endpoint.getKey()).count(), endpoint.getKey());
+			assertEquals(statements, sqlPerRequest(endpoint.getKey()).totalAmount(), endpoint.getKey());
+		}
+
+		// Escrita numa task do admin: as listas, os totais e a própria task mudam de ETag
+		assertEquals(200, updateStatus("/tasks/" + task.getId() + "/status", "DONE", null).getResponse().getStatus());
+		for (String endpoint : List.of("TaskResource.findAll", "TaskResource.findMyTasks", "TaskResource.getMyStats",
+				"TaskResource.findById")) {
+			MvcResult changed = perform(watermarked.get(endpoint), MediaType.APPLICATION_JSON_VALUE, etags.get(endpoint));
+			assertEquals(200, changed.getResponse().getStatus(), endpoint);
+			assertNotEquals(etags.get(endpoint), changed.getResponse().getHeader(HttpHeaders.ETAG), endpoint);
+		}
+	}
+
+	// If-Match vai à versão da task que a escrita já carrega: 412 sem leitura extra
+	@Test
+	void ifMatchIsCheckedOnTheTaskLoadedForTheWrite() throws Exception {
+		String path = "/tasks/" + task.getId() + "/status";
+		String etag = perform("/tasks/" + task.getId(), MediaType.APPLICATION_JSON_VALUE, null)
+			.getResponse().getHeader(HttpHeaders.ETAG);
+
+		double before = statements("TaskResource.updateStatus");
+		MvcResult updated = updateStatus(path, "DOING", etag);
+		assertEquals(200, updated.getResponse().getStatus());
+		double conditional = statements("TaskResource.updateStatus") - before;
+
+		// ETag anterior à escrita: a task mudou
+		assertEquals(412, updateStatus(path, "DONE", etag).getResponse().getStatus());
+		// ETag de outra task
+		String otherTask = etag.replace("-" + Long.toString(task.getId(), 36) + "-", "-" + Long.toString(task.getId() + 1000, 36) + "-");
+		assertEquals(412, updateStatus(path, "DONE", otherTask).getResponse().getStatus());
+
+		String current = updated.getResponse().getHeader(HttpHeaders.ETAG);
+		before = statements("TaskResource.updateStatus");
+		assertEquals(200, updateStatus(path, "HOLD", null).getResponse().getStatus());
+		assertEquals(statements("TaskResource.updateStatus") - before, conditional);
+		assertEquals(412, updateStatus(path, "DONE", current).getResponse().getStatus());
+	}
+
+	private MvcResult updateStatus(String path, String status, String ifMatch) throws Exception {
+		MockHttpServletRequestBuilder request = patch(path).contentType(MediaType.APPLICATION_JSON)
+			.content("{\"status\":\"" + status + "\"}").header(HttpHeaders.AUTHORIZATION, "Bearer " + adminToken);
+		if (ifMatch != null) {
+			request.header(HttpHeaders.IF_MATCH, ifMatch);
+		}
+		return mockMvc.perform(request).andReturn();
+	}
+
+	private double statements(String endpoint) {
+		DistributionSummary summary = meterRegistry.find("gestora.http.sql.queries").tag("endpoint", endpoint).summary();
+		return summary != null ? summary.totalAmount() : 0.0;
+	}
+
+	private DistributionSummary sqlPerRequest(String endpoint) {
+		return meterRegistry.get("gestora.http.sql.queries").tag("endpoint", endpoint).summary();
+	}
+
+	private MvcResult perform(String path, String accept, String ifNoneMatch) throws Exception {
+		MockHttpServletRequestBuilder request = get(path).accept(accept).header(HttpHeaders.AUTHORIZATION, "Bearer " + adminToken);
+		if (ifNoneMatch != null) {
+			request.header(HttpHeaders.IF_NONE_MATCH, ifNoneMatch);
+		}
+		return mockMvc.perform(request).andReturn();
+	}
+}
@@ -0,0 +1,430 @@
+package com.ilungi.gestora.resources;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assertions.fail;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.management.ManagementFactory;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Properties;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.boot.webmvc.test.autoconfigure.AutoConfigureMockMvc;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.mock.web.MockServletConfig;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+import org.springframework.web.context.WebApplicationContext;
+import org.springframework.web.servlet.DispatcherServlet;
+
+import com.ilungi.gestora.config.JwtTokenProvider;
+import com.ilungi.gestora.servicies.TaskListCache;
+import com.ilungi.gestora.servicies.TaskSearchIndex;
+import com.ilungi.gestora.servicies.UserSearchIndex;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+/**
+ * Orçamento de comandos SQL e de bytes alocados por requisição para cada endpoint.
+ *
+ * Roda sobre H2 (modo PostgreSQL) com um volume de dados parecido com o de produção.
+ * Os comandos são contados pelo SqlMetrics (gestora.http.sql.queries, por endpoint) e a
+ * alocação pelo ThreadMXBean da thread que executa a requisição. Cada caso roda uma vez
+ * para aquecer e é medido na segunda. Os limites ficam em endpoint-budgets.properties;
+ * o relatório no log mostra os valores medidos para ajustá-los.
+ *
+ * /bootstrap (partes em outras threads), /batch (sub-requisições) e /graphql (sem método
+ * de controller) são medidos no processo inteiro: todos os comandos SQL e a alocação de
+ * todas as threads durante a requisição.
+ */
+@SpringBootTest(properties = {
+	"spring.datasource.url=jdbc:h2:mem:endpoint-budgets;MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE;DEFAULT_NULL_ORDERING=HIGH;DB_CLOSE_DELAY=-1",
+	"spring.datasource.username=sa",
+	"spring.datasource.password=",
+	"spring.datasource.driver-class-name=org.h2.Driver",
+	"spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+	"spring.jpa.show-sql=false",
+	// E-mails assíncronos falham rápido em vez de tentar o Gmail
+	"spring.mail.host=localhost",
+	"spring.mail.port=2525"
+})
+@AutoConfigureMockMvc
+@Import(EndpointBudgetTests.SeedData.class)
+class EndpointBudgetTests {
+
+	private static final Logger logger = LoggerFactory.getLogger(EndpointBudgetTests.class);
+
+	static final int USERS = 50;
+	static final int ADMINS = 2;
+	static final int TASKS = 1000;
+	static final int EMAILS = 300;
+	static final String PASSWORD = "senha-teste-123";
+
+	@Autowired
+	private MockMvc mockMvc;
+
+	@Autowired
+	private MeterRegistry meterRegistry;
+
+	@Autowired
+	private JwtTokenProvider jwtTokenProvider;
+
+	@Autowired
+	private TaskListCache taskListCache;
+
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+
+	@Autowired
+	private TaskSearchIndex taskSearchIndex;
+
+	@Autowired
+	private UserSearchIndex userSearchIndex;
+
+	@Autowired
+	private DispatcherServlet dispatcherServlet;
+
+	@Autowired
+	private WebApplicationContext webApplicationContext;
+
+	private final AtomicInteger sequence = new AtomicInteger();
+
+	private Long adminId;
+	private Long userId;
+	private Long otherUserId;
+	private Long userTaskId;
+	private String adminToken;
+	private String userToken;
+	private String userEmail;
+
+	@BeforeEach
+	void resolveFixtures() throws Exception {
+		adminId = jdbcTemplate.queryForObject("SELECT MIN(id) FROM users WHERE role = 'ADMIN'", Long.class);
+		userId = jdbcTemplate.queryForObject("SELECT MIN(id) FROM users WHERE role = 'USER'", Long.class);
+		otherUserId = jdbcTemplate.queryForObject("SELECT MAX(id) FROM users WHERE role = 'USER'", Long.class);
+		userTaskId = jdbcTemplate.queryForObject(
+			"SELECT MIN(task_id) FROM task_responsibles WHERE user_id = ?", Long.class, userId);
+		userEmail = jdbcTemplate.queryForObject("SELECT email FROM users WHERE id = ?", String.class, userId);
+		String adminEmail = jdbcTemplate.queryForObject("SELECT email FROM users WHERE id = ?", String.class, adminId);
+
+		adminToken = jwtTokenProvider.generateToken(adminEmail, adminId, "ADMIN");
+		userToken = jwtTokenProvider.generateToken(userEmail, userId, "USER");
+
+		// O MockMvc usa o próprio DispatcherServlet; o bean, para onde o /batch manda as
+		// sub-requisições, só é inicializado pelo servidor
+		if (dispatcherServlet.getServletConfig() == null) {
+			dispatcherServlet.init(new MockServletConfig(webApplicationContext.getServletContext(), "dispatcherServlet"));
+		}
+
+		// Os índices carregam em segundo plano; antes disso busca e autocomplete vão ao banco
+		long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(30);
+		while (!(taskSearchIndex.isReady() && userSearchIndex.isReady()) && System.nanoTime() - deadline < 0) {
+			Thread.sleep(50);
+		}
+	}
+
+	@Test
+	void endpointsStayWithinQueryAndAllocationBudgets() throws Exception {
+		Properties budgets = loadBudgets();
+		List<String> report = new ArrayList<>();
+		List<String> violations = new ArrayList<>();
+
+		for (EndpointCase endpointCase : cases()) {
+			run(endpointCase);
+			Measurement measurement = run(endpointCase);
+
+			long maxQueries = budget(budgets, endpointCase.endpoint() + ".queries", violations);
+			long maxKb = budget(budgets, endpointCase.endpoint() + ".allocated-kb", violations);
+			long allocatedKb = measurement.allocatedBytes() / 1024;
+
+			report.add(String.format("%-45s %6d / %-6d SQL %9d / %-9d KB",
+				endpointCase.endpoint(), measurement.queries(), maxQueries, allocatedKb, maxKb));
+			if (maxQueries >= 0 && measurement.queries() > maxQueries) {
+				violations.add(endpointCase.endpoint() + ": " + measurement.queries() + " comandos SQL (orçamento " + maxQueries + ")");
+			}
+			if (maxKb >= 0 && allocatedKb > maxKb) {
+				violations.add(endpointCase.endpoint() + ": " + allocatedKb + " KB alocados (orçamento " + maxKb + ")");
+			}
+		}
+
+		logger.info("Orçamentos por endpoint\n{}\n{}",
+			"Endpoint                                       SQL (medido / orçamento)   Alocação (medido / orçamento)",
+			String.join("\n", report));
+		if (!violations.isEmpty()) {
+			fail("Orçamentos excedidos:\n" + String.join("\n", violations));
+		}
+	}
+
+	private List<EndpointCase> cases() {
+		return List.of(
+			// Medidos no processo inteiro: primeiro, antes que escritas disparem trabalho em segundo plano
+			new EndpointCase("BootstrapResource.bootstrap", true,
+				() -> get("/bootstrap").header(HttpHeaders.AUTHORIZATION, bearer(userToken))),
+			new EndpointCase("BatchResource.batch", true, () -> post("/batch")
+				.contentType(MediaType.APPLICATION_JSON)
+				.content("{\"atomic\":false,\"operations\":[{\"id\":\"lista\",\"method\":\"GET\",\"path\":\"/tasks/my-tasks\"},"
+					+ "{\"id\":\"task\",\"method\":\"GET\",\"path\":\"/tasks/" + userTaskId + "\"},"
+					+ "{\"id\":\"stats\",\"method\":\"GET\",\"path\":\"/tasks/my-stats\"}]}")
+				.header(HttpHeaders.AUTHORIZATION, bearer(userToken))),
+			new EndpointCase("GraphQlResource.query", true, () -> post("/graphql")
+				.contentType(MediaType.APPLICATION_JSON)
+				.content("{\"query\":\"{ tasks(size: 50) { id title status responsibles { name } createdBy { name } } "
+					+ "users(size: 20) { name assignedTasks(limit: 5) { id title } } }\"}")
+				.header(HttpHeaders.AUTHORIZATION, bearer(adminToken))),
+
+			// TaskResource
+			new EndpointCase("TaskResource.findAll", () -> get("/tasks").header(HttpHeaders.AUTHORIZATION, bearer(adminToken))),
+			new EndpointCase("TaskResource.findMyTasks", () -> get("/tasks/my-tasks").header(HttpHeaders.AUTHORIZATION, bearer(userToken))),
+			new EndpointCase("TaskResource.findChanges", () -> get("/tasks/changes").header(HttpHeaders.AUTHORIZATION, bearer(userToken))),
+			new EndpointCase("TaskResource.search", () -> get("/tasks/search").param("q", "relatorio")
+				.header(HttpHeaders.AUTHORIZATION, bearer(adminToken))),
+			new EndpointCase("TaskResource.query", () -> get("/tasks/query").param("status", "PENDING", "DOING")
+				.header(HttpHeaders.AUTHORIZATION, bearer(adminToken))),
+			new EndpointCase("TaskResource.findById", () -> get("/tasks/" + userTaskId).header(HttpHeaders.AUTHORIZATION, bearer(userToken))),
+			new EndpointCase("TaskResource.findAllAdmin", () -> get("/tasks/admin/all").header(HttpHeaders.AUTHORIZATION, bearer(adminToken))),
+			new EndpointCase("TaskResource.updateTask", () -> put("/tasks/" + userTaskId)
+				.contentType(MediaType.APPLICATION_JSON).content("{\"title\":\"Revisar relatorio mensal\",\"status\":\"DOING\"}")
+				.header(HttpHeaders.AUTHORIZATION, bearer(userToken))),
+			new EndpointCase("TaskResource.updateStatus", () -> patch("/tasks/" + userTaskId + "/status")
+				.contentType(MediaType.APPLICATION_JSON).content("{\"status\":\"HOLD\"}")
+				.header(HttpHeaders.AUTHORIZATION, bearer(userToken))),
+			new EndpointCase("TaskResource.getMyStats", () -> get("/tasks/my-stats").header(HttpHeaders.AUTHORIZATION, bearer(userToken))),
+
+			// AdminResource
+			new EndpointCase("AdminResource.getAllUsers", () -> get("/admin/users").header(HttpHeaders.AUTHORIZATION, bearer(adminToken))),
+			new EndpointCase("AdminResource.autocompleteUsers", () -> get("/admin/users/autocomplete").param("q", "usu")
+				.header(HttpHeaders.AUTHORIZATION, bearer(adminToken))),
+			new EndpointCase("AdminResource.getUserById", () -> get("/admin/users/" + userId).header(HttpHeaders.AUTHORIZATION, bearer(adminToken))),
+			new EndpointCase("AdminResource.createUser", () -> post("/admin/users")
+				.contentType(MediaType.APPLICATION_JSON)
+				.content("{\"name\":\"Novo Usuario\",\"email\":\"novo" + sequence.incrementAndGet()
+					+ "@gestora.com\",\"phone\":\"923100" + sequence.get() + "\",\"role\":\"USER\"}")
+				.header(HttpHeaders.AUTHORIZATION, bearer(adminToken))),
+			new EndpointCase("AdminResource.updateUser", () -> put("/admin/users/" + otherUserId)
+				.contentType(MediaType.APPLICATION_JSON).content("{\"phone\":\"923000" + sequence.incrementAndGet() + "\"}")
+				.header(HttpHeaders.AUTHORIZATION, bearer(adminToken))),
+			new EndpointCase("AdminResource.changeUserRole", () -> patch("/admin/users/" + otherUserId + "/role").param("role", "USER")
+				.header(HttpHeaders.AUTHORIZATION, bearer(adminToken))),
+			new EndpointCase("AdminResource.deleteUser", () -> delete("/admin/users/" + insertUserWithoutTasks())
+				.header(HttpHeaders.AUTHORIZATION, bearer(adminToken))),
+			new EndpointCase("AdminResource.getUsersByRole", () -> get("/admin/users/by-role/USER").header(HttpHeaders.AUTHORIZATION, bearer(adminToken))),
+			new EndpointCase("AdminResource.getAllTasks", () -> get("/admin/tasks").header(HttpHeaders.AUTHORIZATION, bearer(adminToken))),
+			new EndpointCase("AdminResource.getTasksByUser", () -> get("/admin/tasks/user/" + userId).header(HttpHeaders.AUTHORIZATION, bearer(adminToken))),
+			new EndpointCase("AdminResource.createTaskWithResponsibles", () -> post("/admin/tasks")
+				.contentType(MediaType.APPLICATION_JSON)
+				.content("{\"title\":\"Preparar relatorio trimestral\",\"description\":\"Consolidar os numeros\",\"daysToFinish\":5,"
+					+ "\"responsibles\":[" + userId + "," + otherUserId + "]}")
+				.header(HttpHeaders.AUTHORIZATION, bearer(adminToken))),
+			new EndpointCase("AdminResource.assignUserToTask", () -> post("/admin/tasks/" + userTaskId + "/assign/" + otherUserId)
+				.header(HttpHeaders.AUTHORIZATION, bearer(adminToken))),
+			new EndpointCase("AdminResource.assignMultipleUsersToTask", () -> post("/admin/tasks/" + userTaskId + "/assign-multiple")
+				.contentType(MediaType.APPLICATION_JSON).content("[" + otherUserId + "]")
+				.header(HttpHeaders.AUTHORIZATION, bearer(adminToken))),
+			new EndpointCase("AdminResource.removeUserFromTask", () -> delete("/admin/tasks/" + userTaskId + "/assign/" + otherUserId)
+				.header(HttpHeaders.AUTHORIZATION, bearer(adminToken))),
+			new EndpointCase("AdminResource.getSystemStats", () -> get("/admin/stats").header(HttpHeaders.AUTHORIZATION, bearer(adminToken))),
+			new EndpointCase("AdminResource.getDashboardData", () -> get("/admin/dashboard").header(HttpHeaders.AUTHORIZATION, bearer(adminToken))),
+
+			// EmailResource
+			new EndpointCase("EmailResource.listarEmailsPendentes", () -> get("/api/emails/pendentes").header(HttpHeaders.AUTHORIZATION, bearer(adminToken))),
+			new EndpointCase("EmailResource.listarEmailsPorTipo", () -> get("/api/emails/tipo/notificacao").header(HttpHeaders.AUTHORIZATION, bearer(adminToken))),
+			new EndpointCase("EmailResource.listarEmailsPorDestinatario", () -> get("/api/emails/destinatario/" + userEmail)
+				.header(HttpHeaders.AUTHORIZATION, bearer(adminToken))),
+			new EndpointCase("EmailResource.getEstatisticas", () -> get("/api/emails/estatisticas").header(HttpHeaders.AUTHORIZATION, bearer(adminToken))),
+			new EndpointCase("EmailResource.enviarEmail", () -> post("/api/emails/enviar")
+				.contentType(MediaType.APPLICATION_JSON)
+				.content("{\"destinatario\":\"" + userEmail + "\",\"assunto\":\"Teste\",\"corpo\":\"Mensagem\"}")
+				.header(HttpHeaders.AUTHORIZATION, bearer(adminToken))),
+			new EndpointCase("EmailResource.enviarRecuperacaoSenha", () -> post("/api/emails/recuperacao-senha")
+				.contentType(MediaType.APPLICATION_JSON).content("{\"email\":\"" + userEmail + "\",\"token\":\"abc123\"}")
+				.header(HttpHeaders.AUTHORIZATION, bearer(adminToken))),
+			new EndpointCase("EmailResource.notificarAdmin", () -> post("/api/emails/notificar-admin")
+				.contentType(MediaType.APPLICATION_JSON).content("{\"assunto\":\"Aviso\",\"corpo\":\"Mensagem\"}")
+				.header(HttpHeaders.AUTHORIZATION, bearer(adminToken))),
+			new EndpointCase("EmailResource.reenviarEmail", () -> post("/api/emails/reenviar/" + firstEmailId())
+				.header(HttpHeaders.AUTHORIZATION, bearer(adminToken))),
+
+			// AuthResource
+			new EndpointCase("AuthResource.login", () -> post("/auth/login")
+				.contentType(MediaType.APPLICATION_JSON).content("{\"email\":\"" + userEmail + "\",\"password\":\"" + PASSWORD + "\"}")),
+			new EndpointCase("AuthResource.register", () -> post("/auth/register")
+				.contentType(MediaType.APPLICATION_JSON)
+				.content("{\"name\":\"Registro\",\"email\":\"registro" + sequence.incrementAndGet() + "@gestora.com\",\"password\":\"" + PASSWORD + "\"}")),
+			new EndpointCase("AuthResource.getCurrentUser", () -> get("/auth/me").header(HttpHeaders.AUTHORIZATION, bearer(userToken)))
+		);
+	}
+
+	private Measurement run(EndpointCase endpointCase) throws Exception {
+		// Lista em cache não executaria consulta: mede sempre o caminho até o banco
+		taskListCache.evictAll();
+		MockHttpServletRequestBuilder request = endpointCase.request().get();
+
+		boolean wholeProcess = endpointCase.wholeProcess();
+		double queriesBefore = wholeProcess ? allQueries() : recordedQueries(endpointCase.endpoint());
+		com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+		long allocatedBefore = wholeProcess ? threads.getTotalThreadAllocatedBytes() : threads.getCurrentThreadAllocatedBytes();
+
+		MvcResult result = mockMvc.perform(request).andReturn();
+
+		long allocated = (wholeProcess ? threads.getTotalThreadAllocatedBytes() : threads.getCurrentThreadAllocatedBytes())
+			- allocatedBefore;
+		long queries = Math.round((wholeProcess ? allQueries() : recordedQueries(endpointCase.endpoint())) - queriesBefore);
+
+		int status = result.getResponse().getStatus();
+		String body = result.getResponse().getContentAsString();
+		assertTrue(status >= 200 && status < 300, endpointCase.endpoint() + " respondeu " + status + ": " + body);
+		// GraphQL e /bootstrap respondem 200 com as falhas parciais em "errors"
+		assertTrue(!wholeProcess || !body.contains("\"errors\""), endpointCase.endpoint() + " com erros: " + body);
+		// /batch responde 200 com o status de cada operação
+		assertTrue(!wholeProcess || !body.matches("(?s).*\"status\":[45]\\d\\d.*"), endpointCase.endpoint() + " com falhas: " + body);
+		return new Measurement(queries, allocated);
+	}
+
+	private double recordedQueries(String endpoint) {
+		DistributionSummary summary = meterRegistry.find("gestora.http.sql.queries").tag("endpoint", endpoint).summary();
+		return summary != null ? summary.totalAmount() : 0.0;
+	}
+
+	// Todos os comandos do processo, de qualquer endpoint ou thread
+	private double allQueries() {
+		return meterRegistry.find("gestora.sql.queries").timers().stream().mapToLong(Timer::count).sum();
+	}
+
+	private Long insertUserWithoutTasks() {
+		int n = sequence.incrementAndGet();
+		jdbcTemplate.update("INSERT INTO users (name, email, password, role, created_at, version) VALUES (?, ?, ?, 'USER', ?, 0)",
+			"Temporario " + n, "temporario" + n + "@gestora.com", "x", Timestamp.valueOf(LocalDateTime.now()));
+		return jdbcTemplate.queryForObject("SELECT id FROM users WHERE email = ?", Long.class, "temporario" + n + "@gestora.com");
+	}
+
+	private Long firstEmailId() {
+		return jdbcTemplate.queryForObject("SELECT MIN(id) FROM emais", Long.class);
+	}
+
+	private static String bearer(String token) {
+		return "Bearer " + token;
+	}
+
+	// -1 quando o endpoint não tem orçamento (registrado como violação)
+	private static long budget(Properties budgets, String key, List<String> violations) {
+		String value = budgets.getProperty(key);
+		if (value == null) {
+			violations.add(key + ": sem orçamento em endpoint-budgets.properties");
+			return -1;
+		}
+		return Long.parseLong(value.trim());
+	}
+
+	private static Properties loadBudgets() throws IOException {
+		Properties budgets = new Properties();
+		try (InputStream in = EndpointBudgetTests.class.getResourceAsStream("/endpoint-budgets.properties")) {
+			if (in == null) {
+				fail("endpoint-budgets.properties não encontrado no classpath de teste");
+			}
+			budgets.load(in);
+		}
+		return budgets;
+	}
+
+	private record EndpointCase(String endpoint, boolean wholeProcess, Supplier<MockHttpServletRequestBuilder> request) {
+
+		EndpointCase(String endpoint, Supplier<MockHttpServletRequestBuilder> request) {
+			this(endpoint, false, request);
+		}
+	}
+
+	private record Measurement(long queries, long allocatedBytes) {
+	}
+
+	/**
+	 * Popula o banco antes do ApplicationReadyEvent, para os índices em memória
+	 * (busca, autocomplete, delta-sync) carregarem os mesmos dados.
+	 */
+	@TestConfiguration
+	static class SeedData {
+
+		private static final String[] STATUSES = { "PENDING", "TODO", "HOLD", "DOING", "DONE" };
+		private static final String[] WORDS = { "relatorio", "reuniao", "orcamento", "contrato", "auditoria",
+			"cliente", "fornecedor", "inventario", "treinamento", "campanha" };
+		private static final String[] EMAIL_TYPES = { "boas_vindas", "notificacao", "recuperacao_senha" };
+		private static final String[] EMAIL_STATUSES = { "ENVIADO", "PENDENTE", "ERRO" };
+
+		@Bean
+		ApplicationRunner seedEndpointBudgetData(JdbcTemplate jdbcTemplate, PasswordEncoder passwordEncoder) {
+			return args -> {
+				String password = passwordEncoder.encode(PASSWORD);
+				LocalDateTime now = LocalDateTime.now();
+
+				List<Object[]> users = new ArrayList<>();
+				for (int i = 1; i <= USERS; i++) {
+					boolean admin = i <= ADMINS;
+					users.add(new Object[] { (admin ? "Administrador " : "Usuario ") + i,
+						(admin ? "admin" : "usuario") + i + "@gestora.com", password, "92300" + (1000 + i),
+						admin ? "ADMIN" : "USER", Timestamp.valueOf(now.minusDays(USERS - i)) });
+				}
+				jdbcTemplate.batchUpdate("INSERT INTO users (name, email, password, phone, role, created_at, version) "
+					+ "VALUES (?, ?, ?, ?, ?, ?, 0)", users);
+
+				List<Long> adminIds = jdbcTemplate.queryForList("SELECT id FROM users WHERE role = 'ADMIN' ORDER BY id", Long.class);
+				List<Long> userIds = jdbcTemplate.queryForList("SELECT id FROM users WHERE role = 'USER' ORDER BY id", Long.class);
+
+				List<Object[]> tasks = new ArrayList<>();
+				for (int i = 0; i < TASKS; i++) {
+					String word = WORDS[i % WORDS.length];
+					int days = 1 + i % 30;
+					tasks.add(new Object[] { "Tarefa " + i + " de " + word,
+						"Acompanhar " + word + " e " + WORDS[(i * 7) % WORDS.length] + " do setor " + (i % 12),
+						Timestamp.valueOf(now.minusDays(i % 90)), Timestamp.valueOf(now.minusDays(i % 90).plusDays(days)),
+						days, STATUSES[i % STATUSES.length], adminIds.get(i % adminIds.size()) });
+				}
+				jdbcTemplate.batchUpdate("INSERT INTO tb_tasks (title, description, create_at, end_date, days_to_finish, "
+					+ "status, created_by_id, version) VALUES (?, ?, ?, ?, ?, ?, ?, 0)", tasks);
+
+				// Dois responsáveis por tarefa, distribuídos entre os usuários comuns
+				List<Long> taskIds = jdbcTemplate.queryForList("SELECT id FROM tb_tasks ORDER BY id", Long.class);
+				List<Object[]> responsibles = new ArrayList<>();
+				for (int i = 0; i < taskIds.size(); i++) {
+					responsibles.add(new Object[] { taskIds.get(i), userIds.get(i % userIds.size()) });
+					responsibles.add(new Object[] { taskIds.get(i), userIds.get((i + 17) % userIds.size()) });
+				}
+				jdbcTemplate.batchUpdate("INSERT INTO task_responsibles (task_id, user_id) VALUES (?, ?)", responsibles);
+
+				List<Object[]> emails = new ArrayList<>();
+				for (int i = 0; i < EMAILS; i++) {
+					emails.add(new Object[] { "usuario" + (ADMINS + 1 + i % (USERS - ADMINS)) + "@gestora.com",
+						"Assunto " + i, "Corpo da mensagem " + i, EMAIL_STATUSES[i % EMAIL_STATUSES.length],
+						Timestamp.valueOf(now.minusHours(i)), EMAIL_TYPES[i % EMAIL_TYPES.length] });
+				}
+				jdbcTemplate.batchUpdate("INSERT INTO emais (destinatario, assunto, corpo, status, data_envio, tipo) "
+					+ "VALUES (?, ?, ?, ?, ?, ?)", emails);
+			};
+		}
+	}
+}
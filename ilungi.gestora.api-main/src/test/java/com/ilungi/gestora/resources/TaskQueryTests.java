@@ -0,0 +1,120 @@
+package com.ilungi.gestora.resources;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.webmvc.test.autoconfigure.AutoConfigureMockMvc;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import com.ilungi.gestora.config.JwtTokenProvider;
+import com.ilungi.gestora.entities.Role;
+import com.ilungi.gestora.entities.Task;
+import com.ilungi.gestora.entities.TaskStatus;
+import com.ilungi.gestora.entities.User;
+import com.ilungi.gestora.repositories.TaskRepository;
+import com.ilungi.gestora.repositories.UserRepository;
+
+import tools.jackson.databind.JsonNode;
+import tools.jackson.databind.ObjectMapper;
+
+// GET /tasks/query: USER só consulta as tasks em que é responsável, com qualquer filtro
+@SpringBootTest(properties = {
+	"spring.datasource.url=jdbc:h2:mem:task-query;DB_CLOSE_DELAY=-1",
+	"spring.datasource.username=sa",
+	"spring.datasource.password=",
+	"spring.datasource.driver-class-name=org.h2.Driver",
+	"spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+	"spring.mail.host=localhost",
+	"spring.mail.port=2525"
+})
+@AutoConfigureMockMvc
+class TaskQueryTests {
+
+	@Autowired
+	private MockMvc mockMvc;
+
+	@Autowired
+	private JwtTokenProvider jwtTokenProvider;
+
+	@Autowired
+	private UserRepository userRepository;
+
+	@Autowired
+	private TaskRepository taskRepository;
+
+	@Autowired
+	private ObjectMapper objectMapper;
+
+	private User ana;
+	private User rui;
+	private Task anaTask;
+	private Task ruiTask;
+
+	@BeforeEach
+	void createFixtures() {
+		taskRepository.deleteAll();
+		userRepository.deleteAll();
+		ana = userRepository.save(new User("Ana", "ana.query@gestora.ao", "hash", null, Role.USER));
+		rui = userRepository.save(new User("Rui", "rui.query@gestora.ao", "hash", null, Role.USER));
+		anaTask = save("da Ana", ana);
+		ruiTask = save("do Rui", rui);
+	}
+
+	@Test
+	void userOnlySeesOwnTasks() throws Exception {
+		String anaToken = token(ana, Role.USER);
+
+		assertEquals(List.of(anaTask.getId()), ids(query(anaToken, "")));
+		assertEquals(List.of(anaTask.getId()), ids(query(anaToken, "?responsibleId=" + ana.getId())));
+
+		// responsibleId de outro usuário: página vazia, não as tasks dele
+		JsonNode other = query(anaToken, "?responsibleId=" + rui.getId());
+		assertEquals(List.of(), ids(other));
+		assertEquals(0, other.get("totalElements").asLong());
+	}
+
+	@Test
+	void adminFiltersByAnyResponsible() throws Exception {
+		User admin = userRepository.save(new User("Admin", "admin.query@gestora.ao", "hash", null, Role.ADMIN));
+		String adminToken = token(admin, Role.ADMIN);
+
+		assertEquals(List.of(ruiTask.getId()), ids(query(adminToken, "?responsibleId=" + rui.getId())));
+		assertEquals(2, query(adminToken, "").get("totalElements").asLong());
+	}
+
+	private JsonNode query(String token, String params) throws Exception {
+		MvcResult result = mockMvc.perform(get("/tasks/query" + params).header(HttpHeaders.AUTHORIZATION, "Bearer " + token))
+			.andReturn();
+		assertEquals(200, result.getResponse().getStatus(), result.getResponse().getContentAsString());
+		return objectMapper.readTree(result.getResponse().getContentAsString());
+	}
+
+	private static List<Long> ids(JsonNode page) {
+		List<Long> ids = new ArrayList<>();
+		for (JsonNode task : page.get("content")) {
+			ids.add(task.get("id").asLong());
+		}
+		return ids;
+	}
+
+	private String token(User user, Role role) {
+		return jwtTokenProvider.generateToken(user.getEmail(), user.getId(), role.name());
+	}
+
+	private Task save(String title, User responsible) {
+		Task task = new Task();
+		task.setTitle(title);
+		task.setStatus(TaskStatus.PENDING);
+		task.getResponsibles().add(responsible);
+		return taskRepository.save(task);
+	}
+}
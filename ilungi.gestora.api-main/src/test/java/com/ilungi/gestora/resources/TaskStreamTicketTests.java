@@ -0,0 +1,85 @@
+package com.ilungi.gestora.resources;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.webmvc.test.autoconfigure.AutoConfigureMockMvc;
+import org.springframework.http.HttpHeaders;
+import org.springframework.security.core.context.SecurityContext;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.web.context.RequestAttributeSecurityContextRepository;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+
+import com.ilungi.gestora.config.JwtTokenProvider;
+
+import tools.jackson.databind.ObjectMapper;
+
+@SpringBootTest(properties = {
+	"spring.datasource.url=jdbc:h2:mem:stream-tickets;DB_CLOSE_DELAY=-1",
+	"spring.datasource.username=sa",
+	"spring.datasource.password=",
+	"spring.datasource.driver-class-name=org.h2.Driver",
+	"spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+	"spring.mail.host=localhost",
+	"spring.mail.port=2525"
+})
+@AutoConfigureMockMvc
+class TaskStreamTicketTests {
+
+	@Autowired
+	private MockMvc mockMvc;
+
+	@Autowired
+	private JwtTokenProvider jwtTokenProvider;
+
+	@Autowired
+	private ObjectMapper objectMapper;
+
+	@Test
+	void streamOpensOnceWithTicketAndNeverWithTheJwt() throws Exception {
+		String token = jwtTokenProvider.generateToken("ana@gestora.ao", 1L, "USER");
+		MvcResult issued = mockMvc.perform(post("/tasks/stream/ticket").header(HttpHeaders.AUTHORIZATION, "Bearer " + token))
+			.andExpect(status().isOk())
+			.andReturn();
+		String ticket = objectMapper.readTree(issued.getResponse().getContentAsString()).get("ticket").asString();
+
+		MvcResult stream = mockMvc.perform(stream().param("ticket", ticket)).andReturn();
+		assertTrue(stream.getRequest().isAsyncStarted());
+		stream.getRequest().getAsyncContext().complete();
+
+		assertEquals(403, mockMvc.perform(stream().param("ticket", ticket)).andReturn().getResponse().getStatus());
+		assertEquals(403, mockMvc.perform(stream().param("access_token", token)).andReturn().getResponse().getStatus());
+	}
+
+	// Sem permitAll para ASYNC: o dispatch assíncrono (aqui, o de uma exportação) usa o contexto
+	// salvo na requisição original
+	@Test
+	void asyncDispatchKeepsTheAuthenticatedContext() throws Exception {
+		String token = jwtTokenProvider.generateToken("admin@gestora.ao", 1L, "ADMIN");
+		MvcResult started = mockMvc.perform(get("/admin/export/users").header(HttpHeaders.AUTHORIZATION, "Bearer " + token))
+			.andReturn();
+		assertTrue(started.getRequest().isAsyncStarted());
+		// No servidor o dispatch roda em outra thread, sem o contexto da primeira: ele carrega o
+		// que ficou na requisição (o status já foi enviado, então só isso mostra a autorização)
+		SecurityContextHolder.clearContext();
+		SecurityContext saved = new RequestAttributeSecurityContextRepository()
+			.loadDeferredContext(started.getRequest()).get();
+		assertEquals("admin@gestora.ao", saved.getAuthentication().getName());
+
+		mockMvc.perform(asyncDispatch(started)).andExpect(status().isOk());
+	}
+
+	// Os filtros olham o servlet path, que o MockMvc deixa vazio por padrão
+	private static MockHttpServletRequestBuilder stream() {
+		return get("/tasks/stream").servletPath("/tasks/stream");
+	}
+}
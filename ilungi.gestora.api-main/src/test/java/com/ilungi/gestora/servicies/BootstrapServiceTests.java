@@ -0,0 +1,106 @@
+package com.ilungi.gestora.servicies;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import com.ilungi.gestora.config.SecurityUtil;
+import com.ilungi.gestora.repositories.UserRepository;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class BootstrapServiceTests {
+
+	private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+	private final BootstrapService service = new BootstrapService(mock(TaskService.class), mock(UserRepository.class),
+		mock(SecurityUtil.class), mock(DashboardSnapshotService.class), registry, 3000);
+
+	@AfterEach
+	void clearContext() {
+		SecurityContextHolder.clearContext();
+	}
+
+	@Test
+	void runsPartsConcurrentlyUnderOneDeadline() {
+		CountDownLatch bothStarted = new CountDownLatch(2);
+		Map<String, Callable<?>> parts = new LinkedHashMap<>();
+		parts.put("a", () -> awaitOther(bothStarted, "A"));
+		parts.put("b", () -> awaitOther(bothStarted, "B"));
+
+		Map<String, String> errors = new LinkedHashMap<>();
+		Map<String, Object> results = service.fanOut(parts, Duration.ofSeconds(5), errors);
+
+		// Em sequência, "a" esperaria por "b" para sempre
+		assertEquals(Map.of("a", "A", "b", "B"), results);
+		assertTrue(errors.isEmpty());
+	}
+
+	@Test
+	void keepsPartialResultsWhenPartsFailOrTimeOut() {
+		CountDownLatch never = new CountDownLatch(1);
+		CountDownLatch interrupted = new CountDownLatch(1);
+		Map<String, Callable<?>> parts = new LinkedHashMap<>();
+		parts.put("me", () -> "ana");
+		parts.put("stats", () -> { throw new IllegalStateException("sem conexão"); });
+		parts.put("tasks", () -> {
+			try {
+				never.await();
+			} finally {
+				interrupted.countDown();
+			}
+			return "[]";
+		});
+
+		Map<String, String> errors = new LinkedHashMap<>();
+		long start = System.nanoTime();
+		Map<String, Object> results = service.fanOut(parts, Duration.ofMillis(200), errors);
+
+		assertEquals(Map.of("me", "ana"), results);
+		assertEquals(Map.of("stats", "error", "tasks", "timeout"), errors);
+		assertTrue(System.nanoTime() - start < TimeUnit.SECONDS.toNanos(2));
+		// A parte atrasada já terminou (interrompida) quando fanOut retorna
+		assertEquals(0, interrupted.getCount());
+		assertEquals(1, registry.get("gestora.bootstrap.part").tags("part", "tasks", "outcome", "timeout").timer().count());
+	}
+
+	@Test
+	void propagatesSecurityContextToParts() {
+		SecurityContextHolder.getContext().setAuthentication(
+			new UsernamePasswordAuthenticationToken("ana@gestora.ao", null, List.of()));
+		Map<String, Callable<?>> parts = Map.of("who",
+			() -> SecurityContextHolder.getContext().getAuthentication().getName());
+
+		Map<String, Object> results = service.fanOut(parts, Duration.ofSeconds(5), new LinkedHashMap<>());
+
+		assertEquals("ana@gestora.ao", results.get("who"));
+	}
+
+	@Test
+	void emptyBootstrapHasNoParts() {
+		assertFalse(new BootstrapService.Bootstrap(null, null, null, null, Map.of("me", "error")).hasAnyPart());
+		assertTrue(new BootstrapService.Bootstrap(null, "[]", null, null, null).hasAnyPart());
+	}
+
+	private static String awaitOther(CountDownLatch latch, String value) throws InterruptedException {
+		latch.countDown();
+		latch.await(5, TimeUnit.SECONDS);
+		if (latch.getCount() > 0) {
+			throw new IllegalStateException("as partes não rodaram em paralelo");
+		}
+		return value;
+	}
+}
@@ -0,0 +1,53 @@
+package com.ilungi.gestora.servicies;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Test;
+
+class ChangeWatermarksTests {
+
+	@Test
+	void ifMatchComparesOnlyEntityVersion() {
+		ChangeWatermarks watermarks = new ChangeWatermarks();
+		String etag = watermarks.etag("task", 42, 3, watermarks.usersVersion());
+
+		// Outro usuário alterado (usersVersion) ou reinício (época nova): a task não mudou
+		watermarks.onUserChanged(new UserChangedEvent(7L, ChangeType.UPDATED));
+		String afterRestart = new ChangeWatermarks().etag("task", 42, 3, 0);
+
+		assertTrue(watermarks.ifMatchVersion(etag, "task", 42, 3));
+		assertTrue(watermarks.ifMatchVersion(afterRestart, "task", 42, 3));
+		assertFalse(watermarks.ifMatchVersion(etag, "task", 42, 4));
+		assertFalse(watermarks.ifMatchVersion(etag, "task", 43, 3));
+		assertFalse(watermarks.ifMatchVersion(etag, "user", 42, 3));
+		assertFalse(watermarks.ifMatchVersion("W/" + etag, "task", 42, 3));
+		assertTrue(watermarks.ifMatchVersion("\"outra\", " + etag, "task", 42, 3));
+		assertTrue(watermarks.ifMatchVersion(null, "task", 42, 3));
+		assertTrue(watermarks.ifMatchVersion("*", "task", 42, 3));
+
+		// A ETag da representação CBOR traz a mesma versão
+		String cbor = watermarks.etag("task.cbor", 42, 3, watermarks.usersVersion());
+		assertTrue(watermarks.ifMatchVersion(cbor, "task", 42, 3));
+		assertFalse(watermarks.ifMatchVersion(cbor, "task", 42, 4));
+		assertFalse(watermarks.ifMatchVersion(watermarks.etag("task.xml", 42, 3), "task", 42, 3));
+	}
+
+	// A escrita compara esta versão com a da task que já carrega: nenhuma leitura a mais
+	@Test
+	void ifMatchedVersionReadsTheVersionWithoutTheEntity() {
+		ChangeWatermarks watermarks = new ChangeWatermarks();
+
+		assertEquals(3L, watermarks.ifMatchedVersion(watermarks.etag("task", 42, 3, 9), "task", 42));
+		assertEquals(3L, watermarks.ifMatchedVersion(watermarks.etag("task.cbor", 42, 3, 9), "task", 42));
+		assertEquals(40L, watermarks.ifMatchedVersion("\"outra\", " + watermarks.etag("task", 42, 40), "task", 42));
+		assertNull(watermarks.ifMatchedVersion(watermarks.etag("task", 43, 3), "task", 42));
+		assertNull(watermarks.ifMatchedVersion("W/" + watermarks.etag("task", 42, 3), "task", 42));
+		assertNull(watermarks.ifMatchedVersion("\"task-x-16-zz!\"", "task", 42));
+		assertFalse(ChangeWatermarks.hasIfMatchVersion("*"));
+		assertFalse(ChangeWatermarks.hasIfMatchVersion(null));
+		assertTrue(ChangeWatermarks.hasIfMatchVersion(watermarks.etag("task", 42, 3)));
+	}
+}
@@ -0,0 +1,34 @@
+package com.ilungi.gestora.servicies;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+class CsvReaderTests {
+
+	@Test
+	void readsQuotedFieldsAcrossLines() throws IOException {
+		String csv = "name,email\r\n\"Silva, Ana\",ana@x.ao\n\"Diz \"\"oi\"\"\nsegunda linha\",b@x.ao\n\n";
+		CsvReader reader = new CsvReader(new StringReader(csv), ',');
+
+		assertEquals(List.of("name", "email"), reader.next());
+		assertEquals(List.of("Silva, Ana", "ana@x.ao"), reader.next());
+		assertEquals(2, reader.getRecordLine());
+		assertEquals(List.of("Diz \"oi\"\nsegunda linha", "b@x.ao"), reader.next());
+		assertEquals(3, reader.getRecordLine());
+		assertNull(reader.next());
+	}
+
+	@Test
+	void keepsEmptyTrailingFields() throws IOException {
+		CsvReader reader = new CsvReader(new StringReader("a,,\n"), ',');
+
+		assertEquals(List.of("a", "", ""), reader.next());
+		assertNull(reader.next());
+	}
+}
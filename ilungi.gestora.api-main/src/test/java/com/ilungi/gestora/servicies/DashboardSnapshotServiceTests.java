@@ -0,0 +1,153 @@
+package com.ilungi.gestora.servicies;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import com.ilungi.gestora.entities.Role;
+import com.ilungi.gestora.entities.TaskStatus;
+import com.ilungi.gestora.repositories.TaskRepository;
+import com.ilungi.gestora.repositories.TaskStatusCount;
+import com.ilungi.gestora.repositories.UserRepository;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class DashboardSnapshotServiceTests {
+
+	private final UserRepository userRepository = mock(UserRepository.class);
+	private final TaskRepository taskRepository = mock(TaskRepository.class);
+	private final ChangeWatermarks watermarks = new ChangeWatermarks();
+	private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+	private DashboardSnapshotService service;
+
+	private DashboardSnapshotService create(long rebuildAfterWrites) {
+		when(userRepository.count()).thenReturn(3L);
+		when(userRepository.countByRole(Role.ADMIN)).thenReturn(1L);
+		when(userRepository.countByRole(Role.USER)).thenReturn(2L);
+		when(userRepository.findTop5ByOrderByCreatedAtDesc()).thenReturn(List.of());
+		when(taskRepository.countGroupedByStatus()).thenReturn(List.of(
+			new TaskStatusCount(TaskStatus.PENDING, 4L), new TaskStatusCount(TaskStatus.DONE, 6L)));
+		service = new DashboardSnapshotService(userRepository, taskRepository, watermarks,
+			mock(PlatformTransactionManager.class), registry, 60_000, rebuildAfterWrites);
+		return service;
+	}
+
+	@AfterEach
+	void shutdown() {
+		service.shutdown();
+	}
+
+	@Test
+	void buildsStatsAndDashboardFromAggregates() {
+		DashboardSnapshotService.Snapshot snapshot = create(50).current();
+
+		assertEquals(10L, snapshot.stats().get("totalTasks"));
+		assertEquals(Map.of(TaskStatus.PENDING, 4L, TaskStatus.DONE, 6L), snapshot.stats().get("taskStats"));
+		assertEquals(1L, snapshot.stats().get("adminUsers"));
+		assertEquals(snapshot.generatedAt(), snapshot.dashboard().get("generatedAt"));
+		assertEquals(10L, ((Map<?, ?>) snapshot.dashboard().get("systemInfo")).get("activeTasks"));
+	}
+
+	@Test
+	void servesSameSnapshotUntilRebuilt() {
+		DashboardSnapshotService snapshots = create(50);
+		DashboardSnapshotService.Snapshot first = snapshots.current();
+
+		assertSame(first, snapshots.current());
+		verify(taskRepository, times(1)).countGroupedByStatus();
+
+		DashboardSnapshotService.Snapshot forced = snapshots.rebuildNow();
+		assertNotSame(first, forced);
+		assertEquals(first.generation() + 1, forced.generation());
+		assertSame(forced, snapshots.current());
+	}
+
+	@Test
+	void backgroundRebuildSkipsWhenNothingChanged() {
+		DashboardSnapshotService snapshots = create(50);
+		DashboardSnapshotService.Snapshot first = snapshots.current();
+
+		snapshots.rebuildInBackground("scheduled");
+		assertSame(first, snapshots.current());
+
+		watermarks.onUserChanged(new UserChangedEvent(9L, ChangeType.CREATED));
+		snapshots.rebuildInBackground("scheduled");
+		assertNotSame(first, snapshots.current());
+		assertEquals(1, registry.get("gestora.dashboard.rebuild").tag("trigger", "scheduled").timer().count());
+	}
+
+	@Test
+	void rebuildsAfterConfiguredNumberOfWrites() throws Exception {
+		DashboardSnapshotService snapshots = create(2);
+		DashboardSnapshotService.Snapshot first = snapshots.current();
+
+		for (int i = 0; i < 2; i++) {
+			TaskChangedEvent event = new TaskChangedEvent((long) i, ChangeType.UPDATED, i + 1, 1L, Set.of(1L), Set.of(),
+				"titulo", "descricao");
+			watermarks.onTaskChanged(event);
+			snapshots.onTaskChanged(event);
+		}
+
+		long deadline = System.currentTimeMillis() + 5000;
+		while (snapshots.current() == first && System.currentTimeMillis() < deadline) {
+			Thread.sleep(10);
+		}
+		assertNotSame(first, snapshots.current());
+	}
+
+	// A reconstrução por escritas que encontra um rebuildNow em andamento não desliga o gatilho
+	@Test
+	void writeTriggerSurvivesARebuildSkippedByTheLock() throws Exception {
+		DashboardSnapshotService snapshots = create(2);
+		snapshots.current();
+
+		CountDownLatch building = new CountDownLatch(1);
+		CountDownLatch release = new CountDownLatch(1);
+		when(taskRepository.countGroupedByStatus()).thenAnswer(invocation -> {
+			building.countDown();
+			release.await(5, TimeUnit.SECONDS);
+			return List.of();
+		}).thenReturn(List.of());
+
+		CompletableFuture<DashboardSnapshotService.Snapshot> forced = CompletableFuture.supplyAsync(snapshots::rebuildNow);
+		assertTrue(building.await(5, TimeUnit.SECONDS));
+		write(snapshots, 1);
+		write(snapshots, 2);
+		// A reconstrução enfileirada roda com o lock ocupado e é descartada
+		Thread.sleep(100);
+		release.countDown();
+		DashboardSnapshotService.Snapshot stale = forced.get(5, TimeUnit.SECONDS);
+		assertNotEquals(watermarks.tasksVersion(), stale.tasksVersion());
+
+		write(snapshots, 3);
+		long deadline = System.currentTimeMillis() + 5000;
+		while (snapshots.current().tasksVersion() != watermarks.tasksVersion() && System.currentTimeMillis() < deadline) {
+			Thread.sleep(10);
+		}
+		assertEquals(watermarks.tasksVersion(), snapshots.current().tasksVersion());
+	}
+
+	private void write(DashboardSnapshotService snapshots, long seq) {
+		TaskChangedEvent event = new TaskChangedEvent(seq, ChangeType.UPDATED, seq, 1L, Set.of(1L), Set.of(),
+			"titulo", "descricao");
+		watermarks.onTaskChanged(event);
+		snapshots.onTaskChanged(event);
+	}
+}
@@ -0,0 +1,47 @@
+package com.ilungi.gestora.servicies;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
+
+class FieldSelectionTests {
+
+	@Test
+	void missingOrBlankMeansFullRepresentation() {
+		assertNull(FieldSelection.parse(null, FieldSelection.TASK_FIELDS));
+		assertNull(FieldSelection.parse("  ", FieldSelection.TASK_FIELDS));
+	}
+
+	@Test
+	void idIsAlwaysIncludedAndOrderFollowsAllowedList() {
+		FieldSelection selection = FieldSelection.parse("endDate, status,title,status", FieldSelection.TASK_FIELDS);
+
+		assertEquals(List.of("id", "title", "status", "endDate"), selection.fields());
+		assertFalse(selection.has("responsibles"));
+	}
+
+	@Test
+	void unknownFieldIsRejected() {
+		ResponseStatusException error = assertThrows(ResponseStatusException.class,
+			() -> FieldSelection.parse("title,password", FieldSelection.USER_FIELDS));
+
+		assertEquals(HttpStatus.BAD_REQUEST, error.getStatusCode());
+	}
+
+	@Test
+	void etagScopeDependsOnTheSelectedFields() {
+		FieldSelection list = FieldSelection.parse("title,status", FieldSelection.TASK_FIELDS);
+		FieldSelection same = FieldSelection.parse("status,title", FieldSelection.TASK_FIELDS);
+		FieldSelection other = FieldSelection.parse("title", FieldSelection.TASK_FIELDS);
+
+		assertEquals(list.etagScope("tasks"), same.etagScope("tasks"));
+		assertFalse(list.etagScope("tasks").equals(other.etagScope("tasks")));
+	}
+}
@@ -0,0 +1,110 @@
+package com.ilungi.gestora.servicies;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Test;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class RequestCoalescerTests {
+
+	@Test
+	void concurrentCallsShareOneExecution() throws Exception {
+		SimpleMeterRegistry registry = new SimpleMeterRegistry();
+		RequestCoalescer coalescer = new RequestCoalescer(registry);
+		AtomicInteger executions = new AtomicInteger();
+		CountDownLatch started = new CountDownLatch(1);
+		CountDownLatch release = new CountDownLatch(1);
+
+		ExecutorService executor = Executors.newFixedThreadPool(8);
+		try {
+			List<Future<String>> results = new ArrayList<>();
+			results.add(executor.submit(() -> coalescer.coalesce("stats", "v1", Duration.ZERO, () -> {
+				executions.incrementAndGet();
+				started.countDown();
+				await(release);
+				return "resultado";
+			})));
+			started.await(5, TimeUnit.SECONDS);
+			for (int i = 0; i < 7; i++) {
+				results.add(executor.submit(() -> coalescer.coalesce("stats", "v1", Duration.ZERO, () -> {
+					executions.incrementAndGet();
+					return "outro";
+				})));
+			}
+			while (registry.find("gestora.coalescing.calls").tag("outcome", "joined").counter() == null
+				|| registry.get("gestora.coalescing.calls").tag("outcome", "joined").counter().count() < 7) {
+				Thread.sleep(5);
+			}
+			release.countDown();
+
+			for (Future<String> result : results) {
+				assertEquals("resultado", result.get(5, TimeUnit.SECONDS));
+			}
+		} finally {
+			executor.shutdownNow();
+		}
+
+		assertEquals(1, executions.get());
+		assertEquals(1.0, registry.get("gestora.coalescing.calls")
+			.tags("name", "stats", "outcome", "executed").counter().count());
+	}
+
+	@Test
+	void reusesResultWhileFreshAndPerKey() {
+		RequestCoalescer coalescer = new RequestCoalescer(new SimpleMeterRegistry());
+		AtomicInteger executions = new AtomicInteger();
+
+		Object first = coalescer.coalesce("users", "v1", Duration.ofMinutes(1), () -> new Object[] { executions.incrementAndGet() });
+		Object second = coalescer.coalesce("users", "v1", Duration.ofMinutes(1), () -> new Object[] { executions.incrementAndGet() });
+		coalescer.coalesce("users", "v2", Duration.ofMinutes(1), () -> new Object[] { executions.incrementAndGet() });
+
+		assertSame(first, second);
+		assertEquals(2, executions.get());
+	}
+
+	@Test
+	void withoutFreshWindowEachSequentialCallExecutes() {
+		RequestCoalescer coalescer = new RequestCoalescer(new SimpleMeterRegistry());
+		AtomicInteger executions = new AtomicInteger();
+
+		coalescer.coalesce("users", "v1", Duration.ZERO, executions::incrementAndGet);
+		coalescer.coalesce("users", "v1", Duration.ZERO, executions::incrementAndGet);
+
+		assertEquals(2, executions.get());
+	}
+
+	@Test
+	void failuresPropagateAndAreNotCached() {
+		RequestCoalescer coalescer = new RequestCoalescer(new SimpleMeterRegistry());
+
+		IllegalStateException thrown = assertThrows(IllegalStateException.class,
+			() -> coalescer.coalesce("dashboard", "v1", Duration.ofMinutes(1), () -> {
+				throw new IllegalStateException("banco indisponível");
+			}));
+		String value = coalescer.coalesce("dashboard", "v1", Duration.ofMinutes(1), () -> "ok");
+
+		assertEquals("banco indisponível", thrown.getMessage());
+		assertEquals("ok", value);
+	}
+
+	private static void await(CountDownLatch latch) {
+		try {
+			latch.await(5, TimeUnit.SECONDS);
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+	}
+}
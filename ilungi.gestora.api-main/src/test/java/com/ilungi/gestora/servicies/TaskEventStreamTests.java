@@ -0,0 +1,148 @@
+package com.ilungi.gestora.servicies;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Predicate;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class TaskEventStreamTests {
+
+	private static final Long USER_ID = 7L;
+	private static final Pattern EVENT_ID = Pattern.compile("(?m)^id:(\\d+)$");
+
+	private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+	private TaskEventStream stream;
+	private MockMvc mockMvc;
+
+	private void create(int queueCapacity, long reorderWindowMs) {
+		stream = new TaskEventStream(60_000, queueCapacity, 1024, 3600, reorderWindowMs, registry);
+		mockMvc = MockMvcBuilders.standaloneSetup(new StreamController(stream)).build();
+	}
+
+	@AfterEach
+	void shutdown() {
+		stream.shutdown();
+	}
+
+	// Atrasado demais para a fila: resync em vez de estourar e reconectar com o mesmo Last-Event-ID
+	@Test
+	void replayLargerThanTheQueueSendsResync() throws Exception {
+		create(8, 2000);
+		for (long seq = 1; seq <= 20; seq++) {
+			stream.onTaskChanged(event(seq));
+		}
+
+		MvcResult behind = open(1L);
+		String content = await(behind, body -> body.contains("event:resync"));
+		assertTrue(content.contains("{\"since\":1}"));
+		assertEquals(List.of(), eventIds(content));
+		assertEquals(0.0, registry.get("gestora.sse.dropped").functionCounter().count());
+		assertEquals(1, stream.connectionCount());
+
+		// Poucos eventos perdidos continuam sendo reenviados
+		MvcResult recent = open(17L);
+		assertEquals(List.of(18L, 19L, 20L), eventIds(await(recent, body -> eventIds(body).size() == 3)));
+	}
+
+	// Callbacks de commit fora de ordem: o stream segue a ordem de seq
+	@Test
+	void deliversOutOfOrderCommitsInSequenceOrder() throws Exception {
+		create(64, 10_000);
+		stream.onTaskChanged(event(1));
+		MvcResult live = open(null);
+
+		stream.onTaskChanged(event(3));
+		stream.onTaskChanged(event(4));
+		Thread.sleep(100);
+		assertEquals(List.of(), eventIds(live.getResponse().getContentAsString()));
+
+		stream.onTaskChanged(event(2));
+		assertEquals(List.of(2L, 3L, 4L), eventIds(await(live, body -> eventIds(body).size() == 3)));
+
+		// Quem reconecta depois do 2 recebe 3 e 4, na ordem
+		assertEquals(List.of(3L, 4L), eventIds(await(open(2L), body -> eventIds(body).size() == 2)));
+	}
+
+	// A sequência que falta pode nunca chegar (outra instância): a espera tem limite
+	@Test
+	void flushesHeldEventsAfterTheReorderWindow() throws Exception {
+		create(64, 100);
+		stream.onTaskChanged(event(1));
+		MvcResult live = open(null);
+
+		stream.onTaskChanged(event(3));
+		assertEquals(List.of(3L), eventIds(await(live, body -> eventIds(body).size() == 1)));
+
+		// Se chegar depois, ainda é entregue
+		stream.onTaskChanged(event(2));
+		assertEquals(List.of(3L, 2L), eventIds(await(live, body -> eventIds(body).size() == 2)));
+		assertFalse(live.getResponse().getContentAsString().contains("event:resync"));
+	}
+
+	private MvcResult open(Long lastEventId) throws Exception {
+		return lastEventId == null
+			? mockMvc.perform(get("/stream")).andReturn()
+			: mockMvc.perform(get("/stream").header("Last-Event-ID", lastEventId)).andReturn();
+	}
+
+	// Os envios são feitos em virtual threads
+	private static String await(MvcResult result, Predicate<String> condition) throws Exception {
+		long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+		String content = result.getResponse().getContentAsString();
+		while (!condition.test(content) && System.nanoTime() - deadline < 0) {
+			Thread.sleep(10);
+			content = result.getResponse().getContentAsString();
+		}
+		assertTrue(condition.test(content), content);
+		return content;
+	}
+
+	private static List<Long> eventIds(String content) {
+		List<Long> ids = new ArrayList<>();
+		Matcher matcher = EVENT_ID.matcher(content);
+		while (matcher.find()) {
+			ids.add(Long.parseLong(matcher.group(1)));
+		}
+		return ids;
+	}
+
+	private static TaskChangedEvent event(long seq) {
+		return new TaskChangedEvent(seq, ChangeType.UPDATED, seq, 1L, Set.of(USER_ID), Set.of(USER_ID),
+			"Tarefa " + seq, null);
+	}
+
+	@RestController
+	static class StreamController {
+
+		private final TaskEventStream stream;
+
+		StreamController(TaskEventStream stream) {
+			this.stream = stream;
+		}
+
+		@GetMapping("/stream")
+		SseEmitter stream(@RequestHeader(value = "Last-Event-ID", required = false) Long lastEventId) {
+			return stream.subscribe(USER_ID, false, lastEventId);
+		}
+	}
+}
@@ -0,0 +1,82 @@
+package com.ilungi.gestora.servicies;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Test;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class TaskListCacheTests {
+
+	@Test
+	void servesHitsWithoutCallingLoader() {
+		TaskListCache cache = new TaskListCache(1024 * 1024, new SimpleMeterRegistry());
+		AtomicInteger loads = new AtomicInteger();
+
+		cache.get(1L, () -> { loads.incrementAndGet(); return "[1]".getBytes(); });
+		byte[] json = cache.get(1L, () -> { loads.incrementAndGet(); return "[2]".getBytes(); });
+
+		assertArrayEquals("[1]".getBytes(), json);
+		assertEquals(1, loads.get());
+		assertEquals(1, cache.hitCount());
+		assertEquals(1, cache.missCount());
+	}
+
+	@Test
+	void evictOnlyAffectsGivenUsers() {
+		TaskListCache cache = new TaskListCache(1024 * 1024, new SimpleMeterRegistry());
+		cache.get(1L, () -> "[1]".getBytes());
+		cache.get(2L, () -> "[2]".getBytes());
+
+		cache.evict(List.of(1L));
+
+		assertArrayEquals("[1b]".getBytes(), cache.get(1L, () -> "[1b]".getBytes()));
+		assertArrayEquals("[2]".getBytes(), cache.get(2L, () -> "[2b]".getBytes()));
+	}
+
+	@Test
+	void loadRacingWithEvictIsNotStored() {
+		TaskListCache cache = new TaskListCache(1024 * 1024, new SimpleMeterRegistry());
+
+		cache.get(1L, () -> {
+			cache.evict(List.of(1L));
+			return "[stale]".getBytes();
+		});
+
+		assertEquals(0, cache.size());
+	}
+
+	@Test
+	void evictsLeastRecentlyUsedWhenOverBudget() {
+		// Cada entrada ocupa 40 + 64 bytes: cabem 9 em 1000 bytes
+		TaskListCache cache = new TaskListCache(1000, new SimpleMeterRegistry());
+		for (long userId = 1; userId <= 12; userId++) {
+			cache.get(userId, () -> new byte[40]);
+		}
+
+		assertEquals(9, cache.size());
+		assertEquals(9 * (40 + 64), cache.bytes());
+	}
+
+	@Test
+	void keepsCborNextToJsonAndEvictsBoth() {
+		TaskListCache cache = new TaskListCache(1024 * 1024, new SimpleMeterRegistry());
+		AtomicInteger conversions = new AtomicInteger();
+
+		cache.getCbor(1L, () -> "[1]".getBytes(), json -> { conversions.incrementAndGet(); return new byte[] { 1 }; });
+		byte[] cbor = cache.getCbor(1L, () -> "[x]".getBytes(), json -> { conversions.incrementAndGet(); return new byte[] { 2 }; });
+
+		assertArrayEquals(new byte[] { 1 }, cbor);
+		assertEquals(1, conversions.get());
+		assertEquals(3 + 1 + 64, cache.bytes());
+
+		cache.evict(List.of(1L));
+
+		assertArrayEquals(new byte[] { 3 }, cache.getCbor(1L, () -> "[1b]".getBytes(), json -> new byte[] { 3 }));
+		assertArrayEquals("[1b]".getBytes(), cache.get(1L, () -> "[1c]".getBytes()));
+	}
+}
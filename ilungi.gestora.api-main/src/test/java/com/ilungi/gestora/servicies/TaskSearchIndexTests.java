@@ -0,0 +1,74 @@
+package com.ilungi.gestora.servicies;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.util.List;
+import java.util.Set;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import com.ilungi.gestora.repositories.TaskRepository;
+
+class TaskSearchIndexTests {
+
+	private static TaskChangedEvent saved(long taskId, String title, String description, Long... responsibles) {
+		return new TaskChangedEvent(taskId, ChangeType.CREATED, taskId, null, Set.of(), Set.of(responsibles),
+			title, description);
+	}
+
+	@Test
+	void foldsAccentsAndPlurals() {
+		TaskSearchIndex index = new TaskSearchIndex();
+		index.onTaskChanged(saved(1, "Relatórios de ações", "Revisar situação", 10L));
+
+		assertEquals(List.of(1L), index.search("relatorio acao", null, 10).taskIds());
+		assertEquals(List.of(1L), index.search("SITUAÇÕES", null, 10).taskIds());
+	}
+
+	@Test
+	void ranksTitleMatchesFirstAndFiltersByResponsible() {
+		TaskSearchIndex index = new TaskSearchIndex();
+		index.onTaskChanged(saved(1, "Preparar orçamento", "Planilha anual", 10L));
+		index.onTaskChanged(saved(2, "Reunião", "Discutir o orçamento", 10L, 20L));
+
+		assertEquals(List.of(1L, 2L), index.search("orcamento", null, 10).taskIds());
+		assertEquals(List.of(2L), index.search("orcamento", 20L, 10).taskIds());
+		assertEquals(1, index.search("orcamento", 20L, 10).total());
+	}
+
+	@Test
+	void matchesPrefixOfLastWordAndForgetsDeletedTasks() {
+		TaskSearchIndex index = new TaskSearchIndex();
+		index.onTaskChanged(saved(1, "Migração do servidor", null, 10L));
+
+		assertEquals(List.of(1L), index.search("migracao serv", null, 10).taskIds());
+
+		index.onTaskChanged(new TaskChangedEvent(1L, ChangeType.DELETED, 2, null, Set.of(10L), Set.of(),
+			"Migração do servidor", null));
+		assertTrue(index.search("servidor", null, 10).taskIds().isEmpty());
+		assertEquals(0, index.size());
+	}
+
+	@Test
+	void failedBuildStaysNotReadyAndKeepsApplyingWrites() {
+		TaskRepository repository = mock(TaskRepository.class);
+		when(repository.streamForExport()).thenThrow(new DataAccessResourceFailureException("sem conexão"));
+		TaskSearchIndex index = new TaskSearchIndex();
+		ReflectionTestUtils.setField(index, "taskRepository", repository);
+		ReflectionTestUtils.setField(index, "transactionManager", mock(PlatformTransactionManager.class));
+
+		index.build();
+
+		// Sem o índice a busca vai ao banco; escritas não ficam presas na fila da construção
+		assertFalse(index.isReady());
+		index.onTaskChanged(saved(1, "Orçamento", null, 10L));
+		assertEquals(1, index.size());
+	}
+}
@@ -0,0 +1,170 @@
+package com.ilungi.gestora.servicies;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.when;
+
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.data.jpa.test.autoconfigure.DataJpaTest;
+import org.springframework.boot.jdbc.test.autoconfigure.AutoConfigureTestDatabase;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import jakarta.persistence.EntityManagerFactory;
+
+import com.ilungi.gestora.config.SecurityUtil;
+import com.ilungi.gestora.entities.Role;
+import com.ilungi.gestora.entities.Task;
+import com.ilungi.gestora.entities.TaskStatus;
+import com.ilungi.gestora.entities.TaskTombstone;
+import com.ilungi.gestora.entities.User;
+import com.ilungi.gestora.repositories.TaskRepository;
+import com.ilungi.gestora.repositories.TaskTombstoneRepository;
+import com.ilungi.gestora.repositories.UserRepository;
+
+// Transações reais (sem o rollback do @DataJpaTest): as sequências só existem no commit
+@DataJpaTest(properties = {
+    "spring.datasource.url=jdbc:h2:mem:task-sync;DB_CLOSE_DELAY=-1",
+    "spring.datasource.username=sa",
+    "spring.datasource.password=",
+    "spring.datasource.driver-class-name=org.h2.Driver",
+    "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+    "spring.jpa.properties.hibernate.generate_statistics=true"
+})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import(TaskSyncService.class)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class TaskSyncServiceTests {
+
+	@Autowired
+	private TaskSyncService syncService;
+
+	@Autowired
+	private TaskRepository taskRepository;
+
+	@Autowired
+	private TaskTombstoneRepository tombstoneRepository;
+
+	@Autowired
+	private UserRepository userRepository;
+
+	@Autowired
+	private PlatformTransactionManager transactionManager;
+
+	@Autowired
+	private EntityManagerFactory entityManagerFactory;
+
+	@MockitoBean
+	private SecurityUtil securityUtil;
+
+	// A transação de fora ainda não bloqueou a sequência: a de dentro commita primeiro e fica com a menor
+	@Test
+	void sequencesFollowCommitOrderWithoutBlockingOpenWrites() {
+		TransactionTemplate inner = new TransactionTemplate(transactionManager);
+		inner.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+		Map<String, Long> sequences = new LinkedHashMap<>();
+		Map<String, Long> ids = new LinkedHashMap<>();
+
+		new TransactionTemplate(transactionManager).executeWithoutResult(outer -> {
+			Task first = taskRepository.save(task("primeira"));
+			ids.put("primeira", first.getId());
+			syncService.recordChange(first, ChangeType.CREATED, Set.of(), Set.of(),
+				seq -> sequences.put("primeira", seq));
+			inner.executeWithoutResult(status -> {
+				Task second = taskRepository.save(task("segunda"));
+				ids.put("segunda", second.getId());
+				syncService.recordChange(second, ChangeType.CREATED, Set.of(), Set.of(),
+					seq -> sequences.put("segunda", seq));
+			});
+		});
+
+		assertEquals(sequences.get("segunda") + 1, sequences.get("primeira"));
+		Task first = taskRepository.findById(ids.get("primeira")).orElseThrow();
+		assertEquals(sequences.get("primeira"), first.getChangeSeq());
+		// Gravar a sequência no commit não conta como outra alteração
+		assertEquals(0L, first.getVersion());
+	}
+
+	@Test
+	void cursorsBeforePurgedTombstonesGetFullResync() {
+		when(securityUtil.hasRole(Role.ADMIN)).thenReturn(true);
+		Map<String, Long> sequences = new LinkedHashMap<>();
+		new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+			Task task = taskRepository.save(task("desatribuída"));
+			syncService.recordChange(task, ChangeType.UPDATED, Set.of(42L), Set.of(),
+				seq -> sequences.put("removed", seq));
+		});
+		long removedSeq = sequences.get("removed");
+		for (TaskTombstone tombstone : tombstoneRepository.findAll()) {
+			tombstone.setRemovedAt(LocalDateTime.now().minusDays(40));
+			tombstoneRepository.save(tombstone);
+		}
+
+		assertEquals(1, syncService.purgeTombstonesBefore(LocalDateTime.now().minusDays(30)));
+
+		Map<String, Object> stale = syncService.findChanges(removedSeq - 1, 100);
+		Map<String, Object> current = syncService.findChanges(removedSeq, 100);
+		assertEquals(true, stale.get("resync"));
+		assertTrue(((List<?>) stale.get("changes")).size() >= 1);
+		assertEquals(false, current.get("resync"));
+		assertEquals(0, tombstoneRepository.count());
+	}
+
+	// Os responsáveis vêm numa única consulta: o número de comandos não cresce com as tarefas
+	@Test
+	void fullSyncLoadsResponsiblesInOneQuery() {
+		when(securityUtil.hasRole(Role.ADMIN)).thenReturn(true);
+		User ana = userRepository.save(new User("Ana", "ana.sync@gestora.ao", "hash", null, Role.USER));
+		User rui = userRepository.save(new User("Rui", "rui.sync@gestora.ao", "hash", null, Role.USER));
+
+		saveAssigned(5, ana, rui);
+		long few = statementsFor(() -> syncService.findChanges(0, 100));
+		saveAssigned(20, ana, rui);
+		long many = statementsFor(() -> syncService.findChanges(0, 100));
+
+		assertEquals(few, many);
+		Map<String, Object> response = syncService.findChanges(0, 100);
+		for (Object change : (List<?>) response.get("changes")) {
+			TaskSummary summary = (TaskSummary) change;
+			if (summary.title().startsWith("atribuída")) {
+				assertEquals(Set.of(ana.getId(), rui.getId()), Set.copyOf(summary.responsibleIds()));
+			}
+		}
+	}
+
+	private void saveAssigned(int count, User... responsibles) {
+		for (int i = 0; i < count; i++) {
+			Task task = task("atribuída " + i);
+			task.getResponsibles().addAll(List.of(responsibles));
+			taskRepository.save(task);
+		}
+	}
+
+	private long statementsFor(Runnable action) {
+		Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+		statistics.clear();
+		action.run();
+		return statistics.getPrepareStatementCount();
+	}
+
+	private static Task task(String title) {
+		Task task = new Task();
+		task.setTitle(title);
+		task.setStatus(TaskStatus.PENDING);
+		return task;
+	}
+}
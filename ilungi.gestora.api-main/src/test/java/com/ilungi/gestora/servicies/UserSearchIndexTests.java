@@ -0,0 +1,85 @@
+package com.ilungi.gestora.servicies;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import com.ilungi.gestora.entities.Role;
+import com.ilungi.gestora.repositories.UserExportRow;
+import com.ilungi.gestora.repositories.UserRepository;
+import com.ilungi.gestora.repositories.UserSuggestion;
+
+class UserSearchIndexTests {
+
+	private static final Map<Long, UserSuggestion> USERS = Map.of(
+		1L, new UserSuggestion(1L, "Ana Silva", "ana.silva@gestora.ao", Role.USER),
+		2L, new UserSuggestion(2L, "João Anastácio", "joao@gestora.ao", Role.USER),
+		3L, new UserSuggestion(3L, "Mariana Costa", "mcosta@gestora.ao", Role.ADMIN));
+
+	private UserSearchIndex buildIndex() {
+		UserRepository repository = mock(UserRepository.class);
+		when(repository.streamForExport()).thenAnswer(invocation -> USERS.values().stream()
+			.map(user -> new UserExportRow(user.id(), user.name(), user.email(), null, user.role(), null, null)));
+		when(repository.findSuggestionById(any())).thenAnswer(invocation ->
+			Optional.ofNullable(USERS.get(invocation.<Long>getArgument(0))));
+
+		UserSearchIndex index = new UserSearchIndex();
+		ReflectionTestUtils.setField(index, "userRepository", repository);
+		ReflectionTestUtils.setField(index, "transactionManager", mock(PlatformTransactionManager.class));
+		index.build();
+		return index;
+	}
+
+	@Test
+	void ranksNamePrefixBeforeSubstring() {
+		List<UserSuggestion> result = buildIndex().suggest("ana", 10);
+
+		assertEquals(List.of(1L, 2L, 3L), result.stream().map(UserSuggestion::id).toList());
+	}
+
+	@Test
+	void matchesWithoutAccentsAndByEmail() {
+		UserSearchIndex index = buildIndex();
+
+		assertEquals(List.of(2L), index.suggest("joão ana", 10).stream().map(UserSuggestion::id).toList());
+		assertEquals(List.of(3L), index.suggest("mcos", 10).stream().map(UserSuggestion::id).toList());
+	}
+
+	@Test
+	void removesDeletedUsers() {
+		UserSearchIndex index = buildIndex();
+		index.onUserChanged(new UserChangedEvent(1L, ChangeType.DELETED));
+
+		assertEquals(List.of(2L, 3L), index.suggest("ana", 10).stream().map(UserSuggestion::id).toList());
+	}
+
+	@Test
+	void failedBuildStaysNotReadyAndKeepsApplyingWrites() {
+		UserRepository repository = mock(UserRepository.class);
+		when(repository.streamForExport()).thenThrow(new DataAccessResourceFailureException("sem conexão"));
+		when(repository.findSuggestionById(any())).thenAnswer(invocation ->
+			Optional.ofNullable(USERS.get(invocation.<Long>getArgument(0))));
+		UserSearchIndex index = new UserSearchIndex();
+		ReflectionTestUtils.setField(index, "userRepository", repository);
+		ReflectionTestUtils.setField(index, "transactionManager", mock(PlatformTransactionManager.class));
+
+		index.build();
+
+		// Escritas não ficam presas na fila da construção
+		assertFalse(index.isReady());
+		index.onUserChanged(new UserChangedEvent(1L, ChangeType.CREATED));
+		verify(repository).findSuggestionById(1L);
+	}
+}